@@ -0,0 +1,79 @@
+package com.musiclms.steps;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.LogInspector;
+import org.openqa.selenium.bidi.Network;
+
+/**
+ * Collects console messages, JavaScript errors and network responses pushed
+ * by the browser over WebDriver BiDi (no polling). Keeps the last
+ * -DbrowserEventLines events (default 1000) of the running scenario.
+ *
+ * The driver must be created with the "webSocketUrl" capability.
+ */
+class BrowserEventLog implements AutoCloseable {
+
+    private static final DateTimeFormatter TIME =
+        DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final int capacity = Math.max(1, Integer.getInteger("browserEventLines", 1000));
+    private final Deque<String> events = new ArrayDeque<>();
+    private final Map<String, Long> requestStarts = new ConcurrentHashMap<>();
+    private final LogInspector logInspector;
+    private final Network network;
+
+    BrowserEventLog(WebDriver driver) {
+        logInspector = new LogInspector(driver);
+        network = new Network(driver);
+
+        logInspector.onConsoleEntry(entry -> add(entry.getTimestamp(),
+            "[console." + entry.getLevel().toString().toLowerCase() + "] " + entry.getText()));
+        logInspector.onJavaScriptException(entry -> add(entry.getTimestamp(), "[js-error] " + entry.getText()));
+        network.onBeforeRequestSent(event ->
+            requestStarts.put(event.getRequest().getRequestId(), event.getTimestamp()));
+        network.onResponseCompleted(event -> {
+            Long start = requestStarts.remove(event.getRequest().getRequestId());
+            String duration = start == null ? "" : " (" + (event.getTimestamp() - start) + " ms)";
+            add(event.getTimestamp(), "[network] " + event.getResponseData().getStatus() + " "
+                + event.getRequest().getMethod() + " " + event.getRequest().getUrl() + duration);
+        });
+    }
+
+    /**
+     * True if events of passing scenarios are kept too (-DperfLog=true)
+     */
+    static boolean persistAll() {
+        return Boolean.getBoolean("perfLog");
+    }
+
+    private synchronized void add(long timestampMillis, String event) {
+        if (events.size() == capacity) {
+            events.removeFirst();
+        }
+        events.addLast(TIME.format(Instant.ofEpochMilli(timestampMillis)) + " " + event);
+    }
+
+    synchronized List<String> events() {
+        return new ArrayList<>(events);
+    }
+
+    @Override
+    public void close() {
+        try {
+            logInspector.close();
+            network.close();
+        } catch (RuntimeException e) {
+            // Browser already gone
+        }
+    }
+}
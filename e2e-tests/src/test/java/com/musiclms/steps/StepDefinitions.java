@@ -5,12 +5,15 @@ import com.musiclms.pages.DashboardPage;
 import com.musiclms.pages.LoginPage;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class StepDefinitions {
@@ -19,6 +22,7 @@ public class StepDefinitions {
     private LoginPage loginPage;
     private DashboardPage dashboardPage;
     private AssignmentsPage assignmentsPage;
+    private BrowserEventLog browserEvents;
 
     @Before
     public void setup() {
@@ -26,7 +30,14 @@ public class StepDefinitions {
         options.addArguments("--headless");
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
+        // WebDriver BiDi: the browser pushes console and network events
+        options.setCapability("webSocketUrl", true);
         driver = new ChromeDriver(options);
+        try {
+            browserEvents = new BrowserEventLog(driver);
+        } catch (RuntimeException e) {
+            System.err.println("WebDriver BiDi not available: " + e.getMessage());
+        }
         
         loginPage = new LoginPage(driver);
         dashboardPage = new DashboardPage(driver);
@@ -34,7 +45,15 @@ public class StepDefinitions {
     }
 
     @After
-    public void teardown() {
+    public void teardown(Scenario scenario) {
+        if (browserEvents != null) {
+            // Console errors and network responses, attached to the Cucumber report
+            if (scenario.isFailed() || BrowserEventLog.persistAll()) {
+                String events = String.join("\n", browserEvents.events());
+                scenario.attach(events.getBytes(StandardCharsets.UTF_8), "text/plain", "browser-events.log");
+            }
+            browserEvents.close();
+        }
         if (driver != null) {
             driver.quit();
         }
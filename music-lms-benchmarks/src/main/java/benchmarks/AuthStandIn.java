@@ -0,0 +1,246 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.json.Json;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * =============================================================================
+ * AUTH STAND-IN - A LOCAL, PREDICTABLE SUPABASE FOR BENCHMARKS
+ * =============================================================================
+ *
+ * Benchmarking the app against the hosted Supabase project measures the
+ * internet as much as the app. This tiny server answers the requests the app
+ * makes to Supabase with a FIXED delay (-DauthLatencyMs, default 0), so only
+ * the app's own cost varies between runs:
+ *
+ *     GET  /auth/v1/user                         200 user      (valid token)
+ *                                                403 bad_jwt   (expired/unknown token)
+ *     POST /auth/v1/token?grant_type=refresh_token
+ *                                                200 new session (refresh token from session())
+ *                                                400           (unknown refresh token)
+ *     GET  /rest/v1/...                          200 []        (empty data for the pages)
+ *
+ * Start the app against it:
+ *
+ *     NEXT_PUBLIC_SUPABASE_URL=http://localhost:54321 \
+ *     NEXT_PUBLIC_SUPABASE_ANON_KEY=stand-in npm run build && npm run start
+ *
+ * Every endpoint counts its calls, so a benchmark can report how many auth
+ * round trips ONE page request caused.
+ *
+ * =============================================================================
+ */
+public class AuthStandIn implements AutoCloseable {
+
+    private static final String REFRESH_PREFIX = "bench-refresh-";
+    private static final String USER_ID = "00000000-0000-4000-8000-000000000001";
+    private static final String EMAIL = "teacher@musiclms.test";
+
+    private final Json json = new Json();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final long latencyMs;
+
+    private final AtomicLong userCalls = new AtomicLong();
+    private final AtomicLong refreshCalls = new AtomicLong();
+    private final AtomicLong restCalls = new AtomicLong();
+
+    /**
+     * Start the stand-in
+     *
+     * @param port Port to listen on (the app's NEXT_PUBLIC_SUPABASE_URL must point here)
+     * @param latencyMs Delay added to every answer (simulated network + database)
+     * @throws IOException If the port is taken
+     */
+    public AuthStandIn(int port, long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        server = HttpServer.create(new InetSocketAddress(port), 512);
+        server.setExecutor(executor);
+        server.createContext("/auth/v1/user", exchange -> handle(exchange, this::user));
+        server.createContext("/auth/v1/token", exchange -> handle(exchange, this::token));
+        server.createContext("/rest/v1/", exchange -> handle(exchange, this::rest));
+        server.start();
+    }
+
+    // =========================================================================
+    // SESSIONS FOR THE BENCHMARK CLIENT
+    // =========================================================================
+
+    /**
+     * A session as @supabase/ssr stores it in the auth cookie
+     *
+     * Accepted by every stand-in, also one running in another process.
+     *
+     * @param expiresInSeconds Lifetime of the access token; negative = already expired
+     * @return Session object (access_token, refresh_token, expires_at, user, ...)
+     */
+    public static Map<String, Object> session(long expiresInSeconds) {
+        long now = System.currentTimeMillis() / 1000;
+        Map<String, Object> session = new LinkedHashMap<>();
+        session.put("access_token", accessToken(now + expiresInSeconds));
+        session.put("token_type", "bearer");
+        session.put("expires_in", expiresInSeconds);
+        session.put("expires_at", now + expiresInSeconds);
+        session.put("refresh_token", REFRESH_PREFIX + UUID.randomUUID());
+        session.put("user", user());
+        return session;
+    }
+
+    /**
+     * Unsigned JWT with the claims the app reads (the stand-in trusts it)
+     */
+    private static String accessToken(long expiresAt) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(("{\"sub\":\"" + USER_ID + "\",\"email\":\"" + EMAIL
+            + "\",\"role\":\"authenticated\",\"aud\":\"authenticated\",\"exp\":" + expiresAt + "}")
+            .getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".stand-in";
+    }
+
+    private static Map<String, Object> user() {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("id", USER_ID);
+        user.put("aud", "authenticated");
+        user.put("role", "authenticated");
+        user.put("email", EMAIL);
+        user.put("app_metadata", Map.of("provider", "email"));
+        user.put("user_metadata", Map.of("full_name", "Benchmark Teacher", "role", "teacher"));
+        user.put("created_at", "2024-01-01T00:00:00Z");
+        return user;
+    }
+
+    // =========================================================================
+    // ENDPOINTS
+    // =========================================================================
+
+    private record Answer(int status, Object body) {
+    }
+
+    private Answer user(HttpExchange exchange, String body) {
+        userCalls.incrementAndGet();
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String token = authorization == null ? "" : authorization.replaceFirst("(?i)^Bearer ", "");
+        Long expiresAt = expiry(token);
+        if (expiresAt == null || expiresAt <= System.currentTimeMillis() / 1000) {
+            return new Answer(403, Map.of("code", 403, "error_code", "bad_jwt",
+                "msg", "invalid JWT: unable to parse or verify signature, token has invalid claims: token is expired"));
+        }
+        return new Answer(200, user());
+    }
+
+    private Answer token(HttpExchange exchange, String body) {
+        refreshCalls.incrementAndGet();
+        Map<String, Object> request = body.isBlank() ? Map.of() : json.toType(body, Json.MAP_TYPE);
+        Object refreshToken = request.get("refresh_token");
+        if (!(refreshToken instanceof String value) || !value.startsWith(REFRESH_PREFIX)) {
+            return new Answer(400, Map.of("code", 400, "error_code", "refresh_token_not_found",
+                "msg", "Invalid Refresh Token: Refresh Token Not Found"));
+        }
+        return new Answer(200, session(3600));
+    }
+
+    private Answer rest(HttpExchange exchange, String body) {
+        restCalls.incrementAndGet();
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        boolean single = accept != null && accept.contains("vnd.pgrst.object");
+        return new Answer(200, single ? Map.of() : List.of());
+    }
+
+    /**
+     * "exp" claim of a stand-in access token, or null if it is not one
+     */
+    private Long expiry(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+            Map<String, Object> claims = json.toType(payload, Json.MAP_TYPE);
+            Object exp = claims.get("exp");
+            return exp instanceof Number number ? number.longValue() : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * JSON on one line (Json.toJson() pretty-prints, which bloats cookies)
+     */
+    static String compactJson(Object value) {
+        StringWriter out = new StringWriter();
+        new Json().newOutput(out).setPrettyPrint(false).write(value).close();
+        return out.toString();
+    }
+
+    private interface Endpoint {
+        Answer answer(HttpExchange exchange, String body);
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        try (exchange) {
+            String body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            Answer answer = endpoint.answer(exchange, body);
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            byte[] bytes = compactJson(answer.body()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(answer.status(), bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // =========================================================================
+    // CALL COUNTERS
+    // =========================================================================
+
+    /**
+     * Calls per endpoint since the last reset
+     *
+     * @return {user, refresh, rest}
+     */
+    public long[] calls() {
+        return new long[] {userCalls.get(), refreshCalls.get(), restCalls.get()};
+    }
+
+    /**
+     * Set all call counters to 0 (between scenarios)
+     */
+    public void resetCalls() {
+        userCalls.set(0);
+        refreshCalls.set(0);
+        restCalls.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,116 @@
+package benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * =============================================================================
+ * BENCHMARK RUNNER - RUN THE BENCHMARKS AND STORE RESULTS PER COMMIT
+ * =============================================================================
+ *
+ * Runs the JMH benchmarks of this module and writes the results as JSON:
+ *
+ *     results/<git commit>.json          e.g. results/97b291b.json
+ *     results/<git commit>-dirty.json    if there are uncommitted changes
+ *
+ * Compare two runs with CompareResults to find regressions.
+ *
+ * USAGE:
+ * ------
+ *     mvn -f ../music-lms-tests install -DskipTests    (once, or after changes)
+ *     mvn package exec:exec                            (all benchmarks)
+ *     mvn package exec:exec -Dbench=Excel              (matching class/method names)
+ *     mvn package exec:exec -Dquick=true               (1 short fork - smoke test only)
+ *
+ * The JSON can be opened in https://jmh.morethan.io for charts.
+ *
+ * =============================================================================
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Entry point
+     *
+     * @param args Optional regular expression selecting benchmarks
+     * @throws RunnerException If JMH fails
+     * @throws IOException If the results folder cannot be created
+     */
+    public static void main(String[] args) throws RunnerException, IOException {
+        String pattern = args.length > 0 ? args[0] : ".*";
+        Path resultsDir = Paths.get(System.getProperty("resultsDir", "results"));
+        Files.createDirectories(resultsDir);
+        Path resultFile = resultsDir.resolve(commitId() + ".json");
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(pattern)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile.toString())
+            // 100k row workbooks need room; keep framework logging quiet
+            .jvmArgsAppend("-Xmx2g", "-Dlog4j2.configurationFile=log4j2-benchmarks.xml");
+
+        if (Boolean.getBoolean("quick")) {
+            options.forks(1)
+                .warmupIterations(1).warmupTime(TimeValue.seconds(1))
+                .measurementIterations(1).measurementTime(TimeValue.seconds(1));
+        } else {
+            options.forks(2)
+                .warmupIterations(3).warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5).measurementTime(TimeValue.seconds(2));
+        }
+
+        new Runner(options.build()).run();
+        System.out.println("Results written to: " + resultFile.toAbsolutePath());
+    }
+
+    /**
+     * Short id of the current commit, used as result file name
+     *
+     * @return e.g. "97b291b", "97b291b-dirty", or "local" outside a git repository
+     */
+    static String commitId() {
+        String commit = git("rev-parse", "--short", "HEAD");
+        if (commit == null || commit.isEmpty()) {
+            return "local";
+        }
+        String changes = git("status", "--porcelain", "--untracked-files=no");
+        return changes == null || changes.isEmpty() ? commit : commit + "-dirty";
+    }
+
+    /**
+     * Run a git command and return its output (null if git fails)
+     */
+    private static String git(String... args) {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            StringBuilder output = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    output.append(line).append('\n');
+                }
+            }
+            return process.waitFor() == 0 ? output.toString().trim() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.TypeToken;
+
+/**
+ * =============================================================================
+ * COMPARE RESULTS - REGRESSION GUARD FOR FRAMEWORK OVERHEAD
+ * =============================================================================
+ *
+ * Compares two JMH result files written by BenchmarkRunner:
+ *
+ *     java -cp ... benchmarks.CompareResults results/84d8633.json results/97b291b.json
+ *
+ *     Benchmark                                   Baseline     Current   Change
+ *     ExcelUtilityBenchmark.getRowNum [rows=10000]  12.400 ms   13.100 ms   +5.6%
+ *     DataProvidersBenchmark.readSheet [rows=...]  310.000 ms  402.000 ms  +29.7% REGRESSION
+ *
+ * A benchmark REGRESSED if it got slower by more than the threshold
+ * (default 10%, -Dthreshold=0.25 for 25%). The program then exits with
+ * code 1, so a CI job can fail on it.
+ *
+ * "Slower" depends on the mode: for average time a higher score is worse,
+ * for throughput a lower score is worse.
+ *
+ * The JSON is read with Selenium's own JSON parser, so no extra library
+ * is needed.
+ *
+ * =============================================================================
+ */
+public class CompareResults {
+
+    /**
+     * Entry point
+     *
+     * @param args Baseline result file and current result file
+     * @throws IOException If a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json>");
+            System.exit(2);
+        }
+        double threshold = Double.parseDouble(System.getProperty("threshold", "0.10"));
+
+        Map<String, Map<String, Object>> baseline = load(Paths.get(args[0]));
+        Map<String, Map<String, Object>> current = load(Paths.get(args[1]));
+
+        int regressions = 0;
+        System.out.println(String.format(Locale.ROOT, "%-70s %14s %14s %9s", "Benchmark", "Baseline", "Current", "Change"));
+        for (Map.Entry<String, Map<String, Object>> entry : current.entrySet()) {
+            Map<String, Object> before = baseline.get(entry.getKey());
+            Map<String, Object> after = entry.getValue();
+            if (before == null) {
+                System.out.println(String.format(Locale.ROOT, "%-70s %14s %14s %9s",
+                    entry.getKey(), "-", format(after), "new"));
+                continue;
+            }
+
+            double oldScore = score(before);
+            double newScore = score(after);
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore;
+
+            // For throughput, higher is better - flip the sign so "positive" always means slower
+            boolean throughput = "thrpt".equals(after.get("mode"));
+            double slowdown = throughput ? -change : change;
+            boolean regressed = slowdown > threshold;
+            if (regressed) {
+                regressions++;
+            }
+
+            System.out.println(String.format(Locale.ROOT, "%-70s %14s %14s %+8.1f%%%s",
+                entry.getKey(), format(before), format(after), change * 100, regressed ? " REGRESSION" : ""));
+        }
+
+        System.out.println();
+        System.out.println(regressions + " regression(s) above " + Math.round(threshold * 100) + "%");
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Read a JMH JSON file, keyed by "Class.method [param=value]"
+     */
+    private static Map<String, Map<String, Object>> load(Path file) throws IOException {
+        String json = Files.readString(file, StandardCharsets.UTF_8);
+        List<Map<String, Object>> runs = new Json().toType(json,
+            new TypeToken<List<Map<String, Object>>>() { }.getType());
+
+        Map<String, Map<String, Object>> byKey = new TreeMap<>();
+        for (Map<String, Object> run : runs) {
+            String benchmark = String.valueOf(run.get("benchmark"));
+            // Drop the package: benchmarks.ExcelUtilityBenchmark.getRowNum -> ExcelUtilityBenchmark.getRowNum
+            int lastDot = benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1);
+            String key = benchmark.substring(lastDot + 1);
+
+            Object params = run.get("params");
+            if (params instanceof Map && !((Map<?, ?>) params).isEmpty()) {
+                String values = new TreeMap<>((Map<?, ?>) params).toString();
+                key += " [" + values.substring(1, values.length() - 1) + "]";
+            }
+            byKey.put(key, run);
+        }
+        return byKey;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double score(Map<String, Object> run) {
+        Map<String, Object> metric = (Map<String, Object>) run.get("primaryMetric");
+        return ((Number) metric.get("score")).doubleValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String format(Map<String, Object> run) {
+        Map<String, Object> metric = (Map<String, Object>) run.get("primaryMetric");
+        return String.format(Locale.ROOT, "%.3f %s", score(run), metric.get("scoreUnit"));
+    }
+}
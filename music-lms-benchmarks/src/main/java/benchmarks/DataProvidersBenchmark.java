@@ -0,0 +1,76 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import utilities.DataProviders;
+import utilities.TestDataConverter;
+
+/**
+ * =============================================================================
+ * DATA PROVIDERS BENCHMARK - TURNING A SHEET INTO String[][]
+ * =============================================================================
+ *
+ * Every Excel based @DataProvider calls DataProviders.readSheet():
+ * open the workbook, read every cell, close it. TestNG calls the provider
+ * before the first test of a data driven method, so this time is added to
+ * the suite even though no browser is involved.
+ *
+ * The same sheet is also read from the converted CSV, JSON lines and
+ * snapshot files (see utilities.DataSources) to compare the formats.
+ *
+ * =============================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DataProvidersBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"xlsx", "csv", "jsonl", "tdb"})
+    public String format;
+
+    private Path dir;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("provider-bench");
+        file = Fixtures.excel(dir, rows);
+        if (!"xlsx".equals(format)) {
+            List<Path> converted = TestDataConverter.convert(file, List.of(format));
+            file = converted.get(0);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public String[][] readSheet() throws IOException {
+        return DataProviders.readSheet(file.toString(), Fixtures.SHEET);
+    }
+}
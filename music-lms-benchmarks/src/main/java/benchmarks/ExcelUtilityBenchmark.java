@@ -0,0 +1,106 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import utilities.ExcelUtility;
+
+/**
+ * =============================================================================
+ * EXCEL UTILITY BENCHMARK - LOOKUPS IN LARGE SHEETS
+ * =============================================================================
+ *
+ * Measures the ExcelUtility methods tests call while reading test data:
+ *
+ *     getCellData     one cell (random row, column B)
+ *     getRowNum       search column B for the value in the LAST row
+ *                     (worst case: every row is read)
+ *     isDataPresent   search the whole sheet for a value that is NOT there
+ *                     (worst case: every cell is read)
+ *
+ *     ...Indexed      the same lookups with ExcelUtility.withIndex()
+ *                     (index built in setup, so only the lookup is measured)
+ *
+ * The workbook is opened ONCE per trial, so opening the file is not part of
+ * these numbers (see DataProvidersBenchmark for that).
+ *
+ * =============================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class ExcelUtilityBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private Path dir;
+    private Path file;
+    private ExcelUtility excel;
+    private ExcelUtility indexed;
+    private String lastEmail;
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("excel-bench");
+        file = Fixtures.excel(dir, rows);
+        excel = new ExcelUtility(file.toString());
+        lastEmail = Fixtures.email(rows - 1);
+
+        indexed = new ExcelUtility(file.toString()).withIndex();
+        indexed.getRowNum(Fixtures.SHEET, 1, lastEmail);
+        indexed.isDataPresent(Fixtures.SHEET, lastEmail);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        excel.close();
+        indexed.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String getCellData() {
+        // Walk through the rows in a scattered order (1..rows, header skipped)
+        cursor = (cursor + 7919) % rows;
+        return excel.getCellData(Fixtures.SHEET, cursor + 1, 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int getRowNum() {
+        return excel.getRowNum(Fixtures.SHEET, 1, lastEmail);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean isDataPresent() {
+        return excel.isDataPresent(Fixtures.SHEET, "not-in-the-sheet@musiclms.test");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int getRowNumIndexed() {
+        return indexed.getRowNum(Fixtures.SHEET, 1, lastEmail);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isDataPresentIndexed() {
+        return indexed.isDataPresent(Fixtures.SHEET, "not-in-the-sheet@musiclms.test");
+    }
+}
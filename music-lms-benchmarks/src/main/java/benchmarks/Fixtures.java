@@ -0,0 +1,262 @@
+package benchmarks;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+/**
+ * =============================================================================
+ * FIXTURES - REALISTIC TEST DATA FOR THE BENCHMARKS
+ * =============================================================================
+ *
+ * The benchmarks must not depend on a browser, a network or the small files
+ * in music-lms-tests/testData. Everything they need is generated here:
+ *
+ * 1. EXCEL FILES
+ *    Sheets with 10,000 - 100,000 rows, written with SXSSFWorkbook
+ *    (the STREAMING variant of XSSFWorkbook: only a few rows are kept in
+ *    memory, so generating 100k rows takes seconds, not minutes)
+ *
+ * 2. SCREENSHOTS
+ *    A synthetic 1920x1080 PNG that looks like a web page (header bar,
+ *    cards, text lines), so it compresses like a real screenshot
+ *
+ * 3. STUBS
+ *    Fake ITestResult / ITestContext / WebDriver objects built with
+ *    java.lang.reflect.Proxy - just enough for the framework code to run
+ *
+ * Random values use a FIXED SEED, so every run measures the same data.
+ *
+ * =============================================================================
+ */
+public final class Fixtures {
+
+    /**
+     * Sheet name used in all generated workbooks
+     */
+    public static final String SHEET = "Data";
+
+    /**
+     * Header row of the generated workbooks (same columns as SignupTestData.xlsx)
+     */
+    public static final String[] HEADER = {"FullName", "Email", "Password", "Expected"};
+
+    private Fixtures() {
+        // Only static helpers
+    }
+
+    /**
+     * Generate an Excel file with a header row and N data rows
+     *
+     *     FullName     | Email                  | Password   | Expected
+     *     User 0       | user0@musiclms.test    | Pass0!xY   | true
+     *     User 1       | user1@musiclms.test    | Pass1!aB   | false
+     *
+     * @param dir Folder to create the file in
+     * @param rows Number of data rows (header not included)
+     * @return Path to the new .xlsx file
+     * @throws IOException If the file cannot be written
+     */
+    public static Path excel(Path dir, int rows) throws IOException {
+        Path file = dir.resolve("data-" + rows + ".xlsx");
+        Random random = new Random(rows);
+
+        // Keep 100 rows in memory, the rest is flushed to a temp file
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet(SHEET);
+
+            Row header = sheet.createRow(0);
+            for (int c = 0; c < HEADER.length; c++) {
+                header.createCell(c).setCellValue(HEADER[c]);
+            }
+
+            for (int r = 0; r < rows; r++) {
+                Row row = sheet.createRow(r + 1);
+                row.createCell(0).setCellValue("User " + r);
+                row.createCell(1).setCellValue(email(r));
+                row.createCell(2).setCellValue("Pass" + r + "!" + (char) ('a' + random.nextInt(26)));
+                row.createCell(3).setCellValue(random.nextBoolean() ? "true" : "false");
+            }
+
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    /**
+     * Email address stored in data row r of a generated workbook
+     *
+     * @param r Data row (0-based, header not counted)
+     * @return The email in column B of that row
+     */
+    public static String email(int r) {
+        return "user" + r + "@musiclms.test";
+    }
+
+    /**
+     * Create a PNG that compresses like a real page screenshot
+     *
+     * @param width Image width in pixels
+     * @param height Image height in pixels
+     * @return PNG bytes
+     * @throws IOException If the image cannot be encoded
+     */
+    public static byte[] screenshotPng(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        Random random = new Random(42);
+        try {
+            g.setColor(new Color(0x0F172A));
+            g.fillRect(0, 0, width, height);
+
+            // Header bar and sidebar
+            g.setColor(new Color(0x1E293B));
+            g.fillRect(0, 0, width, 56);
+            g.fillRect(0, 56, 256, height - 56);
+
+            // Cards with "text lines"
+            for (int card = 0; card < 12; card++) {
+                int x = 300 + (card % 4) * 400;
+                int y = 100 + (card / 4) * 300;
+                g.setColor(new Color(0x334155));
+                g.fillRoundRect(x, y, 360, 260, 16, 16);
+                g.setColor(new Color(0xCBD5E1));
+                for (int line = 0; line < 8; line++) {
+                    g.fillRect(x + 20, y + 30 + line * 26, 80 + random.nextInt(240), 10);
+                }
+            }
+
+            // A little noise, like anti-aliased fonts and images
+            for (int i = 0; i < width * height / 50; i++) {
+                image.setRGB(random.nextInt(width), random.nextInt(height), random.nextInt(0xFFFFFF));
+            }
+        } finally {
+            g.dispose();
+        }
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return png.toByteArray();
+    }
+
+    /**
+     * A WebDriver that only knows how to take screenshots
+     *
+     * getScreenshotAs() converts the PNG bytes the same way a real driver
+     * does (e.g. OutputType.FILE writes a new temp file every call).
+     *
+     * @param png Screenshot returned by every call
+     * @return Driver implementing WebDriver and TakesScreenshot
+     */
+    public static WebDriver screenshotDriver(byte[] png) {
+        return (WebDriver) Proxy.newProxyInstance(Fixtures.class.getClassLoader(),
+            new Class<?>[] {WebDriver.class, TakesScreenshot.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getScreenshotAs":
+                        return ((OutputType<?>) args[0]).convertFromPngBytes(png);
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "ScreenshotDriver";
+                    default:
+                        return null;
+                }
+            });
+    }
+
+    /**
+     * A finished TestNG result for a test method
+     *
+     * @param methodName Test method name
+     * @param instance Test class instance (e.g. a BaseClass with a stub driver)
+     * @param throwable Failure cause, or null for a passed test
+     * @return Stub result
+     */
+    public static ITestResult result(String methodName, Object instance, Throwable throwable) {
+        ITestNGMethod method = (ITestNGMethod) Proxy.newProxyInstance(Fixtures.class.getClassLoader(),
+            new Class<?>[] {ITestNGMethod.class},
+            (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "getMethodName":
+                        return methodName;
+                    case "getDescription":
+                        return "Benchmark test " + methodName;
+                    default:
+                        return defaultValue(m.getReturnType());
+                }
+            });
+
+        return (ITestResult) Proxy.newProxyInstance(Fixtures.class.getClassLoader(),
+            new Class<?>[] {ITestResult.class},
+            (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "getMethod":
+                        return method;
+                    case "getInstance":
+                        return instance;
+                    case "getThrowable":
+                        return throwable;
+                    case "getName":
+                        return methodName;
+                    default:
+                        return defaultValue(m.getReturnType());
+                }
+            });
+    }
+
+    /**
+     * A TestNG context with a "browser" parameter (read by ExtentReportManager)
+     *
+     * @return Stub context
+     */
+    public static ITestContext context() {
+        XmlSuite suite = new XmlSuite();
+        XmlTest test = new XmlTest(suite);
+        test.addParameter("browser", "chrome");
+
+        return (ITestContext) Proxy.newProxyInstance(Fixtures.class.getClassLoader(),
+            new Class<?>[] {ITestContext.class},
+            (proxy, m, args) -> "getCurrentXmlTest".equals(m.getName()) ? test : defaultValue(m.getReturnType()));
+    }
+
+    /**
+     * Neutral return value for stub methods we don't care about
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
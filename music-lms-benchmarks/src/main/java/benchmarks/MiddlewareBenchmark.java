@@ -0,0 +1,450 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * =============================================================================
+ * MIDDLEWARE BENCHMARK - HOW MUCH OF THE TIME TO FIRST BYTE IS src/middleware.ts?
+ * =============================================================================
+ *
+ * src/middleware.ts runs updateSession() (src/lib/supabase/middleware.ts) on
+ * EVERY request: with a session cookie that is one Supabase round trip
+ * (GET /auth/v1/user), with an expired token two (refresh + user) - before
+ * the page even starts rendering.
+ *
+ * This harness sends concurrent requests to every route, three times:
+ *
+ *     none      no cookie                      (middleware: no auth call)
+ *     valid     valid session cookie           (middleware: GET /auth/v1/user)
+ *     expired   expired access token, valid refresh token
+ *                                              (middleware: refresh + GET /auth/v1/user)
+ *
+ * The benchmark never stores the refreshed cookie the app sends back, so
+ * EVERY "expired" request pays for the refresh - the worst case of a user
+ * returning after the token expired.
+ *
+ * Supabase is replaced by AuthStandIn (fixed latency), so differences come
+ * from the app alone.
+ *
+ * SEPARATING MIDDLEWARE FROM RENDERING:
+ * -------------------------------------
+ * Some requests are answered by the middleware itself, without rendering:
+ *
+ *     /favicon.ico        excluded by the middleware matcher -> server floor
+ *     none    /dashboard  middleware redirects to /login     -> middleware only
+ *     valid   /login      middleware redirects to /dashboard -> middleware + auth
+ *     expired /login      same, after a token refresh        -> middleware + refresh
+ *
+ * These references are measured first. For every route the report then shows
+ *
+ *     middleware = reference TTFB p50 - floor TTFB p50     (same for all routes of a session)
+ *     render     = route total p50 - reference total p50   (what the page itself costs)
+ *
+ * Render uses the time to the LAST byte: pages are streamed, so the first
+ * byte can leave before rendering is finished.
+ *
+ * USAGE:
+ * ------
+ *     1. java -cp ... benchmarks.MiddlewareBenchmark      (starts the stand-in, prints the env)
+ *     2. start the app with that env: npm run build && npm run start
+ *
+ * Or start the stand-in yourself first with -DstandInOnly=true, then run the
+ * benchmark with -DstartStandIn=false.
+ *
+ * SETTINGS (-Dname=value):
+ *     appUrl          http://localhost:3000
+ *     standInPort     54321     AuthStandIn port (= NEXT_PUBLIC_SUPABASE_URL)
+ *     authLatencyMs   0         delay of every stand-in answer
+ *     concurrency     16        parallel connections
+ *     requests        400       measured requests per route and session
+ *     warmup          40        unmeasured requests per scenario before measuring (JIT, route compile)
+ *     routes          all       comma separated, e.g. /dashboard,/login
+ *
+ * Results: printed table + results/middleware-<git commit>.csv
+ *
+ * =============================================================================
+ */
+public class MiddlewareBenchmark {
+
+    /**
+     * Every page of src/app ([id] segments filled with a random id)
+     */
+    private static final List<String> ROUTES = List.of(
+        "/",
+        "/login",
+        "/signup",
+        "/invite/" + UUID.randomUUID(),
+        "/dashboard",
+        "/dashboard/assignments",
+        "/dashboard/assignments/" + UUID.randomUUID(),
+        "/dashboard/feedback",
+        "/dashboard/library",
+        "/dashboard/messages",
+        "/dashboard/practice",
+        "/dashboard/schedule",
+        "/dashboard/seeder",
+        "/dashboard/settings",
+        "/dashboard/students",
+        "/dashboard/students/" + UUID.randomUUID(),
+        "/dashboard/submissions",
+        "/dashboard/submissions/" + UUID.randomUUID());
+
+    /**
+     * Not matched by the middleware (see config.matcher in src/middleware.ts)
+     */
+    private static final String FLOOR_ROUTE = "/favicon.ico";
+
+    private enum Session {
+        NONE("/dashboard"),
+        VALID("/login"),
+        EXPIRED("/login");
+
+        /** Route the middleware answers by itself for this session */
+        final String reference;
+
+        Session(String reference) {
+            this.reference = reference;
+        }
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Measurements of one route with one kind of session
+     */
+    private record Result(String route, Session session, long[] ttfbNanos, long[] totalNanos,
+                          double seconds, Map<Integer, Integer> statuses, int errors, long[] standInCalls) {
+
+        double ttfbMs(double percentile) {
+            return MiddlewareBenchmark.percentile(ttfbNanos, percentile) / 1e6;
+        }
+
+        double totalMs(double percentile) {
+            return MiddlewareBenchmark.percentile(totalNanos, percentile) / 1e6;
+        }
+
+        double perSecond() {
+            return ttfbNanos.length / seconds;
+        }
+
+        double perRequest(int endpoint) {
+            return ttfbNanos.length == 0 ? 0 : (double) standInCalls[endpoint] / ttfbNanos.length;
+        }
+    }
+
+    private final String appUrl = System.getProperty("appUrl", "http://localhost:3000");
+    private final int concurrency = Integer.getInteger("concurrency", 16);
+    private final int requests = Integer.getInteger("requests", 400);
+    private final int warmup = Integer.getInteger("warmup", 40);
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private final AuthStandIn standIn;
+    private final String cookieName;
+
+    private MiddlewareBenchmark(AuthStandIn standIn, String supabaseUrl) {
+        this.standIn = standIn;
+        this.cookieName = cookieName(supabaseUrl);
+    }
+
+    /**
+     * Entry point
+     *
+     * @param args Not used (settings are system properties)
+     * @throws Exception If the stand-in cannot start or the results cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        int port = Integer.getInteger("standInPort", 54321);
+        String supabaseUrl = "http://localhost:" + port;
+        boolean startStandIn = !"false".equals(System.getProperty("startStandIn"));
+        AuthStandIn standIn = startStandIn ? new AuthStandIn(port, Long.getLong("authLatencyMs", 0L)) : null;
+
+        System.out.println("Auth stand-in: " + (standIn != null ? supabaseUrl : "not started (-DstartStandIn=false)"));
+        System.out.println("Start the app with:");
+        System.out.println("    NEXT_PUBLIC_SUPABASE_URL=" + supabaseUrl
+            + " NEXT_PUBLIC_SUPABASE_ANON_KEY=stand-in npm run build && npm run start");
+
+        if (Boolean.getBoolean("standInOnly")) {
+            System.out.println("Stand-in running - press Ctrl+C to stop");
+            Thread.currentThread().join();
+        }
+
+        try {
+            MiddlewareBenchmark benchmark = new MiddlewareBenchmark(standIn, supabaseUrl);
+            benchmark.waitForApp();
+            List<Result> results = benchmark.run();
+            String report = report(results);
+            System.out.println(report);
+            Path csv = Paths.get(System.getProperty("resultsDir", "results"),
+                "middleware-" + BenchmarkRunner.commitId() + ".csv");
+            Files.createDirectories(csv.getParent());
+            Files.writeString(csv, csv(results), StandardCharsets.UTF_8);
+            System.out.println("Results written to: " + csv.toAbsolutePath());
+        } finally {
+            if (standIn != null) {
+                standIn.close();
+            }
+        }
+    }
+
+    /**
+     * Wait up to 5 minutes for the app (started after the stand-in)
+     */
+    private void waitForApp() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5);
+        while (true) {
+            try {
+                send(FLOOR_ROUTE, null);
+                return;
+            } catch (IOException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("App not reachable at " + appUrl, e);
+                }
+                System.out.println("Waiting for " + appUrl + " ...");
+                Thread.sleep(2000);
+            }
+        }
+    }
+
+    // =========================================================================
+    // MEASURING
+    // =========================================================================
+
+    private List<Result> run() throws InterruptedException {
+        List<String> routes = System.getProperty("routes") == null ? ROUTES
+            : Arrays.stream(System.getProperty("routes").split(",")).map(String::trim).toList();
+
+        // References first: floor (no middleware), then what the middleware alone costs
+        List<String[]> scenarios = new ArrayList<>();
+        scenarios.add(new String[] {FLOOR_ROUTE, Session.NONE.name()});
+        for (Session session : Session.values()) {
+            scenarios.add(new String[] {session.reference, session.name()});
+        }
+        for (Session session : Session.values()) {
+            for (String route : routes) {
+                if (!route.equals(session.reference)) {
+                    scenarios.add(new String[] {route, session.name()});
+                }
+            }
+        }
+
+        // Warm up EVERY scenario before measuring any, so the first ones
+        // measured do not pay for JIT and on-demand route compilation
+        System.out.println("Warming up " + scenarios.size() + " scenarios ...");
+        for (String[] scenario : scenarios) {
+            String cookie = cookie(Session.valueOf(scenario[1]));
+            for (int i = 0; i < warmup; i++) {
+                try {
+                    send(scenario[0], cookie);
+                } catch (IOException e) {
+                    // Counted in the measured phase
+                }
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (String[] scenario : scenarios) {
+            results.add(measure(scenario[0], Session.valueOf(scenario[1])));
+        }
+        return results;
+    }
+
+    /**
+     * Send 'requests' requests over 'concurrency' connections
+     */
+    private Result measure(String route, Session session) throws InterruptedException {
+        System.out.printf("%-45s %-8s ...%n", route, session.label());
+        String cookie = cookie(session);
+        if (standIn != null) {
+            standIn.resetCalls();
+        }
+
+        long[] ttfb = new long[requests];
+        long[] total = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        Map<Integer, Integer> statuses = new TreeMap<>();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        for (int w = 0; w < concurrency; w++) {
+            workers.execute(() -> {
+                while (next.getAndIncrement() < requests) {
+                    long sent = System.nanoTime();
+                    try {
+                        long[] firstByte = new long[1];
+                        HttpResponse<Void> response = client.send(request(route, cookie), info -> {
+                            firstByte[0] = System.nanoTime();
+                            return HttpResponse.BodySubscribers.discarding();
+                        });
+                        int slot = done.getAndIncrement();
+                        ttfb[slot] = firstByte[0] - sent;
+                        total[slot] = System.nanoTime() - sent;
+                        synchronized (statuses) {
+                            statuses.merge(response.statusCode(), 1, Integer::sum);
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.HOURS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int measured = done.get();
+        long[] calls = standIn != null ? standIn.calls() : new long[3];
+        return new Result(route, session, Arrays.copyOf(ttfb, measured), Arrays.copyOf(total, measured),
+            seconds, statuses, errors.get(), calls);
+    }
+
+    private HttpRequest request(String route, String cookie) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(appUrl + route))
+            .timeout(Duration.ofSeconds(60))
+            .GET();
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return builder.build();
+    }
+
+    private void send(String route, String cookie) throws IOException, InterruptedException {
+        client.send(request(route, cookie), HttpResponse.BodyHandlers.discarding());
+    }
+
+    // =========================================================================
+    // SESSION COOKIE (format of @supabase/ssr)
+    // =========================================================================
+
+    /**
+     * Cookie name @supabase/ssr uses: sb-<first label of the Supabase host>-auth-token
+     *
+     * @param supabaseUrl e.g. http://localhost:54321 -> sb-localhost-auth-token
+     */
+    static String cookieName(String supabaseUrl) {
+        String host = URI.create(supabaseUrl).getHost();
+        return "sb-" + host.split("\\.")[0] + "-auth-token";
+    }
+
+    /**
+     * Cookie header for a kind of session (null = no cookie)
+     *
+     * The session is stored as "base64-" + base64url(JSON); values longer
+     * than 3180 characters are split into name.0, name.1, ...
+     */
+    private String cookie(Session session) {
+        if (session == Session.NONE) {
+            return null;
+        }
+        Map<String, Object> value = AuthStandIn.session(session == Session.VALID ? 3600 : -60);
+        String encoded = "base64-" + Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(AuthStandIn.compactJson(value).getBytes(StandardCharsets.UTF_8));
+        int chunk = 3180;
+        if (encoded.length() <= chunk) {
+            return cookieName + "=" + encoded;
+        }
+        List<String> parts = new ArrayList<>();
+        for (int i = 0, n = 0; i < encoded.length(); i += chunk, n++) {
+            parts.add(cookieName + "." + n + "=" + encoded.substring(i, Math.min(encoded.length(), i + chunk)));
+        }
+        return String.join("; ", parts);
+    }
+
+    // =========================================================================
+    // REPORT
+    // =========================================================================
+
+    /**
+     * Nearest-rank percentile
+     */
+    static long percentile(long[] values, double percentile) {
+        if (values.length == 0) {
+            return 0;
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static String report(List<Result> results) {
+        Result floor = results.get(0);
+        Map<Session, Result> references = new TreeMap<>();
+        for (Result result : results.subList(1, 1 + Session.values().length)) {
+            references.put(result.session(), result);
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%nTimes in ms; p50..max = time to first byte (floor %s p50 = %.1f ms)%n",
+            FLOOR_ROUTE, floor.ttfbMs(50)));
+        for (Result reference : references.values()) {
+            out.append(String.format("  middleware %-8s p50 = %6.1f ms  (%s %s, %.1f auth calls/request)%n",
+                reference.session().label(), reference.ttfbMs(50) - floor.ttfbMs(50),
+                reference.route(), statuses(reference), reference.perRequest(0) + reference.perRequest(1)));
+        }
+        out.append(String.format("%n%-45s %-8s %-10s %7s %8s %8s %8s %8s %9s %7s %8s%n",
+            "Route", "Session", "Status", "req/s", "p50", "p90", "p99", "max", "total p50", "auth/rq", "render"));
+        for (Result result : results) {
+            Result reference = references.get(result.session());
+            String render = result == floor || result == reference ? "-"
+                : String.format("%.1f", Math.max(0, result.totalMs(50) - reference.totalMs(50)));
+            out.append(String.format("%-45s %-8s %-10s %7.0f %8.1f %8.1f %8.1f %8.1f %9.1f %7.2f %8s%n",
+                result.route(), result.session().label(), statuses(result), result.perSecond(),
+                result.ttfbMs(50), result.ttfbMs(90), result.ttfbMs(99), result.ttfbMs(100),
+                result.totalMs(50), result.perRequest(0) + result.perRequest(1), render));
+        }
+        return out.toString();
+    }
+
+    private static String statuses(Result result) {
+        StringBuilder text = new StringBuilder();
+        result.statuses().forEach((status, count) -> text.append(text.length() == 0 ? "" : "/").append(status));
+        if (result.errors() > 0) {
+            text.append(text.length() == 0 ? "" : "/").append("ERR");
+        }
+        return text.toString();
+    }
+
+    private static String csv(List<Result> results) {
+        StringBuilder out = new StringBuilder(
+            "route,session,statuses,errors,requests,req_per_s,ttfb_p50_ms,ttfb_p90_ms,ttfb_p99_ms,ttfb_max_ms,"
+            + "total_p50_ms,auth_user_calls,auth_refresh_calls,rest_calls\n");
+        for (Result result : results) {
+            out.append(String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f,%d,%d,%d%n",
+                result.route(), result.session().label(), statuses(result), result.errors(), result.ttfbNanos().length,
+                result.perSecond(), result.ttfbMs(50), result.ttfbMs(90), result.ttfbMs(99), result.ttfbMs(100),
+                result.totalMs(50), result.standInCalls()[0], result.standInCalls()[1], result.standInCalls()[2]));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import testBase.BaseClass;
+
+/**
+ * =============================================================================
+ * RANDOM DATA BENCHMARK - TEST DATA GENERATORS IN BaseClass
+ * =============================================================================
+ *
+ * randomEmail() and randomAlphaNumeric() are called for every signup test
+ * (and every data row). They are cheap, but this keeps them that way.
+ *
+ * =============================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RandomDataBenchmark {
+
+    private final BaseClass base = new BaseClass();
+
+    @Benchmark
+    public String randomAlphaNumeric() {
+        return base.randomAlphaNumeric();
+    }
+
+    @Benchmark
+    public String randomEmail() {
+        return base.randomEmail();
+    }
+}
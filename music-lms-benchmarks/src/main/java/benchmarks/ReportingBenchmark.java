@@ -0,0 +1,85 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.testng.ITestResult;
+
+import testBase.BaseClass;
+import utilities.ExtentReportManager;
+
+/**
+ * =============================================================================
+ * REPORTING BENCHMARK - LISTENER WORK AROUND EVERY TEST
+ * =============================================================================
+ *
+ * Measures what the framework does around a test, without a browser:
+ *
+ *     passedTest     ExtentReportManager.onTestStart + onTestSuccess
+ *     failedTest     ExtentReportManager.onTestStart + onTestFailure
+ *                    (includes BaseClass.captureScreen and attaching it)
+ *     captureScreen  BaseClass.captureScreen alone: driver returns a PNG
+ *                    temp file, which is copied to ./screenshots/
+ *
+ * The driver is a stub that returns a synthetic 1920x1080 PNG.
+ * A new report is started every iteration, so the number of tests in the
+ * report does not grow without limit.
+ *
+ * =============================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportingBenchmark {
+
+    private BaseClass testInstance;
+    private ExtentReportManager reportManager;
+    private ITestResult passed;
+    private ITestResult failed;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        Files.createDirectories(Paths.get("screenshots"));
+
+        testInstance = new BaseClass();
+        testInstance.driver = Fixtures.screenshotDriver(Fixtures.screenshotPng(1920, 1080));
+        testInstance.logger = LogManager.getLogger(BaseClass.class);
+
+        passed = Fixtures.result("passedTest", testInstance, null);
+        failed = Fixtures.result("failedTest", testInstance, new AssertionError("expected [true] but found [false]"));
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        reportManager = new ExtentReportManager();
+        reportManager.onStart(Fixtures.context());
+    }
+
+    @Benchmark
+    public void passedTest() {
+        reportManager.onTestStart(passed);
+        reportManager.onTestSuccess(passed);
+    }
+
+    @Benchmark
+    public void failedTest() {
+        reportManager.onTestStart(failed);
+        reportManager.onTestFailure(failed);
+    }
+
+    @Benchmark
+    public String captureScreen() {
+        return testInstance.captureScreen("benchmark");
+    }
+}
@@ -0,0 +1,172 @@
+package datagen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * =============================================================================
+ * SHEET READER - ALL ROWS OF AN .xlsx SHEET OR .csv FILE AS TEXT
+ * =============================================================================
+ *
+ * Values are read the same way as utilities.ExcelUtility.getCellData() and
+ * utilities.CsvDataSource do at runtime, so a generated record holds exactly
+ * the Strings a runtime DataProvider would have returned:
+ *
+ * - .xlsx: DataFormatter (the text Excel shows), rows as wide as the header
+ * - .csv:  RFC 4180 quoting, UTF-8, optional byte order mark, empty lines
+ *          skipped, every row exactly as wide as the header (else an error)
+ *
+ * =============================================================================
+ */
+final class SheetReader {
+
+    private SheetReader() {
+        // Utility class - no instances
+    }
+
+    /**
+     * Read every row (header first)
+     *
+     * @param file .xlsx or .csv file
+     * @param sheetName Sheet inside an .xlsx ("" = first sheet)
+     * @return Rows, each as wide as the header row
+     * @throws IOException If the file cannot be read or the sheet does not exist
+     */
+    static List<String[]> read(Path file, String sheetName) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".xlsx")) {
+            return readXlsx(file, sheetName);
+        }
+        if (name.endsWith(".csv")) {
+            return readCsv(file);
+        }
+        throw new IOException("Unsupported sheet file (use .xlsx or .csv): " + file);
+    }
+
+    private static List<String[]> readXlsx(Path file, String sheetName) throws IOException {
+        DataFormatter formatter = new DataFormatter();
+        List<String[]> rows = new ArrayList<>();
+
+        try (InputStream in = Files.newInputStream(file);
+             XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            XSSFSheet sheet = sheetName.isEmpty() ? workbook.getSheetAt(0) : workbook.getSheet(sheetName);
+            if (sheet == null) {
+                throw new IOException("Sheet '" + sheetName + "' not found in " + file);
+            }
+            XSSFRow header = sheet.getRow(0);
+            int totalCols = header == null ? 0 : Math.max(0, header.getLastCellNum());
+
+            for (int i = 0; i <= sheet.getLastRowNum(); i++) {
+                XSSFRow row = sheet.getRow(i);
+                String[] values = new String[totalCols];
+                for (int j = 0; j < totalCols; j++) {
+                    values[j] = row == null ? "" : formatter.formatCellValue(row.getCell(j));
+                }
+                rows.add(values);
+            }
+        }
+        return rows;
+    }
+
+    private static List<String[]> readCsv(Path file) throws IOException {
+        String text = Files.readString(file, StandardCharsets.UTF_8);
+        if (text.startsWith("\uFEFF")) {
+            text = text.substring(1);
+        }
+
+        List<String[]> rows = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        int pos = 0;
+        int length = text.length();
+        int line = 1;
+        int rowLine = 1;
+
+        while (pos < length) {
+            if (fields.isEmpty()) {
+                // Start of a row: skip empty lines, remember where the row starts
+                char first = text.charAt(pos);
+                if (first == '\r' || first == '\n') {
+                    pos += first == '\r' && pos + 1 < length && text.charAt(pos + 1) == '\n' ? 2 : 1;
+                    line++;
+                    continue;
+                }
+                rowLine = line;
+            }
+
+            value.setLength(0);
+            if (text.charAt(pos) == '"') {
+                // Quoted value: "" is a quote, commas and line breaks are data
+                pos++;
+                while (pos < length) {
+                    char c = text.charAt(pos++);
+                    if (c == '"') {
+                        if (pos < length && text.charAt(pos) == '"') {
+                            pos++;
+                        } else {
+                            break;
+                        }
+                    }
+                    if (c == '\n') {
+                        line++;
+                    }
+                    value.append(c);
+                }
+            } else {
+                while (pos < length) {
+                    char c = text.charAt(pos);
+                    if (c == ',' || c == '\r' || c == '\n') {
+                        break;
+                    }
+                    value.append(c);
+                    pos++;
+                }
+            }
+            fields.add(value.toString());
+
+            if (pos < length && text.charAt(pos) == ',') {
+                pos++;
+                if (pos == length) {
+                    fields.add("");
+                }
+                continue;
+            }
+            if (pos < length && text.charAt(pos) == '\r') {
+                pos++;
+            }
+            if (pos < length && text.charAt(pos) == '\n') {
+                pos++;
+            }
+            line++;
+            addRow(rows, fields, file, rowLine);
+        }
+        if (!fields.isEmpty()) {
+            addRow(rows, fields, file, rowLine);
+        }
+        return rows;
+    }
+
+    /**
+     * Add the collected fields as a row; every row must be as wide as the
+     * header (same check as utilities.CsvDataSource)
+     */
+    private static void addRow(List<String[]> rows, List<String> fields, Path file, int line) throws IOException {
+        if (!rows.isEmpty() && fields.size() != rows.get(0).length) {
+            throw new IOException(file + " line " + line + ": " + fields.size()
+                + " columns, but the header has " + rows.get(0).length);
+        }
+        rows.add(fields.toArray(new String[0]));
+        fields.clear();
+    }
+}
@@ -0,0 +1,452 @@
+package datagen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+
+/**
+ * =============================================================================
+ * TEST DATA PROCESSOR - GENERATES A RECORD PER @TestDataSheet
+ * =============================================================================
+ *
+ * WHAT IS AN ANNOTATION PROCESSOR?
+ * --------------------------------
+ * A plug-in for the Java compiler. javac finds it through
+ * META-INF/services/javax.annotation.processing.Processor, calls process()
+ * with every class that carries our annotation, and compiles the source
+ * files we write together with the rest of the tests.
+ *
+ *     DataProviders.java --javac--> TestDataProcessor --> LoginRow.java --javac--> LoginRow.class
+ *     (@TestDataSheet)                  reads the sheet
+ *
+ * SETUP (music-lms-tests/pom.xml):
+ * --------------------------------
+ *     <annotationProcessorPaths>  music-lms-datagen  </annotationProcessorPaths>
+ *     <compilerArgs>  -Adatagen.baseDir=${project.basedir}  </compilerArgs>
+ *
+ * datagen.baseDir is the folder the sheet paths are relative to (default:
+ * the working directory of the compiler).
+ *
+ * ERRORS:
+ * -------
+ * Problems are reported as compile errors on the annotated class: a value
+ * that does not fit its column type, a header that does not match the
+ * declared columns, too many rows. A missing sheet file is only a WARNING
+ * when the columns are declared - the record is generated, and rows()
+ * throws when a test uses it (the same moment a runtime read would fail).
+ *
+ * Completely empty rows are skipped; they are not test cases.
+ *
+ * =============================================================================
+ */
+@SupportedAnnotationTypes({"datagen.TestDataSheet", "datagen.TestDataSheets"})
+@SupportedOptions(TestDataProcessor.BASE_DIR_OPTION)
+public class TestDataProcessor extends AbstractProcessor {
+
+    /**
+     * Compiler option: folder that sheet paths are relative to
+     */
+    public static final String BASE_DIR_OPTION = "datagen.baseDir";
+
+    /**
+     * Rows per generated method (a Java method may have at most 64 KB of bytecode)
+     */
+    private static final int ROWS_PER_CHUNK = 200;
+
+    private static final Pattern BOOLEAN_VALUE = Pattern.compile("(?i)true|false");
+    private static final Pattern INT_VALUE = Pattern.compile("-?(0|[1-9]\\d{0,8})");
+
+    /**
+     * Names that would clash with the generated static members or Object methods
+     */
+    private static final Set<String> RESERVED = Set.of(
+        "rows", "parameters", "load", "hashCode", "toString", "getClass",
+        "notify", "notifyAll", "wait", "clone", "finalize");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<Element> annotated = new LinkedHashSet<>();
+        annotated.addAll(roundEnv.getElementsAnnotatedWith(TestDataSheet.class));
+        annotated.addAll(roundEnv.getElementsAnnotatedWith(TestDataSheets.class));
+
+        for (Element element : annotated) {
+            for (TestDataSheet sheet : element.getAnnotationsByType(TestDataSheet.class)) {
+                try {
+                    generate((TypeElement) element, sheet);
+                } catch (IOException | IllegalArgumentException e) {
+                    error(element, sheet, e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read one sheet and write its record
+     */
+    private void generate(TypeElement owner, TestDataSheet sheet) throws IOException {
+        String pkg = processingEnv.getElementUtils().getPackageOf(owner).getQualifiedName().toString();
+        if (!SourceVersion.isName(sheet.record())) {
+            throw new IllegalArgumentException("record = \"" + sheet.record() + "\" is not a valid class name");
+        }
+
+        String baseDir = processingEnv.getOptions().getOrDefault(BASE_DIR_OPTION, "");
+        Path file = Paths.get(baseDir).resolve(sheet.file());
+        List<String[]> rows = null;
+        if (Files.exists(file)) {
+            rows = SheetReader.read(file, sheet.sheet());
+            // A completely empty row is not a test case (e.g. a blank row at the end)
+            for (int i = rows.size() - 1; i > 0; i--) {
+                if (String.join("", rows.get(i)).isBlank()) {
+                    rows.remove(i);
+                }
+            }
+        } else if (sheet.columns().length > 0) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                sheet.file() + " not found - " + sheet.record() + ".rows() will fail at runtime", owner);
+        } else {
+            throw new IOException(file + " not found (declare columns = {...} to generate the record anyway)");
+        }
+
+        List<Column> columns = columns(sheet, rows);
+        if (rows != null && rows.size() - 1 > sheet.maxRows()) {
+            throw new IllegalArgumentException((rows.size() - 1) + " rows is more than maxRows = "
+                + sheet.maxRows() + " - read big sheets at runtime with DataSources");
+        }
+
+        String source = sheet.file() + (sheet.sheet().isEmpty() ? "" : "#" + sheet.sheet());
+        String code = new RecordWriter(pkg, sheet.record(), source, columns, rows).write();
+        String name = pkg.isEmpty() ? sheet.record() : pkg + "." + sheet.record();
+        try (Writer out = processingEnv.getFiler().createSourceFile(name, owner).openWriter()) {
+            out.write(code);
+        }
+    }
+
+    /**
+     * Column names and types: declared, or derived from header and values
+     */
+    private List<Column> columns(TestDataSheet sheet, List<String[]> rows) {
+        List<Column> columns = new ArrayList<>();
+        String[] header = rows == null || rows.isEmpty() ? new String[0] : rows.get(0);
+
+        if (sheet.columns().length > 0) {
+            if (rows != null && header.length != sheet.columns().length) {
+                throw new IllegalArgumentException("Sheet has " + header.length + " columns "
+                    + List.of(header) + " but " + sheet.columns().length + " are declared");
+            }
+            for (String declared : sheet.columns()) {
+                int colon = declared.indexOf(':');
+                String name = colon < 0 ? declared.trim() : declared.substring(0, colon).trim();
+                String type = colon < 0 ? "String" : declared.substring(colon + 1).trim();
+                columns.add(new Column(name, Type.of(type)));
+            }
+        } else {
+            for (int j = 0; j < header.length; j++) {
+                columns.add(new Column(identifier(header[j]), inferType(rows, j)));
+            }
+        }
+
+        Set<String> seen = new HashSet<>();
+        for (Column column : columns) {
+            if (!SourceVersion.isName(column.name) || RESERVED.contains(column.name)) {
+                throw new IllegalArgumentException("'" + column.name + "' cannot be a record component name");
+            }
+            if (!seen.add(column.name)) {
+                throw new IllegalArgumentException("Column name '" + column.name + "' is used twice");
+            }
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Sheet has no header row");
+        }
+
+        // Every value must fit its column type
+        if (rows != null) {
+            for (int i = 1; i < rows.size(); i++) {
+                for (int j = 0; j < columns.size(); j++) {
+                    Column column = columns.get(j);
+                    if (!column.type.accepts(rows.get(i)[j])) {
+                        throw new IllegalArgumentException("Row " + (i + 1) + ", column '" + column.name
+                            + "': '" + rows.get(i)[j] + "' is not a " + column.type.javaName);
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Header text to a Java name: "Full Name" / "FullName" -> fullName
+     */
+    static String identifier(String header) {
+        StringBuilder name = new StringBuilder();
+        boolean upper = false;
+        for (char c : header.trim().toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                name.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            } else {
+                upper = name.length() > 0;
+            }
+        }
+        if (name.length() == 0) {
+            return "column";
+        }
+        name.setCharAt(0, Character.toLowerCase(name.charAt(0)));
+        if (Character.isDigit(name.charAt(0))) {
+            name.insert(0, "col");
+        }
+        String result = name.toString();
+        return SourceVersion.isKeyword(result) ? result + "Value" : result;
+    }
+
+    /**
+     * Narrowest type that fits every value of a column
+     */
+    private static Type inferType(List<String[]> rows, int col) {
+        if (rows.size() < 2) {
+            return Type.STRING;
+        }
+        boolean allBoolean = true;
+        boolean allInt = true;
+        for (int i = 1; i < rows.size(); i++) {
+            String value = rows.get(i)[col];
+            allBoolean &= BOOLEAN_VALUE.matcher(value).matches();
+            allInt &= INT_VALUE.matcher(value).matches();
+        }
+        return allBoolean ? Type.BOOLEAN : allInt ? Type.INT : Type.STRING;
+    }
+
+    private void error(Element element, TestDataSheet sheet, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+            "@TestDataSheet(" + sheet.file() + "): " + message, element);
+    }
+
+    /**
+     * Supported column types and their Java literals
+     */
+    enum Type {
+        STRING("String"),
+        BOOLEAN("boolean"),
+        INT("int"),
+        LONG("long"),
+        DOUBLE("double");
+
+        final String javaName;
+
+        Type(String javaName) {
+            this.javaName = javaName;
+        }
+
+        static Type of(String name) {
+            for (Type type : values()) {
+                if (type.javaName.equalsIgnoreCase(name)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown column type '" + name
+                + "' (use String, boolean, int, long or double)");
+        }
+
+        boolean accepts(String value) {
+            try {
+                literal(value);
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Java source for a value, e.g. "Pass\"1" / true / 42 / 42L / 1.5
+         */
+        String literal(String value) {
+            switch (this) {
+                case BOOLEAN:
+                    if (!BOOLEAN_VALUE.matcher(value).matches()) {
+                        throw new IllegalArgumentException(value);
+                    }
+                    return value.toLowerCase(Locale.ROOT);
+                case INT:
+                    return Integer.toString(Integer.parseInt(value.trim()));
+                case LONG:
+                    return Long.parseLong(value.trim()) + "L";
+                case DOUBLE:
+                    double d = Double.parseDouble(value.trim());
+                    if (!Double.isFinite(d)) {
+                        throw new IllegalArgumentException(value);
+                    }
+                    return Double.toString(d);
+                default:
+                    return stringLiteral(value);
+            }
+        }
+    }
+
+    /**
+     * Escape a String for Java source (non-ASCII as \\uXXXX, so the file encoding does not matter)
+     */
+    static String stringLiteral(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * One record component
+     */
+    record Column(String name, Type type) {
+    }
+
+    /**
+     * Builds the source code of one record
+     */
+    private static final class RecordWriter {
+
+        private final String pkg;
+        private final String record;
+        private final String source;
+        private final List<Column> columns;
+        private final List<String[]> rows;
+        private final StringBuilder out = new StringBuilder();
+
+        RecordWriter(String pkg, String record, String source, List<Column> columns, List<String[]> rows) {
+            this.pkg = pkg;
+            this.record = record;
+            this.source = source;
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+        String write() {
+            if (!pkg.isEmpty()) {
+                out.append("package ").append(pkg).append(";\n\n");
+            }
+            out.append("import javax.annotation.processing.Generated;\n\n");
+            out.append("/**\n");
+            out.append(" * Rows of ").append(source.replace("*/", "*&#47;")).append(" (GENERATED - do not edit)\n");
+            out.append(" *\n");
+            out.append(" * Written by datagen.TestDataProcessor on every compile. Change the sheet,\n");
+            out.append(" * not this file.\n");
+            out.append(" */\n");
+            out.append("@Generated(\"datagen.TestDataProcessor\")\n");
+            out.append("public record ").append(record).append("(");
+            for (int j = 0; j < columns.size(); j++) {
+                Column column = columns.get(j);
+                out.append(j > 0 ? ", " : "").append(column.type.javaName).append(' ').append(column.name);
+            }
+            out.append(") {\n\n");
+
+            out.append("    /**\n     * Sheet the rows were generated from\n     */\n");
+            out.append("    public static final String SOURCE = ").append(stringLiteral(source)).append(";\n\n");
+
+            if (rows == null) {
+                writeMissing();
+            } else {
+                writeRows();
+            }
+
+            out.append("    /**\n");
+            out.append("     * Every row as one TestNG parameter set: {{row1}, {row2}, ...}\n");
+            out.append("     *\n");
+            out.append("     * @return Value for a @DataProvider method\n");
+            out.append("     */\n");
+            out.append("    public static Object[][] parameters() {\n");
+            out.append("        ").append(record).append("[] rows = rows();\n");
+            out.append("        Object[][] parameters = new Object[rows.length][];\n");
+            out.append("        for (int i = 0; i < rows.length; i++) {\n");
+            out.append("            parameters[i] = new Object[] {rows[i]};\n");
+            out.append("        }\n");
+            out.append("        return parameters;\n");
+            out.append("    }\n");
+            out.append("}\n");
+            return out.toString();
+        }
+
+        private void writeMissing() {
+            out.append("    /**\n");
+            out.append("     * The sheet did not exist when the tests were compiled\n");
+            out.append("     *\n");
+            out.append("     * @return never\n");
+            out.append("     * @throws IllegalStateException always\n");
+            out.append("     */\n");
+            out.append("    public static ").append(record).append("[] rows() {\n");
+            out.append("        throw new IllegalStateException(SOURCE + \" was not found when the tests were compiled\");\n");
+            out.append("    }\n\n");
+        }
+
+        private void writeRows() {
+            int total = rows.size() - 1;
+            out.append("    private static final ").append(record).append("[] ROWS = load();\n\n");
+            out.append("    /**\n");
+            out.append("     * All data rows (header excluded), in sheet order\n");
+            out.append("     *\n");
+            out.append("     * @return A copy - changing it does not affect other tests\n");
+            out.append("     */\n");
+            out.append("    public static ").append(record).append("[] rows() {\n");
+            out.append("        return ROWS.clone();\n");
+            out.append("    }\n\n");
+
+            out.append("    private static ").append(record).append("[] load() {\n");
+            out.append("        ").append(record).append("[] rows = new ").append(record)
+                .append('[').append(total).append("];\n");
+            int chunks = (total + ROWS_PER_CHUNK - 1) / ROWS_PER_CHUNK;
+            for (int c = 0; c < chunks; c++) {
+                out.append("        chunk").append(c).append("(rows);\n");
+            }
+            out.append("        return rows;\n");
+            out.append("    }\n\n");
+
+            for (int c = 0; c < chunks; c++) {
+                out.append("    private static void chunk").append(c).append('(').append(record).append("[] rows) {\n");
+                int end = Math.min(total, (c + 1) * ROWS_PER_CHUNK);
+                for (int i = c * ROWS_PER_CHUNK; i < end; i++) {
+                    String[] row = rows.get(i + 1);
+                    out.append("        rows[").append(i).append("] = new ").append(record).append('(');
+                    for (int j = 0; j < columns.size(); j++) {
+                        out.append(j > 0 ? ", " : "").append(columns.get(j).type.literal(row[j]));
+                    }
+                    out.append(");\n");
+                }
+                out.append("    }\n\n");
+            }
+        }
+    }
+}
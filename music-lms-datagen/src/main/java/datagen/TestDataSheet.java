@@ -0,0 +1,75 @@
+package datagen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * =============================================================================
+ * TEST DATA SHEET - COMPILE A SHEET INTO A TYPED RECORD
+ * =============================================================================
+ *
+ * Put it on the class that holds the @DataProvider methods:
+ *
+ *     @TestDataSheet(file = "testData/LoginTestData.xlsx", sheet = "LoginData",
+ *                    record = "LoginRow")
+ *     public class DataProviders { ... }
+ *
+ * While the tests are compiled, TestDataProcessor reads the sheet and
+ * writes a record into the same package:
+ *
+ *     public record LoginRow(String email, String password, boolean expected) {
+ *         public static LoginRow[] rows() { ... }          // every data row
+ *         public static Object[][] parameters() { ... }   // for @DataProvider
+ *     }
+ *
+ * The values are part of the compiled class: no file is opened when the
+ * tests run, and the test method gets a LoginRow instead of loose Strings.
+ *
+ * COLUMNS:
+ * --------
+ * Component names come from the header row ("FullName" -> fullName).
+ * Types are guessed from the values: only true/false -> boolean, only
+ * whole numbers -> int, anything else -> String. To fix names and types
+ * (or when the sheet may be missing), list them:
+ *
+ *     columns = {"email", "password", "expected:boolean"}
+ *
+ * Types: String (default), boolean, int, long, double.
+ *
+ * Retention SOURCE: the annotation only exists for the compiler.
+ *
+ * =============================================================================
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Repeatable(TestDataSheets.class)
+public @interface TestDataSheet {
+
+    /**
+     * Sheet file (.xlsx or .csv), relative to the module folder
+     */
+    String file();
+
+    /**
+     * Sheet name inside an .xlsx file (default: the first sheet; ignored for .csv)
+     */
+    String sheet() default "";
+
+    /**
+     * Simple name of the record to generate, e.g. "LoginRow"
+     */
+    String record();
+
+    /**
+     * Optional "name" or "name:type" per column, in sheet order
+     */
+    String[] columns() default {};
+
+    /**
+     * Safety limit: bigger sheets make huge classes - read them at runtime instead
+     */
+    int maxRows() default 2000;
+}
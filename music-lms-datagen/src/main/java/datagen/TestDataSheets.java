@@ -0,0 +1,16 @@
+package datagen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container for repeated @TestDataSheet annotations (filled in by the compiler)
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface TestDataSheets {
+
+    TestDataSheet[] value();
+}
@@ -0,0 +1,96 @@
+-- Candidate rewrite of the RLS policies, for RlsBenchmark -DrlsRewrite=...
+--
+-- 1. auth.uid() -> (SELECT auth.uid()): Postgres evaluates the sub-select
+--    once per query (InitPlan) instead of calling the function for every row.
+-- 2. EXISTS (... WHERE sp.user_id = users.id AND sp.teacher_id = auth.uid())
+--    -> id IN (SELECT sp.user_id ... WHERE sp.teacher_id = (SELECT auth.uid())):
+--    the set of allowed ids is computed once (hashed) instead of one lookup
+--    per row.
+-- 3. schema.sql's "Students can read assigned assignments" reads
+--    assignment_students, whose "Teachers can manage assignment students"
+--    reads assignments: Postgres stops every query on either table with
+--    "infinite recursion detected in policy". The two look-ups go through
+--    SECURITY DEFINER functions, which read the tables without policies.
+--
+-- Only the USING clause changes (ALTER POLICY), names and commands stay.
+-- If RlsBenchmark reports the same rows and lower times, copy the
+-- statements into supabase/updates.sql.
+
+CREATE OR REPLACE FUNCTION public.my_teacher_assignment_ids()
+RETURNS SETOF UUID
+LANGUAGE sql STABLE SECURITY DEFINER SET search_path = ''
+AS $$
+  SELECT a.id FROM public.assignments a WHERE a.teacher_id = auth.uid()
+$$;
+
+CREATE OR REPLACE FUNCTION public.my_student_assignment_ids()
+RETURNS SETOF UUID
+LANGUAGE sql STABLE SECURITY DEFINER SET search_path = ''
+AS $$
+  SELECT ast.assignment_id FROM public.assignment_students ast WHERE ast.student_id = auth.uid()
+$$;
+
+ALTER POLICY "Users can read own data" ON public.users
+  USING ((SELECT auth.uid()) = id);
+
+ALTER POLICY "Teachers can read their students" ON public.users
+  USING (id IN (
+    SELECT sp.user_id FROM public.student_profiles sp WHERE sp.teacher_id = (SELECT auth.uid())
+  ));
+
+ALTER POLICY "Students can read own profile" ON public.student_profiles
+  USING (user_id = (SELECT auth.uid()));
+
+ALTER POLICY "Teachers can read their students profiles" ON public.student_profiles
+  USING (teacher_id = (SELECT auth.uid()));
+
+ALTER POLICY "Teachers can manage their invites" ON public.invites
+  USING (teacher_id = (SELECT auth.uid()));
+
+ALTER POLICY "Teachers can manage their assignments" ON public.assignments
+  USING (teacher_id = (SELECT auth.uid()));
+
+ALTER POLICY "Students can read assigned assignments" ON public.assignments
+  USING (id IN (SELECT public.my_student_assignment_ids()));
+
+ALTER POLICY "Teachers can manage assignment students" ON public.assignment_students
+  USING (assignment_id IN (SELECT public.my_teacher_assignment_ids()));
+
+ALTER POLICY "Students can read their assignment links" ON public.assignment_students
+  USING (student_id = (SELECT auth.uid()));
+
+ALTER POLICY "Students can manage their submissions" ON public.submissions
+  USING (student_id = (SELECT auth.uid()));
+
+ALTER POLICY "Teachers can read submissions for their assignments" ON public.submissions
+  USING (assignment_id IN (
+    SELECT a.id FROM public.assignments a WHERE a.teacher_id = (SELECT auth.uid())
+  ));
+
+ALTER POLICY "Teachers can manage feedback" ON public.feedback
+  USING (teacher_id = (SELECT auth.uid()));
+
+ALTER POLICY "Students can read their feedback" ON public.feedback
+  USING (submission_id IN (
+    SELECT s.id FROM public.submissions s WHERE s.student_id = (SELECT auth.uid())
+  ));
+
+ALTER POLICY "Students can manage their practice logs" ON public.practice_logs
+  USING (student_id = (SELECT auth.uid()));
+
+ALTER POLICY "Teachers can read their students practice logs" ON public.practice_logs
+  USING (student_id IN (
+    SELECT sp.user_id FROM public.student_profiles sp WHERE sp.teacher_id = (SELECT auth.uid())
+  ));
+
+ALTER POLICY "Teachers can manage their lessons" ON public.lessons
+  USING (teacher_id = (SELECT auth.uid()));
+
+ALTER POLICY "Students can read their lessons" ON public.lessons
+  USING (student_id = (SELECT auth.uid()));
+
+ALTER POLICY "Users can read their messages" ON public.messages
+  USING ((SELECT auth.uid()) = sender_id OR (SELECT auth.uid()) = receiver_id);
+
+ALTER POLICY "Users can read their notifications" ON public.notifications
+  USING (user_id = (SELECT auth.uid()));
@@ -0,0 +1,610 @@
+package dbtools;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+/**
+ * =============================================================================
+ * DATASET - DETERMINISTIC APP DATA AT ANY SCALE
+ * =============================================================================
+ *
+ * Query plans depend on table sizes: with 200 rows Postgres reads the whole
+ * table and is still fast, with 2 million rows the same plan takes seconds.
+ * This class fills the app tables with realistic proportions:
+ *
+ *     per teacher    20 students, 30 assignments, 10 invites, 15 resources
+ *                    (0 - 3 per assignment)
+ *     per student    ~15 assignments (half of them submitted, a third reviewed),
+ *                    60 practice logs, 26 weekly lessons, 40 messages,
+ *                    20 notifications (70% read)
+ *
+ * and scale = number of teachers / 10 (scale 1 = 10 teachers, 200 students).
+ *
+ * DETERMINISTIC: ids and values are computed from (seed, row number), so the
+ * same scale and seed give the same rows, and rows of one table can be
+ * recomputed while writing another (a submission knows its assignment link
+ * without keeping millions of links in memory). Dates are relative to a
+ * fixed anchor day (DEFAULT_ANCHOR, 2026-01-05), so two runs on different
+ * days also give the same rows and the same "this week's lessons". The
+ * queries use anchor() as "now". -DdatasetAnchor=<day> moves the data, e.g.
+ * to today for a database an app is used with.
+ *
+ * FAST: rows are streamed with COPY (no INSERT per row), with triggers and
+ * foreign key checks switched off for the load - the generator guarantees
+ * the references itself. Secondary indexes are dropped for the load and
+ * built once afterwards, then the tables are ANALYZEd. The same rows can
+ * be written to COPY files instead (writeFiles) and loaded with psql into
+ * any database, e.g. the one of "supabase start" (see DatasetGenerator).
+ *
+ * =============================================================================
+ */
+public class Dataset {
+
+    // Ids: <table code>-0000-4000-8000-<row number>, valid and easy to read
+    static final int TEACHER = 1;
+    static final int STUDENT = 2;
+    static final int TEACHER_PROFILE = 3;
+    static final int STUDENT_PROFILE = 4;
+    static final int INVITE = 5;
+    static final int ASSIGNMENT = 6;
+    static final int ASSIGNMENT_STUDENT = 7;
+    static final int SUBMISSION = 8;
+    static final int FEEDBACK = 9;
+    static final int PRACTICE_LOG = 10;
+    static final int LESSON = 11;
+    static final int MESSAGE = 12;
+    static final int NOTIFICATION = 13;
+    static final int RESOURCE = 14;
+    static final int ASSIGNMENT_RESOURCE = 15;
+
+    private static final String[] INSTRUMENTS = {"Piano", "Guitar", "Violin", "Drums", "Voice", "Cello", "Flute"};
+    private static final String[] LEVELS = {"beginner", "intermediate", "advanced"};
+    private static final String[] FILE_TYPES = {"pdf", "audio", "video"};
+
+    /**
+     * Anchor day unless -DdatasetAnchor is given (a Monday)
+     */
+    static final String DEFAULT_ANCHOR = "2026-01-05";
+
+    private final int teachers;
+    private final int studentsPerTeacher;
+    private final int assignmentsPerTeacher;
+    private final int invitesPerTeacher;
+    private final int resourcesPerTeacher;
+    private final int practiceLogsPerStudent;
+    private final int lessonsPerStudent;
+    private final int messagesPerStudent;
+    private final int notificationsPerUser;
+    private final long seed;
+    private final Instant anchor;
+
+    /**
+     * Dataset with the default proportions
+     *
+     * @param scale Number of teachers / 10 (at least 1 teacher)
+     * @param seed Random seed (-DdatasetSeed, default 42)
+     */
+    public Dataset(double scale, long seed) {
+        this(Math.max(1, (int) Math.round(scale * 10)), Integer.getInteger("studentsPerTeacher", 20), seed);
+    }
+
+    /**
+     * Dataset with a given roster size (RLS policies get slower with it)
+     *
+     * @param teachers Number of teachers
+     * @param studentsPerTeacher Students of every teacher
+     * @param seed Random seed
+     */
+    public Dataset(int teachers, int studentsPerTeacher, long seed) {
+        this.teachers = teachers;
+        this.studentsPerTeacher = studentsPerTeacher;
+        this.assignmentsPerTeacher = Integer.getInteger("assignmentsPerTeacher", 30);
+        this.invitesPerTeacher = 10;
+        this.resourcesPerTeacher = 15;
+        this.practiceLogsPerStudent = 60;
+        this.lessonsPerStudent = 26;
+        this.messagesPerStudent = 40;
+        this.notificationsPerUser = 20;
+        this.seed = seed;
+        LocalDate day = LocalDate.parse(System.getProperty("datasetAnchor", DEFAULT_ANCHOR));
+        this.anchor = day.atStartOfDay(ZoneOffset.UTC).toInstant().plus(12, ChronoUnit.HOURS);
+    }
+
+    public int teachers() {
+        return teachers;
+    }
+
+    public int students() {
+        return teachers * studentsPerTeacher;
+    }
+
+    /**
+     * Middle of the anchor day - "now" for the generated data
+     */
+    public Instant anchor() {
+        return anchor;
+    }
+
+    // =========================================================================
+    // IDS AND DETERMINISTIC RANDOMNESS
+    // =========================================================================
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Same as String.format("%08x-0000-4000-8000-%012x", table, row), which
+     * was the slowest part of generating millions of rows
+     */
+    static String id(int table, long row) {
+        char[] id = "00000000-0000-4000-8000-000000000000".toCharArray();
+        for (int i = 7; i >= 0; i--, table >>>= 4) {
+            id[i] = HEX[table & 0xf];
+        }
+        for (int i = 35; i >= 24; i--, row >>>= 4) {
+            id[i] = HEX[(int) (row & 0xf)];
+        }
+        return new String(id);
+    }
+
+    String teacherId(int t) {
+        return id(TEACHER, t);
+    }
+
+    String studentId(int t, int k) {
+        return id(STUDENT, (long) t * studentsPerTeacher + k);
+    }
+
+    /**
+     * Hash of (seed, parts) - the same inputs always give the same number
+     */
+    long hash(long... parts) {
+        long h = seed * 0x9E3779B97F4A7C15L;
+        for (long part : parts) {
+            h ^= part + 0x9E3779B97F4A7C15L + (h << 6) + (h >>> 2);
+            h *= 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        return h;
+    }
+
+    /**
+     * Number in [0, 1) from (seed, parts)
+     */
+    double unit(long... parts) {
+        return (hash(parts) >>> 11) * 0x1.0p-53;
+    }
+
+    int pick(int bound, long... parts) {
+        return (int) (unit(parts) * bound);
+    }
+
+    /**
+     * Is student k linked to assignment a of teacher t? (about half of them)
+     */
+    boolean assigned(int t, int a, int k) {
+        return unit(ASSIGNMENT_STUDENT, t, a, k) < 0.5;
+    }
+
+    /**
+     * Status of a link: pending, submitted or reviewed (a third each)
+     */
+    String status(int t, int a, int k) {
+        return new String[] {"pending", "submitted", "reviewed"}[pick(3, ASSIGNMENT_STUDENT + 100, t, a, k)];
+    }
+
+    long linkRow(int t, int a, int k) {
+        return ((long) t * assignmentsPerTeacher + a) * studentsPerTeacher + k;
+    }
+
+    Instant daysBefore(double days) {
+        return anchor.minusSeconds((long) (days * 86_400));
+    }
+
+    // =========================================================================
+    // LOADING
+    // =========================================================================
+
+    /**
+     * Load all tables into a database with the app schema (see SchemaLoader)
+     *
+     * @param connection Superuser connection (needed to switch triggers off)
+     * @return Rows per table
+     * @throws SQLException If COPY fails
+     */
+    public Map<String, Long> load(Connection connection) throws SQLException {
+        Map<String, Long> rows;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET session_replication_role = replica");
+        }
+        List<String> indexes = dropSecondaryIndexes(connection);
+        PGConnection pg = connection.unwrap(PGConnection.class);
+        try {
+            rows = write(table -> copyIn(pg, table));
+        } catch (IOException e) {
+            throw e.getCause() instanceof SQLException cause ? cause : new SQLException("COPY failed", e);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET session_replication_role = DEFAULT");
+            statement.execute("SET maintenance_work_mem = '256MB'");
+            for (String index : indexes) {
+                statement.execute(index);
+            }
+            statement.execute("ANALYZE");
+        }
+        return rows;
+    }
+
+    /**
+     * Write all tables as COPY files (one per table, e.g. public.lessons.copy)
+     * plus load.sql, which loads them with psql:
+     *
+     *     cd <directory> && psql "$DATABASE_URL" -f load.sql
+     *
+     * @param directory Output folder (created if missing)
+     * @return Rows per table
+     * @throws IOException If a file cannot be written
+     */
+    public Map<String, Long> writeFiles(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<String> tables = new ArrayList<>();
+        Map<String, Long> rows = write(table -> {
+            tables.add(table);
+            return Files.newOutputStream(directory.resolve(fileName(table)));
+        });
+        try (PrintWriter script = new PrintWriter(Files.newBufferedWriter(directory.resolve("load.sql"), StandardCharsets.UTF_8))) {
+            script.printf("-- MusicLMS dataset: %d teachers, %d students per teacher, seed %d, anchor %s%n",
+                teachers, studentsPerTeacher, seed, anchor);
+            script.println("-- Run from this folder: psql \"$DATABASE_URL\" -f load.sql (needs a superuser for the replica role)");
+            script.println("\\set ON_ERROR_STOP on");
+            script.println("BEGIN;");
+            script.println("SET LOCAL session_replication_role = replica;");
+            for (String table : tables) {
+                script.println("\\copy " + table + " FROM '" + fileName(table) + "'");
+            }
+            script.println("COMMIT;");
+            script.println("ANALYZE;");
+        }
+        return rows;
+    }
+
+    /**
+     * Drop the indexes that do not belong to a constraint (idx_lessons_teacher,
+     * ...): building them once after the load is several times faster than
+     * updating them for every copied row. Primary keys and unique constraints
+     * stay, so duplicate ids still fail the load.
+     *
+     * @return CREATE INDEX statements to run after the load
+     */
+    private static List<String> dropSecondaryIndexes(Connection connection) throws SQLException {
+        List<String> indexes = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("""
+                 SELECT i.indexrelid::regclass, pg_get_indexdef(i.indexrelid)
+                 FROM pg_index i
+                 JOIN pg_class t ON t.oid = i.indrelid
+                 JOIN pg_namespace n ON n.oid = t.relnamespace
+                 WHERE n.nspname = 'public'
+                   AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid)
+                 """)) {
+            while (result.next()) {
+                names.add(result.getString(1));
+                indexes.add(result.getString(2));
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String name : names) {
+                statement.execute("DROP INDEX " + name);
+            }
+        }
+        return indexes;
+    }
+
+    private static String fileName(String table) {
+        return table.substring(0, table.indexOf(' ')) + ".copy";
+    }
+
+    private static OutputStream copyIn(PGConnection connection, String table) throws IOException {
+        try {
+            return new PGCopyOutputStream(connection, "COPY " + table + " FROM STDIN");
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Generate every table, in foreign key order, into the outputs of a sink
+     */
+    private Map<String, Long> write(Sink sink) throws IOException {
+        Map<String, Long> rows = new LinkedHashMap<>();
+
+        rows.put("auth.users", copy(sink, "auth.users (id, email, raw_user_meta_data, created_at)", out -> {
+            for (int t = 0; t < teachers; t++) {
+                out.row(teacherId(t), "teacher" + t + "@musiclms.test",
+                    "{\"role\": \"teacher\", \"full_name\": \"Teacher " + t + "\"}", daysBefore(400));
+                for (int k = 0; k < studentsPerTeacher; k++) {
+                    out.row(studentId(t, k), "student" + t + "-" + k + "@musiclms.test",
+                        "{\"role\": \"student\", \"full_name\": \"Student " + t + "-" + k + "\"}", daysBefore(200));
+                }
+            }
+        }));
+        rows.put("users", copy(sink, "public.users (id, email, role, full_name, created_at, updated_at)", out -> {
+            for (int t = 0; t < teachers; t++) {
+                out.row(teacherId(t), "teacher" + t + "@musiclms.test", "teacher", "Teacher " + t, daysBefore(400), daysBefore(400));
+                for (int k = 0; k < studentsPerTeacher; k++) {
+                    out.row(studentId(t, k), "student" + t + "-" + k + "@musiclms.test", "student",
+                        "Student " + t + "-" + k, daysBefore(200), daysBefore(200));
+                }
+            }
+        }));
+        rows.put("teacher_profiles", copy(sink, "public.teacher_profiles (id, user_id, studio_name, bio)", out -> {
+            for (int t = 0; t < teachers; t++) {
+                out.row(id(TEACHER_PROFILE, t), teacherId(t), "Studio " + t, null);
+            }
+        }));
+        rows.put("student_profiles", copy(sink,
+            "public.student_profiles (id, user_id, teacher_id, instrument, skill_level, notes, weekly_practice_goal_minutes, created_at)", out -> {
+                for (int t = 0; t < teachers; t++) {
+                    for (int k = 0; k < studentsPerTeacher; k++) {
+                        out.row(id(STUDENT_PROFILE, (long) t * studentsPerTeacher + k), studentId(t, k), teacherId(t),
+                            INSTRUMENTS[pick(INSTRUMENTS.length, STUDENT_PROFILE, t, k)],
+                            LEVELS[pick(LEVELS.length, STUDENT_PROFILE + 100, t, k)], null,
+                            60 + 30 * pick(6, STUDENT_PROFILE + 200, t, k), daysBefore(200 * unit(STUDENT_PROFILE + 300, t, k)));
+                    }
+                }
+            }));
+        rows.put("invites", copy(sink, "public.invites (id, teacher_id, email, token, expires_at, used_at, created_at)", out -> {
+            for (int t = 0; t < teachers; t++) {
+                for (int i = 0; i < invitesPerTeacher; i++) {
+                    double age = 30 * unit(INVITE, t, i);
+                    boolean used = unit(INVITE + 100, t, i) < 0.5;
+                    out.row(id(INVITE, (long) t * invitesPerTeacher + i), teacherId(t), "invitee" + t + "-" + i + "@musiclms.test",
+                        "invite-" + t + "-" + i, daysBefore(age - 7), used ? daysBefore(age - 1) : null, daysBefore(age));
+                }
+            }
+        }));
+        rows.put("assignments", copy(sink, "public.assignments (id, teacher_id, title, description, due_date, created_at, updated_at)", out -> {
+            for (int t = 0; t < teachers; t++) {
+                for (int a = 0; a < assignmentsPerTeacher; a++) {
+                    double age = 180 * unit(ASSIGNMENT, t, a);
+                    out.row(id(ASSIGNMENT, (long) t * assignmentsPerTeacher + a), teacherId(t), "Assignment " + a,
+                        "Practice piece " + a, daysBefore(age - 14), daysBefore(age), daysBefore(age));
+                }
+            }
+        }));
+        rows.put("resources", copy(sink, "public.resources (id, teacher_id, title, file_url, file_type, created_at)", out -> {
+            for (int t = 0; t < teachers; t++) {
+                for (int r = 0; r < resourcesPerTeacher; r++) {
+                    String type = FILE_TYPES[pick(FILE_TYPES.length, RESOURCE, t, r)];
+                    out.row(id(RESOURCE, (long) t * resourcesPerTeacher + r), teacherId(t), "Resource " + r,
+                        "resources/" + t + "/" + r + "." + (type.equals("audio") ? "mp3" : type.equals("video") ? "mp4" : "pdf"),
+                        type, daysBefore(300 * unit(RESOURCE + 100, t, r)));
+                }
+            }
+        }));
+        rows.put("assignment_resources", copy(sink, "public.assignment_resources (id, assignment_id, resource_id, created_at)", out -> {
+            for (int t = 0; t < teachers; t++) {
+                for (int a = 0; a < assignmentsPerTeacher; a++) {
+                    long assignment = (long) t * assignmentsPerTeacher + a;
+                    // 0 - 3 different resources: consecutive ones from a random start
+                    int count = Math.min(pick(4, ASSIGNMENT_RESOURCE, t, a), resourcesPerTeacher);
+                    int first = pick(resourcesPerTeacher, ASSIGNMENT_RESOURCE + 100, t, a);
+                    for (int i = 0; i < count; i++) {
+                        int r = (first + i) % resourcesPerTeacher;
+                        out.row(id(ASSIGNMENT_RESOURCE, assignment * 4 + i), id(ASSIGNMENT, assignment),
+                            id(RESOURCE, (long) t * resourcesPerTeacher + r), daysBefore(180 * unit(ASSIGNMENT, t, a)));
+                    }
+                }
+            }
+        }));
+        rows.put("assignment_students", copy(sink, "public.assignment_students (id, assignment_id, student_id, status)", out -> {
+            forEachLink((t, a, k) -> out.row(id(ASSIGNMENT_STUDENT, linkRow(t, a, k)),
+                id(ASSIGNMENT, (long) t * assignmentsPerTeacher + a), studentId(t, k), status(t, a, k)));
+        }));
+        rows.put("submissions", copy(sink, "public.submissions (id, assignment_id, student_id, file_url, file_type, notes, submitted_at)", out -> {
+            forEachLink((t, a, k) -> {
+                if (!status(t, a, k).equals("pending")) {
+                    out.row(id(SUBMISSION, linkRow(t, a, k)), id(ASSIGNMENT, (long) t * assignmentsPerTeacher + a), studentId(t, k),
+                        "submissions/" + t + "/" + a + "/" + k + ".mp3", "audio", null, daysBefore(170 * unit(SUBMISSION, t, a, k)));
+                }
+            });
+        }));
+        rows.put("feedback", copy(sink, "public.feedback (id, submission_id, teacher_id, content, rating, created_at)", out -> {
+            forEachLink((t, a, k) -> {
+                if (status(t, a, k).equals("reviewed")) {
+                    out.row(id(FEEDBACK, linkRow(t, a, k)), id(SUBMISSION, linkRow(t, a, k)), teacherId(t),
+                        "Good progress, keep working on the tempo.", 1 + pick(5, FEEDBACK, t, a, k),
+                        daysBefore(160 * unit(FEEDBACK, t, a, k)));
+                }
+            });
+        }));
+        rows.put("practice_logs", copy(sink, "public.practice_logs (id, student_id, date, duration_minutes, notes, created_at)", out -> {
+            for (int t = 0; t < teachers; t++) {
+                for (int k = 0; k < studentsPerTeacher; k++) {
+                    long student = (long) t * studentsPerTeacher + k;
+                    for (int p = 0; p < practiceLogsPerStudent; p++) {
+                        Instant day = daysBefore(120 * unit(PRACTICE_LOG, student, p));
+                        out.row(id(PRACTICE_LOG, student * practiceLogsPerStudent + p), studentId(t, k),
+                            LocalDate.ofInstant(day, ZoneOffset.UTC), 10 + pick(80, PRACTICE_LOG + 100, student, p), null, day);
+                    }
+                }
+            }
+        }));
+        rows.put("lessons", copy(sink, "public.lessons (id, teacher_id, student_id, start_time, end_time, status, notes, created_at)", out -> {
+            for (int t = 0; t < teachers; t++) {
+                for (int k = 0; k < studentsPerTeacher; k++) {
+                    long student = (long) t * studentsPerTeacher + k;
+                    for (int w = 0; w < lessonsPerStudent; w++) {
+                        // One lesson per week at a fixed weekday and hour (8:00 - 19:00),
+                        // half of them in the past, half in the future
+                        Instant start = anchor.truncatedTo(ChronoUnit.DAYS)
+                            .plus(7L * (w - lessonsPerStudent / 2) + pick(5, LESSON, student), ChronoUnit.DAYS)
+                            .plus(8 + pick(12, LESSON + 100, student), ChronoUnit.HOURS);
+                        out.row(id(LESSON, student * lessonsPerStudent + w), teacherId(t), studentId(t, k),
+                            start, start.plus(45, ChronoUnit.MINUTES),
+                            start.isBefore(anchor) ? "completed" : "scheduled", null, daysBefore(200));
+                    }
+                }
+            }
+        }));
+        rows.put("messages", copy(sink, "public.messages (id, sender_id, receiver_id, content, read_at, created_at)", out -> {
+            for (int t = 0; t < teachers; t++) {
+                for (int k = 0; k < studentsPerTeacher; k++) {
+                    long student = (long) t * studentsPerTeacher + k;
+                    for (int m = 0; m < messagesPerStudent; m++) {
+                        boolean fromTeacher = unit(MESSAGE, student, m) < 0.5;
+                        Instant sent = daysBefore(90.0 * (messagesPerStudent - m) / messagesPerStudent);
+                        out.row(id(MESSAGE, student * messagesPerStudent + m),
+                            fromTeacher ? teacherId(t) : studentId(t, k), fromTeacher ? studentId(t, k) : teacherId(t),
+                            "Message " + m, m < messagesPerStudent - 2 ? sent.plusSeconds(3600) : null, sent);
+                    }
+                }
+            }
+        }));
+        rows.put("notifications", copy(sink, "public.notifications (id, user_id, type, title, content, link, read_at, created_at)", out -> {
+            long row = 0;
+            for (int t = 0; t < teachers; t++) {
+                for (int k = -1; k < studentsPerTeacher; k++) {
+                    String user = k < 0 ? teacherId(t) : studentId(t, k);
+                    for (int n = 0; n < notificationsPerUser; n++, row++) {
+                        Instant created = daysBefore(60 * unit(NOTIFICATION, row));
+                        out.row(id(NOTIFICATION, row), user, k < 0 ? "submission" : "assignment", "Notification " + n,
+                            null, "/dashboard", unit(NOTIFICATION + 100, row) < 0.7 ? created.plusSeconds(600) : null, created);
+                    }
+                }
+            }
+        }));
+        return rows;
+    }
+
+    private interface LinkConsumer {
+        void accept(int teacher, int assignment, int student) throws IOException;
+    }
+
+    private void forEachLink(LinkConsumer consumer) throws IOException {
+        for (int t = 0; t < teachers; t++) {
+            for (int a = 0; a < assignmentsPerTeacher; a++) {
+                for (int k = 0; k < studentsPerTeacher; k++) {
+                    if (assigned(t, a, k)) {
+                        consumer.accept(t, a, k);
+                    }
+                }
+            }
+        }
+    }
+
+    // =========================================================================
+    // COPY
+    // =========================================================================
+
+    private interface Rows {
+        void write(CopyWriter out) throws IOException;
+    }
+
+    /**
+     * Where the rows of a table go: a COPY into the database or a file
+     */
+    private interface Sink {
+        OutputStream open(String table) throws IOException;
+    }
+
+    private static long copy(Sink sink, String table, Rows rows) throws IOException {
+        try (CopyWriter out = new CopyWriter(sink.open(table))) {
+            rows.write(out);
+            return out.finish();
+        }
+    }
+
+    /**
+     * Writes rows in COPY text format (tab separated, \N = NULL), 1 MB at a time
+     */
+    static final class CopyWriter implements AutoCloseable {
+
+        private static final int FLUSH_BYTES = 1 << 20;
+
+        private final OutputStream target;
+        private final OutputStream out;
+        private final StringBuilder line = new StringBuilder(256);
+        private long rows;
+        private boolean finished;
+
+        CopyWriter(OutputStream target) {
+            this.target = target;
+            this.out = new BufferedOutputStream(target, FLUSH_BYTES);
+        }
+
+        void row(Object... values) throws IOException {
+            line.setLength(0);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append('\t');
+                }
+                Object value = values[i];
+                if (value == null) {
+                    line.append("\\N");
+                } else {
+                    String text = value.toString();
+                    for (int c = 0; c < text.length(); c++) {
+                        char ch = text.charAt(c);
+                        switch (ch) {
+                            case '\\' -> line.append("\\\\");
+                            case '\t' -> line.append("\\t");
+                            case '\n' -> line.append("\\n");
+                            case '\r' -> line.append("\\r");
+                            default -> line.append(ch);
+                        }
+                    }
+                }
+            }
+            line.append('\n');
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+            rows++;
+        }
+
+        /**
+         * Flush and end the COPY (or close the file)
+         */
+        long finish() throws IOException {
+            out.close();
+            finished = true;
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (finished) {
+                return;
+            }
+            // Failed half-way: cancel the COPY so nothing of the table is kept
+            if (target instanceof PGCopyOutputStream copy && copy.isActive()) {
+                try {
+                    copy.cancelCopy();
+                } catch (SQLException e) {
+                    throw new IOException(e);
+                }
+            } else {
+                target.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package dbtools;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * =============================================================================
+ * DATASET GENERATOR - LOAD TEST DATA AT ANY SCALE
+ * =============================================================================
+ *
+ * supabase/seed-data.sql and the seeder page (dashboard/seeder) create a
+ * handful of rows - fine for clicking through the app, useless for finding
+ * out how it behaves with thousands of students. This command line tool
+ * generates the Dataset (every table the app reads, referentially valid,
+ * the same rows for the same scale and seed) in one of two ways:
+ *
+ *   -Dout=<folder>   COPY files + load.sql, to load with psql into any
+ *                    database (e.g. the one of "supabase start"):
+ *                        cd <folder> && psql "$DATABASE_URL" -f load.sql
+ *
+ *   (no -Dout)       straight into a new database on the server of
+ *                    LocalPostgres (-Ddatabase, default musiclms_dataset):
+ *                    schema, data, then a check that every foreign key
+ *                    points to an existing row (the load itself runs
+ *                    without foreign key checks). With -DjdbcUrl the
+ *                    database is kept for the perf tests; the embedded
+ *                    Postgres is removed when the tool ends.
+ *
+ * SIZE: -Dscale=10 (10 teachers per unit, 20 students each), or exactly
+ * -Dteachers=50 -DstudentsPerTeacher=200. About 170 rows per student.
+ *
+ * =============================================================================
+ */
+public class DatasetGenerator {
+
+    private static final String FOREIGN_KEYS_SQL = """
+        SELECT c.conrelid::regclass, a.attname, c.confrelid::regclass, fa.attname
+        FROM pg_constraint c
+        JOIN pg_namespace n ON n.oid = c.connamespace
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+        JOIN pg_attribute fa ON fa.attrelid = c.confrelid AND fa.attnum = c.confkey[1]
+        WHERE c.contype = 'f' AND cardinality(c.conkey) = 1 AND n.nspname = 'public'
+        ORDER BY 1, 2
+        """;
+
+    /**
+     * Entry point for the command line
+     *
+     * Settings are system properties (-Dscale, -Dteachers, -DstudentsPerTeacher,
+     * -DdatasetSeed, -Dout, -Ddatabase, -DjdbcUrl), see the class comment.
+     *
+     * @param args Not used
+     * @throws Exception If the files cannot be written, the database refuses
+     *                   the load, or a foreign key points to a missing row
+     */
+    public static void main(String[] args) throws Exception {
+        long seed = Long.getLong("datasetSeed", 42);
+        String teachers = System.getProperty("teachers", "");
+        Dataset dataset = teachers.isBlank()
+            ? new Dataset(Double.parseDouble(System.getProperty("scale", "1")), seed)
+            : new Dataset(Integer.parseInt(teachers), Integer.getInteger("studentsPerTeacher", 20), seed);
+        String out = System.getProperty("out", "");
+        System.out.printf("Dataset: %d teachers, %d students, seed %d, anchor %s%n", dataset.teachers(),
+            dataset.students(), seed, dataset.anchor());
+
+        if (!out.isBlank()) {
+            long start = System.nanoTime();
+            Map<String, Long> rows = dataset.writeFiles(Path.of(out));
+            report(rows, start);
+            System.out.println("Written to " + Path.of(out).toAbsolutePath() + " - load with: cd " + out
+                + " && psql \"$DATABASE_URL\" -f load.sql");
+            return;
+        }
+
+        String database = System.getProperty("database", "musiclms_dataset");
+        try (LocalPostgres postgres = LocalPostgres.start()) {
+            postgres.createDatabase(database);
+            try (Connection connection = postgres.connect(database)) {
+                SchemaLoader.load(connection);
+                long start = System.nanoTime();
+                Map<String, Long> rows = dataset.load(connection);
+                report(rows, start);
+                List<String> orphans = orphans(connection);
+                if (!orphans.isEmpty()) {
+                    orphans.forEach(System.err::println);
+                    throw new IllegalStateException(orphans.size() + " foreign keys point to missing rows");
+                }
+                System.out.println("Foreign keys: all references valid");
+            }
+            if (postgres.embedded()) {
+                System.out.println("Embedded Postgres - the database is removed now; use -DjdbcUrl to keep it");
+            } else {
+                System.out.println("Database: " + postgres.url(database));
+            }
+        }
+    }
+
+    private static void report(Map<String, Long> rows, long start) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long total = rows.values().stream().mapToLong(Long::longValue).sum();
+        rows.forEach((table, count) -> System.out.printf("  %-22s %,12d%n", table, count));
+        System.out.printf("%,d rows in %,d ms (%,d rows/s)%n", total, millis, total * 1000 / Math.max(millis, 1));
+    }
+
+    /**
+     * Foreign keys of public tables with values that have no parent row
+     *
+     * @return One line per broken foreign key (empty = all valid)
+     */
+    static List<String> orphans(Connection connection) throws SQLException {
+        List<String[]> keys = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(FOREIGN_KEYS_SQL)) {
+            while (result.next()) {
+                keys.add(new String[] {result.getString(1), result.getString(2), result.getString(3), result.getString(4)});
+            }
+        }
+        List<String> orphans = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            for (String[] key : keys) {
+                String sql = String.format("SELECT count(*) FROM %s c WHERE c.%s IS NOT NULL"
+                    + " AND NOT EXISTS (SELECT 1 FROM %s p WHERE p.%s = c.%s)", key[0], key[1], key[2], key[3], key[1]);
+                try (ResultSet result = statement.executeQuery(sql)) {
+                    result.next();
+                    if (result.getLong(1) > 0) {
+                        orphans.add(String.format("%s.%s -> %s.%s: %,d rows", key[0], key[1], key[2], key[3], result.getLong(1)));
+                    }
+                }
+            }
+        }
+        return orphans;
+    }
+}
@@ -0,0 +1,172 @@
+package dbtools;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * =============================================================================
+ * LOCAL POSTGRES - WHERE THE DATABASE TOOLS RUN THEIR QUERIES
+ * =============================================================================
+ *
+ * Two options:
+ *
+ * 1. An existing server (e.g. the one of `supabase start`):
+ *
+ *        -DjdbcUrl=jdbc:postgresql://localhost:54322/postgres
+ *        -DjdbcUser=postgres -DjdbcPassword=postgres
+ *
+ * 2. No -DjdbcUrl: an embedded Postgres is downloaded (Maven dependency) and
+ *    started in a temporary folder, and removed again by close().
+ *
+ * The tools never work in the database of the URL itself: they create their
+ * own databases (createDatabase) and drop them again, so pointing them at a
+ * local Supabase does not touch its data. Do NOT point them at production.
+ *
+ * =============================================================================
+ */
+public class LocalPostgres implements AutoCloseable {
+
+    private final EmbeddedPostgres embedded;
+    private final String baseUrl;
+    private final String maintenanceDatabase;
+    private final String user;
+    private final String password;
+
+    private LocalPostgres(EmbeddedPostgres embedded, String url, String user, String password) {
+        this.embedded = embedded;
+        int slash = url.lastIndexOf('/');
+        int query = url.indexOf('?', slash);
+        this.baseUrl = url.substring(0, slash + 1);
+        this.maintenanceDatabase = query < 0 ? url.substring(slash + 1) : url.substring(slash + 1, query);
+        this.user = user;
+        this.password = password;
+    }
+
+    /**
+     * Connect to -DjdbcUrl, or start an embedded Postgres if it is not set
+     *
+     * @return The server
+     * @throws IOException If the embedded server cannot be started
+     */
+    public static LocalPostgres start() throws IOException {
+        String url = System.getProperty("jdbcUrl", "");
+        if (!url.isBlank()) {
+            System.out.println("Using Postgres at " + url);
+            return new LocalPostgres(null, url,
+                System.getProperty("jdbcUser", "postgres"), System.getProperty("jdbcPassword", "postgres"));
+        }
+        System.out.println("No -DjdbcUrl given, starting an embedded Postgres ...");
+        EmbeddedPostgres embedded = EmbeddedPostgres.builder()
+            .setServerConfig("shared_buffers", System.getProperty("sharedBuffers", "256MB"))
+            .setServerConfig("max_connections", "200")
+            .setServerConfig("fsync", "off")
+            .setServerConfig("synchronous_commit", "off")
+            .setServerConfig("full_page_writes", "off")
+            .start();
+        String embeddedUrl = embedded.getJdbcUrl("postgres", "postgres");
+        System.out.println("Embedded Postgres listening on port " + embedded.getPort());
+        return new LocalPostgres(embedded, embeddedUrl, "postgres", "postgres");
+    }
+
+    /**
+     * JDBC URL of a database on this server
+     *
+     * @param database Database name
+     * @return e.g. jdbc:postgresql://localhost:54322/musiclms_analyzer
+     */
+    public String url(String database) {
+        return baseUrl + database;
+    }
+
+    /**
+     * @return true if this is the embedded server, which close() removes
+     *         together with every database on it
+     */
+    public boolean embedded() {
+        return embedded != null;
+    }
+
+    public String user() {
+        return user;
+    }
+
+    public String password() {
+        return password;
+    }
+
+    /**
+     * Open a connection (as the superuser given at start)
+     *
+     * @param database Database name
+     * @return Connection in auto-commit mode
+     * @throws SQLException If the connection fails
+     */
+    public Connection connect(String database) throws SQLException {
+        return DriverManager.getConnection(url(database), user, password);
+    }
+
+    /**
+     * Drop the database if it exists and create it again, empty
+     *
+     * @param database Database name (letters, digits, underscore)
+     * @throws SQLException If the server refuses
+     */
+    public void createDatabase(String database) throws SQLException {
+        requireName(database);
+        try (Connection connection = connect(maintenanceDatabase); Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+            statement.execute("CREATE DATABASE " + database);
+        }
+    }
+
+    /**
+     * Drop the database if it exists and create it as a copy of another
+     *
+     * Postgres copies the template's files, so a clone with schema and data
+     * takes milliseconds - no scripts run again. Nobody may be connected to
+     * the template while it is copied.
+     *
+     * @param template Database to copy
+     * @param database Name of the copy
+     * @throws SQLException If the server refuses (e.g. the template is in use)
+     */
+    public void cloneDatabase(String template, String database) throws SQLException {
+        requireName(template);
+        requireName(database);
+        try (Connection connection = connect(maintenanceDatabase); Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+            statement.execute("CREATE DATABASE " + database + " TEMPLATE " + template);
+        }
+    }
+
+    /**
+     * Drop a database created by createDatabase() or cloneDatabase()
+     *
+     * @param database Database name
+     * @throws SQLException If the server refuses
+     */
+    public void dropDatabase(String database) throws SQLException {
+        requireName(database);
+        try (Connection connection = connect(maintenanceDatabase); Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+        }
+    }
+
+    static void requireName(String identifier) {
+        if (!identifier.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Not a plain identifier: " + identifier);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package dbtools;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.json.Json;
+
+/**
+ * =============================================================================
+ * QUERY PLAN - WHAT EXPLAIN (ANALYZE, BUFFERS) SAYS ABOUT ONE QUERY
+ * =============================================================================
+ *
+ * Reads the JSON plan and looks for the three usual problems:
+ *
+ * 1. SEQ SCAN: Postgres reads the WHOLE table to find a few rows
+ *        Seq Scan on practice_logs  rows=60  Rows Removed by Filter=1199940
+ *
+ * 2. INDEX + FILTER: an index finds the rows of one column, the other
+ *    condition is checked row by row and throws most of them away. The cure
+ *    is a COMPOSITE index over both columns:
+ *        Index Scan using idx_lessons_teacher on lessons
+ *          Filter: start_time >= ... AND start_time <= ...   Rows Removed by Filter=5180
+ *        -> CREATE INDEX ON lessons (teacher_id, start_time)
+ *
+ * 3. SORT: the rows are sorted after reading; an index that ends with the
+ *    ORDER BY column returns them sorted already.
+ *
+ * Column names are taken from the plan's condition texts, so the suggested
+ * index is a starting point to check, not a finished migration.
+ *
+ * =============================================================================
+ */
+public class QueryPlan {
+
+    private static final Pattern CONDITION = Pattern.compile(
+        "(?:\\b[a-z_][a-z0-9_]*\\.)?\\b([a-z_][a-z0-9_]*)\\)?\\s*(=|>=|<=|<>|>|<|IS NULL|IS NOT NULL|~~)");
+
+    /**
+     * One problem found in the plan
+     *
+     * @param table Table the problem is on
+     * @param problem What happens, with row counts
+     * @param index Suggested index columns (empty if none)
+     */
+    public record Finding(String table, String problem, List<String> index) {
+
+        /**
+         * @return CREATE INDEX statement, or "" if there is no suggestion
+         */
+        public String suggestion() {
+            return index.isEmpty() ? "" : "CREATE INDEX ON public." + table + " (" + String.join(", ", index) + ")";
+        }
+    }
+
+    private final double executionMs;
+    private final double planningMs;
+    private final long sharedHit;
+    private final long sharedRead;
+    private final long rows;
+    private final List<Finding> findings = new ArrayList<>();
+    private final String json;
+
+    /**
+     * Analyze the output of EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)
+     *
+     * @param json The JSON text
+     * @param minRows Scans and sorts below this many rows are not reported
+     */
+    public QueryPlan(String json, long minRows) {
+        this.json = json;
+        List<Map<String, Object>> root = new Json().toType(json, Json.LIST_OF_MAPS_TYPE);
+        Map<String, Object> top = root.get(0);
+        Map<String, Object> plan = map(top.get("Plan"));
+        this.executionMs = number(top.get("Execution Time"));
+        this.planningMs = number(top.get("Planning Time"));
+        this.sharedHit = (long) number(plan.get("Shared Hit Blocks"));
+        this.sharedRead = (long) number(plan.get("Shared Read Blocks"));
+        this.rows = (long) number(plan.get("Actual Rows"));
+        walk(plan, null, minRows);
+    }
+
+    public double executionMs() {
+        return executionMs;
+    }
+
+    public double planningMs() {
+        return planningMs;
+    }
+
+    /**
+     * @return Buffer pages (8 kB) found in Postgres' cache
+     */
+    public long sharedHit() {
+        return sharedHit;
+    }
+
+    /**
+     * @return Buffer pages (8 kB) read from disk / OS cache
+     */
+    public long sharedRead() {
+        return sharedRead;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public List<Finding> findings() {
+        return findings;
+    }
+
+    /**
+     * @return The plan as returned by Postgres
+     */
+    public String json() {
+        return json;
+    }
+
+    /**
+     * @return true if any node is a sequential scan
+     */
+    public boolean hasSeqScan() {
+        return json.contains("\"Seq Scan\"");
+    }
+
+    // =========================================================================
+    // PLAN TREE
+    // =========================================================================
+
+    private void walk(Map<String, Object> node, Map<String, Object> parent, long minRows) {
+        String type = String.valueOf(node.get("Node Type"));
+        String table = (String) node.get("Relation Name");
+        double loops = Math.max(1, number(node.get("Actual Loops")));
+        double kept = number(node.get("Actual Rows")) * loops;
+        double removed = number(node.get("Rows Removed by Filter")) * loops;
+        String filter = (String) node.get("Filter");
+
+        if (type.equals("Seq Scan") && table != null && kept + removed >= minRows) {
+            findings.add(new Finding(table, String.format("Seq Scan reads %,.0f rows, keeps %,.0f%s",
+                kept + removed, kept, filter == null ? "" : " (Filter: " + filter + ")"),
+                filter == null ? List.of() : columns(filter, sortKey(parent))));
+        } else if (table != null && filter != null && removed >= minRows / 10.0 && removed > 2 * kept
+                && (type.startsWith("Index") || type.equals("Bitmap Heap Scan"))) {
+            String indexCondition = type.equals("Bitmap Heap Scan")
+                ? (String) node.get("Recheck Cond") : (String) node.get("Index Cond");
+            String index = node.get("Index Name") != null ? " using " + node.get("Index Name") : "";
+            List<String> columns = new ArrayList<>(columns(indexCondition == null ? "" : indexCondition, List.of()));
+            for (String column : columns(filter, sortKey(parent))) {
+                if (!columns.contains(column)) {
+                    columns.add(column);
+                }
+            }
+            findings.add(new Finding(table, String.format("%s%s keeps %,.0f rows, Filter removes %,.0f (%s)",
+                type, index, kept, removed, filter), columns));
+        } else if (type.equals("Sort") && number(node.get("Actual Rows")) * loops >= minRows) {
+            Map<String, Object> input = firstChild(node);
+            String scanned = input == null ? null : (String) input.get("Relation Name");
+            findings.add(new Finding(scanned == null ? "?" : scanned, String.format("Sort of %,.0f rows by %s (%s)",
+                kept, sortKey(node), node.get("Sort Method")), List.of()));
+        }
+
+        Object children = node.get("Plans");
+        if (children instanceof List<?> list) {
+            for (Object child : list) {
+                walk(map(child), node, minRows);
+            }
+        }
+    }
+
+    /**
+     * Columns of a condition for a composite index: equality columns first,
+     * then range columns, then the ORDER BY column
+     */
+    static List<String> columns(String condition, List<String> sortKey) {
+        Set<String> equality = new LinkedHashSet<>();
+        Set<String> range = new LinkedHashSet<>();
+        Matcher matcher = CONDITION.matcher(condition);
+        while (matcher.find()) {
+            String column = matcher.group(1);
+            if (column.equals("and") || column.equals("or") || column.equals("not")) {
+                continue;
+            }
+            if (matcher.group(2).equals("=") || matcher.group(2).startsWith("IS")) {
+                equality.add(column);
+            } else {
+                range.add(column);
+            }
+        }
+        List<String> columns = new ArrayList<>(equality);
+        range.stream().filter(column -> !columns.contains(column)).forEach(columns::add);
+        sortKey.stream().filter(column -> !columns.contains(column)).forEach(columns::add);
+        return columns;
+    }
+
+    private static List<String> sortKey(Map<String, Object> node) {
+        if (node == null || !(node.get("Sort Key") instanceof List<?> keys)) {
+            return List.of();
+        }
+        List<String> columns = new ArrayList<>();
+        for (Object key : keys) {
+            String column = String.valueOf(key).replaceAll("^.*\\.", "").replaceAll("\\s+(DESC|ASC).*$", "");
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    private static Map<String, Object> firstChild(Map<String, Object> node) {
+        Object children = node.get("Plans");
+        return children instanceof List<?> list && !list.isEmpty() ? map(list.get(0)) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+}
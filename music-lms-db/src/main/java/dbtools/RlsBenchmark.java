@@ -0,0 +1,267 @@
+package dbtools;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * =============================================================================
+ * RLS BENCHMARK - WHAT DO THE ROW LEVEL SECURITY POLICIES COST?
+ * =============================================================================
+ *
+ * Every query the app sends runs as the Postgres role "authenticated", and
+ * Postgres adds the policies of schema.sql to it. Some policies contain a
+ * sub-select that runs for EVERY row:
+ *
+ *     CREATE POLICY "Teachers can read their students" ON public.users
+ *       FOR SELECT USING (EXISTS (SELECT 1 FROM public.student_profiles sp
+ *                                 WHERE sp.user_id = users.id AND sp.teacher_id = auth.uid()));
+ *
+ * With 10 students nobody notices; with 10,000 it may dominate the page.
+ * This benchmark runs the queries of workload.sql three ways:
+ *
+ *     off      as service_role (BYPASSRLS): the query alone
+ *     on       as authenticated with the JWT claims of the teacher/student
+ *              (exactly what PostgREST does): query + policies
+ *     rewrite  like "on", after running the -DrlsRewrite=<file.sql> script
+ *              (e.g. rls-rewrites/select-auth-uid.sql) - to validate a
+ *              policy rewrite BEFORE it goes into updates.sql
+ *
+ * for every roster size (-Drosters=10,100,1000,10000 students per teacher).
+ *
+ * Time = planning + execution from EXPLAIN ANALYZE (policies make planning
+ * slower too), median of -Druns runs. Every variant also computes a checksum
+ * of the result rows: a rewrite that returns DIFFERENT rows than the
+ * original policies is reported as WRONG, however fast it is. A query that
+ * fails under the policies (schema.sql's assignments and assignment_students
+ * policies read each other: "infinite recursion detected") is reported with
+ * the error instead of a time.
+ *
+ * =============================================================================
+ */
+public class RlsBenchmark {
+
+    /**
+     * One query, one roster size, one variant; error is the Postgres message
+     * when the query failed (e.g. "infinite recursion detected in policy")
+     */
+    private record Result(String query, int roster, String variant, double planningMs, double executionMs,
+            long rows, String checksum, String error) {
+
+        double totalMs() {
+            return planningMs + executionMs;
+        }
+
+        boolean failed() {
+            return error != null;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] rosters = Arrays.stream(System.getProperty("rosters", "10,100,1000,10000").split(","))
+            .map(String::trim).mapToInt(Integer::parseInt).sorted().toArray();
+        int teachers = Integer.getInteger("rlsTeachers", 2);
+        int runs = Integer.getInteger("runs", 5);
+        long seed = Long.getLong("datasetSeed", 42);
+        String rewrite = System.getProperty("rlsRewrite", "");
+        String database = System.getProperty("database", "musiclms_rls");
+
+        List<Workload.Query> workload = Workload.load();
+        List<Result> results = new ArrayList<>();
+
+        try (LocalPostgres postgres = LocalPostgres.start()) {
+            for (int roster : rosters) {
+                Dataset dataset = new Dataset(teachers, roster, seed);
+                System.out.printf("%n=== %,d students per teacher (%d teachers) ===%n", roster, teachers);
+                postgres.createDatabase(database);
+                try (Connection connection = postgres.connect(database)) {
+                    SchemaLoader.load(connection);
+                    dataset.load(connection);
+                    Map<String, Object> parameters = Workload.parameters(connection, dataset);
+
+                    for (Workload.Query query : workload) {
+                        results.add(run(connection, query, parameters, roster, "off", runs));
+                        results.add(run(connection, query, parameters, roster, "on", runs));
+                    }
+                    if (!rewrite.isBlank()) {
+                        SqlScript.run(connection, SqlScript.read(Path.of(rewrite)), false);
+                        for (Workload.Query query : workload) {
+                            results.add(run(connection, query, parameters, roster, "rewrite", runs));
+                        }
+                    }
+                }
+                postgres.dropDatabase(database);
+                print(results, roster, !rewrite.isBlank());
+            }
+        }
+
+        printOverhead(results, rosters);
+        System.out.println("\nResults written to " + writeCsv(results));
+    }
+
+    // =========================================================================
+    // MEASURING
+    // =========================================================================
+
+    private static Result run(Connection connection, Workload.Query query, Map<String, Object> parameters,
+            int roster, String variant, int runs) throws SQLException {
+        String sql = query.bind(parameters);
+        String user = (String) parameters.get(query.as());
+        double[] planning = new double[runs];
+        double[] execution = new double[runs];
+        long rows;
+        String checksum;
+
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            if (variant.equals("off")) {
+                statement.execute("SET LOCAL ROLE service_role");
+            } else {
+                // What PostgREST does for a request with the user's access token
+                statement.execute("SET LOCAL ROLE authenticated");
+                try (PreparedStatement claims = connection.prepareStatement(
+                        "SELECT set_config('request.jwt.claims', ?, true)")) {
+                    claims.setString(1, "{\"sub\": \"" + user + "\", \"role\": \"authenticated\"}");
+                    claims.execute();
+                }
+            }
+            for (int run = -1; run < runs; run++) {
+                try (ResultSet result = statement.executeQuery("EXPLAIN (ANALYZE, FORMAT JSON) " + sql)) {
+                    result.next();
+                    QueryPlan plan = new QueryPlan(result.getString(1), Long.MAX_VALUE);
+                    if (run >= 0) {
+                        planning[run] = plan.planningMs();
+                        execution[run] = plan.executionMs();
+                    }
+                }
+            }
+            try (ResultSet result = statement.executeQuery(
+                    "SELECT count(*), coalesce(md5(string_agg(r::text, '|' ORDER BY r::text)), '') FROM (" + sql + ") r")) {
+                result.next();
+                rows = result.getLong(1);
+                checksum = result.getString(2);
+            }
+        } catch (SQLException e) {
+            return new Result(query.name(), roster, variant, Double.NaN, Double.NaN, 0, "",
+                e.getMessage().lines().findFirst().orElse(""));
+        } finally {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+        return new Result(query.name(), roster, variant, median(planning), median(execution), rows, checksum, null);
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    // =========================================================================
+    // REPORT
+    // =========================================================================
+
+    private static void print(List<Result> results, int roster, boolean withRewrite) {
+        System.out.printf("%-34s %9s %9s %7s", "Query", "Off ms", "On ms", "On/Off");
+        if (withRewrite) {
+            System.out.printf(" %10s %8s", "Rewrite ms", "Rw/Off");
+        }
+        System.out.printf(" %8s  %s%n", "Rows", "Check");
+        for (Map.Entry<String, Map<String, Result>> entry : byQuery(results, roster).entrySet()) {
+            Result off = entry.getValue().get("off");
+            Result on = entry.getValue().get("on");
+            Result rewritten = entry.getValue().get("rewrite");
+            System.out.printf("%-34s %9s %9s %7s", entry.getKey(), ms(off), ms(on), ratio(on, off));
+            if (withRewrite) {
+                System.out.printf(" %10s %8s", ms(rewritten), ratio(rewritten, off));
+            }
+            System.out.printf(" %8d  %s%n", off.rows(), check(off, on, rewritten));
+        }
+    }
+
+    private static String check(Result off, Result on, Result rewritten) {
+        if (off.failed()) {
+            return "ERROR (query): " + off.error();
+        }
+        if (on.failed() && (rewritten == null || rewritten.failed())) {
+            return "ERROR (policies): " + on.error();
+        }
+        if (rewritten != null && rewritten.failed()) {
+            return "ERROR (rewrite): " + rewritten.error();
+        }
+        if (rewritten != null) {
+            // Compare with the policies, or with the plain query when the policies fail
+            Result expected = on.failed() ? off : on;
+            if (!rewritten.checksum().equals(expected.checksum())) {
+                return "WRONG: rewrite returns other rows (" + rewritten.rows() + " instead of " + expected.rows() + ")";
+            }
+            if (on.failed()) {
+                return "rewrite fixes: " + on.error();
+            }
+        }
+        return on.checksum().equals(off.checksum()) ? "" : "policies hide " + (off.rows() - on.rows()) + " rows";
+    }
+
+    private static String ms(Result result) {
+        return result.failed() ? "error" : String.format(Locale.ROOT, "%.3f", result.totalMs());
+    }
+
+    private static String ratio(Result result, Result off) {
+        return result.failed() ? "error" : String.format(Locale.ROOT, "%.1f", result.totalMs() / Math.max(off.totalMs(), 0.001));
+    }
+
+    /**
+     * On/off ratio of every query for every roster size - how the policy
+     * overhead grows with the number of students
+     */
+    private static void printOverhead(List<Result> results, int[] rosters) {
+        System.out.printf("%n=== RLS overhead (on / off) by students per teacher ===%n%-34s", "Query");
+        for (int roster : rosters) {
+            System.out.printf(" %9s", String.format("%,d", roster));
+        }
+        System.out.println();
+        Map<String, StringBuilder> rows = new LinkedHashMap<>();
+        for (int roster : rosters) {
+            byQuery(results, roster).forEach((query, variants) -> rows
+                .computeIfAbsent(query, key -> new StringBuilder(String.format("%-34s", key)))
+                .append(String.format(" %9s", ratio(variants.get("on"), variants.get("off")))));
+        }
+        rows.values().forEach(System.out::println);
+    }
+
+    private static Map<String, Map<String, Result>> byQuery(List<Result> results, int roster) {
+        Map<String, Map<String, Result>> byQuery = new LinkedHashMap<>();
+        for (Result result : results) {
+            if (result.roster() == roster) {
+                byQuery.computeIfAbsent(result.query(), key -> new LinkedHashMap<>()).put(result.variant(), result);
+            }
+        }
+        return byQuery;
+    }
+
+    private static Path writeCsv(List<Result> results) throws IOException {
+        Path file = Path.of("results", "rls-" + WorkloadAnalyzer.commitId() + ".csv");
+        Files.createDirectories(file.getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("query,students_per_teacher,variant,planning_ms,execution_ms,rows,checksum,error");
+            for (Result r : results) {
+                out.printf(Locale.ROOT, "%s,%d,%s,%.3f,%.3f,%d,%s,\"%s\"%n", r.query(), r.roster(), r.variant(), r.planningMs(),
+                    r.executionMs(), r.rows(), r.checksum(), r.failed() ? r.error().replace("\"", "\"\"") : "");
+            }
+        }
+        return file;
+    }
+}
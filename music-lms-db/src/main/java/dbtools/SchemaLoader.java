@@ -0,0 +1,60 @@
+package dbtools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * =============================================================================
+ * SCHEMA LOADER - THE APP'S TABLES, POLICIES AND TRIGGERS IN A LOCAL DATABASE
+ * =============================================================================
+ *
+ * Runs the same scripts a developer runs in the Supabase SQL editor:
+ *
+ *     1. supabase-shim.sql   auth schema, auth.uid(), API roles (plain Postgres only)
+ *     2. schema.sql          tables, indexes, RLS policies, triggers
+ *     3. updates.sql         later features (notifications, ...); parts that
+ *                            schema.sql already created are skipped
+ *     4. supabase-grants.sql table privileges of the API roles
+ *
+ * The scripts are read from ../supabase (-DschemaDir=... for another folder),
+ * so the analysis always runs against the schema of the current checkout.
+ *
+ * =============================================================================
+ */
+public final class SchemaLoader {
+
+    private SchemaLoader() {
+    }
+
+    /**
+     * Folder with schema.sql and updates.sql
+     */
+    public static Path schemaDir() {
+        return Path.of(System.getProperty("schemaDir", "../supabase"));
+    }
+
+    /**
+     * Load the app schema into an (empty) database
+     *
+     * @param connection Superuser connection to the database
+     * @throws IOException If a script is missing
+     * @throws SQLException If a statement fails
+     */
+    public static void load(Connection connection) throws IOException, SQLException {
+        Path dir = schemaDir();
+        Path schema = dir.resolve("schema.sql");
+        if (!Files.exists(schema)) {
+            throw new IOException(schema.toAbsolutePath() + " not found - run from music-lms-db or set -DschemaDir");
+        }
+        SqlScript.run(connection, SqlScript.resource("supabase-shim.sql"), false);
+        SqlScript.run(connection, SqlScript.read(schema), false);
+        Path updates = dir.resolve("updates.sql");
+        if (Files.exists(updates)) {
+            SqlScript.run(connection, SqlScript.read(updates), true);
+        }
+        SqlScript.run(connection, SqlScript.resource("supabase-grants.sql"), false);
+    }
+}
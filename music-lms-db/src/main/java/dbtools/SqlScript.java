@@ -0,0 +1,169 @@
+package dbtools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * =============================================================================
+ * SQL SCRIPT - RUN A .sql FILE OVER JDBC
+ * =============================================================================
+ *
+ * JDBC runs one statement at a time, so a script has to be split at the
+ * semicolons - but not at the semicolons INSIDE a function body:
+ *
+ *     CREATE FUNCTION update_updated_at_column() RETURNS TRIGGER AS $$
+ *     BEGIN
+ *       NEW.updated_at = NOW();      <- not the end of the statement
+ *       RETURN NEW;
+ *     END;
+ *     $$ language 'plpgsql';         <- the end
+ *
+ * The splitter skips 'strings', "identifiers", -- comments and $tag$ bodies.
+ *
+ * =============================================================================
+ */
+public final class SqlScript {
+
+    /**
+     * SQL states of "already exists" errors (duplicate object/table/function/...)
+     */
+    private static final Set<String> ALREADY_EXISTS = Set.of("42710", "42P07", "42723", "42P06", "42P04");
+
+    private SqlScript() {
+    }
+
+    /**
+     * Read a script from a file
+     */
+    public static String read(Path file) throws IOException {
+        return Files.readString(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a script from the classpath (src/main/resources)
+     */
+    public static String resource(String name) throws IOException {
+        try (InputStream in = SqlScript.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Missing resource " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Run every statement of a script
+     *
+     * @param connection Connection in auto-commit mode
+     * @param script SQL text
+     * @param skipExisting true = ignore "already exists" errors (for scripts
+     *                     like updates.sql that repeat parts of schema.sql)
+     * @return Number of statements that were skipped
+     * @throws SQLException On the first other error (with the statement in the message)
+     */
+    public static int run(Connection connection, String script, boolean skipExisting) throws SQLException {
+        int skipped = 0;
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : split(script)) {
+                try {
+                    statement.execute(sql);
+                } catch (SQLException e) {
+                    if (skipExisting && ALREADY_EXISTS.contains(e.getSQLState())) {
+                        skipped++;
+                        continue;
+                    }
+                    throw new SQLException(e.getMessage() + "\n    in: " + firstLine(sql), e.getSQLState(), e);
+                }
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Split a script into statements (without the trailing semicolons)
+     *
+     * @param script SQL text
+     * @return Non-empty statements
+     */
+    public static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (c == '-' && script.startsWith("--", i)) {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? script.length() : end;
+            } else if (c == '\'' || c == '"') {
+                int end = closing(script, i + 1, c);
+                current.append(script, i, end);
+                i = end;
+            } else if (c == '$' && dollarTag(script, i) != null) {
+                String tag = dollarTag(script, i);
+                int end = script.indexOf(tag, i + tag.length());
+                end = end < 0 ? script.length() : end + tag.length();
+                current.append(script, i, end);
+                i = end;
+            } else if (c == ';') {
+                add(statements, current);
+                i++;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        add(statements, current);
+        return statements;
+    }
+
+    private static int closing(String script, int from, char quote) {
+        int i = from;
+        while (i < script.length()) {
+            if (script.charAt(i) == quote) {
+                if (i + 1 < script.length() && script.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return script.length();
+    }
+
+    /**
+     * "$$" or "$body$" at this position, or null if the $ starts no tag ($1 parameters)
+     */
+    private static String dollarTag(String script, int at) {
+        int i = at + 1;
+        while (i < script.length() && (Character.isLetterOrDigit(script.charAt(i)) || script.charAt(i) == '_')) {
+            if (i == at + 1 && Character.isDigit(script.charAt(i))) {
+                return null;
+            }
+            i++;
+        }
+        return i < script.length() && script.charAt(i) == '$' ? script.substring(at, i + 1) : null;
+    }
+
+    private static void add(List<String> statements, StringBuilder current) {
+        String sql = current.toString().trim();
+        if (!sql.isEmpty()) {
+            statements.add(sql);
+        }
+        current.setLength(0);
+    }
+
+    private static String firstLine(String sql) {
+        int newline = sql.indexOf('\n');
+        return newline < 0 ? sql : sql.substring(0, newline) + " ...";
+    }
+}
@@ -0,0 +1,154 @@
+package dbtools;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * =============================================================================
+ * WORKLOAD - THE APP'S QUERY SHAPES (workload.sql)
+ * =============================================================================
+ *
+ * Each entry of workload.sql is one query the app sends, named after the
+ * page or server action that sends it:
+ *
+ *     -- query: schedule.teacher_week | schedule/actions.ts getLessons (teacher)
+ *     SELECT ... WHERE l.teacher_id = ${teacher} AND l.start_time >= ${week_start} ...;
+ *
+ * An optional "-- as: student" line says WHO sends the query (default:
+ * teacher) - RlsBenchmark runs it with that user's JWT claims.
+ *
+ * When the app gets a new query, add its shape here so the analyzer checks it.
+ *
+ * =============================================================================
+ */
+public final class Workload {
+
+    private static final Pattern HEADER = Pattern.compile("(?m)^-- query: *([^|\\n]+?) *\\| *(.+)$");
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{(\\w+)}");
+    private static final Pattern AS = Pattern.compile("(?m)^-- as: *(\\w+)");
+
+    /**
+     * One query of the workload
+     *
+     * @param name Short name, e.g. schedule.teacher_week
+     * @param source Where the app sends it
+     * @param sql Statement with ${placeholders}
+     * @param as Placeholder of the user who sends it: "teacher" or "student"
+     */
+    public record Query(String name, String source, String sql, String as) {
+
+        /**
+         * The statement with placeholders replaced by SQL literals
+         *
+         * @param parameters Placeholder name -> value (quoted as a string
+         *                   literal; a List becomes 'a', 'b', ... for IN lists)
+         * @return Executable SQL
+         */
+        public String bind(Map<String, ?> parameters) {
+            Matcher matcher = PLACEHOLDER.matcher(sql);
+            StringBuilder bound = new StringBuilder();
+            while (matcher.find()) {
+                Object value = parameters.get(matcher.group(1));
+                if (value == null) {
+                    throw new IllegalArgumentException(name + ": no value for ${" + matcher.group(1) + "}");
+                }
+                String literal = value instanceof List<?> list
+                    ? String.join(", ", list.stream().map(Workload::literal).toList())
+                    : literal(value);
+                matcher.appendReplacement(bound, Matcher.quoteReplacement(literal));
+            }
+            matcher.appendTail(bound);
+            return bound.toString();
+        }
+    }
+
+    private static String literal(Object value) {
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    private Workload() {
+    }
+
+    /**
+     * Values for the ${placeholders}: the teacher with the most students, their
+     * students, and the week around the dataset's anchor day
+     *
+     * @param connection Connection to a loaded database
+     * @param dataset The data that was loaded
+     * @return Placeholder name -> value (String, or List of Strings)
+     */
+    public static Map<String, Object> parameters(Connection connection, Dataset dataset) throws SQLException {
+        Map<String, Object> parameters = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet teacher = statement.executeQuery(
+                 "SELECT teacher_id FROM public.student_profiles GROUP BY teacher_id ORDER BY count(*) DESC, teacher_id LIMIT 1")) {
+            teacher.next();
+            parameters.put("teacher", teacher.getString(1));
+        }
+        List<String> students = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT user_id FROM public.student_profiles WHERE teacher_id = ?::uuid ORDER BY user_id")) {
+            statement.setString(1, (String) parameters.get("teacher"));
+            try (ResultSet student = statement.executeQuery()) {
+                while (student.next()) {
+                    students.add(student.getString(1));
+                }
+            }
+        }
+        parameters.put("student", students.get(0));
+        parameters.put("student_ids", students);
+        Instant now = dataset.anchor();
+        LocalDate monday = LocalDate.ofInstant(now, ZoneOffset.UTC).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Instant weekStart = monday.atStartOfDay(ZoneOffset.UTC).toInstant();
+        parameters.put("now", now.toString());
+        parameters.put("week_start", weekStart.toString());
+        parameters.put("week_end", weekStart.plus(7, ChronoUnit.DAYS).minusMillis(1).toString());
+        parameters.put("week_ago", LocalDate.ofInstant(now, ZoneOffset.UTC).minusDays(7).toString());
+        return parameters;
+    }
+
+    /**
+     * The queries of workload.sql (src/main/resources)
+     */
+    public static List<Query> load() throws IOException {
+        return parse(SqlScript.resource("workload.sql"));
+    }
+
+    static List<Query> parse(String text) {
+        List<Query> queries = new ArrayList<>();
+        Matcher matcher = HEADER.matcher(text);
+        List<int[]> bounds = new ArrayList<>();
+        List<String[]> names = new ArrayList<>();
+        while (matcher.find()) {
+            bounds.add(new int[] {matcher.start(), matcher.end()});
+            names.add(new String[] {matcher.group(1).trim(), matcher.group(2).trim()});
+        }
+        for (int i = 0; i < bounds.size(); i++) {
+            int end = i + 1 < bounds.size() ? bounds.get(i + 1)[0] : text.length();
+            String body = text.substring(bounds.get(i)[1], end);
+            Matcher as = AS.matcher(body);
+            List<String> statements = SqlScript.split(body);
+            if (!statements.isEmpty()) {
+                queries.add(new Query(names.get(i)[0], names.get(i)[1], statements.get(0),
+                    as.find() ? as.group(1) : "teacher"));
+            }
+        }
+        return queries;
+    }
+}
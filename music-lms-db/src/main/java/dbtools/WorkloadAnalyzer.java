@@ -0,0 +1,267 @@
+package dbtools;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * =============================================================================
+ * WORKLOAD ANALYZER - HOW DO THE APP'S QUERIES BEHAVE WHEN THE DATA GROWS?
+ * =============================================================================
+ *
+ * schema.sql only has single-column indexes (idx_lessons_teacher,
+ * idx_lessons_start_time, idx_messages_sender, ...), but the app filters on
+ * COMBINATIONS: lessons of one teacher in one week, messages between two
+ * users ordered by time. On a small database nobody notices; this tool shows
+ * what happens with real volumes.
+ *
+ * FOR EVERY SCALE (-Dscales=1,10,100):
+ *   1. Create a fresh database, load the schema (SchemaLoader)
+ *   2. Fill it with Dataset (scale 1 = 10 teachers / 200 students)
+ *   3. Run every query of workload.sql with EXPLAIN (ANALYZE, BUFFERS):
+ *      once to warm the cache, then -Druns times; the median counts
+ *   4. Collect the plan findings (QueryPlan): seq scans, index + filter,
+ *      sorts, with composite index suggestions
+ *
+ * REPORT (console + results/sql-workload-<commit>.csv):
+ *   - latency and buffers per query and scale
+ *   - findings at the largest scale, with the indexes that are missing
+ *   - growth: how much slower a query got compared to how much the data grew
+ *       flat       time ~ constant       (index does the work)
+ *       sublinear  grows slower than data
+ *       linear     grows with the data   (the page gets slower with every user)
+ *
+ * Run from music-lms-db (see README):
+ *   java -cp ... -Dscales=1,10,100 dbtools.WorkloadAnalyzer
+ *
+ * =============================================================================
+ */
+public class WorkloadAnalyzer {
+
+    private static final String INDEX_COLUMNS_SQL = """
+        SELECT t.relname, string_agg(a.attname, ',' ORDER BY k.ord)
+        FROM pg_index i
+        JOIN pg_class t ON t.oid = i.indrelid
+        JOIN pg_namespace n ON n.oid = t.relnamespace
+        CROSS JOIN LATERAL unnest(i.indkey) WITH ORDINALITY AS k(attnum, ord)
+        JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = k.attnum
+        WHERE n.nspname = 'public'
+        GROUP BY i.indexrelid, t.relname
+        """;
+
+    /**
+     * Result of one query at one scale
+     */
+    private record Measurement(String query, double scale, double medianMs, long sharedHit, long sharedRead,
+            long rows, boolean seqScan, QueryPlan plan) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double[] scales = Arrays.stream(System.getProperty("scales", "1,10,100").split(","))
+            .map(String::trim).mapToDouble(Double::parseDouble).sorted().toArray();
+        int runs = Integer.getInteger("runs", 5);
+        long minRows = Long.getLong("minRows", 1000);
+        long seed = Long.getLong("datasetSeed", 42);
+        String database = System.getProperty("database", "musiclms_analyzer");
+        boolean keep = Boolean.getBoolean("keep");
+
+        List<Workload.Query> workload = Workload.load();
+        List<Measurement> measurements = new ArrayList<>();
+        Map<String, List<String>> existingIndexes = new HashMap<>();
+
+        try (LocalPostgres postgres = LocalPostgres.start()) {
+            for (double scale : scales) {
+                Dataset dataset = new Dataset(scale, seed);
+                System.out.printf("%n=== Scale %s: %d teachers, %d students ===%n", format(scale),
+                    dataset.teachers(), dataset.students());
+                postgres.createDatabase(database);
+                try (Connection connection = postgres.connect(database)) {
+                    SchemaLoader.load(connection);
+                    long start = System.nanoTime();
+                    Map<String, Long> rows = dataset.load(connection);
+                    long total = rows.values().stream().mapToLong(Long::longValue).sum();
+                    System.out.printf("Loaded %,d rows in %,d ms (%s)%n", total,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), rows);
+
+                    Map<String, Object> parameters = Workload.parameters(connection, dataset);
+                    for (Workload.Query query : workload) {
+                        measurements.add(measure(connection, query, parameters, scale, runs, minRows));
+                    }
+                    existingIndexes = indexes(connection);
+                }
+                print(measurements, scale);
+                if (!keep || scale != scales[scales.length - 1]) {
+                    postgres.dropDatabase(database);
+                }
+            }
+        }
+
+        printFindings(measurements, scales[scales.length - 1], existingIndexes);
+        if (scales.length > 1) {
+            printGrowth(measurements, scales);
+        }
+        System.out.println("\nResults written to " + writeCsv(measurements));
+    }
+
+    // =========================================================================
+    // MEASURING
+    // =========================================================================
+
+    private static Measurement measure(Connection connection, Workload.Query query, Map<String, Object> parameters,
+            double scale, int runs, long minRows) throws SQLException {
+        String explain = "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + query.bind(parameters);
+        QueryPlan plan = null;
+        double[] times = new double[runs];
+        try (Statement statement = connection.createStatement()) {
+            for (int run = -1; run < runs; run++) {
+                try (ResultSet result = statement.executeQuery(explain)) {
+                    result.next();
+                    plan = new QueryPlan(result.getString(1), minRows);
+                }
+                if (run >= 0) {
+                    times[run] = plan.executionMs();
+                }
+            }
+        }
+        Arrays.sort(times);
+        return new Measurement(query.name(), scale, times[runs / 2], plan.sharedHit(), plan.sharedRead(),
+            plan.rows(), plan.hasSeqScan(), plan);
+    }
+
+    /**
+     * Existing indexes per table, as comma-separated column lists
+     */
+    private static Map<String, List<String>> indexes(Connection connection) throws SQLException {
+        Map<String, List<String>> indexes = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(INDEX_COLUMNS_SQL)) {
+            while (result.next()) {
+                indexes.computeIfAbsent(result.getString(1), table -> new ArrayList<>()).add(result.getString(2));
+            }
+        }
+        return indexes;
+    }
+
+    // =========================================================================
+    // REPORT
+    // =========================================================================
+
+    private static void print(List<Measurement> measurements, double scale) {
+        System.out.printf("%n%-34s %10s %10s %10s %8s  %s%n", "Query", "Median ms", "Buf hit", "Buf read", "Rows", "Seq scan");
+        for (Measurement m : measurements) {
+            if (m.scale() == scale) {
+                System.out.printf("%-34s %10.3f %10d %10d %8d  %s%n", m.query(), m.medianMs(), m.sharedHit(),
+                    m.sharedRead(), m.rows(), m.seqScan() ? "yes" : "");
+            }
+        }
+    }
+
+    private static void printFindings(List<Measurement> measurements, double scale, Map<String, List<String>> existing) {
+        System.out.printf("%n=== Plan findings at scale %s ===%n", format(scale));
+        Map<String, List<String>> missing = new LinkedHashMap<>();
+        boolean any = false;
+        for (Measurement m : measurements) {
+            if (m.scale() != scale) {
+                continue;
+            }
+            for (QueryPlan.Finding finding : m.plan().findings()) {
+                any = true;
+                System.out.printf("%-34s %s: %s%n", m.query(), finding.table(), finding.problem());
+                if (!finding.index().isEmpty() && !covered(existing.get(finding.table()), finding.index())) {
+                    missing.computeIfAbsent(finding.suggestion(), key -> new ArrayList<>()).add(m.query());
+                }
+            }
+        }
+        if (!any) {
+            System.out.println("(none)");
+        }
+        if (!missing.isEmpty()) {
+            System.out.println("\nMissing indexes (check, then add to supabase/updates.sql):");
+            missing.forEach((index, queries) -> System.out.println("  " + index + ";   -- " + String.join(", ", queries)));
+        }
+    }
+
+    /**
+     * Does an existing index start with the suggested columns?
+     */
+    private static boolean covered(List<String> indexes, List<String> columns) {
+        String wanted = String.join(",", columns);
+        return indexes != null && indexes.stream().anyMatch(index -> (index + ",").startsWith(wanted + ","));
+    }
+
+    private static void printGrowth(List<Measurement> measurements, double[] scales) {
+        double smallest = scales[0];
+        double largest = scales[scales.length - 1];
+        System.out.printf("%n=== Latency growth, scale %s -> %s (data x%s) ===%n", format(smallest), format(largest),
+            format(largest / smallest));
+        System.out.printf("%-34s %10s %10s %8s  %s%n", "Query", "Small ms", "Large ms", "x", "Growth");
+        Map<String, Measurement> small = new LinkedHashMap<>();
+        Map<String, Measurement> large = new LinkedHashMap<>();
+        for (Measurement m : measurements) {
+            if (m.scale() == smallest) {
+                small.put(m.query(), m);
+            } else if (m.scale() == largest) {
+                large.put(m.query(), m);
+            }
+        }
+        small.forEach((query, first) -> {
+            Measurement last = large.get(query);
+            double ratio = last.medianMs() / Math.max(first.medianMs(), 0.001);
+            // Exponent of time = data^k: 0 = flat, 1 = linear
+            double exponent = Math.log(Math.max(ratio, 1)) / Math.log(largest / smallest);
+            String growth = exponent < 0.2 ? "flat" : exponent < 0.7 ? "sublinear" : "LINEAR";
+            System.out.printf("%-34s %10.3f %10.3f %8.1f  %s%n", query, first.medianMs(), last.medianMs(), ratio, growth);
+        });
+    }
+
+    private static Path writeCsv(List<Measurement> measurements) throws IOException {
+        Path file = Path.of("results", "sql-workload-" + commitId() + ".csv");
+        Files.createDirectories(file.getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("query,scale,median_ms,shared_hit,shared_read,rows,seq_scan,findings");
+            for (Measurement m : measurements) {
+                out.printf(Locale.ROOT, "%s,%s,%.3f,%d,%d,%d,%s,%d%n", m.query(), format(m.scale()), m.medianMs(), m.sharedHit(),
+                    m.sharedRead(), m.rows(), m.seqScan(), m.plan().findings().size());
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Scale as written by hand: 10, 0.5 - never "1E+1" or a locale's "0,5"
+     */
+    private static String format(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Short commit id of the checkout (with -dirty for local changes), or "local"
+     */
+    static String commitId() {
+        try {
+            Process process = new ProcessBuilder("git", "describe", "--always", "--dirty").redirectErrorStream(true).start();
+            String id = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return process.waitFor() == 0 && !id.isEmpty() ? id : "local";
+        } catch (IOException e) {
+            return "local";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "local";
+        }
+    }
+}
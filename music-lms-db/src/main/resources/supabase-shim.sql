@@ -0,0 +1,70 @@
+-- Supabase pieces that supabase/schema.sql relies on, for a plain Postgres.
+-- On a real Supabase database (supabase start) everything here exists
+-- already and is left alone.
+
+-- Roles PostgREST switches to (cluster-wide, so created only once)
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'anon') THEN
+    CREATE ROLE anon NOLOGIN NOINHERIT;
+  END IF;
+  IF NOT EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'authenticated') THEN
+    CREATE ROLE authenticated NOLOGIN NOINHERIT;
+  END IF;
+  IF NOT EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'service_role') THEN
+    CREATE ROLE service_role NOLOGIN NOINHERIT BYPASSRLS;
+  END IF;
+END
+$$;
+
+-- auth.users: only the columns handle_new_user() reads
+CREATE SCHEMA IF NOT EXISTS auth;
+
+CREATE TABLE IF NOT EXISTS auth.users (
+  id UUID PRIMARY KEY,
+  email TEXT,
+  raw_user_meta_data JSONB DEFAULT '{}'::jsonb,
+  created_at TIMESTAMPTZ DEFAULT NOW()
+);
+
+-- auth.uid() / auth.role() / auth.jwt() read the JWT claims PostgREST puts
+-- into the transaction: SET LOCAL request.jwt.claims = '{"sub": "...", "role": "authenticated"}'
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_proc p JOIN pg_namespace n ON n.oid = p.pronamespace
+                 WHERE n.nspname = 'auth' AND p.proname = 'uid') THEN
+    CREATE FUNCTION auth.uid() RETURNS UUID LANGUAGE sql STABLE AS $f$
+      SELECT COALESCE(
+        NULLIF(current_setting('request.jwt.claim.sub', true), ''),
+        (NULLIF(current_setting('request.jwt.claims', true), '')::jsonb ->> 'sub')
+      )::uuid
+    $f$;
+  END IF;
+  IF NOT EXISTS (SELECT 1 FROM pg_proc p JOIN pg_namespace n ON n.oid = p.pronamespace
+                 WHERE n.nspname = 'auth' AND p.proname = 'role') THEN
+    CREATE FUNCTION auth.role() RETURNS TEXT LANGUAGE sql STABLE AS $f$
+      SELECT COALESCE(
+        NULLIF(current_setting('request.jwt.claim.role', true), ''),
+        (NULLIF(current_setting('request.jwt.claims', true), '')::jsonb ->> 'role')
+      )::text
+    $f$;
+  END IF;
+  IF NOT EXISTS (SELECT 1 FROM pg_proc p JOIN pg_namespace n ON n.oid = p.pronamespace
+                 WHERE n.nspname = 'auth' AND p.proname = 'jwt') THEN
+    CREATE FUNCTION auth.jwt() RETURNS JSONB LANGUAGE sql STABLE AS $f$
+      SELECT COALESCE(NULLIF(current_setting('request.jwt.claims', true), ''), '{}')::jsonb
+    $f$;
+  END IF;
+END
+$$;
+
+GRANT USAGE ON SCHEMA auth TO anon, authenticated, service_role;
+
+-- updates.sql adds messages to the Realtime publication
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_publication WHERE pubname = 'supabase_realtime') THEN
+    CREATE PUBLICATION supabase_realtime;
+  END IF;
+END
+$$;
@@ -0,0 +1,98 @@
+-- The queries the app sends on its busiest pages, written as the SQL
+-- PostgREST runs for them (filters, order and limit as in the code; the
+-- JSON wrapping of PostgREST is left out). WorkloadAnalyzer runs each one
+-- with EXPLAIN (ANALYZE, BUFFERS) at every scale.
+--
+-- Format: "-- query: <name> | <where the app sends it>", optionally
+-- "-- as: student" (who sends it, default teacher), then the statement.
+-- Placeholders: ${teacher} ${student} (a student of that teacher),
+-- ${student_ids} (all students of that teacher), ${now},
+-- ${week_start} ${week_end} (Monday - Sunday around now), ${week_ago} (date).
+
+-- query: layout.user | (dashboard)/layout.tsx - every dashboard page
+SELECT * FROM public.users WHERE id = ${teacher};
+
+-- query: layout.unread_notifications | notifications-actions.ts getNotifications - every dashboard page
+SELECT * FROM public.notifications
+WHERE user_id = ${teacher} AND read_at IS NULL
+ORDER BY created_at DESC
+LIMIT 20;
+
+-- query: dashboard.student_count | dashboard/page.tsx getTeacherStats
+SELECT count(*) FROM public.student_profiles WHERE teacher_id = ${teacher};
+
+-- query: dashboard.assignment_count | dashboard/page.tsx getTeacherStats
+SELECT count(*) FROM public.assignments WHERE teacher_id = ${teacher};
+
+-- query: dashboard.pending_reviews | dashboard/page.tsx getTeacherStats (submissions + feedback, assignments!inner)
+SELECT s.id, EXISTS (SELECT 1 FROM public.feedback f WHERE f.submission_id = s.id) AS reviewed
+FROM public.submissions s
+JOIN public.assignments a ON a.id = s.assignment_id
+WHERE a.teacher_id = ${teacher};
+
+-- query: dashboard.student_pending | dashboard/page.tsx getStudentStats
+-- as: student
+SELECT count(*) FROM public.assignment_students WHERE student_id = ${student} AND status = 'pending';
+
+-- query: dashboard.student_week_practice | dashboard/page.tsx getStudentStats
+-- as: student
+SELECT duration_minutes FROM public.practice_logs WHERE student_id = ${student} AND date >= ${week_ago};
+
+-- query: students.list | students/page.tsx getStudentsWithStats
+SELECT id, user_id, instrument, skill_level, notes, created_at
+FROM public.student_profiles
+WHERE teacher_id = ${teacher}
+ORDER BY created_at DESC;
+
+-- query: students.users | students/page.tsx getStudentsWithStats (.in("id", userIds))
+SELECT id, email, full_name, avatar_url FROM public.users WHERE id IN (${student_ids});
+
+-- query: students.week_practice | students/page.tsx getStudentsWithStats, per student
+SELECT duration_minutes FROM public.practice_logs WHERE student_id = ${student} AND date >= ${week_ago};
+
+-- query: students.assignment_links | students/page.tsx getStudentsWithStats, per student
+SELECT id, status FROM public.assignment_students WHERE student_id = ${student};
+
+-- query: students.pending_invites | students/page.tsx getPendingInvites
+SELECT id, email, token, expires_at, created_at
+FROM public.invites
+WHERE teacher_id = ${teacher} AND used_at IS NULL AND expires_at > ${now}
+ORDER BY created_at DESC;
+
+-- query: schedule.teacher_week | schedule/actions.ts getLessons (teacher)
+SELECT l.id, l.start_time, l.end_time, l.status, l.notes, l.student_id, l.teacher_id,
+       s.full_name AS student_name, s.email AS student_email, t.full_name AS teacher_name
+FROM public.lessons l
+LEFT JOIN public.users s ON s.id = l.student_id
+LEFT JOIN public.users t ON t.id = l.teacher_id
+WHERE l.start_time >= ${week_start} AND l.start_time <= ${week_end} AND l.teacher_id = ${teacher}
+ORDER BY l.start_time;
+
+-- query: schedule.student_week | schedule/actions.ts getLessons (student)
+-- as: student
+SELECT l.id, l.start_time, l.end_time, l.status, l.notes, l.student_id, l.teacher_id
+FROM public.lessons l
+WHERE l.start_time >= ${week_start} AND l.start_time <= ${week_end} AND l.student_id = ${student}
+ORDER BY l.start_time;
+
+-- query: messages.contacts | messages/actions.ts getConversations (teacher)
+SELECT u.id, u.full_name, u.email, u.avatar_url
+FROM public.student_profiles sp
+JOIN public.users u ON u.id = sp.user_id
+WHERE sp.teacher_id = ${teacher};
+
+-- query: messages.thread | messages/actions.ts getMessages
+SELECT * FROM public.messages
+WHERE (sender_id = ${teacher} AND receiver_id = ${student})
+   OR (sender_id = ${student} AND receiver_id = ${teacher})
+ORDER BY created_at;
+
+-- query: assignments.teacher_list | assignments/actions.ts getTeacherAssignments
+SELECT a.*, (SELECT count(*) FROM public.assignment_students ast WHERE ast.assignment_id = a.id) AS student_count
+FROM public.assignments a
+WHERE a.teacher_id = ${teacher}
+ORDER BY a.created_at DESC;
+
+-- query: practice.student_logs | practice/actions.ts getStudentPracticeLogs
+-- as: student
+SELECT * FROM public.practice_logs WHERE student_id = ${student} ORDER BY date DESC;
@@ -2,12 +2,21 @@ package pageObjects;
 
 import java.time.Duration;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocatorFactory;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import utilities.CachingElementLocatorFactory;
+import utilities.DomWait;
+import utilities.LocatorAudit;
+import utilities.ProfilingElementLocatorFactory;
+import utilities.RouteCoverage;
+
 /**
  * =============================================================================
  * BASE PAGE - PARENT CLASS FOR ALL PAGE OBJECTS
@@ -78,6 +87,14 @@ public class BasePage {
      */
     protected WebDriverWait wait;
 
+    /**
+     * Push-based waits that run inside the page (see utilities.DomWait)
+     *
+     * Only with -DpushWaits=true; when null (the default) the helpers below
+     * poll with 'wait'.
+     */
+    protected DomWait domWait;
+
     /**
      * =========================================================================
      * CONSTRUCTOR
@@ -104,21 +121,61 @@ public class BasePage {
      *     Elements are found once and cached (optional)
      *     You can use @FindBy annotation for cleaner code
      *
+     * With -DlocatorAudit=true every lookup is timed and counted
+     * (see ProfilingElementLocatorFactory and LocatorAudit).
+     *
+     * Found elements are remembered for the lifetime of this page object and
+     * searched again only when they become stale
+     * (see CachingElementLocatorFactory, off with -DelementCache=false).
+     *
      * @param driver The WebDriver instance to use for this page
      */
     public BasePage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.domWait = DomWait.isActive() ? new DomWait(driver, Duration.ofSeconds(15)) : null;
 
         // Initialize elements annotated with @FindBy
         // 'this' refers to the current object (could be LoginPage, SignupPage, etc.)
-        PageFactory.initElements(driver, this);
+        ElementLocatorFactory locators = new DefaultElementLocatorFactory(driver);
+        if (LocatorAudit.isActive()) {
+            locators = new ProfilingElementLocatorFactory(driver, locators);
+        }
+        if (CachingElementLocatorFactory.isActive()) {
+            // New factory per page object = cache per page object
+            PageFactory.initElements(new CachingElementLocatorFactory(locators).fieldDecorator(), this);
+        } else {
+            PageFactory.initElements(locators, this);
+        }
+
+        // Remember which test class uses this page (see TestImpactAnalyzer)
+        RouteCoverage.recordPage(driver, getClass());
     }
 
     // =========================================================================
     // COMMON HELPER METHODS - Available to all page objects
     // =========================================================================
 
+    /**
+     * Locator for an element with a data-testid attribute
+     *
+     * WHY data-testid?
+     * ----------------
+     * Text changes ("Log in" -> "Sign in") and CSS classes change with every
+     * redesign. A data-testid exists ONLY for tests, so it stays stable.
+     * It is also a plain CSS selector, which the browser resolves much faster
+     * than an XPath that compares the text of every node.
+     *
+     * Use it for elements found at runtime (e.g. dropdown options);
+     * for fields use @FindBy(css = "[data-testid='...']").
+     *
+     * @param testId Value of the data-testid attribute
+     * @return CSS locator for that element
+     */
+    protected static By byTestId(String testId) {
+        return By.cssSelector("[data-testid='" + testId + "']");
+    }
+
     /**
      * Wait until an element is visible on the page
      *
@@ -132,10 +189,16 @@ public class BasePage {
      * This is useful because elements might exist in HTML but not be visible yet
      * (e.g., loading animations, dynamic content)
      *
+     * The browser reports the moment the element becomes visible (DomWait)
+     * instead of being asked every 500 ms.
+     *
      * @param element The WebElement to wait for
      * @return The same element once visible (for method chaining)
      */
     protected WebElement waitForVisibility(WebElement element) {
+        if (domWait != null) {
+            return domWait.visibilityOf(element);
+        }
         return wait.until(ExpectedConditions.visibilityOf(element));
     }
 
@@ -154,9 +217,28 @@ public class BasePage {
      * @return The same element once clickable
      */
     protected WebElement waitForClickable(WebElement element) {
+        if (domWait != null) {
+            return domWait.elementToBeClickable(element);
+        }
         return wait.until(ExpectedConditions.elementToBeClickable(element));
     }
 
+    /**
+     * Wait until an element found by a locator is clickable
+     *
+     * For elements that do not exist yet, e.g. the options of a dropdown
+     * that is just opening: waitForClickable(byTestId("instrument-option-piano"))
+     *
+     * @param locator How to find the element
+     * @return The element once clickable
+     */
+    protected WebElement waitForClickable(By locator) {
+        if (domWait != null) {
+            return domWait.elementToBeClickable(locator);
+        }
+        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+    }
+
     /**
      * Safe click method - waits for element to be clickable, then clicks
      *
@@ -229,6 +311,29 @@ public class BasePage {
         }
     }
 
+    /**
+     * Read the state of many elements in ONE browser round trip
+     *
+     * BEFORE (one request per check):
+     *     Assert.assertTrue(driver.getCurrentUrl().contains("/login"));
+     *     Assert.assertTrue(loginPage.isEmailFieldEmpty());
+     *     Assert.assertTrue(loginPage.isLoginButtonEnabled());
+     *
+     * AFTER (one request for all of them):
+     *     PageSnapshot form = loginPage.snapshot("emailInput", "loginButton");
+     *     Assert.assertTrue(form.url().contains("/login"));
+     *     Assert.assertTrue(form.get("emailInput").isEmpty());
+     *     Assert.assertTrue(form.get("loginButton").enabled());
+     *
+     * The snapshot does not wait - see PageSnapshot.
+     *
+     * @param fieldNames Names of @FindBy fields of this page (none = all of them)
+     * @return Immutable state of those elements and the current URL
+     */
+    public PageSnapshot snapshot(String... fieldNames) {
+        return PageSnapshot.capture(driver, this, fieldNames);
+    }
+
     /**
      * Wait for URL to contain a specific text
      *
@@ -239,6 +344,9 @@ public class BasePage {
      */
     protected boolean waitForUrlContains(String urlPart) {
         try {
+            if (domWait != null) {
+                return domWait.urlContains(urlPart);
+            }
             return wait.until(ExpectedConditions.urlContains(urlPart));
         } catch (Exception e) {
             return false;
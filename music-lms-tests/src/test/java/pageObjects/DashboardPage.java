@@ -32,7 +32,7 @@ public class DashboardPage extends BasePage {
     /**
      * MusicLMS Logo/Brand in the header
      */
-    @FindBy(xpath = "//span[contains(text(),'MusicLMS')]")
+    @FindBy(css = "[data-testid='brand-logo']")
     private WebElement brandLogo;
 
     /**
@@ -42,34 +42,42 @@ public class DashboardPage extends BasePage {
     private WebElement userNav;
 
     /**
-     * Logout button (might be in a dropdown menu)
+     * Logout item in the user dropdown menu
      */
-    @FindBy(xpath = "//button[contains(text(),'Log out')]")
+    @FindBy(css = "[data-testid='logout-button']")
     private WebElement logoutButton;
 
     /**
      * Dashboard heading/title
      */
-    @FindBy(xpath = "//h1[contains(text(),'Dashboard')]")
+    @FindBy(css = "[data-testid='dashboard-title']")
     private WebElement dashboardTitle;
 
     // =========================================================================
     // WEB ELEMENTS - Navigation Sidebar
     // =========================================================================
+    /**
+     * Every NavLink has data-testid="nav-<last part of its href>":
+     *     /dashboard           -> nav-dashboard
+     *     /dashboard/students  -> nav-students
+     *
+     * The old locators (//a[contains(@href, '/students')]) also matched
+     * links in the page content, e.g. on a dashboard with many students.
+     */
 
-    @FindBy(xpath = "//a[contains(@href, '/dashboard') and contains(text(), 'Dashboard')]")
+    @FindBy(css = "[data-testid='nav-dashboard']")
     private WebElement dashboardNavLink;
 
-    @FindBy(xpath = "//a[contains(@href, '/students')]")
+    @FindBy(css = "[data-testid='nav-students']")
     private WebElement studentsNavLink;
 
-    @FindBy(xpath = "//a[contains(@href, '/assignments')]")
+    @FindBy(css = "[data-testid='nav-assignments']")
     private WebElement assignmentsNavLink;
 
-    @FindBy(xpath = "//a[contains(@href, '/schedule')]")
+    @FindBy(css = "[data-testid='nav-schedule']")
     private WebElement scheduleNavLink;
 
-    @FindBy(xpath = "//a[contains(@href, '/messages')]")
+    @FindBy(css = "[data-testid='nav-messages']")
     private WebElement messagesNavLink;
 
     // =========================================================================
@@ -0,0 +1,42 @@
+package pageObjects;
+
+/**
+ * =============================================================================
+ * ELEMENT STATE - WHAT ONE ELEMENT LOOKED LIKE WHEN A SNAPSHOT WAS TAKEN
+ * =============================================================================
+ *
+ * One entry of a PageSnapshot. The values are COPIES: they do not change when
+ * the page changes afterwards (take a new snapshot for that).
+ *
+ *     WebElement call              ElementState
+ *     ---------------              ------------
+ *     isDisplayed()                displayed()
+ *     isEnabled()                  enabled()
+ *     getAttribute("value")        value()
+ *     getText()                    text()
+ *
+ * An element that is not on the page is NOT an error here: present() is
+ * false and everything else is false/empty (see ABSENT).
+ *
+ * =============================================================================
+ *
+ * @param present The element exists in the DOM
+ * @param displayed Visible (has a box, not hidden, not transparent)
+ * @param enabled Not a disabled form control
+ * @param value Current value of an input/select/textarea/button, null for other elements
+ * @param text Visible text ("" when the element is hidden)
+ */
+public record ElementState(boolean present, boolean displayed, boolean enabled, String value, String text) {
+
+    /**
+     * State of an element that was not found
+     */
+    public static final ElementState ABSENT = new ElementState(false, false, false, null, "");
+
+    /**
+     * @return true if the element has no value or an empty one
+     */
+    public boolean isEmpty() {
+        return value == null || value.isEmpty();
+    }
+}
@@ -3,8 +3,6 @@ package pageObjects;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.Select;
 
 /**
  * =============================================================================
@@ -75,52 +73,52 @@ public class InvitePage extends BasePage {
      * This is a custom Select component, not a native HTML select.
      * We need to click the trigger first, then select the option.
      */
-    @FindBy(xpath = "//button[contains(@class, 'SelectTrigger')]//span[contains(text(),'instrument')]/..")
+    @FindBy(css = "[data-testid='instrument-select']")
     private WebElement instrumentDropdown;
 
     /**
      * Skill Level Dropdown
      */
-    @FindBy(xpath = "//button[contains(@class, 'SelectTrigger')]//span[contains(text(),'level')]/..")
+    @FindBy(css = "[data-testid='skill-level-select']")
     private WebElement skillLevelDropdown;
 
-    @FindBy(xpath = "//button[contains(text(),'Create Student Account')]")
+    @FindBy(css = "[data-testid='create-student-account-button']")
     private WebElement createStudentAccountButton;
 
-    @FindBy(xpath = "//a[contains(text(),'Log in')]")
+    @FindBy(css = "[data-testid='login-link']")
     private WebElement loginLink;
 
     // =========================================================================
     // WEB ELEMENTS - Invalid/Expired Token State
     // =========================================================================
 
-    @FindBy(xpath = "//h2[contains(text(),'Invalid Invite')]")
+    @FindBy(css = "[data-testid='invalid-invite-title']")
     private WebElement invalidInviteTitle;
 
-    @FindBy(xpath = "//p[contains(text(),'invalid or has expired')]")
+    @FindBy(css = "[data-testid='invalid-invite-message']")
     private WebElement invalidInviteMessage;
 
-    @FindBy(xpath = "//a[contains(text(),'Go to Homepage')]")
+    @FindBy(css = "[data-testid='homepage-link']")
     private WebElement homepageLink;
 
     // =========================================================================
     // WEB ELEMENTS - Already Logged In State
     // =========================================================================
 
-    @FindBy(xpath = "//h2[contains(text(),'Already Logged In')]")
+    @FindBy(css = "[data-testid='already-logged-in-title']")
     private WebElement alreadyLoggedInTitle;
 
-    @FindBy(xpath = "//button[contains(text(),'Log Out & Accept Invite')]")
+    @FindBy(css = "[data-testid='logout-accept-button']")
     private WebElement logoutAndAcceptButton;
 
-    @FindBy(xpath = "//a[contains(text(),'Go to Dashboard')]")
+    @FindBy(css = "[data-testid='go-to-dashboard-link']")
     private WebElement goToDashboardLink;
 
     // =========================================================================
     // WEB ELEMENTS - Valid Token State
     // =========================================================================
 
-    @FindBy(xpath = "//h2[contains(text(),'Join as a Student')]")
+    @FindBy(css = "[data-testid='invite-title']")
     private WebElement joinAsStudentTitle;
 
     // =========================================================================
@@ -183,6 +181,9 @@ public class InvitePage extends BasePage {
      * 2. Wait for options to appear
      * 3. Click the desired option
      *
+     * Every option has a test id built from its value:
+     *     "Piano" -> data-testid="instrument-option-piano"
+     *
      * @param instrument The instrument to select (e.g., "Piano", "Guitar")
      * @return this page for chaining
      */
@@ -190,12 +191,8 @@ public class InvitePage extends BasePage {
         // Click to open dropdown
         safeClick(instrumentDropdown);
 
-        // Wait for options and click the matching one
-        // XPath finds the option with matching text
-        WebElement option = driver.findElement(
-            org.openqa.selenium.By.xpath("//div[@role='option'][contains(text(),'" + instrument + "')]")
-        );
-        wait.until(ExpectedConditions.elementToBeClickable(option)).click();
+        // Wait for the option and click it
+        waitForClickable(byTestId("instrument-option-" + instrument.toLowerCase())).click();
 
         return this;
     }
@@ -209,10 +206,7 @@ public class InvitePage extends BasePage {
     public InvitePage selectSkillLevel(String level) {
         safeClick(skillLevelDropdown);
 
-        WebElement option = driver.findElement(
-            org.openqa.selenium.By.xpath("//div[@role='option'][contains(text(),'" + level + "')]")
-        );
-        wait.until(ExpectedConditions.elementToBeClickable(option)).click();
+        waitForClickable(byTestId("skill-level-option-" + level.toLowerCase())).click();
 
         return this;
     }
@@ -299,6 +293,17 @@ public class InvitePage extends BasePage {
         return isElementDisplayed(alreadyLoggedInTitle);
     }
 
+    /**
+     * State of the student registration form in one browser round trip
+     *
+     * Names: fullNameInput, emailInput, passwordInput, createStudentAccountButton
+     *
+     * @return Snapshot of those fields (see BasePage.snapshot)
+     */
+    public PageSnapshot formState() {
+        return snapshot("fullNameInput", "emailInput", "passwordInput", "createStudentAccountButton");
+    }
+
     /**
      * Check if email field is disabled (pre-filled by invite)
      *
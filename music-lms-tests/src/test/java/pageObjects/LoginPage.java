@@ -59,11 +59,14 @@ public class LoginPage extends BasePage {
      *
      * CHOOSING THE RIGHT LOCATOR (Priority Order):
      * 1. ID - Most reliable, unique (if available)
-     * 2. Name - Often unique within forms
-     * 3. CSS - Fast and readable
-     * 4. XPath - Most flexible but slower
-     *
-     * For MusicLMS, we use the 'id' and 'for' attributes from the HTML.
+     * 2. data-testid - Added to the app just for tests, never changes with text
+     * 3. Name - Often unique within forms
+     * 4. CSS - Fast and readable
+     * 5. XPath - Most flexible but slower (avoid text() searches!)
+     *
+     * For MusicLMS, we use the 'id' attributes of the inputs and
+     * data-testid attributes for buttons, links and messages.
+     * Run with -DlocatorAudit=true to see how fast each locator is.
      */
 
     /**
@@ -86,18 +89,19 @@ public class LoginPage extends BasePage {
     /**
      * Login Submit Button
      *
-     * We use XPath here because there's no id.
-     * //button[contains(text(),'Log in')] finds a button containing "Log in" text
+     * HTML: <button type="submit" data-testid="login-submit">Log in</button>
+     * The CSS attribute selector is resolved by the browser's CSS engine,
+     * no need to compare the text of every node like an XPath would.
      */
-    @FindBy(xpath = "//button[contains(text(),'Log in')]")
+    @FindBy(css = "[data-testid='login-submit']")
     private WebElement loginButton;
 
     /**
      * Continue with Google Button
      *
-     * XPath finds button with "Continue with Google" text
+     * HTML: <button data-testid="google-login-button">
      */
-    @FindBy(xpath = "//button[contains(text(),'Continue with Google')]")
+    @FindBy(css = "[data-testid='google-login-button']")
     private WebElement googleLoginButton;
 
     /**
@@ -105,7 +109,7 @@ public class LoginPage extends BasePage {
      *
      * For passwordless login via email link
      */
-    @FindBy(xpath = "//button[contains(text(),'magic link')]")
+    @FindBy(css = "[data-testid='magic-link-button']")
     private WebElement magicLinkButton;
 
     /**
@@ -113,16 +117,17 @@ public class LoginPage extends BasePage {
      *
      * Link to registration page for new users
      */
-    @FindBy(xpath = "//a[contains(text(),'Sign up')]")
+    @FindBy(css = "[data-testid='signup-link']")
     private WebElement signUpLink;
 
     /**
      * Error Message Display
      *
      * Shows when login fails (e.g., wrong password)
-     * Using CSS selector for class name
+     * A class like ".text-destructive" is shared by other elements,
+     * so we use the test id of the message itself.
      */
-    @FindBy(css = ".text-destructive")
+    @FindBy(css = "[data-testid='login-error']")
     private WebElement errorMessage;
 
     /**
@@ -130,7 +135,7 @@ public class LoginPage extends BasePage {
      *
      * "Welcome back" text on the login page
      */
-    @FindBy(xpath = "//h2[contains(text(),'Welcome back')]")
+    @FindBy(css = "[data-testid='login-title']")
     private WebElement pageTitle;
 
     // =========================================================================
@@ -325,6 +330,17 @@ public class LoginPage extends BasePage {
         }
     }
 
+    /**
+     * State of the login form in one browser round trip
+     *
+     * Names: emailInput, passwordInput, loginButton, errorMessage
+     *
+     * @return Snapshot of those fields (see BasePage.snapshot)
+     */
+    public PageSnapshot formState() {
+        return snapshot("emailInput", "passwordInput", "loginButton", "errorMessage");
+    }
+
     /**
      * Check if email field is empty
      *
@@ -0,0 +1,266 @@
+package pageObjects;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.How;
+
+/**
+ * =============================================================================
+ * PAGE SNAPSHOT - STATE OF MANY ELEMENTS FROM ONE BROWSER ROUND TRIP
+ * =============================================================================
+ *
+ * EVERY WebElement CALL IS AN HTTP REQUEST TO THE BROWSER DRIVER:
+ * --------------------------------------------------------------
+ *     driver.getCurrentUrl()                 1 request
+ *     emailInput.getAttribute("value")       1 request (+1 to find it)
+ *     loginButton.isEnabled()                1 request (+1 to find it)
+ *     errorMessage.isDisplayed()             1 request (+1 to find it)
+ *                                           ---------
+ *                                           up to 7 requests
+ *
+ * A SNAPSHOT READS EVERYTHING IN ONE executeScript CALL:
+ * ------------------------------------------------------
+ *     PageSnapshot form = loginPage.snapshot("emailInput", "loginButton");
+ *
+ *     form.url()                          -> "http://localhost:3000/login"
+ *     form.get("emailInput").value()      -> ""
+ *     form.get("loginButton").enabled()   -> true
+ *
+ * The names are the @FindBy FIELD NAMES of the page object; snapshot() with
+ * no names reads every @FindBy field. The @FindBy locator is turned into a
+ * CSS selector (css, id, name, className, tagName) or an XPath, and the
+ * browser looks the elements up itself. Elements with other locators
+ * (linkText, @FindBys, ...) are found by Selenium first and passed in.
+ *
+ * IMMUTABLE:
+ * ----------
+ * The snapshot is a copy of the page at ONE moment - it never waits and never
+ * changes. Wait first (waitForVisibility, ...), then take the snapshot.
+ *
+ * DIFFERENCES TO THE WebElement METHODS:
+ * --------------------------------------
+ * - A missing element gives present() = false instead of an exception
+ * - displayed() uses the browser's checkVisibility() (display, visibility,
+ *   opacity) - Selenium's isDisplayed() has extra rules for overflow clipping
+ * - text() is innerText, the same text getText() returns for visible elements
+ *
+ * =============================================================================
+ */
+public final class PageSnapshot {
+
+    /**
+     * Runs in the browser: arguments[0] = [{name, css | xpath | element}, ...]
+     */
+    private static final String SCRIPT = String.join("\n",
+        "const elements = {};",
+        "for (const t of arguments[0]) {",
+        "  let el = t.element || null;",
+        "  try {",
+        "    if (t.css) el = document.querySelector(t.css);",
+        "    else if (t.xpath) el = document.evaluate(t.xpath, document, null,",
+        "        XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;",
+        "  } catch (e) { el = null; }",
+        "  if (!el || !el.isConnected) { elements[t.name] = null; continue; }",
+        "  const displayed = el.getClientRects().length > 0 && (typeof el.checkVisibility === 'function'",
+        "      ? el.checkVisibility({opacityProperty: true, visibilityProperty: true})",
+        "      : getComputedStyle(el).visibility === 'visible');",
+        "  elements[t.name] = {",
+        "    displayed: displayed,",
+        "    enabled: !el.matches(':disabled'),",
+        "    value: 'value' in el && el.value != null ? String(el.value) : null,",
+        "    text: displayed ? el.innerText || '' : ''",
+        "  };",
+        "}",
+        "return {url: location.href, elements: elements};");
+
+    /**
+     * @FindBy fields per page class (reflection runs once per class)
+     */
+    private static final Map<Class<?>, Map<String, Target>> TARGETS = new ConcurrentHashMap<>();
+
+    private final String url;
+    private final Map<String, ElementState> elements;
+
+    private PageSnapshot(String url, Map<String, ElementState> elements) {
+        this.url = url;
+        this.elements = Collections.unmodifiableMap(elements);
+    }
+
+    /**
+     * URL of the page when the snapshot was taken (saves a getCurrentUrl call)
+     *
+     * @return The browser URL
+     */
+    public String url() {
+        return url;
+    }
+
+    /**
+     * State of one element
+     *
+     * @param name @FindBy field name that was included in the snapshot
+     * @return The state (ElementState.ABSENT if the element was not on the page)
+     * @throws IllegalArgumentException If the name was not part of the snapshot (typo?)
+     */
+    public ElementState get(String name) {
+        ElementState state = elements.get(name);
+        if (state == null) {
+            throw new IllegalArgumentException("'" + name + "' is not in this snapshot " + elements.keySet());
+        }
+        return state;
+    }
+
+    /**
+     * @return Field names in this snapshot (in field order)
+     */
+    public Set<String> names() {
+        return elements.keySet();
+    }
+
+    /**
+     * @return All states by field name (read-only)
+     */
+    public Map<String, ElementState> asMap() {
+        return elements;
+    }
+
+    @Override
+    public String toString() {
+        return "PageSnapshot" + elements + " @ " + url;
+    }
+
+    /**
+     * Read the state of @FindBy fields of a page object in one script call
+     *
+     * @param driver Browser the page is loaded in
+     * @param page The page object
+     * @param fieldNames Fields to read (none = all @FindBy fields)
+     * @return The snapshot
+     */
+    @SuppressWarnings("unchecked")
+    static PageSnapshot capture(WebDriver driver, BasePage page, String... fieldNames) {
+        Map<String, Target> available = TARGETS.computeIfAbsent(page.getClass(), PageSnapshot::findTargets);
+        List<String> names = fieldNames.length == 0 ? new ArrayList<>(available.keySet()) : List.of(fieldNames);
+
+        List<Map<String, Object>> specs = new ArrayList<>();
+        for (String name : names) {
+            Target target = available.get(name);
+            if (target == null) {
+                throw new IllegalArgumentException("No @FindBy field '" + name + "' in "
+                    + page.getClass().getSimpleName() + " " + available.keySet());
+            }
+            Map<String, Object> spec = target.spec(page);
+            if (spec != null) {
+                specs.add(spec);
+            }
+        }
+
+        Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SCRIPT, specs);
+        Map<String, Object> found = (Map<String, Object>) raw.get("elements");
+
+        Map<String, ElementState> states = new LinkedHashMap<>();
+        for (String name : names) {
+            Map<String, Object> flags = (Map<String, Object>) found.get(name);
+            states.put(name, flags == null ? ElementState.ABSENT : new ElementState(
+                true,
+                Boolean.TRUE.equals(flags.get("displayed")),
+                Boolean.TRUE.equals(flags.get("enabled")),
+                (String) flags.get("value"),
+                String.valueOf(flags.get("text"))));
+        }
+        return new PageSnapshot(String.valueOf(raw.get("url")), states);
+    }
+
+    /**
+     * Every WebElement field with @FindBy, from the page class up to BasePage
+     */
+    private static Map<String, Target> findTargets(Class<?> pageClass) {
+        Map<String, Target> targets = new LinkedHashMap<>();
+        for (Class<?> c = pageClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getType() == WebElement.class && field.isAnnotationPresent(FindBy.class)
+                        && !targets.containsKey(field.getName())) {
+                    field.setAccessible(true);
+                    targets.put(field.getName(), Target.of(field));
+                }
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * How the browser finds one field: a CSS selector, an XPath, or neither
+     * (then Selenium finds the element and it is passed to the script)
+     */
+    private record Target(String name, Field field, String css, String xpath) {
+
+        static Target of(Field field) {
+            FindBy findBy = field.getAnnotation(FindBy.class);
+            How how = findBy.how();
+            String using = findBy.using();
+
+            if (!findBy.css().isEmpty() || how == How.CSS) {
+                return new Target(field.getName(), field, pick(findBy.css(), using), null);
+            }
+            if (!findBy.id().isEmpty() || how == How.ID) {
+                return new Target(field.getName(), field, "[id=" + quote(pick(findBy.id(), using)) + "]", null);
+            }
+            if (!findBy.name().isEmpty() || how == How.NAME) {
+                return new Target(field.getName(), field, "[name=" + quote(pick(findBy.name(), using)) + "]", null);
+            }
+            if (!findBy.className().isEmpty() || how == How.CLASS_NAME) {
+                return new Target(field.getName(), field, "[class~=" + quote(pick(findBy.className(), using)) + "]", null);
+            }
+            if (!findBy.tagName().isEmpty() || how == How.TAG_NAME) {
+                return new Target(field.getName(), field, pick(findBy.tagName(), using), null);
+            }
+            if (!findBy.xpath().isEmpty() || how == How.XPATH) {
+                return new Target(field.getName(), field, null, pick(findBy.xpath(), using));
+            }
+            return new Target(field.getName(), field, null, null);
+        }
+
+        /**
+         * Script argument for this field, or null if Selenium cannot find it
+         */
+        Map<String, Object> spec(BasePage page) {
+            Map<String, Object> spec = new LinkedHashMap<>();
+            spec.put("name", name);
+            if (css != null) {
+                spec.put("css", css);
+            } else if (xpath != null) {
+                spec.put("xpath", xpath);
+            } else {
+                try {
+                    WebElement element = (WebElement) field.get(page);
+                    // Unwrap the PageFactory proxy here, so a missing element is not a script error
+                    spec.put("element", element instanceof WrapsElement wrapper ? wrapper.getWrappedElement() : element);
+                } catch (IllegalAccessException | WebDriverException e) {
+                    return null;
+                }
+            }
+            return spec;
+        }
+
+        private static String pick(String value, String using) {
+            return value.isEmpty() ? using : value;
+        }
+
+        private static String quote(String value) {
+            return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        }
+    }
+}
@@ -75,31 +75,31 @@ public class SignupPage extends BasePage {
     /**
      * Create Account Button
      */
-    @FindBy(xpath = "//button[contains(text(),'Create Account')]")
+    @FindBy(css = "[data-testid='signup-submit']")
     private WebElement createAccountButton;
 
     /**
      * Continue with Google Button
      */
-    @FindBy(xpath = "//button[contains(text(),'Continue with Google')]")
+    @FindBy(css = "[data-testid='google-signup-button']")
     private WebElement googleSignupButton;
 
     /**
      * Log In Link (for existing users)
      */
-    @FindBy(xpath = "//a[contains(text(),'Log in')]")
+    @FindBy(css = "[data-testid='login-link']")
     private WebElement loginLink;
 
     /**
      * Page Title
      */
-    @FindBy(xpath = "//h2[contains(text(),'Create your account')]")
+    @FindBy(css = "[data-testid='signup-title']")
     private WebElement pageTitle;
 
     /**
      * Terms and Privacy Text
      */
-    @FindBy(xpath = "//p[contains(text(),'Terms of Service')]")
+    @FindBy(css = "[data-testid='terms-text']")
     private WebElement termsText;
 
     // =========================================================================
@@ -248,6 +248,17 @@ public class SignupPage extends BasePage {
         return isElementDisplayed(termsText);
     }
 
+    /**
+     * State of the signup form in one browser round trip
+     *
+     * Names: fullNameInput, emailInput, passwordInput, createAccountButton
+     *
+     * @return Snapshot of those fields (see BasePage.snapshot)
+     */
+    public PageSnapshot formState() {
+        return snapshot("fullNameInput", "emailInput", "passwordInput", "createAccountButton");
+    }
+
     /**
      * Get the current value in the email field
      *
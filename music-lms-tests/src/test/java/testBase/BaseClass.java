@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
 import java.util.Date;
+import java.util.List;
 import java.util.Properties;
 
 import org.apache.commons.lang3.RandomStringUtils;
@@ -25,6 +26,12 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Parameters;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
+import utilities.BrowserEventLog;
+import utilities.RouteCoverage;
+import utilities.ScreencastRecorder;
+import utilities.ServerActionProfiler;
+import utilities.SupabaseProxy;
+import utilities.SupabaseQueryMonitor;
 
 /**
  * =============================================================================
@@ -111,6 +118,14 @@ public class BaseClass {
      * - logger.warn("message");   // Warning messages
      * - logger.error("message");  // Error messages
      * - logger.fatal("message");  // Critical errors
+     *
+     * Use {} placeholders instead of "+":
+     *     logger.info("Email: {}", email);     // text built only if INFO is on
+     *     logger.info("Email: " + email);      // text ALWAYS built
+     *
+     * Loggers are asynchronous (log4j2.component.properties): the test thread
+     * only hands the message to a background thread. Lines of a FAILED test
+     * are added to its Extent report entry (see TestLogCapture).
      */
     public Logger logger;
 
@@ -123,6 +138,31 @@ public class BaseClass {
      */
     public Properties p;
 
+    /**
+     * Browser name from testng.xml, kept so the browser can be restarted
+     */
+    private String browser;
+
+    /**
+     * Keeps the last seconds of the browser screen (Chrome/Edge only, else null)
+     */
+    private ScreencastRecorder screencast;
+
+    /**
+     * Console, JS error and network events of the running test (null if off)
+     */
+    private BrowserEventLog browserEvents;
+
+    /**
+     * Timings of the Next.js server actions of the running test (null if off)
+     */
+    private ServerActionProfiler serverActions;
+
+    /**
+     * Supabase requests per navigation of the running test (null if off)
+     */
+    private SupabaseQueryMonitor queryMonitor;
+
     /**
      * =========================================================================
      * SETUP METHOD (@BeforeClass)
@@ -148,10 +188,14 @@ public class BaseClass {
      * This enables running the SAME tests on DIFFERENT browsers without
      * changing any code!
      *
+     * alwaysRun = true: testng.xml EXCLUDES the "quarantine" group, and TestNG
+     * would drop a config method of an excluded group too - no browser, and
+     * every test fails with a NullPointerException.
+     *
      * @param br Browser name passed from testng.xml (chrome, firefox, edge)
      * @throws IOException If config file cannot be read
      */
-    @BeforeClass(groups = {"sanity", "regression", "master"})
+    @BeforeClass(groups = {"sanity", "regression", "master", "quarantine"}, alwaysRun = true)
     @Parameters({"browser"})
     public void setup(String br) throws IOException {
 
@@ -170,11 +214,31 @@ public class BaseClass {
         p.load(file);
         logger.info("Configuration loaded from config.properties");
 
+        // STEP 3-5: Start the browser and open the application
+        browser = br;
+        startBrowser();
+        logger.info("========== Test Setup Completed ==========");
+    }
+
+    /**
+     * =========================================================================
+     * START BROWSER
+     * =========================================================================
+     *
+     * Creates a new browser session for the browser given in testng.xml,
+     * configures it and opens the application URL.
+     *
+     * Kept separate from setup() so that a failed test can be retried in a
+     * FRESH browser (see restartBrowser() and utilities.RetryAnalyzer).
+     */
+    private void startBrowser() {
+        String br = browser;
+
         // STEP 3: Select and initialize the appropriate browser
         // ------------------------------------------------------
         // This is a great example of CONDITIONAL LOGIC in Java
         // Based on the 'br' parameter, we create different browser drivers
-        logger.info("Initializing browser: " + br);
+        logger.info("Initializing browser: {}", br);
 
         switch (br.toLowerCase()) {
             case "chrome":
@@ -191,6 +255,11 @@ public class BaseClass {
                     logger.info("Running Chrome in headless mode");
                 }
 
+                // Open a WebDriver BiDi connection for console/network events
+                if (browserEventsEnabled()) {
+                    chromeOptions.setCapability("webSocketUrl", true);
+                }
+
                 // Create the ChromeDriver with our options
                 driver = new ChromeDriver(chromeOptions);
                 break;
@@ -201,6 +270,9 @@ public class BaseClass {
                 if (p.getProperty("headless", "false").equals("true")) {
                     firefoxOptions.addArguments("--headless");
                 }
+                if (browserEventsEnabled()) {
+                    firefoxOptions.setCapability("webSocketUrl", true);
+                }
                 driver = new FirefoxDriver(firefoxOptions);
                 break;
 
@@ -210,15 +282,35 @@ public class BaseClass {
                 if (p.getProperty("headless", "false").equals("true")) {
                     edgeOptions.addArguments("--headless");
                 }
+                if (browserEventsEnabled()) {
+                    edgeOptions.setCapability("webSocketUrl", true);
+                }
                 driver = new EdgeDriver(edgeOptions);
                 break;
 
             default:
                 // If an unsupported browser is specified, log an error
-                logger.error("Unsupported browser: " + br);
+                logger.error("Unsupported browser: {}", br);
                 throw new IllegalArgumentException("Browser not supported: " + br);
         }
 
+        // Keep the last seconds of video for failure reports (see ScreencastRecorder)
+        startScreencast();
+
+        // Collect console/JS/network events pushed by the browser (see BrowserEventLog)
+        if (browserEventsEnabled()) {
+            browserEvents = BrowserEventLog.attach(driver);
+        }
+
+        // Time every server action call (see ServerActionProfiler)
+        startServerActions();
+
+        // Count Supabase queries per page load (see SupabaseQueryMonitor)
+        startQueryMonitor();
+
+        // Record which app routes this test class visits (see TestImpactAnalyzer)
+        driver = RouteCoverage.track(driver, getClass());
+
         // STEP 4: Configure browser settings
         // -----------------------------------
 
@@ -247,10 +339,32 @@ public class BaseClass {
 
         // STEP 5: Navigate to the application URL
         // ----------------------------------------
-        String appUrl = p.getProperty("appUrl");
+        String appUrl = appUrl();
         driver.get(appUrl);
-        logger.info("Navigated to: " + appUrl);
-        logger.info("========== Test Setup Completed ==========");
+        logger.info("Navigated to: {}", appUrl);
+    }
+
+    /**
+     * Close the current browser and start a new one
+     *
+     * Used before a failed test is retried, so that cookies, local storage
+     * or a hung page from the failed attempt cannot affect the retry.
+     */
+    public void restartBrowser() {
+        logger.info("Restarting browser for a clean session");
+        stopScreencast();
+        closeBrowserEvents();
+        stopServerActions();
+        stopQueryMonitor();
+        if (driver != null) {
+            try {
+                driver.quit();
+            } catch (Exception e) {
+                logger.warn("Could not close old browser: {}", e.getMessage());
+            }
+            RouteCoverage.release(driver);
+        }
+        startBrowser();
     }
 
     /**
@@ -273,12 +387,17 @@ public class BaseClass {
      *
      * Always use quit() in @AfterClass to fully clean up!
      */
-    @AfterClass(groups = {"sanity", "regression", "master"})
+    @AfterClass(groups = {"sanity", "regression", "master", "quarantine"}, alwaysRun = true)
     public void tearDown() {
         logger.info("========== Test Teardown Started ==========");
 
+        stopScreencast();
+        closeBrowserEvents();
+        stopServerActions();
+        stopQueryMonitor();
         if (driver != null) {
             driver.quit();
+            RouteCoverage.release(driver);
             logger.info("Browser closed successfully");
         }
 
@@ -315,7 +434,7 @@ public class BaseClass {
         String timeStamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
 
         // Build the file path
-        String fileName = testName + "_" + timeStamp + ".png";
+        String fileName = testName + "_" + timeStamp + workerSuffix() + ".png";
         String filePath = "./screenshots/" + fileName;
 
         try {
@@ -337,14 +456,245 @@ public class BaseClass {
                 java.nio.file.StandardCopyOption.REPLACE_EXISTING
             );
 
-            logger.info("Screenshot saved: " + filePath);
+            logger.info("Screenshot saved: {}", filePath);
         } catch (IOException e) {
-            logger.error("Failed to save screenshot: " + e.getMessage());
+            logger.error("Failed to save screenshot: {}", e.getMessage());
         }
 
         return filePath;
     }
 
+    /**
+     * =========================================================================
+     * SCREENCAST (SHORT VIDEO BEFORE A FAILURE)
+     * =========================================================================
+     *
+     * Chrome/Edge stream the screen while the test runs; only the last
+     * screencastSeconds are kept in memory. A failed test saves them as an
+     * animated GIF next to the screenshots, a passed test throws them away.
+     *
+     * @param testName Name of the test (used in filename)
+     * @return Path to the saved GIF, or null if nothing was recorded
+     */
+    public String saveScreencast(String testName) {
+        if (screencast == null) {
+            return null;
+        }
+        String timeStamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        String filePath = "./screenshots/" + testName + "_" + timeStamp + workerSuffix() + ".gif";
+        try {
+            if (screencast.save(filePath)) {
+                logger.info("Screencast saved: {}", filePath);
+                return filePath;
+            }
+        } catch (IOException e) {
+            logger.error("Failed to save screencast: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Forget the recorded frames (called when a test passes or is skipped)
+     */
+    public void discardScreencast() {
+        if (screencast != null) {
+            screencast.discard();
+        }
+    }
+
+    /**
+     * Start the recorder if screencast=true (config.properties or -Dscreencast)
+     */
+    private void startScreencast() {
+        if (!Boolean.parseBoolean(System.getProperty("screencast", p.getProperty("screencast", "false")))) {
+            return;
+        }
+        int seconds = Integer.parseInt(System.getProperty("screencastSeconds", p.getProperty("screencastSeconds", "10")));
+        int bufferMb = Integer.parseInt(System.getProperty("screencastBufferMb", p.getProperty("screencastBufferMb", "32")));
+        try {
+            screencast = ScreencastRecorder.start(driver, seconds, bufferMb);
+            logger.debug(screencast != null ? "Screencast recording started" : "Screencast not supported by this browser");
+        } catch (RuntimeException e) {
+            logger.warn("Could not start screencast: {}", e.getMessage());
+            screencast = null;
+        }
+    }
+
+    private void stopScreencast() {
+        if (screencast != null) {
+            screencast.stop();
+            screencast = null;
+        }
+    }
+
+    /**
+     * =========================================================================
+     * BROWSER EVENTS (CONSOLE, JS ERRORS, NETWORK)
+     * =========================================================================
+     *
+     * Called when a test ends. The events are written to a file if the test
+     * failed or -DperfLog=true is set; otherwise they are thrown away.
+     *
+     * @param testName Name of the test (used in filename)
+     * @param failed true if the test failed
+     * @return Path to the saved event log, or null if nothing was saved
+     */
+    public String endBrowserEvents(String testName, boolean failed) {
+        if (browserEvents == null) {
+            return null;
+        }
+        if (!failed && !BrowserEventLog.persistAll()) {
+            browserEvents.clear();
+            return null;
+        }
+        try {
+            String filePath = browserEvents.save(testName);
+            if (filePath != null) {
+                logger.info("Browser events saved: {}", filePath);
+            }
+            return filePath;
+        } catch (IOException e) {
+            logger.error("Failed to save browser events: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * browserEvents=true in config.properties (or -DbrowserEvents)
+     */
+    private boolean browserEventsEnabled() {
+        return Boolean.parseBoolean(System.getProperty("browserEvents", p.getProperty("browserEvents", "false")));
+    }
+
+    private void closeBrowserEvents() {
+        if (browserEvents != null) {
+            browserEvents.close();
+            browserEvents = null;
+        }
+    }
+
+    /**
+     * =========================================================================
+     * SERVER ACTION TIMINGS
+     * =========================================================================
+     *
+     * Called when a test ends: returns the server actions (createLesson,
+     * sendMessage, ...) the test triggered, with their timings, and starts
+     * collecting again for the next test.
+     *
+     * @return Finished calls (empty if none, or if the profiler is off)
+     */
+    public List<ServerActionProfiler.Call> endServerActions() {
+        return serverActions == null ? List.of() : serverActions.drain();
+    }
+
+    /**
+     * Start the profiler if serverActionProfiler=true (config.properties or -D)
+     */
+    private void startServerActions() {
+        if (!Boolean.parseBoolean(System.getProperty("serverActionProfiler",
+                p.getProperty("serverActionProfiler", "false")))) {
+            return;
+        }
+        try {
+            serverActions = ServerActionProfiler.start(driver);
+            logger.debug(serverActions != null ? "Server action profiler started" : "Server action profiler not supported by this browser");
+        } catch (RuntimeException e) {
+            logger.warn("Could not start server action profiler: {}", e.getMessage());
+            serverActions = null;
+        }
+    }
+
+    private void stopServerActions() {
+        if (serverActions != null) {
+            serverActions.stop();
+            serverActions = null;
+        }
+    }
+
+    /**
+     * =========================================================================
+     * SUPABASE QUERIES PER PAGE LOAD
+     * =========================================================================
+     *
+     * Called when a test ends (QueryBudgetListener): returns the Supabase
+     * requests of every navigation the test made, and starts counting again
+     * for the next test.
+     *
+     * @return Navigations with their queries (empty if the monitor is off)
+     */
+    public List<SupabaseQueryMonitor.Navigation> endSupabaseQueries() {
+        return queryMonitor == null ? List.of() : queryMonitor.drain();
+    }
+
+    /**
+     * Start the monitor if supabaseQueryMonitor=true, and the proxy for
+     * server-side queries if supabaseProxyPort is set (config.properties or -D)
+     */
+    private void startQueryMonitor() {
+        if (!Boolean.parseBoolean(System.getProperty("supabaseQueryMonitor",
+                p.getProperty("supabaseQueryMonitor", "false")))) {
+            return;
+        }
+        String proxyPort = System.getProperty("supabaseProxyPort", p.getProperty("supabaseProxyPort", ""));
+        String supabaseUrl = System.getProperty("supabaseUrl", p.getProperty("supabaseUrl", ""));
+        if (!proxyPort.isBlank()) {
+            if (supabaseUrl.isBlank()) {
+                logger.warn("supabaseProxyPort is set but supabaseUrl is empty - server-side queries are not counted");
+            } else {
+                SupabaseProxy.startOnce(Integer.parseInt(proxyPort.trim()), supabaseUrl);
+            }
+        }
+        try {
+            queryMonitor = SupabaseQueryMonitor.attach(driver);
+            logger.debug(queryMonitor != null ? "Supabase query monitor started" : "Supabase query monitor not supported by this browser");
+        } catch (RuntimeException e) {
+            logger.warn("Could not start Supabase query monitor: {}", e.getMessage());
+            queryMonitor = null;
+        }
+    }
+
+    private void stopQueryMonitor() {
+        if (queryMonitor != null) {
+            queryMonitor.stop();
+            queryMonitor = null;
+        }
+    }
+
+    /**
+     * Base URL of the application: -DappUrl, else appUrl in config.properties
+     *
+     * Parallel workers (dbtools.WorkerEnvironments) each get their own app
+     * instance and pass its URL with -DappUrl.
+     *
+     * @return URL like "http://localhost:3000"
+     */
+    public String appUrl() {
+        return appUrl(p);
+    }
+
+    /**
+     * Base URL of the application for classes that read config.properties
+     * themselves (HttpBaseClass)
+     *
+     * @param config Loaded config.properties
+     * @return -DappUrl, else appUrl of the config
+     */
+    public static String appUrl(Properties config) {
+        return System.getProperty("appUrl", config.getProperty("appUrl"));
+    }
+
+    /**
+     * "_worker2" under dbtools.WorkerEnvironments (-Dworker=2), else ""
+     *
+     * Parallel workers share ./screenshots/, so their files get the worker
+     * in the name like their Extent reports do.
+     */
+    private static String workerSuffix() {
+        String worker = System.getProperty("worker", "");
+        return worker.isBlank() ? "" : "_worker" + worker;
+    }
+
     /**
      * =========================================================================
      * RANDOM STRING GENERATOR
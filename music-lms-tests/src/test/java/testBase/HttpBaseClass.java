@@ -0,0 +1,276 @@
+package testBase;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+
+/**
+ * =============================================================================
+ * HTTP BASE CLASS - TESTS THAT NEED THE SERVER, NOT THE BROWSER
+ * =============================================================================
+ *
+ * WHY A SECOND TIER?
+ * ------------------
+ * "Wrong password is rejected" or "/dashboard without login goes to /login"
+ * is decided by the SERVER. A browser test for it pays for starting Chrome,
+ * loading the page, typing and waiting - seconds per check. The same question
+ * asked over plain HTTP takes a few milliseconds:
+ *
+ *     Browser tier (BaseClass):      real UI behaviour (forms, navigation, toasts)
+ *     HTTP tier (HttpBaseClass):     server behaviour (redirects, auth API answers)
+ *
+ * WHAT IT TALKS TO:
+ * -----------------
+ * - The Next.js app (appUrl): src/middleware.ts decides the redirects
+ * - Supabase Auth (supabaseUrl + supabaseAnonKey): the login and signup forms
+ *   call it directly from the browser, so the tests call it the same way
+ *
+ * Both come from the same config.properties as the browser tests. Auth tests
+ * are SKIPPED while supabaseUrl/supabaseAnonKey are blank.
+ *
+ * MANY CHECKS AT ONCE:
+ * --------------------
+ * runAll() runs checks side by side, one thread per check. On Java 21+ these
+ * are virtual threads (thousands cost almost nothing); on Java 17 a pool of
+ * -DhttpThreads (default 32) platform threads is used instead.
+ *
+ * Run this tier alone:
+ *     mvn test -DsuiteXmlFile=src/test/resources/testng-http.xml
+ *
+ * =============================================================================
+ */
+public class HttpBaseClass {
+
+    /**
+     * Logger - same log files and format as the browser tests
+     */
+    public Logger logger;
+
+    /**
+     * Properties from config.properties (shared with BaseClass)
+     */
+    public Properties p;
+
+    /**
+     * HTTP client shared by all checks of the class (thread safe)
+     *
+     * Redirects are NOT followed: a redirect is often the thing under test.
+     */
+    protected HttpClient http;
+
+    /**
+     * JSON reader/writer (the one Selenium uses internally)
+     */
+    protected final Json json = new Json();
+
+    /**
+     * Runs the checks passed to runAll()
+     *
+     * Not handed to the HttpClient: its internal work must not queue behind
+     * checks that are blocked waiting for it.
+     */
+    private ExecutorService executor;
+
+    /**
+     * =========================================================================
+     * SETUP METHOD (@BeforeClass)
+     * =========================================================================
+     *
+     * Loads config.properties and creates the HTTP client - no browser.
+     *
+     * @throws IOException If config file cannot be read
+     */
+    @BeforeClass(groups = {"http"})
+    public void setup() throws IOException {
+        logger = LogManager.getLogger(this.getClass());
+        logger.info("========== HTTP Test Setup Started ==========");
+
+        p = new Properties();
+        try (FileInputStream file = new FileInputStream("./src/test/resources/config.properties")) {
+            p.load(file);
+        }
+        logger.info("Configuration loaded from config.properties");
+
+        executor = newExecutor();
+        http = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        logger.info("========== HTTP Test Setup Completed ==========");
+    }
+
+    /**
+     * Stop the threads of runAll()
+     */
+    @AfterClass(groups = {"http"})
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        logger.info("========== HTTP Test Teardown Completed ==========");
+    }
+
+    /**
+     * Virtual threads where available (Java 21+), else a bounded platform pool
+     *
+     * Looked up by reflection so the framework still compiles for Java 17.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(1, Integer.getInteger("httpThreads", 32)));
+        }
+    }
+
+    // =========================================================================
+    // REQUEST HELPERS
+    // =========================================================================
+
+    /**
+     * GET a page of the application (no cookies = not logged in)
+     *
+     * @param path Path below appUrl, e.g. "/dashboard"
+     * @return The response; redirects are returned, not followed
+     */
+    protected HttpResponse<String> get(String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(BaseClass.appUrl(p) + path))
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+        return send(request);
+    }
+
+    /**
+     * POST a JSON body to a Supabase Auth endpoint, like the login/signup forms do
+     *
+     * @param path Path below supabaseUrl, e.g. "/auth/v1/token?grant_type=password"
+     * @param body Request body (converted to JSON)
+     * @return The response
+     * @throws SkipException If supabaseUrl or supabaseAnonKey is not configured
+     */
+    protected HttpResponse<String> postSupabaseAuth(String path, Map<String, Object> body) {
+        String anonKey = requiredConfig("supabaseAnonKey");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(requiredConfig("supabaseUrl") + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("apikey", anonKey)
+            .header("Authorization", "Bearer " + anonKey)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json.toJson(body)))
+            .build();
+        return send(request);
+    }
+
+    /**
+     * Parse a JSON object response
+     *
+     * @param response Response with a JSON object body
+     * @return The body as a map (empty if the body is empty)
+     */
+    protected Map<String, Object> jsonBody(HttpResponse<String> response) {
+        String body = response.body();
+        if (body == null || body.isBlank()) {
+            return Map.of();
+        }
+        return json.toType(body, Json.MAP_TYPE);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new RuntimeException("Request failed: " + request.method() + " " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted: " + request.method() + " " + request.uri(), e);
+        }
+    }
+
+    /**
+     * Config value from -Dkey or config.properties, skipping the test if blank
+     */
+    private String requiredConfig(String key) {
+        String value = System.getProperty(key, p.getProperty(key, ""));
+        if (value.isBlank()) {
+            throw new SkipException(key + " is not set in config.properties");
+        }
+        return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    // =========================================================================
+    // RUNNING MANY CHECKS
+    // =========================================================================
+
+    /**
+     * Run checks side by side and wait for all of them
+     *
+     * Each check returns null if it passed, or a message describing what went
+     * wrong. Collecting the messages (instead of failing on the first one)
+     * shows ALL broken routes in one run.
+     *
+     * A check that throws SkipException (e.g. requiredConfig: Supabase not
+     * configured) is not a failure: when no check failed, the SkipException
+     * is rethrown so the test is reported as SKIPPED, like on the test thread.
+     *
+     * @param checks The checks to run
+     * @return Messages of the failed checks (empty list = all passed)
+     * @throws SkipException If a check skipped and none failed
+     */
+    protected List<String> runAll(List<Callable<String>> checks) {
+        List<String> failures = new ArrayList<>();
+        SkipException skipped = null;
+        try {
+            for (Future<String> result : executor.invokeAll(checks)) {
+                try {
+                    String failure = result.get();
+                    if (failure != null) {
+                        failures.add(failure);
+                    }
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof SkipException skip) {
+                        skipped = skip;
+                    } else {
+                        failures.add(String.valueOf(e.getCause()));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failures.add("Interrupted while waiting for checks");
+        }
+        if (failures.isEmpty() && skipped != null) {
+            throw skipped;
+        }
+        return failures;
+    }
+
+    /**
+     * Random email that is not registered
+     *
+     * @return e.g. "nonexistent_abcdefgh@test.com"
+     */
+    public String unknownEmail() {
+        return "nonexistent_" + RandomStringUtils.secure().nextAlphabetic(8).toLowerCase() + "@test.com";
+    }
+}
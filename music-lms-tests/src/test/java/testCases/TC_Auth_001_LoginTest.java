@@ -5,6 +5,7 @@ import org.testng.annotations.Test;
 
 import pageObjects.DashboardPage;
 import pageObjects.LoginPage;
+import pageObjects.PageSnapshot;
 import pageObjects.SignupPage;
 import testBase.BaseClass;
 
@@ -89,7 +90,7 @@ public class TC_Auth_001_LoginTest extends BaseClass {
 
         // ARRANGE
         // Navigate to login page (done in setup, but let's be explicit)
-        driver.get(p.getProperty("appUrl") + "/login");
+        driver.get(appUrl() + "/login");
         logger.info("Navigated to login page");
 
         // ACT
@@ -100,7 +101,7 @@ public class TC_Auth_001_LoginTest extends BaseClass {
         // Verify page is displayed
         boolean isDisplayed = loginPage.isPageDisplayed();
 
-        logger.info("Login page displayed: " + isDisplayed);
+        logger.info("Login page displayed: {}", isDisplayed);
         Assert.assertTrue(isDisplayed, "Login page should be displayed");
 
         logger.info("========== TC_Auth_001: PASSED ==========");
@@ -143,14 +144,14 @@ public class TC_Auth_001_LoginTest extends BaseClass {
         logger.info("========== TC_Auth_002: Verify Valid Login ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/login");
+        driver.get(appUrl() + "/login");
         LoginPage loginPage = new LoginPage(driver);
 
         // Get credentials from config (in real test, these would be real test users)
         String email = p.getProperty("testEmail");
         String password = p.getProperty("testPassword");
 
-        logger.info("Logging in with email: " + email);
+        logger.info("Logging in with email: {}", email);
 
         // ACT
         loginPage.login(email, password);
@@ -160,7 +161,7 @@ public class TC_Auth_001_LoginTest extends BaseClass {
         DashboardPage dashboardPage = new DashboardPage(driver);
         boolean loginSuccess = dashboardPage.waitForDashboardLoad();
 
-        logger.info("Login successful: " + loginSuccess);
+        logger.info("Login successful: {}", loginSuccess);
 
         if (loginSuccess) {
             Assert.assertTrue(dashboardPage.isPageDisplayed(), "Dashboard should be displayed after login");
@@ -203,7 +204,7 @@ public class TC_Auth_001_LoginTest extends BaseClass {
         logger.info("========== TC_Auth_003: Verify Invalid Password Login ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/login");
+        driver.get(appUrl() + "/login");
         LoginPage loginPage = new LoginPage(driver);
 
         String email = p.getProperty("testEmail");
@@ -230,7 +231,7 @@ public class TC_Auth_001_LoginTest extends BaseClass {
 
         // Verify error message is displayed
         boolean hasError = loginPage.isErrorMessageDisplayed();
-        logger.info("Error message displayed: " + hasError);
+        logger.info("Error message displayed: {}", hasError);
 
         // Note: Error might be shown via toast, so we check URL as primary assertion
         logger.info("========== TC_Auth_003: PASSED ==========");
@@ -252,13 +253,13 @@ public class TC_Auth_001_LoginTest extends BaseClass {
         logger.info("========== TC_Auth_004: Verify Invalid Email Login ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/login");
+        driver.get(appUrl() + "/login");
         LoginPage loginPage = new LoginPage(driver);
 
         String nonExistentEmail = "nonexistent_" + randomString() + "@test.com";
         String password = "AnyPassword123!";
 
-        logger.info("Attempting login with non-existent email: " + nonExistentEmail);
+        logger.info("Attempting login with non-existent email: {}", nonExistentEmail);
 
         // ACT
         loginPage.login(nonExistentEmail, password);
@@ -297,7 +298,7 @@ public class TC_Auth_001_LoginTest extends BaseClass {
         logger.info("========== TC_Auth_005: Verify Empty Fields Validation ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/login");
+        driver.get(appUrl() + "/login");
         LoginPage loginPage = new LoginPage(driver);
 
         logger.info("Attempting login with empty fields");
@@ -307,15 +308,18 @@ public class TC_Auth_001_LoginTest extends BaseClass {
         loginPage.clickLoginButton();
 
         // ASSERT
+        // URL and form state are read in one browser round trip
+        PageSnapshot form = loginPage.formState();
+
         // Should still be on login page (form validation prevents submission)
         Assert.assertTrue(
-            driver.getCurrentUrl().contains("/login"),
+            form.url().contains("/login"),
             "User should remain on login page"
         );
 
         // Verify email field still empty
         Assert.assertTrue(
-            loginPage.isEmailFieldEmpty(),
+            form.get("emailInput").isEmpty(),
             "Email field should still be empty"
         );
 
@@ -338,7 +342,7 @@ public class TC_Auth_001_LoginTest extends BaseClass {
         logger.info("========== TC_Auth_006: Verify Signup Navigation ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/login");
+        driver.get(appUrl() + "/login");
         LoginPage loginPage = new LoginPage(driver);
 
         logger.info("Clicking Sign up link");
@@ -376,13 +380,13 @@ public class TC_Auth_001_LoginTest extends BaseClass {
         logger.info("========== TC_Auth_007: Verify Login Button State ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/login");
+        driver.get(appUrl() + "/login");
         LoginPage loginPage = new LoginPage(driver);
 
         // ACT & ASSERT
         boolean isEnabled = loginPage.isLoginButtonEnabled();
 
-        logger.info("Login button enabled: " + isEnabled);
+        logger.info("Login button enabled: {}", isEnabled);
         Assert.assertTrue(isEnabled, "Login button should be enabled");
 
         logger.info("========== TC_Auth_007: PASSED ==========");
@@ -4,6 +4,7 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import pageObjects.LoginPage;
+import pageObjects.PageSnapshot;
 import pageObjects.SignupPage;
 import testBase.BaseClass;
 
@@ -21,7 +22,7 @@ import testBase.BaseClass;
  * 2. Students: Register via invite links sent by teachers
  *
  * This test class focuses on TEACHER registration.
- * Student registration (via invite) is tested in TC_Auth_003_InviteTest.
+ * Student registration (via invite) is tested in TC_Auth_004_StudentInviteTest.
  *
  * SIGNUP REQUIREMENTS:
  * --------------------
@@ -57,7 +58,7 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         logger.info("========== TC_Auth_008: Verify Signup Page Display ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/signup");
+        driver.get(appUrl() + "/signup");
         logger.info("Navigated to signup page");
 
         // ACT
@@ -102,7 +103,7 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         logger.info("========== TC_Auth_009: Verify Valid Teacher Signup ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/signup");
+        driver.get(appUrl() + "/signup");
         SignupPage signupPage = new SignupPage(driver);
 
         // Generate unique test data
@@ -111,8 +112,8 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         String password = "TestPass123!";
 
         logger.info("Signing up with:");
-        logger.info("  Name: " + fullName);
-        logger.info("  Email: " + email);
+        logger.info("  Name: {}", fullName);
+        logger.info("  Email: {}", email);
 
         // ACT
         signupPage.signup(fullName, email, password);
@@ -129,7 +130,7 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         // OR see a success message about email confirmation
         boolean redirectedToLogin = driver.getCurrentUrl().contains("/login");
 
-        logger.info("Redirected to login: " + redirectedToLogin);
+        logger.info("Redirected to login: {}", redirectedToLogin);
 
         // The app shows toast message and redirects to login
         // We verify the redirect happened
@@ -157,7 +158,7 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         logger.info("========== TC_Auth_010: Verify Empty Fields Validation ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/signup");
+        driver.get(appUrl() + "/signup");
         SignupPage signupPage = new SignupPage(driver);
 
         logger.info("Attempting signup with empty fields");
@@ -166,15 +167,18 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         signupPage.clickCreateAccount();
 
         // ASSERT
+        // URL and form state are read in one browser round trip
+        PageSnapshot form = signupPage.formState();
+
         // Form should not submit, user stays on page
         Assert.assertTrue(
-            driver.getCurrentUrl().contains("/signup"),
+            form.url().contains("/signup"),
             "User should remain on signup page"
         );
 
         // Verify fields are still empty
         Assert.assertEquals(
-            signupPage.getFullNameValue(),
+            form.get("fullNameInput").value(),
             "",
             "Full name field should be empty"
         );
@@ -198,7 +202,7 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         logger.info("========== TC_Auth_011: Verify Short Password Validation ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/signup");
+        driver.get(appUrl() + "/signup");
         SignupPage signupPage = new SignupPage(driver);
 
         String fullName = "Test User";
@@ -247,14 +251,14 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         logger.info("========== TC_Auth_012: Verify Invalid Email Validation ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/signup");
+        driver.get(appUrl() + "/signup");
         SignupPage signupPage = new SignupPage(driver);
 
         String fullName = "Test User";
         String invalidEmail = "not-an-email";
         String password = "ValidPass123!";
 
-        logger.info("Attempting signup with invalid email: " + invalidEmail);
+        logger.info("Attempting signup with invalid email: {}", invalidEmail);
 
         // ACT
         signupPage.signup(fullName, invalidEmail, password);
@@ -285,7 +289,7 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         logger.info("========== TC_Auth_013: Verify Login Navigation ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/signup");
+        driver.get(appUrl() + "/signup");
         SignupPage signupPage = new SignupPage(driver);
 
         logger.info("Clicking Log in link");
@@ -323,13 +327,13 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         logger.info("========== TC_Auth_014: Verify Create Account Button State ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/signup");
+        driver.get(appUrl() + "/signup");
         SignupPage signupPage = new SignupPage(driver);
 
         // ACT & ASSERT
         boolean isEnabled = signupPage.isCreateAccountButtonEnabled();
 
-        logger.info("Create Account button enabled: " + isEnabled);
+        logger.info("Create Account button enabled: {}", isEnabled);
         Assert.assertTrue(isEnabled, "Create Account button should be enabled");
 
         logger.info("========== TC_Auth_014: PASSED ==========");
@@ -353,7 +357,7 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         logger.info("========== TC_Auth_015: Verify Duplicate Email Signup ==========");
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/signup");
+        driver.get(appUrl() + "/signup");
         SignupPage signupPage = new SignupPage(driver);
 
         // Use the test email that should already exist
@@ -361,7 +365,7 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         String fullName = "Duplicate Test";
         String password = "TestPass123!";
 
-        logger.info("Attempting signup with existing email: " + existingEmail);
+        logger.info("Attempting signup with existing email: {}", existingEmail);
 
         // ACT
         signupPage.signup(fullName, existingEmail, password);
@@ -378,7 +382,7 @@ public class TC_Auth_002_SignupTest extends BaseClass {
         // At minimum, user should not be redirected to dashboard
         String currentUrl = driver.getCurrentUrl();
 
-        logger.info("Current URL after duplicate signup: " + currentUrl);
+        logger.info("Current URL after duplicate signup: {}", currentUrl);
 
         // User should either stay on signup or go to login (for confirmation flow)
         // Should NOT go to dashboard
@@ -1,5 +1,13 @@
 package testCases;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -7,6 +15,10 @@ import pageObjects.DashboardPage;
 import pageObjects.LoginPage;
 import testBase.BaseClass;
 import utilities.DataProviders;
+import utilities.EmailRow;
+import utilities.FormValidationBatch;
+import utilities.LoginRow;
+import utilities.PasswordRow;
 
 /**
  * =============================================================================
@@ -70,29 +82,27 @@ public class TC_Auth_003_LoginDDT extends BaseClass {
      * - dataProvider = "LoginData": Name of the DataProvider method
      * - dataProviderClass = DataProviders.class: Class containing the provider
      *
-     * METHOD PARAMETERS:
-     * The parameters match the columns in the Excel file:
-     * - Column A → email
-     * - Column B → password
-     * - Column C → expectedResult
+     * METHOD PARAMETER:
+     * One LoginRow - a record generated from the Excel sheet at compile time:
+     * - Column A → row.email()
+     * - Column B → row.password()
+     * - Column C → row.expected()   (already a boolean)
      *
      * EXECUTION FLOW:
      * ---------------
      * DataProvider returns:
      *     [
-     *         ["user1@test.com", "pass1", "true"],
-     *         ["user2@test.com", "pass2", "true"],
-     *         ["invalid@test.com", "wrong", "false"]
+     *         [LoginRow("user1@test.com", "pass1", true)],
+     *         [LoginRow("user2@test.com", "pass2", true)],
+     *         [LoginRow("invalid@test.com", "wrong", false)]
      *     ]
      *
      * Test runs 3 times:
-     *     Iteration 1: email="user1@test.com", password="pass1", expected="true"
-     *     Iteration 2: email="user2@test.com", password="pass2", expected="true"
-     *     Iteration 3: email="invalid@test.com", password="wrong", expected="false"
+     *     Iteration 1: email="user1@test.com", password="pass1", expected=true
+     *     Iteration 2: email="user2@test.com", password="pass2", expected=true
+     *     Iteration 3: email="invalid@test.com", password="wrong", expected=false
      *
-     * @param email Email from data provider
-     * @param password Password from data provider
-     * @param expectedResult "true" or "false" string indicating expected outcome
+     * @param row Credentials and expected outcome from the data provider
      */
     @Test(
         dataProvider = "LoginData",
@@ -100,23 +110,21 @@ public class TC_Auth_003_LoginDDT extends BaseClass {
         groups = {"dataDriven", "master"},
         description = "Data-driven login test with multiple credentials"
     )
-    public void TC_Auth_DDT_001_LoginWithMultipleCredentials(
-            String email,
-            String password,
-            String expectedResult) {
+    public void TC_Auth_DDT_001_LoginWithMultipleCredentials(LoginRow row) {
+        String email = row.email();
+        String password = row.password();
 
         logger.info("========== DATA-DRIVEN LOGIN TEST ==========");
-        logger.info("Email: " + email);
-        logger.info("Password: " + password);
-        logger.info("Expected Result: " + expectedResult);
+        logger.info("Email: {}", email);
+        logger.info("Password: {}", password);
+        logger.info("Expected Result: {}", row.expected());
 
         // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/login");
+        driver.get(appUrl() + "/login");
         LoginPage loginPage = new LoginPage(driver);
         DashboardPage dashboardPage = new DashboardPage(driver);
 
-        // Parse expected result
-        boolean shouldSucceed = expectedResult.equalsIgnoreCase("true");
+        boolean shouldSucceed = row.expected();
 
         // ACT
         loginPage.login(email, password);
@@ -146,7 +154,7 @@ public class TC_Auth_003_LoginDDT extends BaseClass {
                     Thread.sleep(1000);
                 } catch (Exception e) {
                     // Navigate to login if logout fails
-                    driver.get(p.getProperty("appUrl") + "/login");
+                    driver.get(appUrl() + "/login");
                 }
             }
         } else {
@@ -166,8 +174,9 @@ public class TC_Auth_003_LoginDDT extends BaseClass {
      * DATA-DRIVEN TEST WITH PASSWORD VALIDATION DATA
      * =========================================================================
      *
-     * This test uses inline data (hardcoded in DataProviders class).
-     * Useful for testing validation rules with known data.
+     * This test uses small, fixed data (testData/PasswordValidation.csv,
+     * compiled into PasswordRow). Useful for testing validation rules with
+     * known data.
      */
     @Test(
         dataProvider = "PasswordValidation",
@@ -175,62 +184,33 @@ public class TC_Auth_003_LoginDDT extends BaseClass {
         groups = {"dataDriven", "regression"},
         description = "Test various password validation scenarios"
     )
-    public void TC_Auth_DDT_002_PasswordValidation(
-            String password,
-            boolean shouldPass,
-            String reason) {
+    public void TC_Auth_DDT_002_PasswordValidation(PasswordRow row) {
+        String password = row.password();
+        boolean shouldPass = row.shouldPass();
+        String reason = row.reason();
 
         logger.info("========== PASSWORD VALIDATION TEST ==========");
-        logger.info("Password: " + (password.isEmpty() ? "(empty)" : password));
-        logger.info("Should Pass: " + shouldPass);
-        logger.info("Reason: " + reason);
-
-        // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/signup");
-
-        // Use JavaScript to check password input validation
-        String email = randomEmail();
-        String fullName = "Test User";
-
-        // ACT
-        // We're testing the password field validation
-        // Fill out form with test password
-        org.openqa.selenium.JavascriptExecutor js = (org.openqa.selenium.JavascriptExecutor) driver;
-
-        // Fill fields
-        driver.findElement(org.openqa.selenium.By.id("fullName")).sendKeys(fullName);
-        driver.findElement(org.openqa.selenium.By.id("email")).sendKeys(email);
-        driver.findElement(org.openqa.selenium.By.id("password")).sendKeys(password);
-
-        // Check if password field is valid
-        org.openqa.selenium.WebElement passwordField =
-            driver.findElement(org.openqa.selenium.By.id("password"));
-
-        // Check HTML5 validation
-        boolean isValid = (Boolean) js.executeScript(
-            "return arguments[0].checkValidity();",
-            passwordField
-        );
-
-        // Also check minLength (6 chars)
-        boolean meetsLength = password.length() >= 6;
+        logger.info("Password: {}", password.isEmpty() ? "(empty)" : password);
+        logger.info("Should Pass: {}", shouldPass);
+        logger.info("Reason: {}", reason);
+
+        boolean isValid;
+        if (batchValidation()) {
+            // All rows were checked in ONE script call on the first iteration
+            FormValidationBatch.Result result = passwordResults().get(password);
+            isValid = result.valid();
+            logger.info("Validity: {}", result);
+        } else {
+            isValid = typeAndCheckPassword(password);
+        }
 
-        // ASSERT
-        logger.info("Password validation result: " + (isValid && meetsLength));
+        // ASSERT - the browser's verdict (required + minLength=6) must match the sheet
+        logger.info("Password validation result: {}", isValid);
 
         if (shouldPass) {
-            Assert.assertTrue(
-                meetsLength || password.isEmpty(), // Empty triggers 'required' first
-                "Password should pass validation: " + reason
-            );
+            Assert.assertTrue(isValid, "Password should pass validation: " + reason);
         } else {
-            // Check that validation fails for bad passwords
-            if (!password.isEmpty()) {
-                Assert.assertFalse(
-                    meetsLength && password.trim().length() > 0,
-                    "Password should fail validation: " + reason
-                );
-            }
+            Assert.assertFalse(isValid, "Password should fail validation: " + reason);
         }
 
         logger.info("========== TEST ITERATION COMPLETE ==========\n");
@@ -247,33 +227,28 @@ public class TC_Auth_003_LoginDDT extends BaseClass {
         groups = {"dataDriven", "regression"},
         description = "Test various email validation scenarios"
     )
-    public void TC_Auth_DDT_003_EmailValidation(
-            String email,
-            boolean shouldPass,
-            String reason) {
+    public void TC_Auth_DDT_003_EmailValidation(EmailRow row) {
+        String email = row.email();
+        boolean shouldPass = row.shouldPass();
+        String reason = row.reason();
 
         logger.info("========== EMAIL VALIDATION TEST ==========");
-        logger.info("Email: " + (email.isEmpty() ? "(empty)" : email));
-        logger.info("Should Pass: " + shouldPass);
-        logger.info("Reason: " + reason);
-
-        // ARRANGE
-        driver.get(p.getProperty("appUrl") + "/login");
-
-        // ACT
-        org.openqa.selenium.WebElement emailField =
-            driver.findElement(org.openqa.selenium.By.id("email"));
-        emailField.sendKeys(email);
-
-        // Check HTML5 email validation using JavaScript
-        org.openqa.selenium.JavascriptExecutor js = (org.openqa.selenium.JavascriptExecutor) driver;
-        boolean isValid = (Boolean) js.executeScript(
-            "return arguments[0].checkValidity();",
-            emailField
-        );
+        logger.info("Email: {}", email.isEmpty() ? "(empty)" : email);
+        logger.info("Should Pass: {}", shouldPass);
+        logger.info("Reason: {}", reason);
+
+        boolean isValid;
+        if (batchValidation()) {
+            // All rows were checked in ONE script call on the first iteration
+            FormValidationBatch.Result result = emailResults().get(email);
+            isValid = result.valid();
+            logger.info("Validity: {}", result);
+        } else {
+            isValid = typeAndCheckEmail(email);
+        }
 
         // ASSERT
-        logger.info("Email validation result: " + isValid);
+        logger.info("Email validation result: {}", isValid);
 
         if (shouldPass) {
             Assert.assertTrue(isValid, "Email should be valid: " + reason);
@@ -283,4 +258,89 @@ public class TC_Auth_003_LoginDDT extends BaseClass {
 
         logger.info("========== TEST ITERATION COMPLETE ==========\n");
     }
+
+    // =========================================================================
+    // FORM VALIDATION HELPERS
+    // =========================================================================
+
+    /**
+     * Validity results of ALL password rows (filled on first use)
+     *
+     * BATCH MODE (validationBatch=true, see config.properties):
+     * The first iteration loads /signup once and sends every password of
+     * PasswordRow.rows() to the browser in a single executeScript call.
+     * Every later iteration only looks up its own result, so each row is
+     * still its own TestNG result - without a page load per row.
+     *
+     * A parallel data provider calls the test from several threads: the
+     * getters are synchronized (the batch runs once) and the maps are
+     * ConcurrentHashMaps.
+     */
+    private volatile Map<String, FormValidationBatch.Result> passwordResults;
+    private volatile Map<String, FormValidationBatch.Result> emailResults;
+
+    private boolean batchValidation() {
+        return Boolean.parseBoolean(
+            System.getProperty("validationBatch", p.getProperty("validationBatch", "true")));
+    }
+
+    private synchronized Map<String, FormValidationBatch.Result> passwordResults() {
+        if (passwordResults == null) {
+            driver.get(appUrl() + "/signup");
+            List<String> values = Arrays.stream(PasswordRow.rows()).map(PasswordRow::password).toList();
+            passwordResults = new ConcurrentHashMap<>(
+                FormValidationBatch.evaluate(driver, driver.findElement(By.id("password")), values));
+            logger.info("Batch validation: {} passwords checked in one script call", values.size());
+        }
+        return passwordResults;
+    }
+
+    private synchronized Map<String, FormValidationBatch.Result> emailResults() {
+        if (emailResults == null) {
+            driver.get(appUrl() + "/login");
+            List<String> values = Arrays.stream(EmailRow.rows()).map(EmailRow::email).toList();
+            emailResults = new ConcurrentHashMap<>(
+                FormValidationBatch.evaluate(driver, driver.findElement(By.id("email")), values));
+            logger.info("Batch validation: {} emails checked in one script call", values.size());
+        }
+        return emailResults;
+    }
+
+    /**
+     * Per-row mode: load /signup, type the form like a user, check the password field
+     */
+    private boolean typeAndCheckPassword(String password) {
+        driver.get(appUrl() + "/signup");
+
+        String email = randomEmail();
+        String fullName = "Test User";
+
+        // Fill out form with test password
+        driver.findElement(By.id("fullName")).sendKeys(fullName);
+        driver.findElement(By.id("email")).sendKeys(email);
+        driver.findElement(By.id("password")).sendKeys(password);
+
+        // Check HTML5 validation
+        WebElement passwordField = driver.findElement(By.id("password"));
+        return (Boolean) ((JavascriptExecutor) driver).executeScript(
+            "return arguments[0].checkValidity();",
+            passwordField
+        );
+    }
+
+    /**
+     * Per-row mode: load /login, type the email, check the email field
+     */
+    private boolean typeAndCheckEmail(String email) {
+        driver.get(appUrl() + "/login");
+
+        WebElement emailField = driver.findElement(By.id("email"));
+        emailField.sendKeys(email);
+
+        // Check HTML5 email validation using JavaScript
+        return (Boolean) ((JavascriptExecutor) driver).executeScript(
+            "return arguments[0].checkValidity();",
+            emailField
+        );
+    }
 }
@@ -0,0 +1,162 @@
+package testCases;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import pageObjects.InvitePage;
+import testBase.BaseClass;
+import utilities.DataProviders;
+import utilities.InviteMatrixRow;
+
+/**
+ * =============================================================================
+ * TC_Auth_004_StudentInviteTest - STUDENT REGISTRATION VIA INVITE LINK
+ * =============================================================================
+ *
+ * Students cannot sign up on /signup: a teacher creates an invite and the
+ * student registers on /invite/[token]. This class runs that registration
+ * for every case of the pairwise StudentInviteMatrix (DataProviders):
+ * instrument x skill level x email style x password style.
+ *
+ * WHERE DO THE INVITES COME FROM?
+ * -------------------------------
+ * An invite can be used only ONCE, so every case needs a fresh one. Clicking
+ * through the teacher dashboard for each of ~60 cases would be slow, so the
+ * test creates the invite like the dashboard's server action does: it signs
+ * in as the teacher (testEmail/testPassword) with Supabase Auth and inserts a
+ * row into public.invites (RLS: "Teachers can manage their invites").
+ *
+ * The invite has no email, so the student types the matrix email - the
+ * email styles are what is being tested.
+ *
+ * Needs supabaseUrl and supabaseAnonKey in config.properties; without them
+ * the cases are SKIPPED.
+ *
+ * =============================================================================
+ */
+public class TC_Auth_004_StudentInviteTest extends BaseClass {
+
+    /**
+     * Teacher session for creating invites: {access_token, user id}
+     */
+    private String[] teacherSession;
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Auth_DDT_004 - Student Registration Matrix
+     * =========================================================================
+     *
+     * OBJECTIVE: Every pairwise combination registers successfully.
+     *
+     * EXPECTED RESULT: "Account created!" and the app moves on to /login.
+     */
+    @Test(
+        dataProvider = "StudentInviteMatrix",
+        dataProviderClass = DataProviders.class,
+        groups = {"dataDriven", "regression"},
+        description = "Student registers via invite link (pairwise matrix)"
+    )
+    public void TC_Auth_DDT_004_StudentInviteMatrix(InviteMatrixRow row) {
+        String email = row.email(randomAlphaNumeric().toLowerCase());
+        logger.info("Invite registration: {} / {} / {} / password of {} chars",
+            row.instrument(), row.skillLevel(), email, row.password().length());
+
+        // ARRANGE - a fresh invite for this case
+        String token = createInvite();
+        driver.get(appUrl() + "/invite/" + token);
+        InvitePage invitePage = new InvitePage(driver);
+        Assert.assertTrue(invitePage.waitForPageToLoad() && invitePage.isValidInviteFormDisplayed(),
+            "Invite form should be displayed for a new invite");
+
+        // ACT
+        invitePage.registerAsStudent("Matrix Student " + randomString(), email, row.password(),
+            row.instrument(), row.skillLevel());
+
+        // ASSERT - after "Account created!" the page sends the student to /login
+        boolean registered;
+        try {
+            new WebDriverWait(driver, Duration.ofSeconds(15)).until(ExpectedConditions.urlContains("/login"));
+            registered = true;
+        } catch (TimeoutException e) {
+            registered = false;
+        }
+        Assert.assertTrue(registered, "Registration should succeed for " + row);
+    }
+
+    // =========================================================================
+    // INVITES
+    // =========================================================================
+
+    /**
+     * Insert an unused invite of the test teacher, valid for one hour
+     *
+     * @return The invite token (the last part of /invite/[token])
+     * @throws SkipException If Supabase is not configured
+     */
+    private String createInvite() {
+        String supabaseUrl = System.getProperty("supabaseUrl", p.getProperty("supabaseUrl", ""));
+        String anonKey = System.getProperty("supabaseAnonKey", p.getProperty("supabaseAnonKey", ""));
+        if (supabaseUrl.isBlank() || anonKey.isBlank()) {
+            throw new SkipException("supabaseUrl/supabaseAnonKey are not set in config.properties");
+        }
+        supabaseUrl = supabaseUrl.endsWith("/") ? supabaseUrl.substring(0, supabaseUrl.length() - 1) : supabaseUrl;
+
+        Json json = new Json();
+        if (teacherSession == null) {
+            HttpResponse<String> login = post(supabaseUrl + "/auth/v1/token?grant_type=password", anonKey, anonKey,
+                json.toJson(Map.of("email", p.getProperty("testEmail"), "password", p.getProperty("testPassword"))));
+            Assert.assertEquals(login.statusCode(), 200, "Teacher login for invites failed: " + login.body());
+            Map<String, Object> session = json.toType(login.body(), Json.MAP_TYPE);
+            Map<?, ?> user = (Map<?, ?>) session.get("user");
+            teacherSession = new String[] {(String) session.get("access_token"), (String) user.get("id")};
+        }
+
+        // Same token format as the dashboard's createInvite action
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        String token = HexFormat.of().formatHex(random);
+
+        HttpResponse<String> insert = post(supabaseUrl + "/rest/v1/invites", anonKey, teacherSession[0],
+            json.toJson(Map.of(
+                "teacher_id", teacherSession[1],
+                "token", token,
+                "expires_at", Instant.now().plus(Duration.ofHours(1)).toString())));
+        Assert.assertEquals(insert.statusCode(), 201, "Creating the invite failed: " + insert.body());
+        return token;
+    }
+
+    private static HttpResponse<String> post(String url, String anonKey, String bearer, String body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofSeconds(30))
+            .header("apikey", anonKey)
+            .header("Authorization", "Bearer " + bearer)
+            .header("Content-Type", "application/json")
+            .header("Prefer", "return=minimal")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        try {
+            return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new RuntimeException("Request failed: POST " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted: POST " + url, e);
+        }
+    }
+}
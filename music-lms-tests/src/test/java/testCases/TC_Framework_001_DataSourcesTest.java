@@ -0,0 +1,267 @@
+package testCases;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import utilities.DataSources;
+import utilities.ExcelDataSource;
+import utilities.SnapshotDataSource;
+import utilities.TestDataConverter;
+
+/**
+ * =============================================================================
+ * TC_Framework_001_DataSourcesTest - CSV, JSON LINES AND SNAPSHOT READERS
+ * =============================================================================
+ *
+ * CsvDataSource, JsonLinesDataSource and SnapshotDataSource parse their
+ * files by hand, byte by byte. A DataProvider must get EXACTLY the rows it
+ * would get from the .xlsx, so the main check is a round trip:
+ *
+ *     .xlsx -> TestDataConverter -> .csv / .jsonl / .tdb
+ *           -> DataSources.read()  ==  ExcelDataSource.read()
+ *
+ * The other cases feed hand-written files with the tricky parts: quoted
+ * commas and line breaks, escapes, surrogate pairs, ragged rows, broken
+ * quotes and empty sheets.
+ *
+ * No browser and no app needed:
+ *
+ *     mvn test -DsuiteXmlFile=src/test/resources/testng-framework.xml
+ *
+ * =============================================================================
+ */
+public class TC_Framework_001_DataSourcesTest {
+
+    /**
+     * Sheets of the round trip workbook: name -> rows (header first)
+     */
+    private static final String[][][] SHEETS = {
+        {
+            {"Email", "Password", "Note"},
+            {"smith, john@test.com", "say \"hi\"", "line 1\nline 2"},
+            {"back\\slash@test.com", "tab\there", "crlf\r\nend"},
+            {"", "", ""},
+            {"music\uD83C\uDFB5@test.com", "caf\u00e9", "{\"json\":true}"},
+        },
+        {
+            {"Only"},
+            {"a"},
+            {""},
+            {"b"},
+        },
+        {
+            {"Email", "Password"},
+        },
+        {},
+    };
+
+    private static final String[] SHEET_NAMES = {"Data", "SingleColumn", "HeaderOnly", "Empty"};
+
+    private Path folder;
+    private Path workbook;
+
+    @BeforeClass(groups = {"framework"})
+    public void setup() throws IOException {
+        folder = Files.createTempDirectory("datasources");
+        workbook = folder.resolve("RoundTrip.xlsx");
+        try (XSSFWorkbook wb = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(workbook)) {
+            for (int s = 0; s < SHEETS.length; s++) {
+                XSSFSheet sheet = wb.createSheet(SHEET_NAMES[s]);
+                for (int r = 0; r < SHEETS[s].length; r++) {
+                    XSSFRow row = sheet.createRow(r);
+                    for (int c = 0; c < SHEETS[s][r].length; c++) {
+                        row.createCell(c).setCellValue(SHEETS[s][r][c]);
+                    }
+                }
+            }
+            wb.write(out);
+        }
+        TestDataConverter.convert(workbook, List.of("csv", "jsonl", SnapshotDataSource.EXTENSION));
+    }
+
+    @AfterClass(groups = {"framework"}, alwaysRun = true)
+    public void teardown() throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_001 - Converted Files Read Like The Workbook
+     * =========================================================================
+     *
+     * OBJECTIVE: Every sheet, in every format, gives the same rows as the
+     * .xlsx - including an empty sheet and one with only a header.
+     */
+    @Test(groups = {"framework"}, description = "Verify csv, jsonl and tdb give the same rows as the xlsx")
+    public void TC_Framework_001_VerifyRoundTripMatchesExcel() throws IOException {
+        for (String sheet : SHEET_NAMES) {
+            String expected = Arrays.deepToString(new ExcelDataSource().read(workbook, sheet));
+            for (String file : List.of(
+                    "RoundTrip." + sheet + ".csv",
+                    "RoundTrip." + sheet + ".jsonl",
+                    "RoundTrip." + SnapshotDataSource.EXTENSION)) {
+                String actual = Arrays.deepToString(DataSources.read(folder.resolve(file).toString(), sheet));
+                Assert.assertEquals(actual, expected, file + " sheet " + sheet);
+            }
+        }
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_002 - CSV Quoting
+     * =========================================================================
+     */
+    @Test(groups = {"framework"}, description = "Verify CSV quotes, line breaks, BOM and blank lines")
+    public void TC_Framework_002_VerifyCsvQuoting() throws IOException {
+        Path csv = write("quoting.csv",
+            "\uFEFFEmail,Password\r\n"
+            + "\"smith, john\",\"say \"\"hi\"\"\"\r\n"
+            + "\r\n"
+            + "\"two\nlines\",\n"
+            + ",last");
+
+        String[][] rows = DataSources.read(csv.toString(), "ignored");
+
+        Assert.assertEquals(Arrays.deepToString(rows), Arrays.deepToString(new String[][] {
+            {"smith, john", "say \"hi\""},
+            {"two\nlines", ""},
+            {"", "last"},
+        }));
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_003 - CSV Ragged Row
+     * =========================================================================
+     *
+     * OBJECTIVE: A row with a stray comma is an error naming the file and
+     * line, not values silently shifted into the next column.
+     */
+    @Test(groups = {"framework"}, description = "Verify a CSV row with the wrong column count is rejected")
+    public void TC_Framework_003_VerifyCsvRaggedRowIsRejected() throws IOException {
+        Path csv = write("ragged.csv", "Email,Password\na@test.com,x\n\"b,c\"@test.com,x,extra\n");
+
+        IOException error = Assert.expectThrows(IOException.class, () -> DataSources.read(csv.toString(), "ignored"));
+
+        Assert.assertTrue(error.getMessage().contains("ragged.csv line 3"), error.getMessage());
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_004 - JSON Lines Escapes
+     * =========================================================================
+     *
+     * OBJECTIVE: Escapes, a surrogate pair (one emoji written as two \\u
+     * escapes), literals and a missing key decode to the expected text.
+     */
+    @Test(groups = {"framework"}, description = "Verify JSON lines escapes, surrogate pairs and literals")
+    public void TC_Framework_004_VerifyJsonLinesEscapes() throws IOException {
+        Path jsonl = write("escapes.jsonl",
+            "{\"Email\":\"a\\\"b\\\\c\\/d\", \"Note\":\"x\\ny\\tz\", \"Count\":42}\n"
+            + "\n"
+            + "{\"Email\":\"caf\\u00e9 \\ud83c\\udfb5\",\"Count\":null}\n"
+            + "{\"Note\":true,\"Email\":\"\"}\n");
+
+        String[][] rows = DataSources.read(jsonl.toString(), "ignored");
+
+        Assert.assertEquals(Arrays.deepToString(rows), Arrays.deepToString(new String[][] {
+            {"a\"b\\c/d", "x\ny\tz", "42"},
+            {"caf\u00e9 \uD83C\uDFB5", "", ""},
+            {"", "true", ""},
+        }));
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_005 - JSON Lines Bad Escape
+     * =========================================================================
+     */
+    @Test(groups = {"framework"}, description = "Verify a bad \\u escape is an IOException naming file and line")
+    public void TC_Framework_005_VerifyJsonLinesBadEscapeIsRejected() throws IOException {
+        Path jsonl = write("bad-escape.jsonl", "{\"Email\":\"ok\"}\n{\"Email\":\"\\u12g4\"}\n");
+
+        IOException error = Assert.expectThrows(IOException.class, () -> DataSources.read(jsonl.toString(), "ignored"));
+
+        Assert.assertTrue(error.getMessage().contains("bad-escape.jsonl line 2"), error.getMessage());
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_006 - Empty Files
+     * =========================================================================
+     */
+    @Test(groups = {"framework"}, description = "Verify empty csv and jsonl files give no rows")
+    public void TC_Framework_006_VerifyEmptyFilesGiveNoRows() throws IOException {
+        Assert.assertEquals(DataSources.read(write("empty.csv", "").toString(), "ignored").length, 0);
+        Assert.assertEquals(DataSources.read(write("empty.jsonl", "").toString(), "ignored").length, 0);
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_007 - Snapshot Without The Sheet
+     * =========================================================================
+     */
+    @Test(groups = {"framework"}, description = "Verify a missing sheet in a snapshot is reported")
+    public void TC_Framework_007_VerifySnapshotMissingSheet() {
+        String snapshot = folder.resolve("RoundTrip." + SnapshotDataSource.EXTENSION).toString();
+
+        Assert.expectThrows(IllegalArgumentException.class, () -> DataSources.read(snapshot, "NoSuchSheet"));
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_016 - CSV Text After A Closing Quote
+     * =========================================================================
+     *
+     * OBJECTIVE: "a"b,c is an error naming the file and line, not the value
+     * "a" followed by a new row b,c.
+     */
+    @Test(groups = {"framework"}, description = "Verify text after a closing CSV quote is rejected")
+    public void TC_Framework_016_VerifyCsvTextAfterQuoteIsRejected() throws IOException {
+        Path csv = write("after-quote.csv", "Email,Password\na@test.com,x\n\"a\"b,c\n");
+
+        IOException error = Assert.expectThrows(IOException.class, () -> DataSources.read(csv.toString(), "ignored"));
+
+        Assert.assertTrue(error.getMessage().contains("after-quote.csv line 3"), error.getMessage());
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_017 - CSV Unterminated Quote
+     * =========================================================================
+     *
+     * OBJECTIVE: A quote that is never closed is an error naming the line
+     * where the value starts, not a value that swallows the rest of the file.
+     */
+    @Test(groups = {"framework"}, description = "Verify an unterminated CSV quote is rejected")
+    public void TC_Framework_017_VerifyCsvUnterminatedQuoteIsRejected() throws IOException {
+        Path csv = write("open-quote.csv", "Email,Password\na@test.com,x\nb@test.com,\"open\nc@test.com,y\n");
+
+        IOException error = Assert.expectThrows(IOException.class, () -> DataSources.read(csv.toString(), "ignored"));
+
+        Assert.assertTrue(error.getMessage().contains("open-quote.csv line 3"), error.getMessage());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(folder.resolve(name), content, StandardCharsets.UTF_8);
+    }
+}
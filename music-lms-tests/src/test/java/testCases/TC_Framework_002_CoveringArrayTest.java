@@ -0,0 +1,194 @@
+package testCases;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import utilities.CoveringArray;
+import utilities.DataProviders;
+import utilities.InviteMatrixRow;
+
+/**
+ * =============================================================================
+ * TC_Framework_002_CoveringArrayTest - EVERY t-WAY COMBINATION IS COVERED
+ * =============================================================================
+ *
+ * CoveringArray promises that every PAIR (or triple, ...) of values appears
+ * in at least one generated row. These tests do not trust the generator's
+ * own bookkeeping: they list every t-way value combination independently and
+ * look each one up in the output.
+ *
+ * The invite matrix (15 x 3 x 4 x 4 = 720) is also checked for its size.
+ * No pairwise array can have fewer than 15 x 4 = 60 rows (every instrument
+ * must meet every email style), and the README promises about 60.
+ *
+ * =============================================================================
+ */
+public class TC_Framework_002_CoveringArrayTest {
+
+    private static final Object[][] INVITE_DOMAINS = {
+        {"Piano", "Guitar", "Violin", "Viola", "Cello", "Voice", "Flute",
+            "Clarinet", "Saxophone", "Trumpet", "Trombone", "Drums", "Bass", "Ukulele", "Other"},
+        {"Beginner", "Intermediate", "Advanced"},
+        {"plain", "mixed", "plus", "subdomain"},
+        {"short", "special", "spaces", "long"},
+    };
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_008 - Invite Matrix Is Pairwise And Small
+     * =========================================================================
+     */
+    @Test(groups = {"framework"}, description = "Verify the invite matrix covers every pair in about 60 rows")
+    public void TC_Framework_008_VerifyInviteMatrixCoversEveryPair() {
+        Object[][] data = new DataProviders().getStudentInviteMatrix();
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] entry : data) {
+            InviteMatrixRow row = (InviteMatrixRow) entry[0];
+            rows.add(new Object[] {row.instrument(), row.skillLevel(), row.emailPattern(), row.password()});
+        }
+
+        assertCovers(rows, domainsOf(rows, 4), 2, row -> true);
+        Assert.assertTrue(rows.size() >= 60 && rows.size() <= 66,
+            "Expected close to 60 rows, got " + rows.size());
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_009 - Strength 3 Covers Every Triple
+     * =========================================================================
+     */
+    @Test(groups = {"framework"}, description = "Verify strength 3 covers every triple")
+    public void TC_Framework_009_VerifyStrengthThreeCoversEveryTriple() {
+        List<Object[]> rows = matrix().strength(3).generate();
+
+        assertCovers(rows, INVITE_DOMAINS, 3, row -> true);
+        Assert.assertTrue(rows.size() < 720, "Strength 3 generated the full product: " + rows.size());
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_010 - Constraints Are Respected
+     * =========================================================================
+     *
+     * OBJECTIVE: No row breaks a constraint, and every pair the constraint
+     * allows is still covered.
+     */
+    @Test(groups = {"framework"}, description = "Verify constrained pairs are excluded and all others covered")
+    public void TC_Framework_010_VerifyConstraintsAreRespected() {
+        List<Object[]> rows = matrix()
+            .constraint(row -> !("Drums".equals(row.get("instrument")) && "long".equals(row.get("password"))))
+            .generate();
+
+        Predicate<Object[]> allowed = row -> !("Drums".equals(row[0]) && "long".equals(row[3]));
+        for (Object[] row : rows) {
+            Assert.assertTrue(allowed.test(row), "Constraint broken by " + Arrays.toString(row));
+        }
+        assertCovers(rows, INVITE_DOMAINS, 2, allowed);
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_011 - Same Seed, Same Rows
+     * =========================================================================
+     */
+    @Test(groups = {"framework"}, description = "Verify the same seed gives the same rows")
+    public void TC_Framework_011_VerifySameSeedGivesSameRows() {
+        Assert.assertEquals(matrix().seed(7).toDataProvider(), matrix().seed(7).toDataProvider());
+    }
+
+    private static CoveringArray matrix() {
+        return new CoveringArray()
+            .parameter("instrument", INVITE_DOMAINS[0])
+            .parameter("skillLevel", INVITE_DOMAINS[1])
+            .parameter("email", INVITE_DOMAINS[2])
+            .parameter("password", INVITE_DOMAINS[3]);
+    }
+
+    /**
+     * The distinct values of every column, in order of appearance
+     */
+    private static Object[][] domainsOf(List<Object[]> rows, int columns) {
+        Object[][] domains = new Object[columns][];
+        for (int p = 0; p < columns; p++) {
+            Set<Object> values = new LinkedHashSet<>();
+            for (Object[] row : rows) {
+                values.add(row[p]);
+            }
+            domains[p] = values.toArray();
+        }
+        Assert.assertEquals(Arrays.stream(domains).mapToInt(d -> d.length).toArray(),
+            Arrays.stream(INVITE_DOMAINS).mapToInt(d -> d.length).toArray(),
+            "Every value of the matrix must appear at least once");
+        return domains;
+    }
+
+    /**
+     * Assert that every t-way value combination allowed by the predicate
+     * appears in at least one row
+     *
+     * A combination is checked as a partial row (null = no value yet), like
+     * CoveringArray constraints see it.
+     */
+    private static void assertCovers(List<Object[]> rows, Object[][] domains, int t, Predicate<Object[]> allowed) {
+        Set<List<Object>> seen = new HashSet<>();
+        List<int[]> columnSets = new ArrayList<>();
+        subsets(domains.length, t, 0, new int[t], 0, columnSets);
+        for (Object[] row : rows) {
+            for (int[] columns : columnSets) {
+                seen.add(key(columns, row));
+            }
+        }
+
+        int checked = 0;
+        for (int[] columns : columnSets) {
+            int[] index = new int[t];
+            while (true) {
+                Object[] partial = new Object[domains.length];
+                for (int i = 0; i < t; i++) {
+                    partial[columns[i]] = domains[columns[i]][index[i]];
+                }
+                if (allowed.test(partial)) {
+                    Assert.assertTrue(seen.contains(key(columns, partial)),
+                        "Not covered: " + Arrays.toString(partial));
+                    checked++;
+                }
+                int i = t - 1;
+                while (i >= 0 && ++index[i] == domains[columns[i]].length) {
+                    index[i--] = 0;
+                }
+                if (i < 0) {
+                    break;
+                }
+            }
+        }
+        Assert.assertTrue(checked > 0, "No combinations checked");
+    }
+
+    private static List<Object> key(int[] columns, Object[] row) {
+        List<Object> key = new ArrayList<>();
+        for (int column : columns) {
+            key.add(column);
+            key.add(row[column]);
+        }
+        return key;
+    }
+
+    private static void subsets(int n, int t, int from, int[] current, int size, List<int[]> out) {
+        if (size == t) {
+            out.add(current.clone());
+            return;
+        }
+        for (int i = from; i < n; i++) {
+            current[size] = i;
+            subsets(n, t, i + 1, current, size + 1, out);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package testCases;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import utilities.ExcelResultWriter;
+import utilities.ExcelUtility;
+
+/**
+ * =============================================================================
+ * TC_Framework_003_ExcelIndexTest - ExcelUtility LOOKUPS WITH withIndex()
+ * =============================================================================
+ *
+ * With withIndex() getRowNum(), getRowNums() and isDataPresent() answer from
+ * HashMaps built on the first lookup. They must give the same answers as
+ * the plain row-by-row scan, and setCellData() must throw the index of the
+ * sheet away so a changed value is found (and the old one is not).
+ *
+ * Every test works on its own copy of a small workbook:
+ *
+ *     LoginData                          Other
+ *     Email              | Password     Email
+ *     teacher@test.com   | Teacher1!    teacher@test.com
+ *     student@test.com   | Student1!
+ *     (empty row)
+ *     student@test.com   | Student2!
+ *
+ * =============================================================================
+ */
+public class TC_Framework_003_ExcelIndexTest {
+
+    private Path file;
+    private ExcelUtility plain;
+    private ExcelUtility indexed;
+
+    @BeforeMethod(groups = {"framework"})
+    public void setup() throws IOException {
+        file = Files.createTempFile("excel-index", ".xlsx");
+        try (XSSFWorkbook wb = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            XSSFSheet login = wb.createSheet("LoginData");
+            String[][] rows = {
+                {"Email", "Password"},
+                {"teacher@test.com", "Teacher1!"},
+                {"student@test.com", "Student1!"},
+                null,
+                {"student@test.com", "Student2!"},
+            };
+            for (int r = 0; r < rows.length; r++) {
+                if (rows[r] == null) {
+                    continue;
+                }
+                XSSFRow row = login.createRow(r);
+                for (int c = 0; c < rows[r].length; c++) {
+                    row.createCell(c).setCellValue(rows[r][c]);
+                }
+            }
+            wb.createSheet("Other").createRow(0).createCell(0).setCellValue("teacher@test.com");
+            wb.write(out);
+        }
+        plain = new ExcelUtility(file.toString());
+        indexed = new ExcelUtility(file.toString()).withIndex();
+    }
+
+    @AfterMethod(groups = {"framework"}, alwaysRun = true)
+    public void teardown() throws IOException {
+        plain.close();
+        indexed.close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_012 - Indexed Lookups Match The Scan
+     * =========================================================================
+     */
+    @Test(groups = {"framework"}, description = "Verify indexed lookups give the same answers as the scan")
+    public void TC_Framework_012_VerifyIndexedLookupsMatchScan() {
+        for (String value : List.of("teacher@test.com", "student@test.com", "Student2!", "", "nobody@test.com")) {
+            for (int col = 0; col < 2; col++) {
+                Assert.assertEquals(indexed.getRowNum("LoginData", col, value), plain.getRowNum("LoginData", col, value),
+                    "getRowNum col " + col + " '" + value + "'");
+                Assert.assertEquals(indexed.getRowNums("LoginData", col, value), plain.getRowNums("LoginData", col, value),
+                    "getRowNums col " + col + " '" + value + "'");
+            }
+            Assert.assertEquals(indexed.isDataPresent("LoginData", value), plain.isDataPresent("LoginData", value),
+                "isDataPresent '" + value + "'");
+        }
+
+        Assert.assertEquals(indexed.getRowNums("LoginData", 0, "student@test.com"), List.of(2, 4));
+        Assert.assertEquals(indexed.getRowNum("NoSuchSheet", 0, "teacher@test.com"), -1);
+        Assert.assertFalse(indexed.isDataPresent("NoSuchSheet", "teacher@test.com"));
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_013 - setCellData Invalidates The Index
+     * =========================================================================
+     *
+     * OBJECTIVE: After a write, lookups see the new value, not the old one,
+     * and the index of another sheet is not affected.
+     */
+    @Test(groups = {"framework"}, description = "Verify setCellData makes indexed lookups see the new value")
+    public void TC_Framework_013_VerifySetCellDataInvalidatesIndex() throws IOException {
+        // Build all indexes first
+        Assert.assertEquals(indexed.getRowNum("LoginData", 0, "teacher@test.com"), 1);
+        Assert.assertTrue(indexed.isDataPresent("LoginData", "Teacher1!"));
+        Assert.assertTrue(indexed.isDataPresent("Other", "teacher@test.com"));
+
+        indexed.setCellData("LoginData", 1, 0, "admin@test.com");
+        indexed.setCellData("LoginData", 1, 1, "Admin1!");
+
+        Assert.assertEquals(indexed.getRowNum("LoginData", 0, "teacher@test.com"), -1);
+        Assert.assertEquals(indexed.getRowNum("LoginData", 0, "admin@test.com"), 1);
+        Assert.assertFalse(indexed.isDataPresent("LoginData", "Teacher1!"));
+        Assert.assertTrue(indexed.isDataPresent("LoginData", "Admin1!"));
+        Assert.assertTrue(indexed.isDataPresent("Other", "teacher@test.com"));
+
+        // The write reaches the file once the queue is saved
+        ExcelResultWriter.forFile(file.toString()).flush();
+        ExcelUtility reopened = new ExcelUtility(file.toString());
+        try {
+            Assert.assertEquals(reopened.getCellData("LoginData", 1, 0), "admin@test.com");
+        } finally {
+            reopened.close();
+        }
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_014 - Index Lists Are Read-Only
+     * =========================================================================
+     */
+    @Test(groups = {"framework"}, description = "Verify getRowNums cannot change the index")
+    public void TC_Framework_014_VerifyRowNumsAreReadOnly() {
+        List<Integer> rows = indexed.getRowNums("LoginData", 0, "student@test.com");
+
+        Assert.expectThrows(UnsupportedOperationException.class, () -> rows.add(99));
+        Assert.assertEquals(indexed.getRowNums("LoginData", 0, "student@test.com"), List.of(2, 4));
+    }
+}
@@ -0,0 +1,95 @@
+package testCases;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import utilities.ExcelResultWriter;
+import utilities.ExcelUtility;
+
+/**
+ * =============================================================================
+ * TC_Framework_004_ExcelResultWriterTest - MANY CELLS, ONE SAVE
+ * =============================================================================
+ *
+ * ExcelUtility.setCellData() and ExcelResultWriter.write() only queue the
+ * value. The workbook must be saved ONCE, when the suite finishes
+ * (ExcelResultWriter$SuiteFlush), with every queued cell in it.
+ *
+ * =============================================================================
+ */
+public class TC_Framework_004_ExcelResultWriterTest {
+
+    private static final int CELLS = 50;
+
+    private Path file;
+
+    @BeforeMethod(groups = {"framework"})
+    public void setup() throws IOException {
+        file = Files.createTempFile("excel-results", ".xlsx");
+        try (XSSFWorkbook wb = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            wb.createSheet("LoginData").createRow(0).createCell(0).setCellValue("Email");
+            wb.write(out);
+        }
+    }
+
+    @AfterMethod(groups = {"framework"}, alwaysRun = true)
+    public void teardown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Framework_015 - N Cells Are Saved Once At Suite End
+     * =========================================================================
+     *
+     * OBJECTIVE: Writing 50 cells leaves the file untouched; the suite-end
+     * listener saves all of them in one write, the newest value per cell.
+     */
+    @Test(groups = {"framework"}, description = "Verify N queued cells are saved in one write at suite end")
+    public void TC_Framework_015_VerifyCellsAreSavedOnceAtSuiteEnd() throws IOException {
+        ExcelResultWriter writer = ExcelResultWriter.forFile(file.toString());
+        byte[] before = Files.readAllBytes(file);
+
+        ExcelUtility xlutil = new ExcelUtility(file.toString());
+        try {
+            for (int row = 1; row <= CELLS; row++) {
+                xlutil.setCellData("LoginData", row, 3, "Failed");
+                xlutil.setCellData("LoginData", row, 3, "Passed");
+            }
+        } finally {
+            xlutil.close();
+        }
+        writer.write("Results", 0, 0, "Done");
+
+        Assert.assertEquals(writer.pendingCount(), CELLS + 1);
+        Assert.assertEquals(writer.saveCount(), 0);
+        Assert.assertEquals(Files.readAllBytes(file), before, "The file was saved before the suite finished");
+
+        new ExcelResultWriter.SuiteFlush().onFinish(null);
+
+        Assert.assertEquals(writer.saveCount(), 1);
+        Assert.assertEquals(writer.pendingCount(), 0);
+        ExcelUtility reopened = new ExcelUtility(file.toString());
+        try {
+            for (int row = 1; row <= CELLS; row++) {
+                Assert.assertEquals(reopened.getCellData("LoginData", row, 3), "Passed", "row " + row);
+            }
+            Assert.assertEquals(reopened.getCellData("Results", 0, 0), "Done");
+            Assert.assertEquals(reopened.getCellData("LoginData", 0, 0), "Email");
+        } finally {
+            reopened.close();
+        }
+
+        // Nothing queued: another suite end does not save again
+        new ExcelResultWriter.SuiteFlush().onFinish(null);
+        Assert.assertEquals(writer.saveCount(), 1);
+    }
+}
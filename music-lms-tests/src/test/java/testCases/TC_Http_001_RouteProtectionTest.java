@@ -0,0 +1,148 @@
+package testCases;
+
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import testBase.HttpBaseClass;
+
+/**
+ * =============================================================================
+ * TC_Http_001_RouteProtectionTest - REDIRECTS OF src/middleware.ts
+ * =============================================================================
+ *
+ * The middleware runs on the SERVER before any page is rendered:
+ *
+ *     not logged in + protected page (/dashboard/...)  -> redirect to /login
+ *     not logged in + public page (/, /login, ...)     -> page is served
+ *
+ * A browser is not needed to see that - the redirect is in the HTTP response
+ * (status 307 + "Location" header). Every route is checked in parallel.
+ *
+ * Keep this list in sync with src/app/(dashboard)/dashboard and the
+ * publicRoutes of src/lib/supabase/middleware.ts.
+ *
+ * =============================================================================
+ */
+public class TC_Http_001_RouteProtectionTest extends HttpBaseClass {
+
+    /**
+     * Pages that need a logged-in user ([id] segments filled with a random id)
+     */
+    private static final List<String> PROTECTED_ROUTES = List.of(
+        "/dashboard",
+        "/dashboard/assignments",
+        "/dashboard/assignments/" + UUID.randomUUID(),
+        "/dashboard/feedback",
+        "/dashboard/library",
+        "/dashboard/messages",
+        "/dashboard/practice",
+        "/dashboard/schedule",
+        "/dashboard/seeder",
+        "/dashboard/settings",
+        "/dashboard/students",
+        "/dashboard/students/" + UUID.randomUUID(),
+        "/dashboard/submissions",
+        "/dashboard/submissions/" + UUID.randomUUID());
+
+    /**
+     * Pages anyone may open
+     */
+    private static final List<String> PUBLIC_ROUTES = List.of(
+        "/",
+        "/login",
+        "/signup",
+        "/invite/" + UUID.randomUUID());
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Http_001 - Protected Routes Redirect To Login
+     * =========================================================================
+     *
+     * OBJECTIVE: Without a session, every dashboard page redirects to /login.
+     *
+     * EXPECTED RESULT:
+     * - Status 3xx with a Location header whose path is /login
+     */
+    @Test(
+        groups = {"http"},
+        priority = 1,
+        description = "Verify protected routes redirect to /login without a session"
+    )
+    public void TC_Http_001_VerifyProtectedRoutesRedirectToLogin() {
+        logger.info("========== TC_Http_001: Verify Protected Routes Redirect To Login ==========");
+
+        // ARRANGE
+        List<Callable<String>> checks = new ArrayList<>();
+        for (String route : PROTECTED_ROUTES) {
+            checks.add(() -> {
+                HttpResponse<String> response = get(route);
+                String location = response.headers().firstValue("Location").orElse(null);
+                if (!isRedirect(response) || location == null || !"/login".equals(URI.create(location).getPath())) {
+                    return route + " -> " + response.statusCode() + " " + location + " (expected redirect to /login)";
+                }
+                return null;
+            });
+        }
+
+        // ACT
+        List<String> failures = runAll(checks);
+        logger.info("Checked {} protected routes, {} failed", checks.size(), failures.size());
+
+        // ASSERT
+        Assert.assertTrue(failures.isEmpty(), "Unprotected routes: " + failures);
+
+        logger.info("========== TC_Http_001: PASSED ==========");
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Http_002 - Public Routes Are Served
+     * =========================================================================
+     *
+     * OBJECTIVE: Without a session, public pages are NOT sent to /login.
+     *
+     * EXPECTED RESULT:
+     * - No redirect, no server error (an unknown invite token may answer 404)
+     */
+    @Test(
+        groups = {"http"},
+        priority = 2,
+        description = "Verify public routes are served without a session"
+    )
+    public void TC_Http_002_VerifyPublicRoutesAreServed() {
+        logger.info("========== TC_Http_002: Verify Public Routes Are Served ==========");
+
+        // ARRANGE
+        List<Callable<String>> checks = new ArrayList<>();
+        for (String route : PUBLIC_ROUTES) {
+            checks.add(() -> {
+                HttpResponse<String> response = get(route);
+                if (isRedirect(response) || response.statusCode() >= 500) {
+                    return route + " -> " + response.statusCode() + " "
+                        + response.headers().firstValue("Location").orElse("");
+                }
+                return null;
+            });
+        }
+
+        // ACT
+        List<String> failures = runAll(checks);
+        logger.info("Checked {} public routes, {} failed", checks.size(), failures.size());
+
+        // ASSERT
+        Assert.assertTrue(failures.isEmpty(), "Public routes not served: " + failures);
+
+        logger.info("========== TC_Http_002: PASSED ==========");
+    }
+
+    private static boolean isRedirect(HttpResponse<String> response) {
+        return response.statusCode() >= 300 && response.statusCode() < 400;
+    }
+}
@@ -0,0 +1,141 @@
+package testCases;
+
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import testBase.HttpBaseClass;
+
+/**
+ * =============================================================================
+ * TC_Http_002_AuthApiTest - AUTH NEGATIVE PATHS WITHOUT A BROWSER
+ * =============================================================================
+ *
+ * The login and signup pages call Supabase Auth straight from the browser:
+ *
+ *     login page   -> POST {supabaseUrl}/auth/v1/token?grant_type=password
+ *     signup page  -> POST {supabaseUrl}/auth/v1/signup
+ *
+ * These tests send the same requests directly. They check the SERVER side of
+ * the browser tests TC_Auth_003, TC_Auth_004 and TC_Auth_015 in milliseconds;
+ * the browser tests stay for what the user SEES (error toast, no redirect).
+ *
+ * Needs supabaseUrl and supabaseAnonKey in config.properties (the values of
+ * NEXT_PUBLIC_SUPABASE_URL / NEXT_PUBLIC_SUPABASE_ANON_KEY); skipped otherwise.
+ *
+ * =============================================================================
+ */
+public class TC_Http_002_AuthApiTest extends HttpBaseClass {
+
+    private static final String LOGIN = "/auth/v1/token?grant_type=password";
+    private static final String SIGNUP = "/auth/v1/signup";
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Http_003 - Verify Invalid Password Is Rejected
+     * =========================================================================
+     *
+     * OBJECTIVE: Server side of TC_Auth_003 - a wrong password gets no session.
+     *
+     * EXPECTED RESULT:
+     * - Status 400
+     * - No access_token in the response
+     */
+    @Test(
+        groups = {"http"},
+        priority = 3,
+        description = "Verify auth API rejects an invalid password"
+    )
+    public void TC_Http_003_VerifyInvalidPasswordRejected() {
+        logger.info("========== TC_Http_003: Verify Invalid Password Rejected ==========");
+
+        // ARRANGE
+        String email = p.getProperty("testEmail");
+
+        // ACT
+        HttpResponse<String> response = postSupabaseAuth(LOGIN,
+            Map.of("email", email, "password", "WrongPassword123!"));
+        logger.info("Login with invalid password answered {}", response.statusCode());
+
+        // ASSERT
+        Assert.assertEquals(response.statusCode(), 400, "Invalid password should be rejected: " + response.body());
+        Assert.assertFalse(jsonBody(response).containsKey("access_token"), "No session should be issued");
+
+        logger.info("========== TC_Http_003: PASSED ==========");
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Http_004 - Verify Unknown Email Is Rejected
+     * =========================================================================
+     *
+     * OBJECTIVE: Server side of TC_Auth_004 - an unregistered email gets no
+     * session, and the same answer as a wrong password (no account probing).
+     */
+    @Test(
+        groups = {"http"},
+        priority = 4,
+        description = "Verify auth API rejects an unknown email"
+    )
+    public void TC_Http_004_VerifyUnknownEmailRejected() {
+        logger.info("========== TC_Http_004: Verify Unknown Email Rejected ==========");
+
+        // ARRANGE
+        String email = unknownEmail();
+
+        // ACT
+        HttpResponse<String> unknown = postSupabaseAuth(LOGIN,
+            Map.of("email", email, "password", "AnyPassword123!"));
+        HttpResponse<String> wrongPassword = postSupabaseAuth(LOGIN,
+            Map.of("email", p.getProperty("testEmail"), "password", "AnyPassword123!"));
+        logger.info("Login with unknown email {} answered {}", email, unknown.statusCode());
+
+        // ASSERT
+        Assert.assertEquals(unknown.statusCode(), 400, "Unknown email should be rejected: " + unknown.body());
+        Assert.assertFalse(jsonBody(unknown).containsKey("access_token"), "No session should be issued");
+        Assert.assertEquals(unknown.body(), wrongPassword.body(),
+            "Unknown email and wrong password should look the same to the client");
+
+        logger.info("========== TC_Http_004: PASSED ==========");
+    }
+
+    /**
+     * =========================================================================
+     * TEST CASE: TC_Http_005 - Verify Duplicate Email Signup Gets No Session
+     * =========================================================================
+     *
+     * OBJECTIVE: Server side of TC_Auth_015 - signing up with a registered
+     * email must not log anybody in.
+     *
+     * Depending on the project settings Supabase answers with an error
+     * (email confirmation off) or with a fake user without session (email
+     * confirmation on, so nobody can find out which emails exist).
+     */
+    @Test(
+        groups = {"http"},
+        priority = 5,
+        description = "Verify signup with a registered email issues no session"
+    )
+    public void TC_Http_005_VerifyDuplicateEmailSignupGetsNoSession() {
+        logger.info("========== TC_Http_005: Verify Duplicate Email Signup Gets No Session ==========");
+
+        // ARRANGE
+        String existingEmail = p.getProperty("testEmail");
+
+        // ACT
+        HttpResponse<String> response = postSupabaseAuth(SIGNUP, Map.of(
+            "email", existingEmail,
+            "password", "TestPass123!",
+            "data", Map.of("full_name", "Duplicate Test", "role", "teacher")));
+        logger.info("Signup with existing email answered {}", response.statusCode());
+
+        // ASSERT
+        Assert.assertTrue(response.statusCode() < 500, "Server error: " + response.body());
+        Assert.assertFalse(jsonBody(response).containsKey("access_token"),
+            "Duplicate signup must not issue a session");
+
+        logger.info("========== TC_Http_005: PASSED ==========");
+    }
+}
@@ -0,0 +1,189 @@
+package utilities;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.log.ConsoleLogEntry;
+import org.openqa.selenium.bidi.log.JavascriptLogEntry;
+import org.openqa.selenium.bidi.module.LogInspector;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.bidi.network.BeforeRequestSent;
+import org.openqa.selenium.bidi.network.FetchError;
+import org.openqa.selenium.bidi.network.ResponseDetails;
+
+/**
+ * =============================================================================
+ * BROWSER EVENT LOG - CONSOLE, JS ERRORS AND NETWORK OF ONE TEST (WebDriver BiDi)
+ * =============================================================================
+ *
+ * WHY?
+ * ----
+ * When a signup test fails, the real reason is often only visible in the
+ * browser: "TypeError: ..." in the console, or a Supabase request that came
+ * back with 400/500. This class collects those events while the test runs.
+ *
+ * HOW (NO POLLING):
+ * -----------------
+ * WebDriver BiDi is a websocket between the test and the browser; the browser
+ * PUSHES every event as it happens (works for Chrome, Edge and Firefox):
+ *
+ *     console.error("x")        -> [console.error] x
+ *     uncaught exception        -> [js-error] TypeError: ...
+ *     request finished          -> [network] 400 POST https://...supabase.co/auth/v1/signup (231 ms)
+ *     request failed            -> [network-failed] GET https://... net::ERR_CONNECTION_REFUSED
+ *
+ * Only the last -DbrowserEventLines (default 1000) events are kept. They are
+ * written to reports/browser-events/ when the test FAILS, or for every test
+ * with -DperfLog=true (e.g. to compare request timings between runs).
+ *
+ * The driver must be created with the "webSocketUrl" capability (BaseClass
+ * does that when browserEvents=true).
+ *
+ * =============================================================================
+ */
+public class BrowserEventLog implements AutoCloseable {
+
+    private static final DateTimeFormatter TIME =
+        DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final int capacity;
+    private final Deque<String> events = new ArrayDeque<>();
+    private final Map<String, Long> requestStarts = new ConcurrentHashMap<>();
+    private final LogInspector logInspector;
+    private final Network network;
+
+    private BrowserEventLog(WebDriver driver, int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.logInspector = new LogInspector(driver);
+        this.network = new Network(driver);
+
+        logInspector.onConsoleEntry(this::onConsole);
+        logInspector.onJavaScriptException(this::onException);
+        network.onBeforeRequestSent(this::onRequest);
+        network.onResponseCompleted(this::onResponse);
+        network.onFetchError(this::onFetchError);
+    }
+
+    /**
+     * Subscribe to the events of a browser
+     *
+     * @param driver Driver created with the "webSocketUrl" capability
+     * @return The log, or null if the browser has no BiDi connection
+     */
+    public static BrowserEventLog attach(WebDriver driver) {
+        try {
+            return new BrowserEventLog(driver, Integer.getInteger("browserEventLines", 1000));
+        } catch (RuntimeException e) {
+            System.err.println("WebDriver BiDi not available: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the events of EVERY test are saved (-DperfLog=true)
+     */
+    public static boolean persistAll() {
+        return Boolean.getBoolean("perfLog");
+    }
+
+    // =========================================================================
+    // EVENT HANDLERS - called on the websocket thread, must stay short
+    // =========================================================================
+
+    private void onConsole(ConsoleLogEntry entry) {
+        add(entry.getTimestamp(), "[console." + entry.getLevel().toString().toLowerCase() + "] " + entry.getText());
+    }
+
+    private void onException(JavascriptLogEntry entry) {
+        add(entry.getTimestamp(), "[js-error] " + entry.getText());
+    }
+
+    private void onRequest(BeforeRequestSent event) {
+        requestStarts.put(event.getRequest().getRequestId(), event.getTimestamp());
+    }
+
+    private void onResponse(ResponseDetails event) {
+        Long start = requestStarts.remove(event.getRequest().getRequestId());
+        String duration = start == null ? "" : " (" + (event.getTimestamp() - start) + " ms)";
+        add(event.getTimestamp(), "[network] " + event.getResponseData().getStatus() + " "
+            + event.getRequest().getMethod() + " " + event.getRequest().getUrl() + duration);
+    }
+
+    private void onFetchError(FetchError event) {
+        requestStarts.remove(event.getRequest().getRequestId());
+        add(event.getTimestamp(), "[network-failed] " + event.getRequest().getMethod() + " "
+            + event.getRequest().getUrl() + " " + event.getErrorText());
+    }
+
+    private synchronized void add(long timestampMillis, String event) {
+        if (events.size() == capacity) {
+            events.removeFirst();
+        }
+        events.addLast(TIME.format(Instant.ofEpochMilli(timestampMillis)) + " " + event);
+    }
+
+    // =========================================================================
+    // PER-TEST BUFFER
+    // =========================================================================
+
+    /**
+     * @return Events collected since the last clear(), oldest first
+     */
+    public synchronized List<String> events() {
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * Forget the collected events (called between tests)
+     */
+    public synchronized void clear() {
+        events.clear();
+        requestStarts.clear();
+    }
+
+    /**
+     * Write the collected events to reports/browser-events/ and clear them
+     *
+     * @param testName Name of the test (used in filename)
+     * @return Path of the file, or null if there were no events
+     * @throws IOException If the file cannot be written
+     */
+    public String save(String testName) throws IOException {
+        List<String> lines = events();
+        clear();
+        if (lines.isEmpty()) {
+            return null;
+        }
+        Path file = Paths.get("./reports/browser-events",
+            testName + "_" + System.currentTimeMillis() + ".log");
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        return file.toString();
+    }
+
+    /**
+     * Unsubscribe (call before the browser is closed)
+     */
+    @Override
+    public void close() {
+        try {
+            logInspector.close();
+            network.close();
+        } catch (RuntimeException e) {
+            // Browser already gone
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package utilities;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+/**
+ * =============================================================================
+ * CACHING ELEMENT LOCATOR FACTORY - FIND EACH ELEMENT ONCE PER PAGE
+ * =============================================================================
+ *
+ * THE PROBLEM:
+ * ------------
+ * A normal PageFactory proxy searches for its element on EVERY method call.
+ * loginPage.enterEmail("x") looks harmless, but it does:
+ *
+ *     waitForVisibility(emailInput)  -> findElement + isDisplayed
+ *     .clear()                       -> findElement + clear
+ *     .sendKeys("x")                 -> findElement + sendKeys
+ *
+ * Three searches for the same element - each one a round trip to the browser.
+ *
+ * THE SOLUTION:
+ * -------------
+ * This factory remembers the element after the first successful search.
+ * Every page object gets its OWN factory (see BasePage), so the cache lives
+ * exactly as long as the page object.
+ *
+ * WHAT ABOUT STALE ELEMENTS?
+ * --------------------------
+ * React re-renders parts of the page, so a remembered element can be removed
+ * from the DOM. Using it then throws StaleElementReferenceException.
+ * Our proxy catches that exception, forgets the element, searches again and
+ * repeats the call - the test never notices.
+ *
+ * Lists (List<WebElement>) are not cached: their size changes too often.
+ *
+ * METRICS:
+ * --------
+ *     hits     element taken from the cache (one browser call saved)
+ *     misses   element searched in the browser
+ *     stale    cached element was stale and searched again
+ *
+ * The totals are printed in the Extent report ("Element Cache").
+ * Switch the cache off with -DelementCache=false.
+ *
+ * =============================================================================
+ */
+public class CachingElementLocatorFactory implements ElementLocatorFactory {
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder STALE = new LongAdder();
+
+    private final ElementLocatorFactory delegate;
+
+    /**
+     * Create the factory
+     *
+     * @param delegate The factory that does the real lookups
+     */
+    public CachingElementLocatorFactory(ElementLocatorFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Is the element cache switched on for this run?
+     *
+     * @return false only if -DelementCache=false was given
+     */
+    public static boolean isActive() {
+        return !"false".equalsIgnoreCase(System.getProperty("elementCache"));
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        ElementLocator locator = delegate.createLocator(field);
+        return locator == null ? null : new CachingLocator(locator);
+    }
+
+    /**
+     * Field decorator that puts stale-aware proxies into @FindBy fields
+     *
+     * Use it with PageFactory.initElements(decorator, page).
+     *
+     * @return A decorator backed by this factory
+     */
+    public FieldDecorator fieldDecorator() {
+        return new DefaultFieldDecorator(this) {
+            @Override
+            protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+                // Same interfaces as Selenium's own proxies, so waits and Actions keep working
+                return (WebElement) Proxy.newProxyInstance(loader,
+                    new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class},
+                    new RefreshingElementHandler(locator));
+            }
+        };
+    }
+
+    /**
+     * @return Cache hits of all pages so far
+     */
+    public static long hits() {
+        return HITS.sum();
+    }
+
+    /**
+     * @return Cache misses (real browser lookups) of all pages so far
+     */
+    public static long misses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * @return Number of stale elements that were searched again
+     */
+    public static long staleRefreshes() {
+        return STALE.sum();
+    }
+
+    /**
+     * One line summary for logs and reports
+     *
+     * @return e.g. "hits=120, misses=40, stale=3 (75% of lookups saved)"
+     */
+    public static String summary() {
+        long hits = hits();
+        long total = hits + misses();
+        long saved = total == 0 ? 0 : Math.round(hits * 100.0 / total);
+        return "hits=" + hits + ", misses=" + misses() + ", stale=" + staleRefreshes()
+            + " (" + saved + "% of lookups saved)";
+    }
+
+    /**
+     * =========================================================================
+     * CACHING LOCATOR - remembers the element of ONE field
+     * =========================================================================
+     */
+    private static class CachingLocator implements ElementLocator {
+
+        private final ElementLocator locator;
+        private volatile WebElement cached;
+
+        CachingLocator(ElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public WebElement findElement() {
+            WebElement element = cached;
+            if (element != null) {
+                HITS.increment();
+                return element;
+            }
+            MISSES.increment();
+            element = locator.findElement();
+            cached = element;
+            return element;
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            MISSES.increment();
+            return locator.findElements();
+        }
+
+        /**
+         * Forget the cached element (it was stale)
+         */
+        void invalidate() {
+            cached = null;
+        }
+
+        @Override
+        public String toString() {
+            return locator.toString();
+        }
+    }
+
+    /**
+     * =========================================================================
+     * REFRESHING ELEMENT HANDLER - runs every method call on a @FindBy field
+     * =========================================================================
+     *
+     * Works like Selenium's LocatingElementHandler, plus ONE retry with a fresh
+     * element when the cached one turned out to be stale.
+     */
+    private static class RefreshingElementHandler implements InvocationHandler {
+
+        private final ElementLocator locator;
+
+        RefreshingElementHandler(ElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return call(method, args);
+            } catch (StaleElementReferenceException e) {
+                if (!(locator instanceof CachingLocator)) {
+                    throw e;
+                }
+                STALE.increment();
+                ((CachingLocator) locator).invalidate();
+                return call(method, args);
+            }
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            WebElement element;
+            try {
+                element = locator.findElement();
+            } catch (NoSuchElementException e) {
+                if ("toString".equals(method.getName())) {
+                    return "Proxy element for: " + locator;
+                }
+                throw e;
+            }
+
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * =============================================================================
+ * COVERING ARRAY - PAIRWISE (N-WISE) TEST CASE GENERATOR
+ * =============================================================================
+ *
+ * THE PROBLEM:
+ * ------------
+ * Testing EVERY combination explodes quickly:
+ *
+ *     15 instruments x 3 skill levels x 4 email styles x 4 password styles
+ *     = 720 browser registrations
+ *
+ * THE IDEA:
+ * ---------
+ * Most bugs are triggered by ONE value or by the combination of TWO values
+ * ("Drums" + "Advanced"), rarely by three or more at once. Pairwise testing
+ * covers every PAIR of values at least once:
+ *
+ *     Full product:  720 rows
+ *     Pairwise:      ~60 rows  (every instrument meets every email style,
+ *                               every skill level, every password style...)
+ *
+ * strength(3) covers every TRIPLE instead (more rows, still far below 720).
+ *
+ * USAGE:
+ * ------
+ *     List<Object[]> rows = new CoveringArray()
+ *         .parameter("instrument", "Piano", "Guitar", "Drums")
+ *         .parameter("skillLevel", "Beginner", "Intermediate", "Advanced")
+ *         .parameter("browser", "chrome", "firefox")
+ *         .constraint(row -> !("Drums".equals(row.get("instrument"))
+ *                              && "firefox".equals(row.get("browser"))))
+ *         .generate();
+ *
+ *     rows.get(0) = {"Piano", "Beginner", "chrome"}   // in parameter order
+ *
+ * CONSTRAINTS:
+ * ------------
+ * A constraint returns false for combinations that must never be generated.
+ * It is also called while a row is being built: parameters without a value
+ * yet are MISSING from the map (get() returns null), so write rules that
+ * only reject when all the values they look at are present - like above.
+ *
+ * HOW IT WORKS (greedy, like the AETG algorithm):
+ * -----------------------------------------------
+ * 1. List every value pair (or triple...) that still needs to be covered
+ * 2. Build a few candidate rows: start from one uncovered pair, then pick
+ *    the value for each remaining parameter that covers the most new pairs
+ * 3. Keep the best candidate, mark its pairs as covered, repeat
+ *
+ * The result is not always the smallest possible, but close, and the same
+ * seed always gives the same rows (stable test names between runs).
+ *
+ * =============================================================================
+ */
+public class CoveringArray {
+
+    /**
+     * Candidate rows built per step - more = fewer rows, slower generation
+     */
+    private static final int CANDIDATES = 30;
+
+    private static final Logger LOGGER = LogManager.getLogger(CoveringArray.class);
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Object[]> domains = new ArrayList<>();
+    private final List<Predicate<Map<String, Object>>> constraints = new ArrayList<>();
+    private int strength = 2;
+    private long seed = 0;
+
+    /**
+     * Add a parameter and its possible values (values keep their order)
+     *
+     * @param name Parameter name (used by constraints)
+     * @param values Possible values (at least one)
+     * @return this (for chaining)
+     */
+    public CoveringArray parameter(String name, Object... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Parameter '" + name + "' has no values");
+        }
+        if (names.contains(name)) {
+            throw new IllegalArgumentException("Parameter '" + name + "' is defined twice");
+        }
+        names.add(name);
+        domains.add(values.clone());
+        return this;
+    }
+
+    /**
+     * How many parameters must be combined: 2 = pairwise (default), 3 = triples, ...
+     *
+     * @param strength At least 1
+     * @return this (for chaining)
+     */
+    public CoveringArray strength(int strength) {
+        if (strength < 1) {
+            throw new IllegalArgumentException("Strength must be at least 1: " + strength);
+        }
+        this.strength = strength;
+        return this;
+    }
+
+    /**
+     * Exclude combinations (see CONSTRAINTS in the class comment)
+     *
+     * @param rule Returns false for a forbidden combination
+     * @return this (for chaining)
+     */
+    public CoveringArray constraint(Predicate<Map<String, Object>> rule) {
+        constraints.add(rule);
+        return this;
+    }
+
+    /**
+     * Seed for tie-breaking; the same seed gives the same rows
+     *
+     * @param seed Any number
+     * @return this (for chaining)
+     */
+    public CoveringArray seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @return Number of rows of the full cross product (before constraints)
+     */
+    public long fullSize() {
+        long size = 1;
+        for (Object[] domain : domains) {
+            size *= domain.length;
+        }
+        return size;
+    }
+
+    /**
+     * Generate the rows
+     *
+     * @return One Object[] per test case, values in parameter order
+     */
+    public List<Object[]> generate() {
+        int k = names.size();
+        if (k == 0) {
+            return new ArrayList<>();
+        }
+        int t = Math.min(strength, k);
+        Random random = new Random(seed);
+
+        // 1. Every t-combination of parameters, and every value tuple of it
+        List<int[]> combos = new ArrayList<>();
+        combinations(k, t, 0, new int[t], 0, combos);
+        List<List<Integer>> combosOfParam = new ArrayList<>();
+        for (int p = 0; p < k; p++) {
+            combosOfParam.add(new ArrayList<>());
+        }
+        for (int c = 0; c < combos.size(); c++) {
+            for (int p : combos.get(c)) {
+                combosOfParam.get(p).add(c);
+            }
+        }
+
+        Set<Tuple> uncovered = new LinkedHashSet<>();
+        for (int c = 0; c < combos.size(); c++) {
+            int[] combo = combos.get(c);
+            int[] values = new int[t];
+            do {
+                int[] row = emptyRow(k);
+                for (int i = 0; i < t; i++) {
+                    row[combo[i]] = values[i];
+                }
+                // Tuples that break a constraint can never be covered
+                if (allowed(row)) {
+                    uncovered.add(new Tuple(c, values.clone()));
+                }
+            } while (next(values, combo));
+        }
+
+        // 2./3. Add the best candidate row until everything is covered
+        List<int[]> rows = new ArrayList<>();
+        int impossible = 0;
+        while (!uncovered.isEmpty()) {
+            Tuple start = uncovered.iterator().next();
+            int[] best = null;
+            int bestGain = 0;
+            for (int i = 0; i < CANDIDATES; i++) {
+                int[] candidate = buildRow(start, combos, combosOfParam, uncovered, random);
+                if (candidate != null) {
+                    int gain = covered(candidate, combos, uncovered, false);
+                    if (gain > bestGain) {
+                        best = candidate;
+                        bestGain = gain;
+                    }
+                }
+            }
+            if (best == null) {
+                // No complete row satisfies the constraints with this tuple
+                uncovered.remove(start);
+                impossible++;
+                continue;
+            }
+            covered(best, combos, uncovered, true);
+            rows.add(best);
+        }
+
+        List<Object[]> result = new ArrayList<>();
+        for (int[] row : rows) {
+            Object[] values = new Object[k];
+            for (int p = 0; p < k; p++) {
+                values[p] = domains.get(p)[row[p]];
+            }
+            result.add(values);
+        }
+        LOGGER.debug("Covering array (strength {}): {} of {} combinations{}", t, result.size(), fullSize(),
+            impossible > 0 ? ", " + impossible + " tuple(s) excluded by constraints" : "");
+        return result;
+    }
+
+    /**
+     * Generate and wrap every row for a TestNG @DataProvider
+     *
+     * @return {{v1, v2, ...}, ...} - one test iteration per row
+     */
+    public Object[][] toDataProvider() {
+        return generate().toArray(new Object[0][]);
+    }
+
+    /**
+     * Build one row greedily, starting from an uncovered tuple
+     *
+     * @return The row, or null if the constraints left no value for a parameter
+     */
+    private int[] buildRow(Tuple start, List<int[]> combos, List<List<Integer>> combosOfParam,
+                           Set<Tuple> uncovered, Random random) {
+        int k = names.size();
+        int[] row = emptyRow(k);
+        int[] startCombo = combos.get(start.combo);
+        for (int i = 0; i < startCombo.length; i++) {
+            row[startCombo[i]] = start.values[i];
+        }
+
+        List<Integer> order = new ArrayList<>();
+        for (int p = 0; p < k; p++) {
+            if (row[p] < 0) {
+                order.add(p);
+            }
+        }
+        Collections.shuffle(order, random);
+
+        for (int p : order) {
+            List<Integer> values = new ArrayList<>();
+            for (int v = 0; v < domains.get(p).length; v++) {
+                values.add(v);
+            }
+            Collections.shuffle(values, random);
+
+            int bestValue = -1;
+            int bestGain = -1;
+            for (int v : values) {
+                row[p] = v;
+                if (!allowed(row)) {
+                    continue;
+                }
+                // New tuples this value completes together with values already chosen
+                int gain = 0;
+                for (int c : combosOfParam.get(p)) {
+                    Tuple tuple = tupleOf(row, c, combos);
+                    if (tuple != null && uncovered.contains(tuple)) {
+                        gain++;
+                    }
+                }
+                if (gain > bestGain) {
+                    bestGain = gain;
+                    bestValue = v;
+                }
+            }
+            if (bestValue < 0) {
+                return null;
+            }
+            row[p] = bestValue;
+        }
+        return row;
+    }
+
+    /**
+     * Count (or remove) the uncovered tuples a complete row covers
+     */
+    private static int covered(int[] row, List<int[]> combos, Set<Tuple> uncovered, boolean remove) {
+        int count = 0;
+        for (int c = 0; c < combos.size(); c++) {
+            Tuple tuple = tupleOf(row, c, combos);
+            if (remove ? uncovered.remove(tuple) : uncovered.contains(tuple)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The tuple of a row for one parameter combination (null if a value is missing)
+     */
+    private static Tuple tupleOf(int[] row, int c, List<int[]> combos) {
+        int[] combo = combos.get(c);
+        int[] values = new int[combo.length];
+        for (int i = 0; i < combo.length; i++) {
+            if (row[combo[i]] < 0) {
+                return null;
+            }
+            values[i] = row[combo[i]];
+        }
+        return new Tuple(c, values);
+    }
+
+    /**
+     * Check all constraints against the values assigned so far
+     */
+    private boolean allowed(int[] row) {
+        if (constraints.isEmpty()) {
+            return true;
+        }
+        Map<String, Object> values = new HashMap<>();
+        for (int p = 0; p < row.length; p++) {
+            if (row[p] >= 0) {
+                values.put(names.get(p), domains.get(p)[row[p]]);
+            }
+        }
+        Map<String, Object> view = Collections.unmodifiableMap(values);
+        for (Predicate<Map<String, Object>> rule : constraints) {
+            if (!rule.test(view)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * All ways to pick t of k parameter indexes (ascending)
+     */
+    private static void combinations(int k, int t, int from, int[] current, int size, List<int[]> out) {
+        if (size == t) {
+            out.add(current.clone());
+            return;
+        }
+        for (int p = from; p < k; p++) {
+            current[size] = p;
+            combinations(k, t, p + 1, current, size + 1, out);
+        }
+    }
+
+    /**
+     * Count values up like an odometer; false after the last tuple
+     */
+    private boolean next(int[] values, int[] combo) {
+        for (int i = values.length - 1; i >= 0; i--) {
+            values[i]++;
+            if (values[i] < domains.get(combo[i]).length) {
+                return true;
+            }
+            values[i] = 0;
+        }
+        return false;
+    }
+
+    private static int[] emptyRow(int k) {
+        int[] row = new int[k];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /**
+     * Value indexes for one parameter combination (combo = index into the combination list)
+     */
+    private record Tuple(int combo, int[] values) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Tuple tuple
+                && combo == tuple.combo && Arrays.equals(values, tuple.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * combo + Arrays.hashCode(values);
+        }
+
+        @Override
+        public String toString() {
+            return combo + Arrays.toString(values);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package utilities;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * =============================================================================
+ * CSV DATA SOURCE - COMMA SEPARATED TEST DATA (ONE SHEET PER FILE)
+ * =============================================================================
+ *
+ * FILE FORMAT (RFC 4180, UTF-8):
+ * ------------------------------
+ *     Email,Password,Expected
+ *     student@test.com,Pass123!,true
+ *     "smith, john@test.com","say ""hi""",false
+ *
+ * - The first line is the header and is skipped (like in Excel)
+ * - Values with a comma, quote or line break are wrapped in "..."
+ * - A quote inside a quoted value is written twice: ""
+ * - A quoted value must be closed, and be followed by a comma, a line break
+ *   or the end of the file ("a"b is an error, not a value and a new row)
+ * - Every row has as many columns as the header (an empty value is just
+ *   nothing between two commas); a row with more or fewer columns is an
+ *   error naming its line - a stray comma would otherwise shift values into
+ *   the wrong column without anyone noticing
+ * - Empty lines are skipped (e.g. a blank line at the end of the file), so
+ *   write() puts an empty value of a one-column sheet in quotes: ""
+ *
+ * HOW IT IS READ:
+ * ---------------
+ * The file is memory-mapped and parsed byte by byte. There is no Reader,
+ * no line String and no split(): only the final cell values become Strings.
+ *
+ * =============================================================================
+ */
+public class CsvDataSource implements DataSource {
+
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    @Override
+    public String[][] read(Path file, String sheetName) throws IOException {
+        List<String[]> rows = parse(DataSources.map(file), file);
+        if (rows.isEmpty()) {
+            return new String[0][0];
+        }
+
+        // Skip the header
+        return rows.subList(1, rows.size()).toArray(new String[0][]);
+    }
+
+    /**
+     * Parse all rows (header included)
+     *
+     * @param buf File contents
+     * @param file File name for error messages
+     * @return One String[] per non-empty line, all as wide as the header
+     * @throws IOException If a row has a different number of columns than the header,
+     *                     or a quoted value is not closed or has text after it
+     */
+    static List<String[]> parse(ByteBuffer buf, Path file) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        byte[] scratch = new byte[256];
+        int pos = skipBom(buf);
+        int limit = buf.limit();
+        int line = 1;
+        int rowLine = 1;
+
+        while (pos < limit) {
+            if (fields.isEmpty()) {
+                // Start of a row: skip empty lines, remember where the row starts
+                byte first = buf.get(pos);
+                if (first == CR || first == LF) {
+                    pos += first == CR && pos + 1 < limit && buf.get(pos + 1) == LF ? 2 : 1;
+                    line++;
+                    continue;
+                }
+                rowLine = line;
+            }
+
+            int len = 0;
+            if (buf.get(pos) == QUOTE) {
+                // Quoted value: copy until the closing quote, "" -> "
+                pos++;
+                boolean closed = false;
+                while (pos < limit) {
+                    byte b = buf.get(pos++);
+                    if (b == QUOTE) {
+                        if (pos < limit && buf.get(pos) == QUOTE) {
+                            pos++;
+                        } else {
+                            closed = true;
+                            break;
+                        }
+                    }
+                    if (b == LF) {
+                        line++;
+                    }
+                    if (len == scratch.length) {
+                        scratch = Arrays.copyOf(scratch, len * 2);
+                    }
+                    scratch[len++] = b;
+                }
+                if (!closed) {
+                    throw new IOException(file + " line " + rowLine + ": quoted value is not closed");
+                }
+                if (pos < limit && buf.get(pos) != COMMA && buf.get(pos) != CR && buf.get(pos) != LF) {
+                    throw new IOException(file + " line " + rowLine + ": text after the closing quote");
+                }
+            } else {
+                // Plain value: up to the next comma or line break
+                while (pos < limit) {
+                    byte b = buf.get(pos);
+                    if (b == COMMA || b == CR || b == LF) {
+                        break;
+                    }
+                    if (len == scratch.length) {
+                        scratch = Arrays.copyOf(scratch, len * 2);
+                    }
+                    scratch[len++] = b;
+                    pos++;
+                }
+            }
+            fields.add(new String(scratch, 0, len, StandardCharsets.UTF_8));
+
+            // What ends the value: comma = next column, line break / EOF = next row
+            if (pos < limit && buf.get(pos) == COMMA) {
+                pos++;
+                if (pos == limit) {
+                    fields.add("");
+                }
+                continue;
+            }
+            if (pos < limit && buf.get(pos) == CR) {
+                pos++;
+            }
+            if (pos < limit && buf.get(pos) == LF) {
+                pos++;
+            }
+            line++;
+            addRow(rows, fields, file, rowLine);
+        }
+        if (!fields.isEmpty()) {
+            addRow(rows, fields, file, rowLine);
+        }
+        return rows;
+    }
+
+    /**
+     * Add the collected fields as a row, checking the column count
+     */
+    private static void addRow(List<String[]> rows, List<String> fields, Path file, int line) throws IOException {
+        if (!rows.isEmpty() && fields.size() != rows.get(0).length) {
+            throw new IOException(file + " line " + line + ": " + fields.size()
+                + " columns, but the header has " + rows.get(0).length);
+        }
+        rows.add(fields.toArray(new String[0]));
+        fields.clear();
+    }
+
+    /**
+     * Write rows as CSV (used by TestDataConverter)
+     *
+     * @param file Target file
+     * @param rows All rows, header first
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path file, List<String[]> rows) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (String[] row : rows) {
+                for (int j = 0; j < row.length; j++) {
+                    if (j > 0) {
+                        out.write(',');
+                    }
+                    out.write(quote(row[j]));
+                }
+                if (row.length == 1 && (row[0] == null || row[0].isEmpty())) {
+                    // An empty line would be skipped on reading
+                    out.write("\"\"");
+                }
+                out.write("\r\n");
+            }
+        }
+    }
+
+    /**
+     * Wrap a value in quotes if it contains a comma, quote or line break
+     */
+    static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Skip the UTF-8 byte order mark that Excel puts in front of CSV files
+     */
+    private static int skipBom(ByteBuffer buf) {
+        if (buf.limit() >= 3 && (buf.get(0) & 0xFF) == 0xEF
+                && (buf.get(1) & 0xFF) == 0xBB && (buf.get(2) & 0xFF) == 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+}
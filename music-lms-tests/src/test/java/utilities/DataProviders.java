@@ -1,9 +1,12 @@
 package utilities;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.testng.annotations.DataProvider;
 
+import datagen.TestDataSheet;
+
 /**
  * =============================================================================
  * DATA PROVIDERS CLASS
@@ -49,8 +52,46 @@ import org.testng.annotations.DataProvider;
  * DATA FLOW:
  *     Excel File → ExcelUtility → 2D Array → DataProvider → Test Method
  *
+ * TYPED ROWS, GENERATED AT COMPILE TIME:
+ * --------------------------------------
+ * Every @TestDataSheet below turns one sheet into a record while the tests
+ * are COMPILED (music-lms-datagen annotation processor):
+ *
+ *     testData/LoginTestData.xlsx  --compile-->  record LoginRow(String email,
+ *                                                       String password,
+ *                                                       boolean expected)
+ *
+ * The providers return LoginRow.parameters(), and the test method receives
+ * one LoginRow:
+ *
+ *     @Test(dataProvider = "LoginData", dataProviderClass = DataProviders.class)
+ *     public void loginTest(LoginRow row) {
+ *         loginPage.login(row.email(), row.password());
+ *         if (row.expected()) { ... }
+ *     }
+ *
+ * No file is parsed when the tests run, a typo in a column name is a
+ * compile error, and "true"/"false" arrive as a real boolean. After editing
+ * a sheet, compile again (mvn test does that anyway): the compiler itself
+ * only watches .java files, so pom.xml deletes DataProviders.class when a
+ * sheet in testData/ is newer, which makes the processor run again.
+ *
  * =============================================================================
  */
+@TestDataSheet(file = "testData/LoginTestData.xlsx", sheet = "LoginData", record = "LoginRow",
+    columns = {"email", "password", "expected:boolean"})
+@TestDataSheet(file = "testData/SignupTestData.xlsx", sheet = "SignupData", record = "SignupRow",
+    columns = {"fullName", "email", "password", "expected:boolean"})
+@TestDataSheet(file = "testData/InvalidLoginData.xlsx", sheet = "InvalidData", record = "InvalidLoginRow",
+    columns = {"email", "password", "errorMessage"})
+@TestDataSheet(file = "testData/ValidCredentials.csv", record = "CredentialRow",
+    columns = {"email", "password", "fullName", "expectedRole"})
+@TestDataSheet(file = "testData/PasswordValidation.csv", record = "PasswordRow",
+    columns = {"password", "shouldPass:boolean", "reason"})
+@TestDataSheet(file = "testData/EmailValidation.csv", record = "EmailRow",
+    columns = {"email", "shouldPass:boolean", "reason"})
+@TestDataSheet(file = "testData/StudentInviteData.csv", record = "StudentInviteRow",
+    columns = {"fullName", "email", "password", "instrument", "skillLevel", "expected:boolean"})
 public class DataProviders {
 
     /**
@@ -78,35 +119,14 @@ public class DataProviders {
      *     data[1] = {"student@test.com", "Test@456", "true"}   // Row 1
      *     data[2] = {"invalid@test.com", "wrongpass", "false"} // Row 2
      *
-     * @return 2D String array with login test data
-     * @throws IOException If Excel file cannot be read
+     * The sheet is compiled into LoginRow (see @TestDataSheet above), so
+     * every iteration gets one LoginRow instead of three Strings.
+     *
+     * @return One LoginRow per data row
      */
     @DataProvider(name = "LoginData")
-    public String[][] getLoginData() throws IOException {
-        // Path to test data file
-        String path = "./testData/LoginTestData.xlsx";
-
-        // Create Excel utility instance
-        ExcelUtility xlutil = new ExcelUtility(path);
-
-        // Get row and column counts (skip header row)
-        int totalRows = xlutil.getRowCount("LoginData");
-        int totalCols = xlutil.getCellCount("LoginData", 0);
-
-        // Create 2D array to store data
-        // Size: (totalRows - 1) because we skip header
-        String[][] loginData = new String[totalRows - 1][totalCols];
-
-        // Read data starting from row 1 (skipping header at row 0)
-        for (int i = 1; i < totalRows; i++) {
-            for (int j = 0; j < totalCols; j++) {
-                // i-1 because our array is 0-indexed but we start from row 1
-                loginData[i - 1][j] = xlutil.getCellData("LoginData", i, j);
-            }
-        }
-
-        xlutil.close();
-        return loginData;
+    public Object[][] getLoginData() {
+        return LoginRow.parameters();
     }
 
     /**
@@ -122,27 +142,11 @@ public class DataProviders {
      * | 4 | Test User   | invalid-email        | weak       | false    |
      * +---+-------------+----------------------+------------+----------+
      *
-     * @return 2D String array with signup test data
-     * @throws IOException If Excel file cannot be read
+     * @return One SignupRow per data row
      */
     @DataProvider(name = "SignupData")
-    public String[][] getSignupData() throws IOException {
-        String path = "./testData/SignupTestData.xlsx";
-        ExcelUtility xlutil = new ExcelUtility(path);
-
-        int totalRows = xlutil.getRowCount("SignupData");
-        int totalCols = xlutil.getCellCount("SignupData", 0);
-
-        String[][] signupData = new String[totalRows - 1][totalCols];
-
-        for (int i = 1; i < totalRows; i++) {
-            for (int j = 0; j < totalCols; j++) {
-                signupData[i - 1][j] = xlutil.getCellData("SignupData", i, j);
-            }
-        }
-
-        xlutil.close();
-        return signupData;
+    public Object[][] getSignupData() {
+        return SignupRow.parameters();
     }
 
     /**
@@ -150,101 +154,122 @@ public class DataProviders {
      *
      * Specifically for testing error handling with bad credentials.
      *
-     * @return 2D String array with invalid login data
-     * @throws IOException If Excel file cannot be read
+     * @return One InvalidLoginRow per data row
      */
     @DataProvider(name = "InvalidLoginData")
-    public String[][] getInvalidLoginData() throws IOException {
-        String path = "./testData/InvalidLoginData.xlsx";
-        ExcelUtility xlutil = new ExcelUtility(path);
-
-        int totalRows = xlutil.getRowCount("InvalidData");
-        int totalCols = xlutil.getCellCount("InvalidData", 0);
-
-        String[][] invalidData = new String[totalRows - 1][totalCols];
-
-        for (int i = 1; i < totalRows; i++) {
-            for (int j = 0; j < totalCols; j++) {
-                invalidData[i - 1][j] = xlutil.getCellData("InvalidData", i, j);
-            }
-        }
+    public Object[][] getInvalidLoginData() {
+        return InvalidLoginRow.parameters();
+    }
 
-        xlutil.close();
-        return invalidData;
+    /**
+     * Read a whole sheet (without its header row) into a 2D array at RUNTIME
+     *
+     * For sheets that are too big to compile into a record, or for data
+     * that changes while the suite runs. The providers above do not need it.
+     *
+     * The reader is chosen by file extension (.xlsx, .csv, .jsonl, .tdb) or
+     * for the whole run with -DtestDataFormat - see DataSources.
+     *
+     * @param path Path to the test data file
+     * @param sheetName Sheet to read
+     * @return One array entry per data row
+     * @throws IOException If Excel file cannot be read
+     */
+    public static String[][] readSheet(String path, String sheetName) throws IOException {
+        return DataSources.read(path, sheetName);
     }
 
     /**
-     * Hardcoded DataProvider (No Excel)
+     * DataProvider for Valid Credentials (testData/ValidCredentials.csv)
      *
-     * Sometimes it's simpler to hardcode test data directly.
-     * Use this when:
-     * - Test data rarely changes
-     * - You want tests to be self-contained
-     * - No external file dependencies needed
+     * Small, rarely changing data used to be hardcoded here as Object[][].
+     * It now lives in CSV files that are compiled into records like the
+     * Excel sheets: the data stays out of the code, and it still costs
+     * nothing at runtime.
      *
-     * INLINE DATA FORMAT:
-     * Each inner array is one test iteration.
-     * Array elements map to method parameters in order.
+     * CSV FORMAT:
+     *     Email,Password,FullName,ExpectedRole
+     *     teacher@musiclms.test,SecurePass123!,Test Teacher,teacher
+     *
+     * @return One CredentialRow per data row
      */
     @DataProvider(name = "ValidCredentials")
     public Object[][] getValidCredentials() {
-        return new Object[][] {
-            // {email, password, fullName, expectedRole}
-            {"teacher@musiclms.test", "SecurePass123!", "Test Teacher", "teacher"},
-            {"student@musiclms.test", "SecurePass456!", "Test Student", "student"}
-        };
+        return CredentialRow.parameters();
     }
 
     /**
      * DataProvider for Password Validation Testing
+     * (testData/PasswordValidation.csv: Password, ShouldPass, Reason)
      *
      * Tests various password scenarios.
      */
     @DataProvider(name = "PasswordValidation")
     public Object[][] getPasswordValidationData() {
-        return new Object[][] {
-            // {password, shouldPass, reason}
-            {"12345", false, "Too short (less than 6 chars)"},
-            {"123456", true, "Minimum length (6 chars)"},
-            {"password", true, "Valid length, no special chars"},
-            {"P@ssw0rd!", true, "Strong password"},
-            {"", false, "Empty password"},
-            {"   ", false, "Whitespace only"}
-        };
+        return PasswordRow.parameters();
     }
 
     /**
      * DataProvider for Email Validation Testing
+     * (testData/EmailValidation.csv: Email, ShouldPass, Reason)
      *
      * Tests various email formats.
      */
     @DataProvider(name = "EmailValidation")
     public Object[][] getEmailValidationData() {
-        return new Object[][] {
-            // {email, shouldPass, reason}
-            {"user@domain.com", true, "Valid email"},
-            {"user.name@domain.com", true, "Email with dot in local part"},
-            {"user@sub.domain.com", true, "Email with subdomain"},
-            {"invalid-email", false, "Missing @ and domain"},
-            {"@domain.com", false, "Missing local part"},
-            {"user@", false, "Missing domain"},
-            {"", false, "Empty email"},
-            {"user@domain", false, "Missing TLD"}
-        };
+        return EmailRow.parameters();
     }
 
     /**
      * DataProvider for Student Invite Flow
+     * (testData/StudentInviteData.csv: FullName, Email, Password, Instrument, SkillLevel, Expected)
      *
      * Tests student registration via invite link.
      */
     @DataProvider(name = "StudentInviteData")
     public Object[][] getStudentInviteData() {
-        return new Object[][] {
-            // {fullName, email, password, instrument, skillLevel, expected}
-            {"Alice Johnson", "alice@test.com", "Pass123!", "Piano", "Beginner", true},
-            {"Bob Williams", "bob@test.com", "Pass456!", "Guitar", "Intermediate", true},
-            {"Carol Davis", "carol@test.com", "Pass789!", "Violin", "Advanced", true}
-        };
+        return StudentInviteRow.parameters();
+    }
+
+    /**
+     * DataProvider for the Student Invite MATRIX (pairwise, generated)
+     *
+     * All combinations of the values below would be 15 x 3 x 4 x 4 = 720
+     * registrations. CoveringArray picks ~60 rows in which every PAIR of
+     * values still appears at least once (e.g. every instrument with every
+     * email style). Run more combinations with -DpairwiseStrength=3.
+     *
+     * Instruments and skill levels are the options of the invite page
+     * (src/app/(auth)/invite/[token]/page.tsx).
+     *
+     * @return One InviteMatrixRow per generated case
+     */
+    @DataProvider(name = "StudentInviteMatrix")
+    public Object[][] getStudentInviteMatrix() {
+        List<Object[]> rows = new CoveringArray()
+            .parameter("instrument", "Piano", "Guitar", "Violin", "Viola", "Cello", "Voice", "Flute",
+                "Clarinet", "Saxophone", "Trumpet", "Trombone", "Drums", "Bass", "Ukulele", "Other")
+            .parameter("skillLevel", "Beginner", "Intermediate", "Advanced")
+            .parameter("email",
+                "student.%s@musiclms.test",          // plain
+                "Student.%s@MusicLMS.Test",          // mixed case
+                "student+%s@musiclms.test",          // plus addressing
+                "student.%s@mail.musiclms.test")     // subdomain
+            .parameter("password",
+                "Pass12",                            // minimum length (6)
+                "P@ss-w0rd!#$%",                     // special characters
+                "correct horse battery staple",      // spaces
+                "Aa1!".repeat(16))                   // long (64 chars)
+            .strength(Integer.getInteger("pairwiseStrength", 2))
+            .generate();
+
+        Object[][] data = new Object[rows.size()][];
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            data[i] = new Object[] {
+                new InviteMatrixRow((String) row[0], (String) row[1], (String) row[2], (String) row[3])
+            };
+        }
+        return data;
     }
 }
@@ -0,0 +1,41 @@
+package utilities;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * =============================================================================
+ * DATA SOURCE - ONE FILE FORMAT FOR TEST DATA
+ * =============================================================================
+ *
+ * A DataSource turns a test data file into the 2D array a @DataProvider
+ * returns. Every file format has its own implementation:
+ *
+ *     .xlsx    ExcelDataSource     (Apache POI - easy to edit, slow to load)
+ *     .csv     CsvDataSource       (memory-mapped, header row skipped)
+ *     .jsonl   JsonLinesDataSource (memory-mapped, one JSON object per row)
+ *     .tdb     SnapshotDataSource  (compact binary snapshot of all sheets)
+ *
+ * DataSources picks the implementation by file extension, so a provider
+ * does not care which format it reads.
+ *
+ * WHAT IS AN INTERFACE?
+ * ---------------------
+ * An interface only says WHAT a class can do, not HOW. Any class that
+ * implements read() can be used as a DataSource - see DataSources.register()
+ * for adding your own format.
+ *
+ * =============================================================================
+ */
+public interface DataSource {
+
+    /**
+     * Read the data rows of a sheet (header row NOT included)
+     *
+     * @param file File to read
+     * @param sheetName Sheet to read (formats with one sheet per file ignore it)
+     * @return One array entry per data row, one String per column
+     * @throws IOException If the file cannot be read
+     */
+    String[][] read(Path file, String sheetName) throws IOException;
+}
@@ -0,0 +1,165 @@
+package utilities;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * =============================================================================
+ * DATA SOURCES - PICK THE RIGHT READER FOR A TEST DATA FILE
+ * =============================================================================
+ *
+ * DataProviders call:
+ *
+ *     DataSources.read("./testData/LoginTestData.xlsx", "LoginData")
+ *
+ * and get the same String[][] no matter which format is used.
+ *
+ * CHOOSING THE FORMAT:
+ * --------------------
+ * 1. By file extension: .xlsx, .csv, .jsonl or .tdb
+ *
+ * 2. For a whole run with -DtestDataFormat, WITHOUT changing the providers:
+ *
+ *     mvn test -DtestDataFormat=csv
+ *
+ *        ./testData/LoginTestData.xlsx + sheet LoginData
+ *     -> ./testData/LoginTestData.LoginData.csv
+ *
+ *     mvn test -DtestDataFormat=tdb
+ *
+ *     -> ./testData/LoginTestData.tdb            (all sheets in one file)
+ *
+ *    If the converted file does not exist, the original file is used.
+ *    Create the converted files with TestDataConverter.
+ *
+ * WHY OTHER FORMATS?
+ * ------------------
+ * XSSFWorkbook unzips the .xlsx, parses its XML and builds an object for
+ * every row and cell before we can read one value. CSV, JSON lines and the
+ * snapshot are read straight from a memory-mapped file: less start-up
+ * time and far less memory.
+ *
+ * =============================================================================
+ */
+public final class DataSources {
+
+    /**
+     * Registered formats (key: file extension without dot, lower case)
+     */
+    private static final Map<String, DataSource> SOURCES = new ConcurrentHashMap<>();
+
+    static {
+        register("xlsx", new ExcelDataSource());
+        register("csv", new CsvDataSource());
+        register("jsonl", new JsonLinesDataSource());
+        register(SnapshotDataSource.EXTENSION, new SnapshotDataSource());
+    }
+
+    private DataSources() {
+        // Utility class - no instances
+    }
+
+    /**
+     * Add (or replace) the reader for a file extension
+     *
+     * @param extension Extension without dot, e.g. "csv"
+     * @param source Reader for that format
+     */
+    public static void register(String extension, DataSource source) {
+        SOURCES.put(extension.toLowerCase(Locale.ROOT), source);
+    }
+
+    /**
+     * Read the data rows of a sheet from any supported file
+     *
+     * @param path Path to the test data file
+     * @param sheetName Sheet to read
+     * @return One array entry per data row (header not included)
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If there is no reader for the file type
+     */
+    public static String[][] read(String path, String sheetName) throws IOException {
+        Path file = resolve(Paths.get(path), sheetName);
+        DataSource source = SOURCES.get(extension(file));
+        if (source == null) {
+            throw new IllegalArgumentException("No data source for file type: " + file
+                + " (supported: " + SOURCES.keySet() + ")");
+        }
+        return source.read(file, sheetName);
+    }
+
+    /**
+     * Apply -DtestDataFormat: find the converted file for a sheet
+     *
+     * @param file File named in the DataProvider
+     * @param sheetName Sheet to read
+     * @return The converted file if it exists, otherwise the original file
+     */
+    static Path resolve(Path file, String sheetName) {
+        String format = System.getProperty("testDataFormat");
+        if (format == null || format.isBlank() || format.equalsIgnoreCase(extension(file))) {
+            return file;
+        }
+
+        Path converted = convertedFile(file, sheetName, format.toLowerCase(Locale.ROOT));
+        if (!Files.exists(converted)) {
+            System.err.println("Test data " + converted + " not found - using " + file);
+            return file;
+        }
+        return converted;
+    }
+
+    /**
+     * Name of the converted file (used by TestDataConverter as well)
+     *
+     * @param file Original file, e.g. ./testData/LoginTestData.xlsx
+     * @param sheetName Sheet name, e.g. LoginData
+     * @param format Target extension, e.g. "csv"
+     * @return e.g. ./testData/LoginTestData.LoginData.csv or ./testData/LoginTestData.tdb
+     */
+    static Path convertedFile(Path file, String sheetName, String format) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String target = SnapshotDataSource.EXTENSION.equals(format)
+            ? base + "." + format
+            : base + "." + sheetName + "." + format;
+        return file.resolveSibling(target);
+    }
+
+    /**
+     * File extension in lower case, without the dot
+     */
+    static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Map a whole file into memory (read-only)
+     *
+     * MEMORY-MAPPED FILES:
+     * --------------------
+     * The operating system makes the file look like a byte array. Pages are
+     * loaded on first access - no InputStream, no Reader, no line Strings.
+     * The mapping stays valid after the channel is closed.
+     *
+     * @param file File to map
+     * @return Buffer over the file contents
+     * @throws IOException If the file cannot be opened
+     */
+    static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
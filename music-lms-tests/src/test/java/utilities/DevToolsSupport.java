@@ -0,0 +1,99 @@
+package utilities;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+/**
+ * =============================================================================
+ * DEVTOOLS SUPPORT - CHROME DEVTOOLS PROTOCOL (CDP) WITHOUT VERSION LOCK-IN
+ * =============================================================================
+ *
+ * WHAT IS CDP?
+ * ------------
+ * The protocol Chrome's own DevTools use. Through it a test can do things
+ * WebDriver cannot: stream screenshots, watch network requests, ...
+ *
+ * WHY RAW COMMANDS?
+ * -----------------
+ * Selenium ships typed CDP classes per Chrome version
+ * (org.openqa.selenium.devtools.v131.page.Page, ...). Code using them breaks
+ * every time Chrome moves past the versions bundled with Selenium. Commands
+ * and events are sent here by NAME with plain maps, which works with any
+ * Chrome/Edge version:
+ *
+ *     DevTools devTools = DevToolsSupport.open(driver);      // null on Firefox
+ *     DevToolsSupport.on(devTools, "Page.screencastFrame", frame -> ...);
+ *     DevToolsSupport.send(devTools, "Page.startScreencast", Map.of("format", "jpeg"));
+ *
+ * Parameter and event names: https://chromedevtools.github.io/devtools-protocol/
+ *
+ * =============================================================================
+ */
+public final class DevToolsSupport {
+
+    private DevToolsSupport() {
+        // Utility class - no instances
+    }
+
+    /**
+     * Open (or reuse) the CDP session of a Chromium browser
+     *
+     * @param driver Driver, may be decorated (RouteCoverage)
+     * @return Connected DevTools, or null if the browser has no CDP (Firefox)
+     */
+    public static DevTools open(WebDriver driver) {
+        WebDriver raw = driver;
+        while (!(raw instanceof HasDevTools) && raw instanceof WrapsDriver wrapper) {
+            raw = wrapper.getWrappedDriver();
+        }
+        if (!(raw instanceof HasDevTools hasDevTools)) {
+            return null;
+        }
+        try {
+            DevTools devTools = hasDevTools.getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            return devTools;
+        } catch (RuntimeException e) {
+            System.err.println("DevTools not available: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Send a command and wait for its result
+     *
+     * @param devTools Open session
+     * @param method Command name, e.g. "Page.startScreencast"
+     * @param params Command parameters
+     * @return The result object (empty map for commands without result)
+     */
+    public static Map<String, Object> send(DevTools devTools, String method, Map<String, Object> params) {
+        Map<String, Object> result = devTools.send(new Command<Map<String, Object>>(method, params,
+            input -> input.read(Json.MAP_TYPE)));
+        return result == null ? Map.of() : result;
+    }
+
+    /**
+     * Listen to an event
+     *
+     * The handler runs on Selenium's websocket thread: keep it short and
+     * never call WebDriver commands or send() from it - the answer would
+     * have to arrive on the same thread. Hand such work to another thread
+     * (ScreencastRecorder queues its ACKs).
+     *
+     * @param devTools Open session
+     * @param event Event name, e.g. "Network.responseReceived"
+     * @param handler Receives the event parameters
+     */
+    public static void on(DevTools devTools, String event, Consumer<Map<String, Object>> handler) {
+        devTools.addListener(new Event<Map<String, Object>>(event, input -> input.read(Json.MAP_TYPE)), handler);
+    }
+}
@@ -0,0 +1,301 @@
+package utilities;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * =============================================================================
+ * DOM WAIT - WAITS THAT THE BROWSER ANSWERS, INSTEAD OF ASKING EVERY 500 ms
+ * =============================================================================
+ *
+ * HOW WebDriverWait WAITS (polling):
+ * ----------------------------------
+ *     test:    visible?   visible?   visible?   visible?  -> yes
+ *     time:    0 ms       500 ms     1000 ms    1500 ms
+ *
+ *     The button may have appeared at 1010 ms - the test notices 490 ms later,
+ *     and every "visible?" is an HTTP request to the browser driver.
+ *
+ * HOW DomWait WAITS (push):
+ * -------------------------
+ * ONE executeAsyncScript call installs a MutationObserver (fires on every DOM
+ * change) and a requestAnimationFrame loop (catches CSS/URL changes without
+ * DOM mutations) in the page. The script answers the moment the condition
+ * holds:
+ *
+ *     test:    wait for visible ----------------------------> yes (at 1010 ms)
+ *
+ * SAME API AS ExpectedConditions:
+ * -------------------------------
+ *     domWait.visibilityOf(element)            <- ExpectedConditions.visibilityOf
+ *     domWait.elementToBeClickable(element)    <- ExpectedConditions.elementToBeClickable
+ *     domWait.elementToBeClickable(By)         (CSS/XPath locators; others fall back)
+ *     domWait.urlContains("/dashboard")        <- ExpectedConditions.urlContains
+ *
+ * Like WebDriverWait, a condition that never holds throws TimeoutException.
+ *
+ * PAGE LOADS AND RE-RENDERS:
+ * --------------------------
+ * A full page load kills the script ("document unloaded"), and React may
+ * replace the element being watched. Both cases start the wait again with the
+ * remaining time, after a short pause that doubles on every retry (50 ms up
+ * to 500 ms), so a page that keeps failing is not hammered. An element that
+ * is stale and cannot be searched again (a found element, not a PageFactory
+ * proxy) throws StaleElementReferenceException at once, like
+ * ExpectedConditions does.
+ *
+ * OFF BY DEFAULT: BasePage waits with WebDriverWait polling unless the run
+ * sets -DpushWaits=true.
+ *
+ * =============================================================================
+ */
+public class DomWait {
+
+    /**
+     * First and longest pause between two attempts (milliseconds)
+     */
+    private static final long MIN_BACKOFF = 50;
+    private static final long MAX_BACKOFF = 500;
+
+    /**
+     * Runs in the browser:
+     * arguments = [element, css, xpath, kind ("visible" | "clickable" | "url"), urlPart, timeoutMs, callback]
+     */
+    private static final String SCRIPT = String.join("\n",
+        "const [target, css, xpath, kind, urlPart, timeoutMs] = arguments;",
+        "const done = arguments[arguments.length - 1];",
+        "const find = () => css ? document.querySelector(css)",
+        "  : xpath ? document.evaluate(xpath, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue",
+        "  : target;",
+        "const visible = el => el.getClientRects().length > 0 && (typeof el.checkVisibility === 'function'",
+        "  ? el.checkVisibility({opacityProperty: true, visibilityProperty: true})",
+        "  : getComputedStyle(el).visibility === 'visible');",
+        "const check = () => {",
+        "  if (kind === 'url') return location.href.includes(urlPart) ? {ok: true} : null;",
+        "  const el = find();",
+        "  if (!el) return null;",
+        "  if (!el.isConnected) return {stale: true};",
+        "  if (!visible(el)) return null;",
+        "  if (kind === 'clickable' && el.matches(':disabled')) return null;",
+        "  return {ok: true, element: el};",
+        "};",
+        "const first = check();",
+        "if (first) { done(first); return; }",
+        "let finished = false, frame = 0;",
+        "const observer = new MutationObserver(() => settle());",
+        "const timer = setTimeout(() => finish({timeout: true}), timeoutMs);",
+        "function finish(result) {",
+        "  if (finished) return;",
+        "  finished = true;",
+        "  observer.disconnect();",
+        "  clearTimeout(timer);",
+        "  cancelAnimationFrame(frame);",
+        "  done(result);",
+        "}",
+        "function settle() {",
+        "  if (finished) return;",
+        "  const result = check();",
+        "  if (result) finish(result);",
+        "}",
+        "function tick() {",
+        "  settle();",
+        "  if (!finished) frame = requestAnimationFrame(tick);",
+        "}",
+        "observer.observe(document.documentElement, {subtree: true, childList: true, attributes: true, characterData: true});",
+        "frame = requestAnimationFrame(tick);");
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    /**
+     * @param driver Browser to wait in
+     * @param timeout Maximum wait (same meaning as in new WebDriverWait(driver, timeout))
+     */
+    public DomWait(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return true with -DpushWaits=true (otherwise use WebDriverWait polling)
+     */
+    public static boolean isActive() {
+        return Boolean.getBoolean("pushWaits");
+    }
+
+    /**
+     * Wait until the element is visible
+     *
+     * @param element Element (PageFactory field or found element)
+     * @return The same element
+     * @throws TimeoutException If it does not become visible in time
+     */
+    public WebElement visibilityOf(WebElement element) {
+        await(element, null, null, "visible", null);
+        return element;
+    }
+
+    /**
+     * Wait until the element is visible and enabled
+     *
+     * @param element Element (PageFactory field or found element)
+     * @return The same element
+     * @throws TimeoutException If it does not become clickable in time
+     */
+    public WebElement elementToBeClickable(WebElement element) {
+        await(element, null, null, "clickable", null);
+        return element;
+    }
+
+    /**
+     * Wait until an element matching the locator is visible and enabled
+     *
+     * The browser searches the locator itself on every change, so the element
+     * may appear (or be re-rendered) while waiting.
+     *
+     * @param locator CSS or XPath based locator (By.cssSelector, By.id, By.xpath, ...)
+     * @return The element found
+     * @throws TimeoutException If no such element becomes clickable in time
+     */
+    public WebElement elementToBeClickable(By locator) {
+        String[] query = query(locator);
+        if (query == null) {
+            // Link text etc. cannot be evaluated in the page
+            return new WebDriverWait(driver, timeout).until(ExpectedConditions.elementToBeClickable(locator));
+        }
+        return (WebElement) await(null, query[0], query[1], "clickable", null).get("element");
+    }
+
+    /**
+     * Wait until the current URL contains a text
+     *
+     * @param urlPart Text to look for
+     * @return true once the URL contains it
+     * @throws TimeoutException If the URL does not change in time
+     */
+    public boolean urlContains(String urlPart) {
+        await(null, null, null, "url", urlPart);
+        return true;
+    }
+
+    /**
+     * Run the wait script until it reports success, restarting it after page
+     * loads and re-renders, until the timeout is used up
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> await(WebElement element, String css, String xpath, String kind, String urlPart) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        String lastProblem = "condition not met";
+        long backoff = 0;
+
+        while (true) {
+            if (backoff > 0) {
+                pause(Math.min(backoff, deadline - System.currentTimeMillis()));
+            }
+            backoff = backoff == 0 ? MIN_BACKOFF : Math.min(backoff * 2, MAX_BACKOFF);
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new TimeoutException("Expected condition failed: waiting for " + describe(element, css, xpath, kind, urlPart)
+                    + " (tried for " + timeout.toSeconds() + " second(s), " + lastProblem + ")");
+            }
+            try {
+                Object target = element instanceof WrapsElement wrapper ? wrapper.getWrappedElement() : element;
+                Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeAsyncScript(SCRIPT, target, css, xpath, kind, urlPart, remaining);
+                if (result != null && Boolean.TRUE.equals(result.get("ok"))) {
+                    return result;
+                }
+                if (result != null && Boolean.TRUE.equals(result.get("stale"))) {
+                    refresh(element);
+                    lastProblem = "element was re-rendered";
+                    continue;
+                }
+                lastProblem = "condition not met";
+            } catch (StaleElementReferenceException e) {
+                refresh(element);
+                lastProblem = "element was re-rendered";
+            } catch (NoSuchElementException e) {
+                lastProblem = "element not found";
+            } catch (ScriptTimeoutException e) {
+                lastProblem = "script timeout of the session reached";
+            } catch (JavascriptException e) {
+                // A page load ends every running script - start again on the new page
+                if (e.getMessage() == null || !e.getMessage().toLowerCase().contains("unload")) {
+                    throw e;
+                }
+                lastProblem = "page was reloaded";
+            }
+        }
+    }
+
+    /**
+     * Make a caching PageFactory proxy search its element again
+     * (any call on the proxy notices the stale element and refreshes it)
+     *
+     * @throws StaleElementReferenceException If the element is a found
+     *         element that cannot be searched again - waiting would not help
+     */
+    private static void refresh(WebElement element) {
+        if (element != null) {
+            try {
+                element.getTagName();
+            } catch (StaleElementReferenceException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                // Not on the page right now - the next attempt will search again
+            }
+        }
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * CSS selector or XPath of a locator: {css, null}, {null, xpath} or null
+     */
+    private static String[] query(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            String value = String.valueOf(parameters.value());
+            switch (parameters.using()) {
+                case "css selector":
+                    return new String[] {value, null};
+                case "xpath":
+                    return new String[] {null, value};
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    private static String describe(WebElement element, String css, String xpath, String kind, String urlPart) {
+        if ("url".equals(kind)) {
+            return "url to contain \"" + urlPart + "\"";
+        }
+        String what = css != null ? css : xpath != null ? xpath : String.valueOf(element);
+        return ("clickable".equals(kind) ? "element to be clickable: " : "visibility of ") + what;
+    }
+}
@@ -0,0 +1,122 @@
+package utilities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+/**
+ * =============================================================================
+ * DURATION LISTENER - REMEMBERS HOW LONG EACH TEST TAKES
+ * =============================================================================
+ *
+ * This listener measures every test method and stores the result in
+ * ./history/test-durations.properties when the suite finishes.
+ *
+ * ShardInterceptor reads the same file on the next run to:
+ * 1. Run the longest tests first
+ * 2. Split the suite into shards of (roughly) equal total time
+ *
+ * FILE FORMAT:
+ * ------------
+ *     testCases.TC_Auth_001_LoginTest#TC_Auth_002_VerifyValidLogin=8421
+ *
+ * Key   = fully qualified class name + "#" + method name
+ * Value = duration in milliseconds
+ *
+ * DATA-DRIVEN TESTS:
+ * ------------------
+ * A method with a DataProvider runs once per data row. We add the rows
+ * together, because all rows always run in the same shard.
+ *
+ * SMOOTHING:
+ * ----------
+ * One slow run (e.g. a cold browser download) should not move a test to the
+ * top of the list forever. The stored value is the average of the previous
+ * value and the new measurement.
+ *
+ * =============================================================================
+ */
+public class DurationListener implements ITestListener, ISuiteListener {
+
+    /**
+     * History file name inside ./history/
+     */
+    public static final String HISTORY_FILE = "test-durations.properties";
+
+    /**
+     * Durations measured in this run (key -> total milliseconds)
+     *
+     * ConcurrentHashMap because tests may run in parallel threads.
+     */
+    private final Map<String, Long> measured = new ConcurrentHashMap<>();
+
+    /**
+     * Build the history key for a test method
+     *
+     * @param method TestNG method
+     * @return Key like "testCases.TC_Auth_001_LoginTest#TC_Auth_001_VerifyLoginPageDisplay"
+     */
+    public static String keyOf(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        record(result);
+    }
+
+    /**
+     * Add the duration of one invocation to the running total
+     *
+     * @param result Finished test result
+     */
+    private void record(ITestResult result) {
+        long duration = result.getEndMillis() - result.getStartMillis();
+        measured.merge(keyOf(result.getMethod()), duration, Long::sum);
+    }
+
+    /**
+     * Called once when the whole suite has finished
+     *
+     * Merge this run's measurements into the history file.
+     *
+     * @param suite The finished suite
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        if (measured.isEmpty()) {
+            return;
+        }
+
+        HistoryFile.update(HISTORY_FILE, "Test durations in milliseconds (written by DurationListener)", history -> {
+            for (Map.Entry<String, Long> entry : measured.entrySet()) {
+                String previous = history.getProperty(entry.getKey());
+                long value = entry.getValue();
+                if (previous != null) {
+                    try {
+                        value = (Long.parseLong(previous) + value) / 2;
+                    } catch (NumberFormatException e) {
+                        // Corrupt entry - simply overwrite it
+                    }
+                }
+                history.setProperty(entry.getKey(), String.valueOf(value));
+            }
+        });
+        System.out.println("Test durations saved to: " + HistoryFile.resolve(HISTORY_FILE));
+    }
+}
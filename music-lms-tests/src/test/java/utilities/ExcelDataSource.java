@@ -0,0 +1,42 @@
+package utilities;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * =============================================================================
+ * EXCEL DATA SOURCE - .xlsx FILES THROUGH ExcelUtility
+ * =============================================================================
+ *
+ * The original way to read test data: the first row is the header, every
+ * following row is one test iteration.
+ *
+ * =============================================================================
+ */
+public class ExcelDataSource implements DataSource {
+
+    @Override
+    public String[][] read(Path file, String sheetName) throws IOException {
+        // Create Excel utility instance
+        ExcelUtility xlutil = new ExcelUtility(file.toString());
+
+        // Get row and column counts (skip header row)
+        int totalRows = xlutil.getRowCount(sheetName);
+        int totalCols = xlutil.getCellCount(sheetName, 0);
+
+        // Create 2D array to store data
+        // Size: (totalRows - 1) because we skip header; an empty sheet has no rows at all
+        String[][] data = new String[Math.max(0, totalRows - 1)][totalCols];
+
+        // Read data starting from row 1 (skipping header at row 0)
+        for (int i = 1; i < totalRows; i++) {
+            for (int j = 0; j < totalCols; j++) {
+                // i-1 because our array is 0-indexed but we start from row 1
+                data[i - 1][j] = xlutil.getCellData(sheetName, i, j);
+            }
+        }
+
+        xlutil.close();
+        return data;
+    }
+}
@@ -0,0 +1,239 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * =============================================================================
+ * EXCEL RESULT WRITER - WRITE TEST RESULTS TO EXCEL IN ONE SAVE
+ * =============================================================================
+ *
+ * THE PROBLEM:
+ * ------------
+ * Saving an .xlsx means writing the WHOLE workbook. Writing "Passed"/"Failed"
+ * for 500 data rows with one save per cell means saving the file 500 times,
+ * and parallel tests wait for each other while the file is written.
+ *
+ * THE SOLUTION: WRITE-BEHIND
+ * --------------------------
+ * write() only remembers the new value in memory (any thread may call it),
+ * keyed by sheet, row and column. The file is written ONCE for all cells:
+ *
+ *     write("LoginData", 1, 3, "Passed")  -\
+ *     write("LoginData", 2, 3, "Failed")  --+-->  memory  --flush()-->  file
+ *     write("LoginData", 3, 3, "Passed")  -/
+ *
+ * flush() happens:
+ * - when the suite finishes (ExcelResultWriter$SuiteFlush, see testng.xml)
+ * - when the JVM exits (shutdown hook, e.g. after Ctrl+C)
+ *
+ * If the same cell is written twice before a flush, only the newest value
+ * is saved. ExcelUtility.setCellData() queues its cells here too.
+ *
+ * CRASH SAFETY:
+ * -------------
+ * The workbook is written to a temporary file next to the original and then
+ * RENAMED over it. A rename is atomic: the sheet is either the old version
+ * or the new one, never half written.
+ *
+ * USAGE IN A TEST:
+ * ----------------
+ *     ExcelResultWriter.forFile("./testData/LoginTestData.xlsx")
+ *         .write("LoginData", row, 3, passed ? "Passed" : "Failed");
+ *
+ * =============================================================================
+ */
+public class ExcelResultWriter {
+
+    /**
+     * One writer per Excel file (key: absolute normalized path)
+     */
+    private static final Map<Path, ExcelResultWriter> WRITERS = new ConcurrentHashMap<>();
+
+    static {
+        // Save pending results even if the run is aborted
+        Runtime.getRuntime().addShutdownHook(new Thread(ExcelResultWriter::flushAll, "excel-result-flush"));
+    }
+
+    private final Path path;
+
+    /**
+     * Cell values not written to the file yet (newest value per cell)
+     */
+    private final Map<Cell, String> pending = new ConcurrentHashMap<>();
+
+    /**
+     * How often flush() has saved the workbook
+     */
+    private int saves;
+
+    private ExcelResultWriter(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Get the shared writer for an Excel file
+     *
+     * @param file Path to the .xlsx file
+     * @return The writer (the same object for every call with this file)
+     */
+    public static ExcelResultWriter forFile(String file) {
+        return WRITERS.computeIfAbsent(Paths.get(file).toAbsolutePath().normalize(), ExcelResultWriter::new);
+    }
+
+    /**
+     * Queue a cell value - returns immediately, the file is written later
+     *
+     * @param sheetName Sheet to write to
+     * @param rowNum Row number (0-based)
+     * @param colNum Column number (0-based)
+     * @param data Value to write
+     */
+    public void write(String sheetName, int rowNum, int colNum, String data) {
+        pending.put(new Cell(sheetName, rowNum, colNum), data);
+    }
+
+    /**
+     * @return Number of cell values waiting to be written
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return Number of times this writer has saved the workbook
+     */
+    public synchronized int saveCount() {
+        return saves;
+    }
+
+    /**
+     * Write all queued values to the file in ONE workbook save
+     *
+     * synchronized: only one flush per file at a time; write() is not blocked.
+     *
+     * @throws IOException If the workbook cannot be read or written
+     */
+    public synchronized void flush() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Take a snapshot of the queue. A value written DURING the flush is
+        // either in the snapshot or stays queued for the next flush.
+        List<Map.Entry<Cell, String>> batch = new ArrayList<>();
+        for (Map.Entry<Cell, String> entry : pending.entrySet()) {
+            batch.add(Map.entry(entry.getKey(), entry.getValue()));
+        }
+
+        XSSFWorkbook workbook;
+        try (InputStream in = Files.newInputStream(path)) {
+            workbook = new XSSFWorkbook(in);
+        }
+
+        try (workbook) {
+            for (Map.Entry<Cell, String> entry : batch) {
+                Cell cell = entry.getKey();
+                XSSFSheet sheet = workbook.getSheet(cell.sheetName);
+                if (sheet == null) {
+                    sheet = workbook.createSheet(cell.sheetName);
+                }
+                XSSFRow row = sheet.getRow(cell.rowNum);
+                if (row == null) {
+                    row = sheet.createRow(cell.rowNum);
+                }
+                XSSFCell xssfCell = row.getCell(cell.colNum);
+                if (xssfCell == null) {
+                    xssfCell = row.createCell(cell.colNum);
+                }
+                xssfCell.setCellValue(entry.getValue());
+            }
+            saveAtomically(workbook, path);
+            saves++;
+        }
+
+        // Remove only what was written - newer values for the same cell stay queued
+        for (Map.Entry<Cell, String> entry : batch) {
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+        System.out.println("Excel results saved: " + batch.size() + " cell(s) -> " + path);
+    }
+
+    /**
+     * Flush every writer; errors are reported, not thrown
+     */
+    public static void flushAll() {
+        for (ExcelResultWriter writer : WRITERS.values()) {
+            try {
+                writer.flush();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Could not save Excel results to " + writer.path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Write a workbook to a temp file in the same folder, then rename it
+     *
+     * The temp file must be in the SAME folder: a rename is only atomic
+     * within one file system.
+     *
+     * @param workbook Workbook to save
+     * @param target File to replace
+     * @throws IOException If writing or renaming fails
+     */
+    private static void saveAtomically(XSSFWorkbook workbook, Path target) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                workbook.write(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Suite listener that saves everything once the whole suite has finished
+     *
+     * A separate class, so that TestNG does not create an ExcelResultWriter
+     * without a file. Registered in testng.xml as
+     * utilities.ExcelResultWriter$SuiteFlush.
+     */
+    public static class SuiteFlush implements ISuiteListener {
+
+        @Override
+        public void onFinish(ISuite suite) {
+            flushAll();
+        }
+    }
+
+    /**
+     * Address of one cell
+     */
+    private record Cell(String sheetName, int rowNum, int colNum) {
+    }
+}
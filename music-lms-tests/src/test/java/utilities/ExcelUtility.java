@@ -1,11 +1,19 @@
 package utilities;
 
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.apache.poi.xssf.usermodel.XSSFRow;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
@@ -61,13 +69,30 @@ public class ExcelUtility {
      * can work on the same file without reopening it.
      */
     private FileInputStream fis;     // For reading
-    private FileOutputStream fos;    // For writing
     private XSSFWorkbook workbook;   // The Excel workbook
     private XSSFSheet sheet;         // Current sheet
     private XSSFRow row;             // Current row
     private XSSFCell cell;           // Current cell
     private String path;             // File path
 
+    /**
+     * One DataFormatter for all reads
+     *
+     * Creating a formatter is not free (it sets up date and number formats),
+     * so we create it once instead of once per cell.
+     */
+    private final DataFormatter formatter = new DataFormatter();
+
+    /**
+     * Optional lookup index (see withIndex())
+     *
+     *     columnIndexes  "LoginData#0" -> { "teacher@test.com" -> [1], "student@test.com" -> [2, 5] }
+     *     sheetIndexes   "LoginData"   -> every value in the sheet (for isDataPresent)
+     */
+    private final Map<String, Map<String, List<Integer>>> columnIndexes = new HashMap<>();
+    private final Map<String, Set<String>> sheetIndexes = new HashMap<>();
+    private boolean indexing;
+
     /**
      * Constructor - Opens the Excel file
      *
@@ -93,6 +118,38 @@ public class ExcelUtility {
         }
     }
 
+    /**
+     * Switch on the lookup index for getRowNum() and isDataPresent()
+     *
+     * WITHOUT INDEX:
+     * --------------
+     * Every lookup reads the sheet row by row until it finds the value.
+     * Looking up 100 users in a sheet with 10,000 rows = up to 1,000,000 reads.
+     *
+     * WITH INDEX:
+     * -----------
+     * The first lookup in a column reads it ONCE and builds a HashMap:
+     *
+     *     value -> row numbers
+     *
+     * Every following lookup is a single HashMap get - O(1).
+     * setCellData() throws the index of that sheet away, so it never returns
+     * stale results.
+     *
+     * Usage:
+     *     ExcelUtility xlutil = new ExcelUtility(path).withIndex();
+     *     int row = xlutil.getRowNum("LoginData", 0, "teacher@test.com");
+     *
+     * Worth it when you do MANY lookups on the same file; for one lookup a
+     * plain scan is just as fast.
+     *
+     * @return this ExcelUtility (for chaining)
+     */
+    public ExcelUtility withIndex() {
+        indexing = true;
+        return this;
+    }
+
     /**
      * Get the number of rows in a sheet
      *
@@ -177,7 +234,6 @@ public class ExcelUtility {
         }
 
         // DataFormatter handles all cell types and returns String
-        DataFormatter formatter = new DataFormatter();
         return formatter.formatCellValue(cell);
     }
 
@@ -185,13 +241,19 @@ public class ExcelUtility {
      * Set/write data to a specific cell
      *
      * This method creates rows/cells if they don't exist.
-     * After writing, we save the file.
      *
      * WRITING PROCESS:
      * 1. Get or create the row
      * 2. Get or create the cell
-     * 3. Set the value
-     * 4. Write changes to file
+     * 3. Set the value (this ExcelUtility sees it at once)
+     * 4. Queue it in ExcelResultWriter for the file
+     *
+     * PERFORMANCE:
+     * Saving means writing the WHOLE workbook, so the file is not saved per
+     * cell. ExcelResultWriter saves every queued cell in ONE write when the
+     * suite finishes (temp file + rename, so a crash never leaves a
+     * half-written sheet). Call ExcelResultWriter.forFile(path).flush() to
+     * save earlier.
      *
      * @param sheetName Name of the sheet
      * @param rowNum Row number
@@ -199,33 +261,28 @@ public class ExcelUtility {
      * @param data Data to write
      */
     public void setCellData(String sheetName, int rowNum, int colNum, String data) {
-        try {
-            sheet = workbook.getSheet(sheetName);
+        sheet = workbook.getSheet(sheetName);
 
-            // Get or create row
-            row = sheet.getRow(rowNum);
-            if (row == null) {
-                row = sheet.createRow(rowNum);
-            }
+        // Get or create row
+        row = sheet.getRow(rowNum);
+        if (row == null) {
+            row = sheet.createRow(rowNum);
+        }
 
-            // Get or create cell
-            cell = row.getCell(colNum);
-            if (cell == null) {
-                cell = row.createCell(colNum);
-            }
+        // Get or create cell
+        cell = row.getCell(colNum);
+        if (cell == null) {
+            cell = row.createCell(colNum);
+        }
 
-            // Set the value
-            cell.setCellValue(data);
+        // Set the value
+        cell.setCellValue(data);
 
-            // Save to file
-            fos = new FileOutputStream(path);
-            workbook.write(fos);
-            fos.close();
+        // The index of this sheet is out of date now
+        invalidateIndex(sheetName);
 
-        } catch (IOException e) {
-            System.err.println("Error writing to Excel: " + e.getMessage());
-            e.printStackTrace();
-        }
+        // Saved to the file with all other queued cells at suite end
+        ExcelResultWriter.forFile(path).write(sheetName, rowNum, colNum, data);
     }
 
     /**
@@ -233,21 +290,30 @@ public class ExcelUtility {
      *
      * Useful for searching through Excel data.
      *
+     * The sheet is looked up ONCE and then walked row by row; with
+     * withIndex() the values are kept in a HashSet after the first call.
+     * Missing cells inside a row count as "" (same as getCellData).
+     *
      * @param sheetName Sheet to search
      * @param data Data to find
      * @return true if found
      */
     public boolean isDataPresent(String sheetName, String data) {
-        sheet = workbook.getSheet(sheetName);
-        if (sheet == null) {
+        XSSFSheet searchSheet = workbook.getSheet(sheetName);
+        if (searchSheet == null) {
             return false;
         }
 
-        int rows = getRowCount(sheetName);
-        for (int i = 0; i < rows; i++) {
-            int cols = getCellCount(sheetName, i);
-            for (int j = 0; j < cols; j++) {
-                if (getCellData(sheetName, i, j).equals(data)) {
+        if (indexing) {
+            return sheetIndexes.computeIfAbsent(sheetName, k -> buildSheetIndex(searchSheet)).contains(data);
+        }
+
+        int rowCount = searchSheet.getLastRowNum() + 1;
+        for (int i = 0; i < rowCount; i++) {
+            Row searchRow = searchSheet.getRow(i);
+            int cellCount = searchRow == null ? 0 : searchRow.getLastCellNum();
+            for (int j = 0; j < cellCount; j++) {
+                if (valueAt(searchSheet, i, j).equals(data)) {
                     return true;
                 }
             }
@@ -264,15 +330,109 @@ public class ExcelUtility {
      * @return Row number (0-based), or -1 if not found
      */
     public int getRowNum(String sheetName, int colNum, String data) {
-        int rows = getRowCount(sheetName);
-        for (int i = 0; i < rows; i++) {
-            if (getCellData(sheetName, i, colNum).equals(data)) {
+        if (indexing) {
+            List<Integer> rows = getRowNums(sheetName, colNum, data);
+            return rows.isEmpty() ? -1 : rows.get(0);
+        }
+
+        XSSFSheet searchSheet = workbook.getSheet(sheetName);
+        if (searchSheet == null) {
+            return -1;
+        }
+        int rowCount = searchSheet.getLastRowNum() + 1;
+        for (int i = 0; i < rowCount; i++) {
+            if (valueAt(searchSheet, i, colNum).equals(data)) {
                 return i;
             }
         }
         return -1;
     }
 
+    /**
+     * Get ALL row numbers containing specific data in a column
+     *
+     * Uses the index when withIndex() is switched on.
+     *
+     * @param sheetName Sheet to search
+     * @param colNum Column to search in
+     * @param data Data to find
+     * @return Row numbers (0-based, ascending), empty if not found; read-only,
+     *         because with the index it is the index's own list
+     */
+    public List<Integer> getRowNums(String sheetName, int colNum, String data) {
+        XSSFSheet searchSheet = workbook.getSheet(sheetName);
+        if (searchSheet == null) {
+            return Collections.emptyList();
+        }
+
+        if (indexing) {
+            Map<String, List<Integer>> index = columnIndexes.computeIfAbsent(
+                sheetName + "#" + colNum, k -> buildColumnIndex(searchSheet, colNum));
+            return Collections.unmodifiableList(index.getOrDefault(data, Collections.emptyList()));
+        }
+
+        List<Integer> rows = new ArrayList<>();
+        int rowCount = searchSheet.getLastRowNum() + 1;
+        for (int i = 0; i < rowCount; i++) {
+            if (valueAt(searchSheet, i, colNum).equals(data)) {
+                rows.add(i);
+            }
+        }
+        return Collections.unmodifiableList(rows);
+    }
+
+    // =========================================================================
+    // INDEX HELPERS
+    // =========================================================================
+
+    /**
+     * Read one column ONCE and map every value to its row numbers
+     */
+    private Map<String, List<Integer>> buildColumnIndex(XSSFSheet indexSheet, int colNum) {
+        Map<String, List<Integer>> index = new HashMap<>();
+        int rowCount = indexSheet.getLastRowNum() + 1;
+        for (int i = 0; i < rowCount; i++) {
+            index.computeIfAbsent(valueAt(indexSheet, i, colNum), k -> new ArrayList<>()).add(i);
+        }
+        return index;
+    }
+
+    /**
+     * Collect every cell value of a sheet
+     */
+    private Set<String> buildSheetIndex(XSSFSheet indexSheet) {
+        Set<String> values = new HashSet<>();
+        int rowCount = indexSheet.getLastRowNum() + 1;
+        for (int i = 0; i < rowCount; i++) {
+            Row indexRow = indexSheet.getRow(i);
+            int cellCount = indexRow == null ? 0 : indexRow.getLastCellNum();
+            for (int j = 0; j < cellCount; j++) {
+                values.add(valueAt(indexSheet, i, j));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Forget the index of a sheet (after a write)
+     */
+    private void invalidateIndex(String sheetName) {
+        sheetIndexes.remove(sheetName);
+        columnIndexes.keySet().removeIf(key -> key.startsWith(sheetName + "#"));
+    }
+
+    /**
+     * Cell value like getCellData(), without looking up the sheet again
+     */
+    private String valueAt(XSSFSheet valueSheet, int rowNum, int colNum) {
+        Row valueRow = valueSheet.getRow(rowNum);
+        if (valueRow == null) {
+            return "";
+        }
+        Cell valueCell = valueRow.getCell(colNum);
+        return valueCell == null ? "" : formatter.formatCellValue(valueCell);
+    }
+
     /**
      * Close the workbook and release resources
      *
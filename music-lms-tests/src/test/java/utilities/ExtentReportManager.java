@@ -3,8 +3,11 @@ package utilities;
 import java.awt.Desktop;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 
 import org.testng.ITestContext;
 import org.testng.ITestListener;
@@ -13,6 +16,7 @@ import org.testng.ITestResult;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 
@@ -107,7 +111,9 @@ public class ExtentReportManager implements ITestListener {
         // Create timestamp for unique report name
         // Format: Report_2024-01-15_14-30-45.html
         String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-        reportPath = "./reports/MusicLMS_Report_" + timestamp + ".html";
+        // Parallel workers (-Dworker=N) finish at the same second: one report each
+        String worker = System.getProperty("worker", "");
+        reportPath = "./reports/MusicLMS_Report_" + timestamp + (worker.isBlank() ? "" : "_worker" + worker) + ".html";
 
         // ExtentSparkReporter is the HTML report generator
         ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
@@ -130,6 +136,9 @@ public class ExtentReportManager implements ITestListener {
         extent.setSystemInfo("OS", System.getProperty("os.name"));
         extent.setSystemInfo("Java Version", System.getProperty("java.version"));
         extent.setSystemInfo("User", System.getProperty("user.name"));
+        if (!System.getProperty("worker", "").isBlank()) {
+            extent.setSystemInfo("Worker", System.getProperty("worker") + " (" + System.getProperty("appUrl", "") + ")");
+        }
 
         System.out.println("========================================");
         System.out.println("EXTENT REPORT INITIALIZED");
@@ -157,6 +166,9 @@ public class ExtentReportManager implements ITestListener {
 
         // Log the start
         extentTest.get().log(Status.INFO, "Test started: " + testName);
+
+        // Tag this thread's log lines with the test, keep them in memory
+        TestLogCapture.begin(result);
     }
 
     /**
@@ -168,7 +180,16 @@ public class ExtentReportManager implements ITestListener {
      */
     @Override
     public void onTestSuccess(ITestResult result) {
+        TestLogCapture.discard();
+        discardRecordings(result);
         extentTest.get().log(Status.PASS, "Test PASSED: " + result.getMethod().getMethodName());
+
+        // Passed only after a retry? Then the test is FLAKY (see RetryAnalyzer)
+        int retries = RetryAnalyzer.attemptsOf(result);
+        if (retries > 0) {
+            extentTest.get().assignCategory("flaky");
+            extentTest.get().log(Status.WARNING, "FLAKY: passed after " + retries + " retry(s)");
+        }
     }
 
     /**
@@ -177,8 +198,9 @@ public class ExtentReportManager implements ITestListener {
      * This is important! When a test fails, we:
      * 1. Log the failure status
      * 2. Capture the exception/error message
-     * 3. Take a screenshot (for debugging)
-     * 4. Attach screenshot to the report
+     * 3. Add the log lines of this test (see TestLogCapture)
+     * 4. Take a screenshot (for debugging)
+     * 5. Attach screenshot to the report
      *
      * @param result TestNG result object with failure info
      */
@@ -194,24 +216,64 @@ public class ExtentReportManager implements ITestListener {
             extentTest.get().fail(throwable);
         }
 
-        // Capture screenshot
+        // Log lines of this test only (DEBUG included, see TestLogCapture)
+        List<String> logLines = TestLogCapture.collect();
+        if (!logLines.isEmpty()) {
+            extentTest.get().log(Status.INFO, MarkupHelper.createCodeBlock(String.join("\n", logLines)));
+        }
+
+        // Capture screenshot and the other failure artifacts
         // We need to get the WebDriver from the test class
-        try {
-            // Get the test class instance
-            Object testInstance = result.getInstance();
-
-            // Check if it's a BaseClass (has captureScreen method)
-            if (testInstance instanceof BaseClass) {
-                BaseClass baseClass = (BaseClass) testInstance;
-                String screenshotPath = baseClass.captureScreen(result.getMethod().getMethodName());
-
-                // Attach screenshot to report
-                // Convert path to File and attach
-                extentTest.get().addScreenCaptureFromPath(screenshotPath);
-                extentTest.get().log(Status.INFO, "Screenshot captured: " + screenshotPath);
+        // Each artifact has its own try: a failed screenshot (e.g. the browser
+        // crashed) must not cost us the event log or the screencast
+        if (!(result.getInstance() instanceof BaseClass baseClass)) {
+            return;
+        }
+        String testName = result.getMethod().getMethodName();
+
+        attachArtifact("server action timings", () -> logServerActions(baseClass));
+        attachArtifact("Supabase queries", () -> logSupabaseQueries(result));
+
+        attachArtifact("screenshot", () -> {
+            String screenshotPath = baseClass.captureScreen(testName);
+
+            // Attach screenshot to report
+            // Convert path to File and attach
+            extentTest.get().addScreenCaptureFromPath(screenshotPath);
+            extentTest.get().log(Status.INFO, "Screenshot captured: " + screenshotPath);
+        });
+
+        // Console errors and failed requests of this test
+        attachArtifact("browser events", () -> {
+            String eventsPath = baseClass.endBrowserEvents(testName, true);
+            if (eventsPath != null) {
+                extentTest.get().log(Status.INFO, "Browser console and network events: <a href='"
+                    + linkFromReport(eventsPath) + "' target='_blank'>" + eventsPath + "</a>");
+            }
+        });
+
+        // The seconds before the failure as an animated GIF (Chrome/Edge)
+        attachArtifact("screencast", () -> {
+            String screencastPath = baseClass.saveScreencast(testName);
+            if (screencastPath != null) {
+                extentTest.get().log(Status.INFO, "Screencast of the last seconds: <a href='"
+                    + linkFromReport(screencastPath) + "' target='_blank'>" + screencastPath + "</a>");
             }
+        });
+    }
+
+    /**
+     * Run one failure artifact step; a problem is logged as a WARNING in the
+     * report and does not stop the next step
+     *
+     * @param artifact Name used in the warning, e.g. "screenshot"
+     * @param step Captures the artifact and attaches it to the report
+     */
+    private void attachArtifact(String artifact, Runnable step) {
+        try {
+            step.run();
         } catch (Exception e) {
-            extentTest.get().log(Status.WARNING, "Could not capture screenshot: " + e.getMessage());
+            extentTest.get().log(Status.WARNING, "Could not capture " + artifact + ": " + e.getMessage());
         }
     }
 
@@ -227,6 +289,16 @@ public class ExtentReportManager implements ITestListener {
      */
     @Override
     public void onTestSkipped(ITestResult result) {
+        TestLogCapture.discard();
+        discardRecordings(result);
+
+        // A failed attempt that will be retried is reported by TestNG as
+        // "skipped". Drop it from the report - the retry gets its own entry.
+        if (result.wasRetried()) {
+            extent.removeTest(extentTest.get());
+            return;
+        }
+
         extentTest.get().log(Status.SKIP, "Test SKIPPED: " + result.getMethod().getMethodName());
 
         // Log reason if available
@@ -236,6 +308,55 @@ public class ExtentReportManager implements ITestListener {
         }
     }
 
+    /**
+     * Throw away the screencast and browser events of a test that did not fail
+     * (browser events are still saved with -DperfLog=true)
+     */
+    private void discardRecordings(ITestResult result) {
+        if (result.getInstance() instanceof BaseClass baseClass) {
+            logServerActions(baseClass);
+            logSupabaseQueries(result);
+            baseClass.discardScreencast();
+            String eventsPath = baseClass.endBrowserEvents(result.getMethod().getMethodName(), false);
+            if (eventsPath != null) {
+                extentTest.get().log(Status.INFO, "Browser events: <a href='"
+                    + linkFromReport(eventsPath) + "' target='_blank'>" + eventsPath + "</a>");
+            }
+        }
+    }
+
+    /**
+     * Table of the server actions the test called (see ServerActionProfiler)
+     */
+    private void logServerActions(BaseClass baseClass) {
+        List<ServerActionProfiler.Call> calls = baseClass.endServerActions();
+        if (!calls.isEmpty()) {
+            extentTest.get().log(Status.INFO, MarkupHelper.createTable(ServerActionProfiler.table(calls)));
+        }
+    }
+
+    /**
+     * Table of the Supabase queries per navigation (see QueryBudgetListener)
+     */
+    private void logSupabaseQueries(ITestResult result) {
+        if (result.getAttribute(QueryBudgetListener.ATTRIBUTE) instanceof List<?> navigations) {
+            @SuppressWarnings("unchecked")
+            List<SupabaseQueryMonitor.Navigation> list = (List<SupabaseQueryMonitor.Navigation>) navigations;
+            extentTest.get().log(Status.INFO,
+                MarkupHelper.createTable(SupabaseQueryMonitor.table(list, QueryBudget.load())));
+        }
+    }
+
+    /**
+     * Path of a file relative to the report, so the link works when the
+     * reports folder is opened or archived together with screenshots/
+     */
+    private String linkFromReport(String filePath) {
+        Path reportDir = Paths.get(reportPath).toAbsolutePath().normalize().getParent();
+        return reportDir.relativize(Paths.get(filePath).toAbsolutePath().normalize())
+            .toString().replace(File.separatorChar, '/');
+    }
+
     /**
      * Called when test suite finishes
      *
@@ -247,6 +368,16 @@ public class ExtentReportManager implements ITestListener {
      */
     @Override
     public void onFinish(ITestContext context) {
+        // Element lookups saved by the page object cache
+        extent.setSystemInfo("Element Cache", CachingElementLocatorFactory.summary());
+
+        // Server action latency over all tests of this <test> block
+        String[][] serverActions = ServerActionProfiler.runTable();
+        if (serverActions != null) {
+            extent.createTest("Server Action Latency - " + context.getName(), "All server action calls of these tests")
+                .info(MarkupHelper.createTable(serverActions));
+        }
+
         // Flush writes all logs to the report file
         // IMPORTANT: Without flush(), report won't be complete!
         extent.flush();
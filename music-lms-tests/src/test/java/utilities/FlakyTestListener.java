@@ -0,0 +1,184 @@
+package utilities;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+/**
+ * =============================================================================
+ * FLAKY TEST LISTENER - RETRIES, FLAKE STATISTICS AND QUARANTINE
+ * =============================================================================
+ *
+ * This listener works together with RetryAnalyzer:
+ *
+ * 1. ATTACH RETRIES
+ *    Every @Test method gets RetryAnalyzer, so a failed test is rerun
+ *    (in a fresh browser) instead of rerunning the whole suite.
+ *
+ * 2. KEEP STATISTICS
+ *    After each run we update ./history/flake-stats.properties:
+ *
+ *        testCases.TC_Auth_002_SignupTest#TC_Auth_009_VerifyValidTeacherSignup.runs=42
+ *        testCases.TC_Auth_002_SignupTest#TC_Auth_009_VerifyValidTeacherSignup.flakeRate=0.27
+ *        testCases.TC_Auth_002_SignupTest#TC_Auth_009_VerifyValidTeacherSignup.failures=3
+ *
+ *    "Flaky" means: failed first, then PASSED on a retry.
+ *
+ * 3. QUARANTINE
+ *    A test whose flake rate is above the threshold gets the extra group
+ *    "quarantine". testng.xml excludes that group from the main run and
+ *    testng-quarantine.xml runs only that group, so flaky tests no longer
+ *    slow down or break the main pipeline.
+ *
+ * FLAKE RATE:
+ * -----------
+ * The rate is a moving average (each new run counts for 10%), so a test
+ * that was fixed slowly drops below the threshold and leaves quarantine.
+ *
+ * SETTINGS:
+ * ---------
+ *     -DflakeThreshold=0.2    quarantine above 20% flaky results
+ *     -DflakeMinRuns=5        never quarantine tests with fewer runs
+ *
+ * =============================================================================
+ */
+public class FlakyTestListener implements IAnnotationTransformer, ITestListener, ISuiteListener {
+
+    /**
+     * History file name inside ./history/
+     */
+    public static final String HISTORY_FILE = "flake-stats.properties";
+
+    /**
+     * Group given to quarantined tests
+     */
+    public static final String QUARANTINE_GROUP = "quarantine";
+
+    /**
+     * Weight of the newest result in the moving average
+     */
+    private static final double SMOOTHING = 0.1;
+
+    /**
+     * Statistics loaded at start-up (used for quarantine decisions)
+     */
+    private Properties stats;
+
+    /**
+     * Results of this run: key -> {passed, flaky, failed}
+     */
+    private final Map<String, int[]> outcomes = new ConcurrentHashMap<>();
+
+    // =========================================================================
+    // ANNOTATION TRANSFORMER - runs BEFORE any test, while TestNG reads @Test
+    // =========================================================================
+
+    // IAnnotationTransformer declares raw Class/Constructor; Class<?> here
+    // would not override it ("same erasure" compile error)
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass,
+                          Constructor testConstructor, Method testMethod) {
+        if (testMethod == null) {
+            return;
+        }
+
+        // Attach the retry analyzer unless the test already has its own
+        if (annotation.getRetryAnalyzerClass() == null
+                || annotation.getRetryAnalyzerClass() == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+
+        String key = testMethod.getDeclaringClass().getName() + "#" + testMethod.getName();
+        if (isQuarantined(key)) {
+            String[] groups = Arrays.copyOf(annotation.getGroups(), annotation.getGroups().length + 1);
+            groups[groups.length - 1] = QUARANTINE_GROUP;
+            annotation.setGroups(groups);
+            System.out.println("QUARANTINED (flaky): " + key);
+        }
+    }
+
+    /**
+     * Check the stored statistics for a test
+     *
+     * @param key class#method key
+     * @return true if the test should run in the quarantine group
+     */
+    private synchronized boolean isQuarantined(String key) {
+        if (stats == null) {
+            stats = HistoryFile.load(HISTORY_FILE);
+        }
+        double threshold = Double.parseDouble(System.getProperty("flakeThreshold", "0.2"));
+        int minRuns = Integer.parseInt(System.getProperty("flakeMinRuns", "5"));
+
+        int runs = Integer.parseInt(stats.getProperty(key + ".runs", "0"));
+        double rate = Double.parseDouble(stats.getProperty(key + ".flakeRate", "0"));
+        return runs >= minRuns && rate > threshold;
+    }
+
+    // =========================================================================
+    // TEST LISTENER - collect the outcome of every (final) attempt
+    // =========================================================================
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        // index 1 = passed on retry (flaky), index 0 = passed first time
+        count(result, RetryAnalyzer.attemptsOf(result) > 0 ? 1 : 0);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        count(result, 2);
+    }
+
+    private void count(ITestResult result, int index) {
+        outcomes.computeIfAbsent(DurationListener.keyOf(result.getMethod()), k -> new int[3])[index]++;
+    }
+
+    // =========================================================================
+    // SUITE LISTENER - save the statistics once everything has finished
+    // =========================================================================
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+
+        HistoryFile.update(HISTORY_FILE, "Flake statistics per test (written by FlakyTestListener)", history -> {
+            for (Map.Entry<String, int[]> entry : outcomes.entrySet()) {
+                String key = entry.getKey();
+                int[] counts = entry.getValue();
+
+                int runs = Integer.parseInt(history.getProperty(key + ".runs", "0"));
+                double rate = Double.parseDouble(history.getProperty(key + ".flakeRate", "0"));
+                int failures = Integer.parseInt(history.getProperty(key + ".failures", "0"));
+
+                // Feed every result of this run into the moving average
+                for (int i = 0; i < counts[0] + counts[2]; i++) {
+                    rate = rate * (1 - SMOOTHING);
+                }
+                for (int i = 0; i < counts[1]; i++) {
+                    rate = rate * (1 - SMOOTHING) + SMOOTHING;
+                }
+
+                history.setProperty(key + ".runs", String.valueOf(runs + counts[0] + counts[1] + counts[2]));
+                history.setProperty(key + ".flakeRate", String.format(Locale.ROOT, "%.4f", rate));
+                history.setProperty(key + ".failures", String.valueOf(failures + counts[2]));
+            }
+        });
+        System.out.println("Flake statistics saved to: " + HistoryFile.resolve(HISTORY_FILE));
+    }
+}
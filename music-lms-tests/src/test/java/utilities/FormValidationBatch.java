@@ -0,0 +1,123 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * =============================================================================
+ * FORM VALIDATION BATCH - CHECK MANY INPUT VALUES IN ONE SCRIPT CALL
+ * =============================================================================
+ *
+ * THE SLOW WAY (one browser round trip per value, plus a page load):
+ * -----------------------------------------------------------------
+ *     for each row:  driver.get(page) -> sendKeys(value) -> checkValidity()
+ *
+ * THE FAST WAY (one round trip for ALL values):
+ * ---------------------------------------------
+ *     Map<String, Result> results = FormValidationBatch.evaluate(driver, field,
+ *         List.of("user@domain.com", "invalid-email", ""));
+ *
+ *     results.get("invalid-email").valid()              -> false
+ *     results.get("invalid-email").validationMessage()  -> "Please include an '@' ..."
+ *
+ * The script sets each value the way React expects (native value setter +
+ * "input"/"change" events, so the component state follows), reads the
+ * browser's validity flags, and finally restores the original value.
+ *
+ * MINLENGTH / MAXLENGTH GOTCHA:
+ * -----------------------------
+ * Browsers only report tooShort/tooLong after a REAL user edit, never for a
+ * value set by script. The script therefore compares the length with the
+ * minLength/maxLength attributes itself, so "12345" in a minLength=6 field
+ * is reported as tooShort (validationMessage stays empty for that case).
+ *
+ * =============================================================================
+ */
+public final class FormValidationBatch {
+
+    /**
+     * Runs in the browser: arguments[0] = input element, arguments[1] = values
+     */
+    private static final String SCRIPT = String.join("\n",
+        "const el = arguments[0], values = arguments[1];",
+        "const proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;",
+        "const setter = Object.getOwnPropertyDescriptor(proto, 'value').set;",
+        "const setValue = v => {",
+        "  setter.call(el, v);",
+        "  el.dispatchEvent(new Event('input', {bubbles: true}));",
+        "  el.dispatchEvent(new Event('change', {bubbles: true}));",
+        "};",
+        "const original = el.value;",
+        "const results = [];",
+        "for (const v of values) {",
+        "  setValue(v);",
+        "  const s = el.validity;",
+        "  const tooShort = s.tooShort || (el.minLength > 0 && v.length > 0 && v.length < el.minLength);",
+        "  const tooLong = s.tooLong || (el.maxLength >= 0 && v.length > el.maxLength);",
+        "  results.push({",
+        "    valid: s.valid && !tooShort && !tooLong,",
+        "    valueMissing: s.valueMissing, typeMismatch: s.typeMismatch,",
+        "    patternMismatch: s.patternMismatch, tooShort: tooShort, tooLong: tooLong,",
+        "    validationMessage: el.validationMessage",
+        "  });",
+        "}",
+        "setValue(original);",
+        "return results;");
+
+    private FormValidationBatch() {
+        // Utility class - no instances
+    }
+
+    /**
+     * Validate many values of one input field in a single executeScript call
+     *
+     * @param driver Browser with the form already loaded
+     * @param field The input (or textarea) to test
+     * @param values Values to try (duplicates are checked once)
+     * @return Result per value, in the order of the values
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Result> evaluate(WebDriver driver, WebElement field, List<String> values) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        List<Object> raw = (List<Object>) ((JavascriptExecutor) driver).executeScript(SCRIPT, field, distinct);
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            Map<String, Object> flags = (Map<String, Object>) raw.get(i);
+            results.put(distinct.get(i), new Result(
+                distinct.get(i),
+                Boolean.TRUE.equals(flags.get("valid")),
+                Boolean.TRUE.equals(flags.get("valueMissing")),
+                Boolean.TRUE.equals(flags.get("typeMismatch")),
+                Boolean.TRUE.equals(flags.get("patternMismatch")),
+                Boolean.TRUE.equals(flags.get("tooShort")),
+                Boolean.TRUE.equals(flags.get("tooLong")),
+                String.valueOf(flags.get("validationMessage"))));
+        }
+        return results;
+    }
+
+    /**
+     * Validity of one value (names match the browser's ValidityState)
+     *
+     * @param value The value that was set
+     * @param valid No validation error
+     * @param valueMissing Required field is empty
+     * @param typeMismatch Not a valid email/url for type="email"/"url"
+     * @param patternMismatch Does not match the pattern attribute
+     * @param tooShort Shorter than minLength
+     * @param tooLong Longer than maxLength
+     * @param validationMessage Browser's message ("" when valid)
+     */
+    public record Result(String value, boolean valid, boolean valueMissing, boolean typeMismatch,
+                         boolean patternMismatch, boolean tooShort, boolean tooLong,
+                         String validationMessage) {
+    }
+}
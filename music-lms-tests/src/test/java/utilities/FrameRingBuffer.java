@@ -0,0 +1,138 @@
+package utilities;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * =============================================================================
+ * FRAME RING BUFFER - THE LAST FEW SECONDS OF VIDEO FRAMES, OFF THE JAVA HEAP
+ * =============================================================================
+ *
+ * A fixed block of native memory (ByteBuffer.allocateDirect) used as a ring:
+ *
+ *     +--------------------------------------------------------------+
+ *     | frame 7 | frame 8 | frame 9 |   free   | frame 5 | frame 6 |  |
+ *     +--------------------------------------------------------------+
+ *                                   ^ write               ^ oldest
+ *
+ * A new frame overwrites the OLDEST frames when the block is full, and frames
+ * older than the time window are dropped. Memory use is fixed no matter how
+ * long a test runs, and the frames never add work for the garbage collector.
+ *
+ * Frames are copied back to the heap only by frames(), i.e. when a test FAILS.
+ *
+ * =============================================================================
+ */
+public class FrameRingBuffer {
+
+    private final ByteBuffer store;
+    private final long windowMillis;
+    private final Deque<Slot> slots = new ArrayDeque<>();
+    private int writePos = 0;
+    private int used = 0;
+
+    /**
+     * @param capacityBytes Size of the native memory block
+     * @param windowMillis Keep frames at most this much older than the newest one
+     */
+    public FrameRingBuffer(int capacityBytes, long windowMillis) {
+        this.store = ByteBuffer.allocateDirect(capacityBytes);
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Add a frame (dropped if it is larger than the whole buffer)
+     *
+     * @param data Encoded frame (e.g. JPEG bytes)
+     * @param timestampMillis When the frame was captured
+     */
+    public synchronized void add(byte[] data, long timestampMillis) {
+        int capacity = store.capacity();
+        if (data.length == 0 || data.length > capacity) {
+            return;
+        }
+        // Free space for the new frame, oldest first
+        while (!slots.isEmpty() && (capacity - used < data.length || overlapsOldest(data.length))) {
+            used -= slots.removeFirst().length;
+        }
+        if (slots.isEmpty()) {
+            writePos = 0;
+            used = 0;
+        }
+
+        int first = Math.min(data.length, capacity - writePos);
+        store.put(writePos, data, 0, first);
+        if (first < data.length) {
+            store.put(0, data, first, data.length - first);
+        }
+        slots.addLast(new Slot(writePos, data.length, timestampMillis));
+        writePos = (writePos + data.length) % capacity;
+        used += data.length;
+
+        // Drop frames that fell out of the time window
+        while (slots.size() > 1 && timestampMillis - slots.peekFirst().timestampMillis > windowMillis) {
+            used -= slots.removeFirst().length;
+        }
+    }
+
+    /**
+     * Copy all frames to the heap, oldest first
+     *
+     * @return The frames currently in the buffer
+     */
+    public synchronized List<Frame> frames() {
+        List<Frame> frames = new ArrayList<>(slots.size());
+        int capacity = store.capacity();
+        for (Slot slot : slots) {
+            byte[] data = new byte[slot.length];
+            int first = Math.min(slot.length, capacity - slot.offset);
+            store.get(slot.offset, data, 0, first);
+            if (first < slot.length) {
+                store.get(0, data, first, slot.length - first);
+            }
+            frames.add(new Frame(slot.timestampMillis, data));
+        }
+        return frames;
+    }
+
+    /**
+     * Forget all frames (the memory block is kept for reuse)
+     */
+    public synchronized void clear() {
+        slots.clear();
+        writePos = 0;
+        used = 0;
+    }
+
+    /**
+     * @return Number of frames in the buffer
+     */
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /**
+     * Would writing 'length' bytes at writePos overwrite the oldest frame?
+     */
+    private boolean overlapsOldest(int length) {
+        int capacity = store.capacity();
+        int oldest = slots.peekFirst().offset;
+        int distance = (oldest - writePos + capacity) % capacity;
+        return distance < length;
+    }
+
+    /**
+     * One captured frame
+     *
+     * @param timestampMillis When the frame was captured
+     * @param data Encoded frame bytes
+     */
+    public record Frame(long timestampMillis, byte[] data) {
+    }
+
+    private record Slot(int offset, int length, long timestampMillis) {
+    }
+}
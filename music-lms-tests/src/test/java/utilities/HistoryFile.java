@@ -0,0 +1,145 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * =============================================================================
+ * HISTORY FILE - LOCAL STORE FOR DATA COLLECTED ACROSS RUNS
+ * =============================================================================
+ *
+ * Some framework features learn from previous runs (how long each test took,
+ * which pages a test visited, how often a test flakes). This class is the
+ * small key=value store they share.
+ *
+ * WHERE IS THE DATA KEPT?
+ * -----------------------
+ * Every history file lives in ./history/ next to the pom.xml. The folder can
+ * be cached between CI jobs so that every job sees the same history.
+ *
+ *     ./history/test-durations.properties
+ *     ./history/...
+ *
+ * The directory can be changed with -DhistoryDir=/some/other/path
+ *
+ * SAFE WRITES:
+ * ------------
+ * We write to a temporary file first and then rename it over the old one.
+ * A rename is atomic, so a crashed run never leaves a half-written file.
+ *
+ * SEVERAL JVMS, ONE FOLDER:
+ * -------------------------
+ * The listeners merge with update(): load, change and save run under an OS
+ * file lock (<file>.lock), so two runs that share a folder and finish at the
+ * same time both keep their results. Parallel workers on one machine
+ * (dbtools.WorkerEnvironments) do NOT share the folder: each gets its own
+ * copy of one snapshot with -DhistoryDir, and the orchestrator merges the
+ * copies once every worker has exited.
+ *
+ * =============================================================================
+ */
+public final class HistoryFile {
+
+    /**
+     * Default folder for all history files
+     */
+    private static final String DEFAULT_DIR = "./history/";
+
+    private HistoryFile() {
+        // Utility class - no instances
+    }
+
+    /**
+     * Resolve a history file name to its full path
+     *
+     * @param fileName File name, e.g. "test-durations.properties"
+     * @return Path inside the history folder
+     */
+    public static Path resolve(String fileName) {
+        return Paths.get(System.getProperty("historyDir", DEFAULT_DIR)).resolve(fileName);
+    }
+
+    /**
+     * Load a history file
+     *
+     * A missing or unreadable file is not an error: the first run simply has
+     * no history yet, so we return empty properties.
+     *
+     * @param fileName File name inside the history folder
+     * @return Loaded properties (never null)
+     */
+    public static Properties load(String fileName) {
+        Properties props = new Properties();
+        Path path = resolve(fileName);
+        if (!Files.exists(path)) {
+            return props;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            props.load(in);
+        } catch (IOException e) {
+            System.err.println("Could not read history file " + path + ": " + e.getMessage());
+        }
+        return props;
+    }
+
+    /**
+     * Load, change and save a history file as one step
+     *
+     * The lock is held across processes (FileChannel.lock) as well as threads
+     * (synchronized - one JVM may not lock the same file twice), so results
+     * of parallel test JVMs are merged, never lost.
+     *
+     * @param fileName File name inside the history folder
+     * @param comment Header comment for the file
+     * @param change Merges this run's data into the loaded properties
+     */
+    public static synchronized void update(String fileName, String comment, Consumer<Properties> change) {
+        Path lockFile = resolve(fileName + ".lock");
+        try {
+            Files.createDirectories(lockFile.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    Properties props = load(fileName);
+                    change.accept(props);
+                    save(fileName, props, comment);
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not lock history file " + lockFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Save a history file atomically
+     *
+     * @param fileName File name inside the history folder
+     * @param props Properties to write
+     * @param comment Header comment for the file
+     */
+    public static synchronized void save(String fileName, Properties props, String comment) {
+        Path path = resolve(fileName);
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), fileName, ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                props.store(out, comment);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write history file " + path + ": " + e.getMessage());
+        }
+    }
+}
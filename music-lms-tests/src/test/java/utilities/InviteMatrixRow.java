@@ -0,0 +1,33 @@
+package utilities;
+
+/**
+ * =============================================================================
+ * INVITE MATRIX ROW - ONE GENERATED STUDENT REGISTRATION CASE
+ * =============================================================================
+ *
+ * Produced by DataProviders.getStudentInviteMatrix() (pairwise combinations
+ * of instrument, skill level, email style and password style).
+ *
+ * The email is a PATTERN, because every registration needs a new address:
+ *
+ *     row.email(randomAlphaNumeric())   // "student+ABC123@test.com"
+ *
+ * =============================================================================
+ *
+ * @param instrument Instrument as shown in the dropdown, e.g. "Piano"
+ * @param skillLevel "Beginner", "Intermediate" or "Advanced"
+ * @param emailPattern Email with %s where the unique part goes
+ * @param password Password to register with (all valid, min 6 chars)
+ */
+public record InviteMatrixRow(String instrument, String skillLevel, String emailPattern, String password) {
+
+    /**
+     * Build the email address for this case
+     *
+     * @param unique Unique part, e.g. a random string
+     * @return The email address
+     */
+    public String email(String unique) {
+        return String.format(emailPattern, unique);
+    }
+}
@@ -0,0 +1,338 @@
+package utilities;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * =============================================================================
+ * JSON LINES DATA SOURCE - ONE JSON OBJECT PER TEST ROW
+ * =============================================================================
+ *
+ * FILE FORMAT (https://jsonlines.org, UTF-8):
+ * -------------------------------------------
+ *     {"Email":"student@test.com","Password":"Pass123!","Expected":"true"}
+ *     {"Email":"bad-email","Password":"x","Expected":"false"}
+ *
+ * - Every line is one data row - there is no header line
+ * - The keys of the FIRST line decide the column order
+ * - A missing key is "", numbers/true/false are used as text, null is ""
+ * - Only flat objects: no nested objects or arrays
+ *
+ * Compared to CSV the column names are repeated on every line, so a single
+ * row can be read (and changed in a diff) without looking at the header.
+ *
+ * HOW IT IS READ:
+ * ---------------
+ * Like CsvDataSource: memory-mapped, parsed byte by byte, only the values
+ * become Strings.
+ *
+ * =============================================================================
+ */
+public class JsonLinesDataSource implements DataSource {
+
+    @Override
+    public String[][] read(Path file, String sheetName) throws IOException {
+        ByteBuffer buf = DataSources.map(file);
+        Parser parser = new Parser(buf, file);
+
+        // Column name -> column number, in order of the first line
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        List<String[]> rows = new ArrayList<>();
+
+        while (parser.nextLine()) {
+            List<String> keys = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            parser.readObject(keys, values);
+
+            if (rows.isEmpty()) {
+                for (String key : keys) {
+                    columns.putIfAbsent(key, columns.size());
+                }
+            }
+            String[] row = new String[columns.size()];
+            Arrays.fill(row, "");
+            for (int i = 0; i < keys.size(); i++) {
+                Integer col = columns.get(keys.get(i));
+                if (col != null) {
+                    row[col] = values.get(i);
+                }
+            }
+            rows.add(row);
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    /**
+     * Write rows as JSON lines (used by TestDataConverter)
+     *
+     * @param file Target file
+     * @param rows All rows, header first (the header becomes the keys)
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path file, List<String[]> rows) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            String[] header = rows.get(0);
+            StringBuilder line = new StringBuilder();
+            for (int i = 1; i < rows.size(); i++) {
+                String[] row = rows.get(i);
+                line.setLength(0);
+                line.append('{');
+                for (int j = 0; j < header.length; j++) {
+                    if (j > 0) {
+                        line.append(',');
+                    }
+                    appendString(line, header[j]);
+                    line.append(':');
+                    appendString(line, j < row.length ? row[j] : "");
+                }
+                line.append('}');
+                out.write(line.toString());
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Append a JSON string literal with escapes
+     */
+    static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * Minimal parser for flat JSON objects, one per line
+     */
+    private static final class Parser {
+
+        private final ByteBuffer buf;
+        private final Path file;
+        private final int limit;
+        private int pos;
+        private int line;
+        private byte[] scratch = new byte[256];
+
+        Parser(ByteBuffer buf, Path file) {
+            this.buf = buf;
+            this.file = file;
+            this.limit = buf.limit();
+        }
+
+        /**
+         * Move to the next non-empty line
+         *
+         * @return false at the end of the file
+         */
+        boolean nextLine() {
+            while (pos < limit) {
+                byte b = buf.get(pos);
+                if (b == '\n') {
+                    line++;
+                    pos++;
+                } else if (b == ' ' || b == '\t' || b == '\r') {
+                    pos++;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Read {"key":value,...} into two parallel lists
+         */
+        void readObject(List<String> keys, List<String> values) throws IOException {
+            expect('{');
+            skipSpaces();
+            if (peek() == '}') {
+                pos++;
+                return;
+            }
+            while (true) {
+                skipSpaces();
+                keys.add(readString());
+                skipSpaces();
+                expect(':');
+                skipSpaces();
+                values.add(peek() == '"' ? readString() : readLiteral());
+                skipSpaces();
+                byte b = next();
+                if (b == '}') {
+                    return;
+                }
+                if (b != ',') {
+                    throw error("expected ',' or '}'");
+                }
+            }
+        }
+
+        /**
+         * Read a "..." string, decoding escapes
+         */
+        private String readString() throws IOException {
+            expect('"');
+            int len = 0;
+            while (true) {
+                byte b = next();
+                if (b == '"') {
+                    return new String(scratch, 0, len, StandardCharsets.UTF_8);
+                }
+                if (b == '\\') {
+                    byte e = next();
+                    switch (e) {
+                        case 'n' -> b = '\n';
+                        case 'r' -> b = '\r';
+                        case 't' -> b = '\t';
+                        case 'b' -> b = '\b';
+                        case 'f' -> b = '\f';
+                        case 'u' -> {
+                            // Encode the character as UTF-8 into the scratch buffer.
+                            // Outside the BMP (emoji) JSON writes a surrogate PAIR,
+                            // "\\ud83c\\udfb5": both halves form ONE code point - encoded
+                            // alone, each half would become a "?".
+                            int c = hex(readChars(4));
+                            if (Character.isHighSurrogate((char) c) && pos + 6 <= limit
+                                    && buf.get(pos) == '\\' && buf.get(pos + 1) == 'u') {
+                                int low = hex(readRange(pos + 2, pos + 6));
+                                if (Character.isLowSurrogate((char) low)) {
+                                    c = Character.toCodePoint((char) c, (char) low);
+                                    pos += 6;
+                                }
+                            }
+                            byte[] utf8 = Character.toString(c).getBytes(StandardCharsets.UTF_8);
+                            for (byte u : utf8) {
+                                len = put(len, u);
+                            }
+                            continue;
+                        }
+                        default -> b = e;  // \" \\ \/
+                    }
+                }
+                len = put(len, b);
+            }
+        }
+
+        /**
+         * Read a number, true, false or null as text (null -> "")
+         */
+        private String readLiteral() throws IOException {
+            int start = pos;
+            while (pos < limit) {
+                byte b = buf.get(pos);
+                if (b == ',' || b == '}' || b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                    break;
+                }
+                pos++;
+            }
+            String literal = readRange(start, pos);
+            if (literal.isEmpty()) {
+                throw error("expected a value");
+            }
+            return "null".equals(literal) ? "" : literal;
+        }
+
+        /**
+         * The 4 hex digits of a \\u escape
+         */
+        private int hex(String digits) throws IOException {
+            int value = 0;
+            for (int i = 0; i < digits.length(); i++) {
+                char c = digits.charAt(i);
+                int digit = c < 0x80 ? Character.digit(c, 16) : -1;
+                if (digit < 0) {
+                    throw error("bad \\u escape '\\u" + digits + "'");
+                }
+                value = value * 16 + digit;
+            }
+            return value;
+        }
+
+        private String readChars(int count) throws IOException {
+            int start = pos;
+            pos += count;
+            if (pos > limit) {
+                throw error("unexpected end of file");
+            }
+            return readRange(start, pos);
+        }
+
+        private String readRange(int start, int end) {
+            byte[] bytes = new byte[end - start];
+            buf.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int put(int len, byte b) {
+            if (len == scratch.length) {
+                scratch = Arrays.copyOf(scratch, len * 2);
+            }
+            scratch[len] = b;
+            return len + 1;
+        }
+
+        private void skipSpaces() {
+            while (pos < limit) {
+                byte b = buf.get(pos);
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        private byte peek() throws IOException {
+            if (pos >= limit) {
+                throw error("unexpected end of file");
+            }
+            return buf.get(pos);
+        }
+
+        private byte next() throws IOException {
+            byte b = peek();
+            pos++;
+            if (b == '\n') {
+                throw error("unexpected line break");
+            }
+            return b;
+        }
+
+        private void expect(char c) throws IOException {
+            if (next() != c) {
+                throw error("expected '" + c + "'");
+            }
+        }
+
+        private IOException error(String message) {
+            return new IOException(file + " line " + (line + 1) + ": " + message);
+        }
+    }
+}
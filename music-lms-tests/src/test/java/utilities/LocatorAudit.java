@@ -0,0 +1,253 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * =============================================================================
+ * LOCATOR AUDIT - HOW FAST AND HOW PRECISE IS EVERY @FindBy?
+ * =============================================================================
+ *
+ * Every element lookup is a round trip to the browser. How expensive it is
+ * depends on the LOCATOR STRATEGY:
+ *
+ *     [data-testid='login-submit']         -> fast, the browser uses its CSS engine
+ *     id="email"                           -> fast, uses the id index
+ *     //button[contains(text(),'Log in')]  -> slow, XPath walks the WHOLE DOM
+ *                                             and compares text of every node
+ *
+ * On a small login page the difference is small. On a dashboard with
+ * hundreds of rows a text XPath gets slower with every row added.
+ *
+ * WHAT DOES THIS CLASS DO?
+ * ------------------------
+ * When the audit is switched on, BasePage creates its elements through
+ * ProfilingElementLocatorFactory. That factory measures every lookup and
+ * reports it here. When the suite finishes, we write:
+ *
+ *     reports/locator-audit.csv
+ *
+ *     locator,by,lookups,avgMs,maxMs,matches,flags
+ *     LoginPage.loginButton,css=[data-testid='login-submit'],4,12.3,20.1,1,
+ *     InvitePage.homepageLink,xpath=//a[...],2,480.0,510.2,0,TEXT_XPATH SLOW
+ *
+ * FLAGS:
+ * ------
+ *     TEXT_XPATH   XPath that searches by text - replace with a data-testid
+ *     SLOW         average lookup above -DlocatorSlowMs (default 200 ms)
+ *     AMBIGUOUS    locator matched more than one element (the first one wins,
+ *                  which may not be the one you meant)
+ *     NOT_FOUND    locator never matched during the run
+ *
+ * USAGE:
+ * ------
+ *     mvn test -DlocatorAudit=true
+ *     mvn test -DlocatorAudit=true -DlocatorSlowMs=100
+ *
+ * The audit is OFF by default: counting matches costs an extra browser call.
+ *
+ * =============================================================================
+ */
+public class LocatorAudit implements ISuiteListener {
+
+    /**
+     * Output file of the audit
+     */
+    private static final Path REPORT = Paths.get("reports", "locator-audit.csv");
+
+    /**
+     * Statistics per locator (key: "PageClass.field")
+     */
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    /**
+     * Is the audit switched on for this run?
+     *
+     * @return true if -DlocatorAudit=true was given
+     */
+    public static boolean isActive() {
+        return Boolean.getBoolean("locatorAudit");
+    }
+
+    /**
+     * Get (or create) the statistics of one locator
+     *
+     * @param key Page class and field name, e.g. "LoginPage.loginButton"
+     * @param by The locator of the field
+     * @return Statistics object to record lookups in
+     */
+    static Stats statsFor(String key, By by) {
+        return STATS.computeIfAbsent(key, k -> new Stats(by));
+    }
+
+    /**
+     * Check whether a locator searches by visible text with XPath
+     *
+     * @param by The locator
+     * @return true for e.g. //button[contains(text(),'Log in')]
+     */
+    static boolean isTextXPath(By by) {
+        String text = by.toString();
+        return text.startsWith("By.xpath:") && (text.contains("text()") || text.contains("normalize-space(."));
+    }
+
+    /**
+     * Called once when the whole suite has finished - write the CSV report
+     *
+     * @param suite The finished suite
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        if (STATS.isEmpty()) {
+            return;
+        }
+
+        double slowMs = Double.parseDouble(System.getProperty("locatorSlowMs", "200"));
+        List<String> flagged = new ArrayList<>();
+
+        try {
+            Files.createDirectories(REPORT.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(REPORT, StandardCharsets.UTF_8))) {
+                out.println("locator,by,lookups,avgMs,maxMs,matches,flags");
+                STATS.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> {
+                        Stats stats = entry.getValue();
+                        String flags = stats.flags(slowMs);
+                        out.println(stats.toCsv(entry.getKey(), flags));
+                        if (!flags.isEmpty()) {
+                            flagged.add(entry.getKey() + " [" + flags + "] " + stats.by);
+                        }
+                    });
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write locator audit: " + e.getMessage());
+            return;
+        }
+
+        System.out.println("========================================");
+        System.out.println("LOCATOR AUDIT: " + STATS.size() + " locators, " + flagged.size() + " flagged");
+        flagged.forEach(line -> System.out.println("  " + line));
+        System.out.println("Report written to: " + REPORT.toAbsolutePath());
+        System.out.println("========================================");
+    }
+
+    /**
+     * Quote a value for CSV if it contains commas or quotes
+     */
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * =========================================================================
+     * STATS - lookup measurements of ONE locator
+     * =========================================================================
+     */
+    static class Stats {
+
+        private final By by;
+        private long lookups;
+        private long totalNanos;
+        private long maxNanos;
+        private long misses;
+
+        /**
+         * Highest number of elements the locator matched (-1 = not counted yet)
+         */
+        private volatile int matches = -1;
+
+        Stats(By by) {
+            this.by = by;
+        }
+
+        /**
+         * Record one lookup
+         *
+         * @param nanos Time the lookup took
+         * @param found false if the element was not found
+         */
+        synchronized void record(long nanos, boolean found) {
+            if (!found) {
+                // Missing elements take the whole implicit wait - keep them out of the timing
+                misses++;
+                return;
+            }
+            lookups++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        /**
+         * @return true if the number of matches was not counted yet
+         */
+        boolean needsMatchCount() {
+            return matches < 0;
+        }
+
+        /**
+         * Store how many elements the locator matched
+         *
+         * @param count Number of matching elements
+         */
+        synchronized void recordMatches(int count) {
+            matches = Math.max(matches, count);
+        }
+
+        synchronized double averageMs() {
+            return lookups == 0 ? 0 : totalNanos / (double) lookups / 1_000_000.0;
+        }
+
+        /**
+         * One report line, read under the same lock the lookups are recorded
+         * with (tests may still run in parallel threads)
+         *
+         * @param key Page class and field name
+         * @param flags Flags from flags()
+         * @return CSV line matching the report header
+         */
+        synchronized String toCsv(String key, String flags) {
+            return String.join(",",
+                key,
+                csv(by.toString()),
+                String.valueOf(lookups),
+                String.format(Locale.ROOT, "%.1f", averageMs()),
+                String.format(Locale.ROOT, "%.1f", maxNanos / 1_000_000.0),
+                String.valueOf(matches),
+                flags);
+        }
+
+        synchronized String flags(double slowMs) {
+            List<String> flags = new ArrayList<>();
+            if (isTextXPath(by)) {
+                flags.add("TEXT_XPATH");
+            }
+            if (averageMs() > slowMs) {
+                flags.add("SLOW");
+            }
+            if (matches > 1) {
+                flags.add("AMBIGUOUS");
+            }
+            if (lookups == 0 && misses > 0) {
+                flags.add("NOT_FOUND");
+            }
+            return String.join(" ", flags);
+        }
+    }
+}
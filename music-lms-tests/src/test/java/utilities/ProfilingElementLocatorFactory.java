@@ -0,0 +1,128 @@
+package utilities;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+/**
+ * =============================================================================
+ * PROFILING ELEMENT LOCATOR FACTORY - MEASURE EVERY @FindBy LOOKUP
+ * =============================================================================
+ *
+ * HOW DOES PageFactory FIND ELEMENTS?
+ * -----------------------------------
+ * PageFactory.initElements() does NOT search for elements right away.
+ * It puts a PROXY in every @FindBy field. The first time you call e.g.
+ * loginButton.click(), the proxy asks an ElementLocator to find the element.
+ *
+ * The ElementLocators are created by an ElementLocatorFactory - one per field.
+ * This factory wraps the normal locator and measures every lookup:
+ *
+ *     loginButton.click()
+ *         -> proxy
+ *             -> ProfilingLocator.findElement()   (starts the timer)
+ *                 -> normal locator -> browser
+ *             <- element                           (stops the timer)
+ *
+ * The numbers are collected by LocatorAudit and written to a CSV report.
+ *
+ * AMBIGUOUS LOCATORS:
+ * -------------------
+ * findElement() silently returns the FIRST match. The first time a locator
+ * is used we also run findElements() to count the matches, so a locator
+ * that matches two buttons shows up in the report.
+ *
+ * Only used when -DlocatorAudit=true (see BasePage). The element cache
+ * (CachingElementLocatorFactory) sits in front of this factory, so only
+ * real browser lookups are measured.
+ *
+ * =============================================================================
+ */
+public class ProfilingElementLocatorFactory implements ElementLocatorFactory {
+
+    private final SearchContext searchContext;
+    private final ElementLocatorFactory delegate;
+
+    /**
+     * Create the factory
+     *
+     * @param searchContext The driver used to count matches
+     * @param delegate The factory that does the real lookups
+     */
+    public ProfilingElementLocatorFactory(SearchContext searchContext, ElementLocatorFactory delegate) {
+        this.searchContext = searchContext;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        ElementLocator locator = delegate.createLocator(field);
+        if (locator == null) {
+            return null;
+        }
+        By by = new Annotations(field).buildBy();
+        String key = field.getDeclaringClass().getSimpleName() + "." + field.getName();
+        return new ProfilingLocator(locator, by, LocatorAudit.statsFor(key, by));
+    }
+
+    /**
+     * =========================================================================
+     * PROFILING LOCATOR - times the lookups of one field
+     * =========================================================================
+     */
+    private class ProfilingLocator implements ElementLocator {
+
+        private final ElementLocator locator;
+        private final By by;
+        private final LocatorAudit.Stats stats;
+
+        ProfilingLocator(ElementLocator locator, By by, LocatorAudit.Stats stats) {
+            this.locator = locator;
+            this.by = by;
+            this.stats = stats;
+        }
+
+        @Override
+        public WebElement findElement() {
+            long start = System.nanoTime();
+            try {
+                WebElement element = locator.findElement();
+                stats.record(System.nanoTime() - start, true);
+                countMatches();
+                return element;
+            } catch (NoSuchElementException e) {
+                stats.record(System.nanoTime() - start, false);
+                throw e;
+            }
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            long start = System.nanoTime();
+            List<WebElement> elements = locator.findElements();
+            stats.record(System.nanoTime() - start, !elements.isEmpty());
+            return elements;
+        }
+
+        /**
+         * Count the matches once per locator (the element is known to exist,
+         * so this does not wait for the implicit timeout)
+         */
+        private void countMatches() {
+            if (stats.needsMatchCount()) {
+                try {
+                    stats.recordMatches(searchContext.findElements(by).size());
+                } catch (RuntimeException e) {
+                    // Counting is best effort - never break the test for it
+                }
+            }
+        }
+    }
+}
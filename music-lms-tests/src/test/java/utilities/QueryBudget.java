@@ -0,0 +1,150 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * =============================================================================
+ * QUERY BUDGET - HOW MANY DATABASE QUERIES A ROUTE MAY COST
+ * =============================================================================
+ *
+ * Read from query-budget.properties (test resources, or -DqueryBudget=<file>):
+ *
+ *     /dashboard=10
+ *     /dashboard/students=12
+ *     /dashboard/students/[id]=10
+ *     default=15
+ *
+ * [id] matches one path segment. The most specific route wins (fewest
+ * [placeholders]); routes without an entry get "default", or no budget if
+ * there is no default.
+ *
+ * Only database queries (PostgREST tables and functions) count - auth and
+ * storage requests are shown in the report but not budgeted. Server actions
+ * are not budgeted either: they cost what the user's change costs.
+ *
+ * =============================================================================
+ */
+public class QueryBudget {
+
+    private static final String DEFAULT_FILE = "query-budget.properties";
+
+    private static QueryBudget loaded;
+
+    private record Route(String template, Pattern pattern, int placeholders, int limit) {
+    }
+
+    private final List<Route> routes = new ArrayList<>();
+    private final Integer defaultLimit;
+
+    private QueryBudget(Properties properties) {
+        Integer fallback = null;
+        for (String key : properties.stringPropertyNames()) {
+            int limit = Integer.parseInt(properties.getProperty(key).trim());
+            if (key.equals("default")) {
+                fallback = limit;
+                continue;
+            }
+            String regex = Pattern.quote(key).replaceAll("\\[[^/\\]]+\\]", "\\\\E[^/]+\\\\Q");
+            int placeholders = key.split("\\[", -1).length - 1;
+            routes.add(new Route(key, Pattern.compile(regex + "/?"), placeholders, limit));
+        }
+        routes.sort((a, b) -> Integer.compare(a.placeholders(), b.placeholders()));
+        defaultLimit = fallback;
+    }
+
+    /**
+     * The budget of this run (loaded once)
+     *
+     * @return Budget, or null if there is no budget file
+     */
+    public static synchronized QueryBudget load() {
+        if (loaded == null) {
+            Properties properties = new Properties();
+            String file = System.getProperty("queryBudget");
+            try {
+                if (file != null && !file.isBlank()) {
+                    try (Reader reader = Files.newBufferedReader(Path.of(file))) {
+                        properties.load(reader);
+                    }
+                } else {
+                    try (InputStream in = QueryBudget.class.getClassLoader().getResourceAsStream(DEFAULT_FILE)) {
+                        if (in == null) {
+                            return null;
+                        }
+                        properties.load(in);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Could not read query budget " + (file != null ? file : DEFAULT_FILE) + ": " + e.getMessage());
+                return null;
+            }
+            loaded = new QueryBudget(properties);
+        }
+        return loaded;
+    }
+
+    /**
+     * Budget of a route
+     *
+     * @param route Path, e.g. /dashboard/students/4f0c...
+     * @return Maximum number of database queries, or null if unlimited
+     */
+    public Integer limitFor(String route) {
+        for (Route candidate : routes) {
+            if (candidate.pattern().matcher(route).matches()) {
+                return candidate.limit();
+            }
+        }
+        return defaultLimit;
+    }
+
+    /**
+     * Navigations that issued more database queries than their budget
+     *
+     * @param navigations Navigations of one test
+     * @return One message per violation (empty if all are within budget)
+     */
+    public List<String> violations(List<SupabaseQueryMonitor.Navigation> navigations) {
+        List<String> violations = new ArrayList<>();
+        for (SupabaseQueryMonitor.Navigation navigation : navigations) {
+            if ("action".equals(navigation.trigger()) || "start".equals(navigation.trigger())) {
+                continue;
+            }
+            Integer limit = limitFor(navigation.route());
+            int queries = navigation.databaseQueries();
+            if (limit != null && queries > limit) {
+                violations.add(navigation.route() + " (" + navigation.trigger() + "): " + queries
+                    + " database queries, budget " + limit + " - " + repeated(navigation));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * The queries that were sent more than once - the usual N+1 suspects
+     */
+    private static String repeated(SupabaseQueryMonitor.Navigation navigation) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        navigation.grouped().forEach((query, count) -> {
+            if (count > 1 && !query.contains(" auth ") && !query.contains(" storage ")) {
+                repeated.put(query, count);
+            }
+        });
+        if (repeated.isEmpty()) {
+            return "no repeated query, the page simply needs fewer queries";
+        }
+        StringBuilder text = new StringBuilder("repeated: ");
+        repeated.forEach((query, count) -> text.append(query).append(" x").append(count).append("; "));
+        return text.substring(0, text.length() - 2);
+    }
+}
@@ -0,0 +1,65 @@
+package utilities;
+
+import java.util.List;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import testBase.BaseClass;
+
+/**
+ * =============================================================================
+ * QUERY BUDGET LISTENER - FAIL TESTS THAT CAUSE TOO MANY QUERIES
+ * =============================================================================
+ *
+ * After every test method it collects the Supabase queries per navigation
+ * (SupabaseQueryMonitor) and compares them with query-budget.properties.
+ * A test that PASSED but made a page issue more database queries than its
+ * budget is turned into a FAILURE:
+ *
+ *     java.lang.AssertionError: Supabase query budget exceeded:
+ *       /dashboard/students (document): 17 database queries, budget 12 -
+ *       repeated: server rest assignment_students select x6; server rest practice_logs select x6
+ *
+ * So a change that adds a query per list item fails the test that opens the
+ * list, not weeks later in production.
+ *
+ * The navigations are stored on the result (attribute "supabaseQueries");
+ * ExtentReportManager shows them as a table.
+ *
+ * Report only, without failing: -DqueryBudgetEnforce=false
+ *
+ * =============================================================================
+ */
+public class QueryBudgetListener implements IInvokedMethodListener {
+
+    /**
+     * Result attribute holding the List of SupabaseQueryMonitor.Navigation
+     */
+    public static final String ATTRIBUTE = "supabaseQueries";
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod() || !(result.getInstance() instanceof BaseClass baseClass)) {
+            return;
+        }
+        List<SupabaseQueryMonitor.Navigation> navigations = baseClass.endSupabaseQueries();
+        if (navigations.isEmpty()) {
+            return;
+        }
+        result.setAttribute(ATTRIBUTE, navigations);
+
+        QueryBudget budget = QueryBudget.load();
+        if (budget == null || result.getStatus() != ITestResult.SUCCESS
+                || !Boolean.parseBoolean(System.getProperty("queryBudgetEnforce", "true"))) {
+            return;
+        }
+        List<String> violations = budget.violations(navigations);
+        if (!violations.isEmpty()) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError("Supabase query budget exceeded:\n  "
+                + String.join("\n  ", violations)));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package utilities;
+
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import testBase.BaseClass;
+
+/**
+ * =============================================================================
+ * RETRY ANALYZER - RERUN A FAILED TEST IN A FRESH BROWSER
+ * =============================================================================
+ *
+ * Some tests fail now and then for reasons outside our code: slow auth
+ * responses, a page that renders a little later than usual, etc.
+ * Instead of rerunning the WHOLE suite, TestNG can rerun just the failed test.
+ *
+ * HOW DOES TestNG USE THIS CLASS?
+ * -------------------------------
+ * After a test fails, TestNG calls retry(result):
+ * - return true  -> run the same test again
+ * - return false -> keep the failure
+ *
+ * Before every retry we restart the browser (BaseClass.restartBrowser()),
+ * so the retry cannot be affected by the state of the failed attempt.
+ *
+ * HOW MANY RETRIES?
+ * -----------------
+ *     -DretryCount=2                 (command line, highest priority)
+ *     retryCount=1                   (config.properties)
+ *
+ * A test that passes on a retry is reported as FLAKY (see FlakyTestListener).
+ *
+ * You don't need to add this class to @Test annotations: FlakyTestListener
+ * attaches it to every test method automatically.
+ *
+ * =============================================================================
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+
+    /**
+     * Number of retries already done for this test (and data row)
+     */
+    private int attempts = 0;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        Object instance = result.getInstance();
+        if (attempts >= maxRetries(instance)) {
+            return false;
+        }
+
+        attempts++;
+        System.out.println("RETRY " + attempts + " for " + result.getMethod().getMethodName()
+            + " (" + result.getThrowable() + ")");
+
+        // Fresh driver session for the retry
+        if (instance instanceof BaseClass) {
+            try {
+                ((BaseClass) instance).restartBrowser();
+            } catch (Exception e) {
+                System.err.println("Could not restart browser before retry: " + e.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return How many times this test has been retried so far
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * How many retries a test may have in this run
+     *
+     * @param instance Test class instance (used to read config.properties)
+     */
+    private static int maxRetries(Object instance) {
+        String value = System.getProperty("retryCount");
+        if (value == null && instance instanceof BaseClass && ((BaseClass) instance).p != null) {
+            value = ((BaseClass) instance).p.getProperty("retryCount");
+        }
+        try {
+            return value == null ? 1 : Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Number of retries a finished result needed
+     *
+     * @param result A test result
+     * @return 0 if the test was not retried (or has no RetryAnalyzer)
+     */
+    public static int attemptsOf(ITestResult result) {
+        IRetryAnalyzer analyzer = result.getMethod().getRetryAnalyzer(result);
+        return analyzer instanceof RetryAnalyzer ? ((RetryAnalyzer) analyzer).getAttempts() : 0;
+    }
+}
@@ -0,0 +1,304 @@
+package utilities;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * =============================================================================
+ * ROUTE COVERAGE - WHICH TEST CLASS VISITS WHICH APP ROUTE
+ * =============================================================================
+ *
+ * TestImpactAnalyzer needs to know which test classes exercise which parts of
+ * the Next.js app. Instead of maintaining that list by hand, we RECORD it:
+ *
+ * 1. BaseClass wraps every new WebDriver with track()
+ * 2. Every URL the browser lands on is stored for the running test class -
+ *    the URL after redirects and client-side navigation, not the one that
+ *    was requested (see "LANDED URLS" below)
+ * 3. Every page object created with that driver is stored as well
+ * 4. When the suite finishes, everything is merged into
+ *    ./history/route-coverage.properties
+ *
+ * FILE FORMAT:
+ * ------------
+ *     testCases.TC_Auth_001_LoginTest.routes=/dashboard,/login,/signup
+ *     testCases.TC_Auth_001_LoginTest.pages=DashboardPage,LoginPage,SignupPage
+ *
+ * New entries are ADDED to the old ones (never removed), so a partial run
+ * never makes the analyzer forget a mapping.
+ *
+ * DECORATOR PATTERN:
+ * ------------------
+ * Selenium's EventFiringDecorator wraps a WebDriver and calls our listener
+ * around every command. The test code keeps using the driver as before.
+ *
+ * LANDED URLS:
+ * ------------
+ * get("/dashboard") may end on /login (middleware redirect), and a click on
+ * a Next.js <Link> changes the URL AFTER click() has returned. Chrome/Edge
+ * therefore report every main-frame navigation through CDP
+ * (Page.frameNavigated, Page.navigatedWithinDocument for router.push), the
+ * moment it happens. Without CDP (Firefox) the listener reads the URL once
+ * after get(), and once before the next command after a click - never a
+ * waiting loop, so a click that does not navigate costs one extra call.
+ *
+ * =============================================================================
+ */
+public class RouteCoverage implements ISuiteListener {
+
+    /**
+     * History file name inside ./history/
+     */
+    public static final String HISTORY_FILE = "route-coverage.properties";
+
+    /**
+     * Visited URL paths per test class (class name -> paths)
+     */
+    private static final Map<String, Set<String>> ROUTES = new ConcurrentHashMap<>();
+
+    /**
+     * Page objects used per test class (class name -> simple page class names)
+     */
+    private static final Map<String, Set<String>> PAGES = new ConcurrentHashMap<>();
+
+    /**
+     * Which test class owns which (decorated) driver
+     */
+    private static final Map<WebDriver, String> OWNERS = new ConcurrentHashMap<>();
+
+    /**
+     * Wrap a driver so that every visited URL is recorded for a test class
+     *
+     * @param driver The freshly created browser driver
+     * @param testClass The test class that owns the driver
+     * @return The decorated driver - use it instead of the original
+     */
+    public static WebDriver track(WebDriver driver, Class<?> testClass) {
+        String owner = testClass.getName();
+        DevTools devTools = DevToolsSupport.open(driver);
+        if (devTools != null) {
+            listenForNavigation(devTools, owner);
+        }
+        WebDriver decorated = new EventFiringDecorator<>(new UrlListener(driver, owner, devTools == null)).decorate(driver);
+        OWNERS.put(decorated, owner);
+        return decorated;
+    }
+
+    /**
+     * Record every URL the main frame navigates to (Chrome/Edge)
+     *
+     * @param devTools Open CDP session of the driver
+     * @param owner Test class name
+     */
+    private static void listenForNavigation(DevTools devTools, String owner) {
+        AtomicReference<Object> mainFrame = new AtomicReference<>();
+        DevToolsSupport.on(devTools, "Page.frameNavigated", event -> {
+            if (event.get("frame") instanceof Map<?, ?> frame && frame.get("parentId") == null) {
+                mainFrame.set(frame.get("id"));
+                recordUrl(owner, String.valueOf(frame.get("url")));
+            }
+        });
+        DevToolsSupport.on(devTools, "Page.navigatedWithinDocument", event -> {
+            if (event.get("frameId") != null && event.get("frameId").equals(mainFrame.get())) {
+                recordUrl(owner, String.valueOf(event.get("url")));
+            }
+        });
+        try {
+            DevToolsSupport.send(devTools, "Page.enable", Map.of());
+        } catch (RuntimeException e) {
+            System.err.println("Route coverage: navigation events not available: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop tracking a driver (called when the browser is closed)
+     *
+     * @param driver The decorated driver returned by track()
+     */
+    public static void release(WebDriver driver) {
+        if (driver != null) {
+            OWNERS.remove(driver);
+        }
+    }
+
+    /**
+     * Record that a page object was created with a tracked driver
+     *
+     * Called from the BasePage constructor.
+     *
+     * @param driver The driver passed to the page object
+     * @param pageClass The page object class
+     */
+    public static void recordPage(WebDriver driver, Class<?> pageClass) {
+        String owner = driver == null ? null : OWNERS.get(driver);
+        if (owner != null) {
+            PAGES.computeIfAbsent(owner, k -> ConcurrentHashMap.newKeySet()).add(pageClass.getSimpleName());
+        }
+    }
+
+    /**
+     * Record a visited URL for a test class
+     *
+     * Only the path is kept: "http://localhost:3000/login?next=x" -> "/login"
+     */
+    private static void recordUrl(String owner, String url) {
+        if (url == null) {
+            return;
+        }
+        try {
+            String path = URI.create(url).getPath();
+            if (path == null || path.isEmpty()) {
+                path = "/";
+            } else if (path.length() > 1 && path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            ROUTES.computeIfAbsent(owner, k -> ConcurrentHashMap.newKeySet()).add(path);
+        } catch (IllegalArgumentException e) {
+            // Not a normal URL (e.g. "about:blank" or "data:,") - ignore it
+        }
+    }
+
+    /**
+     * Called once when the whole suite has finished - save the coverage map
+     *
+     * @param suite The finished suite
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        if (ROUTES.isEmpty() && PAGES.isEmpty()) {
+            return;
+        }
+
+        HistoryFile.update(HISTORY_FILE, "Routes and page objects per test class (written by RouteCoverage)", history -> {
+            merge(history, ROUTES, ".routes");
+            merge(history, PAGES, ".pages");
+        });
+        System.out.println("Route coverage saved to: " + HistoryFile.resolve(HISTORY_FILE));
+    }
+
+    /**
+     * Add recorded values to the comma separated lists in the history file
+     */
+    private static void merge(Properties history, Map<String, Set<String>> recorded, String suffix) {
+        for (Map.Entry<String, Set<String>> entry : recorded.entrySet()) {
+            String key = entry.getKey() + suffix;
+            Set<String> values = new TreeSet<>(entry.getValue());
+            values.addAll(split(history.getProperty(key)));
+            history.setProperty(key, String.join(",", values));
+        }
+    }
+
+    /**
+     * Split a comma separated history value
+     *
+     * @param value Value from the history file (may be null)
+     * @return The individual entries
+     */
+    static Set<String> split(String value) {
+        if (value == null || value.isBlank()) {
+            return Collections.emptySet();
+        }
+        Set<String> values = new TreeSet<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                values.add(part.trim());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * =========================================================================
+     * URL LISTENER - receives callbacks from EventFiringDecorator
+     * =========================================================================
+     *
+     * Only used for browsers without CDP: the URL after get() already
+     * includes server redirects; after a click the app may navigate a
+     * moment later (e.g. "Sign up" link), so the URL is read when the test
+     * sends its NEXT command instead of right away. With CDP the navigation
+     * events record everything.
+     */
+    private static class UrlListener implements WebDriverListener {
+
+        private final WebDriver original;
+        private final String owner;
+        private final boolean poll;
+        private volatile boolean clicked;
+
+        UrlListener(WebDriver original, String owner, boolean poll) {
+            this.original = original;
+            this.owner = owner;
+            this.poll = poll;
+        }
+
+        @Override
+        public void afterGet(WebDriver driver, String url) {
+            if (poll) {
+                recordUrl(owner, currentUrl());
+            }
+        }
+
+        @Override
+        public void afterTo(WebDriver.Navigation navigation, String url) {
+            if (poll) {
+                recordUrl(owner, currentUrl());
+            }
+        }
+
+        @Override
+        public void afterClick(WebElement element) {
+            if (poll) {
+                clicked = true;
+            }
+        }
+
+        @Override
+        public void beforeAnyWebDriverCall(WebDriver driver, Method method, Object[] args) {
+            recordAfterClick();
+        }
+
+        @Override
+        public void beforeAnyWebElementCall(WebElement element, Method method, Object[] args) {
+            recordAfterClick();
+        }
+
+        @Override
+        public void beforeAnyNavigationCall(WebDriver.Navigation navigation, Method method, Object[] args) {
+            recordAfterClick();
+        }
+
+        /**
+         * Record where the last click led, once, before the next command
+         */
+        private void recordAfterClick() {
+            if (clicked) {
+                clicked = false;
+                recordUrl(owner, currentUrl());
+            }
+        }
+
+        private String currentUrl() {
+            try {
+                return original.getCurrentUrl();
+            } catch (Exception e) {
+                // Browser busy or closed - coverage is best effort
+                return null;
+            }
+        }
+    }
+}
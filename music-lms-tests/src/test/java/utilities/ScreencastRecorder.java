@@ -0,0 +1,236 @@
+package utilities;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+/**
+ * =============================================================================
+ * SCREENCAST RECORDER - A SHORT VIDEO OF THE SECONDS BEFORE A FAILURE
+ * =============================================================================
+ *
+ * A screenshot shows WHERE a test ended, not HOW it got there. Recording every
+ * test as video is expensive. This recorder keeps only the LAST few seconds:
+ *
+ *     Chrome --(CDP Page.screencastFrame, JPEG)--> FrameRingBuffer (native memory)
+ *
+ *     test passes -> discard()   frames forgotten, nothing encoded
+ *     test fails  -> save(name)  last -DscreencastSeconds encoded as an
+ *                                animated GIF next to the screenshots
+ *
+ * Chrome only sends a frame when the page CHANGES, so an idle page costs
+ * nothing. Frames are scaled down (-DscreencastWidth, default 800 px).
+ *
+ * Chrome waits for an ACK (Page.screencastFrameAck) before the next frame.
+ * The ack is a CDP command, and a command sent from the event handler would
+ * wait for its answer on the very websocket thread that has to deliver it.
+ * So the handler only queues the ack; a small "screencast-ack" thread sends it.
+ *
+ * Only Chrome and Edge support the screencast; start() returns null for
+ * Firefox. Switch it off with screencast=false in config.properties or
+ * -Dscreencast=false.
+ *
+ * =============================================================================
+ */
+public class ScreencastRecorder {
+
+    private final DevTools devTools;
+    private final FrameRingBuffer frames;
+    private volatile boolean running = true;
+
+    /**
+     * Sends the frame ACKs outside Selenium's websocket thread (see above)
+     */
+    private final ExecutorService acks = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "screencast-ack");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScreencastRecorder(DevTools devTools, FrameRingBuffer frames) {
+        this.devTools = devTools;
+        this.frames = frames;
+    }
+
+    /**
+     * Start streaming frames from the browser
+     *
+     * @param driver Chrome or Edge driver
+     * @param seconds How many seconds before the failure to keep
+     * @param bufferMb Native memory for frames (older frames are dropped when full)
+     * @return The running recorder, or null if the browser has no screencast
+     */
+    public static ScreencastRecorder start(WebDriver driver, int seconds, int bufferMb) {
+        DevTools devTools = DevToolsSupport.open(driver);
+        if (devTools == null) {
+            return null;
+        }
+        ScreencastRecorder recorder = new ScreencastRecorder(devTools,
+            new FrameRingBuffer(bufferMb * 1024 * 1024, seconds * 1000L));
+
+        DevToolsSupport.on(devTools, "Page.screencastFrame", recorder::onFrame);
+        int width = Integer.getInteger("screencastWidth", 800);
+        DevToolsSupport.send(devTools, "Page.startScreencast", Map.of(
+            "format", "jpeg",
+            "quality", 60,
+            "maxWidth", width,
+            "maxHeight", width * 3 / 4));
+        return recorder;
+    }
+
+    /**
+     * Store a frame and queue the ACK that lets Chrome send the next one
+     */
+    private void onFrame(Map<String, Object> event) {
+        Object sessionId = event.get("sessionId");
+        if (running) {
+            Object metadata = event.get("metadata");
+            long timestamp = System.currentTimeMillis();
+            if (metadata instanceof Map<?, ?> meta && meta.get("timestamp") instanceof Number seconds) {
+                timestamp = (long) (seconds.doubleValue() * 1000);
+            }
+            frames.add(Base64.getDecoder().decode((String) event.get("data")), timestamp);
+        }
+        try {
+            acks.execute(() -> {
+                try {
+                    DevToolsSupport.send(devTools, "Page.screencastFrameAck", Map.of("sessionId", sessionId));
+                } catch (RuntimeException e) {
+                    // Browser is closing - no more frames will come
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Recorder stopped - no ACK, no more frames
+        }
+    }
+
+    /**
+     * Forget the frames recorded so far (test passed or a new test starts)
+     */
+    public void discard() {
+        frames.clear();
+    }
+
+    /**
+     * Encode the frames in the buffer as an animated GIF, then forget them
+     *
+     * @param filePath Where to write the GIF
+     * @return true if a file was written (false if no frames were recorded)
+     * @throws IOException If the file cannot be written
+     */
+    public boolean save(String filePath) throws IOException {
+        List<FrameRingBuffer.Frame> recorded = frames.frames();
+        frames.clear();
+        if (recorded.isEmpty()) {
+            return false;
+        }
+        writeGif(recorded, new File(filePath));
+        return true;
+    }
+
+    /**
+     * Stop the screencast (call before the browser is closed)
+     */
+    public void stop() {
+        running = false;
+        frames.clear();
+        try {
+            DevToolsSupport.send(devTools, "Page.stopScreencast", Map.of());
+        } catch (RuntimeException e) {
+            // Browser already gone
+        }
+        acks.shutdownNow();
+    }
+
+    /**
+     * Write frames as an animated GIF; each frame is shown until the next one
+     */
+    private static void writeGif(List<FrameRingBuffer.Frame> recorded, File file) throws IOException {
+        file.getParentFile().mkdirs();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        // Via OutputStream: ImageIO's own file stream does not truncate an existing file
+        try (OutputStream fileOut = Files.newOutputStream(file.toPath());
+             ImageOutputStream out = ImageIO.createImageOutputStream(fileOut)) {
+            writer.setOutput(out);
+            writer.prepareWriteSequence(null);
+
+            Iterator<FrameRingBuffer.Frame> it = recorded.iterator();
+            FrameRingBuffer.Frame frame = it.next();
+            boolean first = true;
+            while (frame != null) {
+                FrameRingBuffer.Frame next = it.hasNext() ? it.next() : null;
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(frame.data()));
+                if (image != null) {
+                    // Last frame: hold it for a second so the end is visible
+                    long delayMs = next == null ? 1000 : next.timestampMillis() - frame.timestampMillis();
+                    writer.writeToSequence(new IIOImage(image, null, frameMetadata(writer, image, delayMs, first)), null);
+                    first = false;
+                }
+                frame = next;
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * GIF metadata: display time of the frame, and "loop forever" on the first frame
+     */
+    private static IIOMetadata frameMetadata(ImageWriter writer, BufferedImage image, long delayMs, boolean first)
+            throws IOException {
+        IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), null);
+        String format = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+        IIOMetadataNode control = child(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("transparentColorIndex", "0");
+        // GIF delay unit is 1/100 s
+        control.setAttribute("delayTime", String.valueOf(Math.max(2, Math.min(65535, delayMs / 10))));
+
+        if (first) {
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[] {1, 0, 0});
+            child(root, "ApplicationExtensions").appendChild(loop);
+        }
+        metadata.setFromTree(format, root);
+        return metadata;
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode parent, String name) {
+        for (int i = 0; i < parent.getLength(); i++) {
+            if (parent.item(i).getNodeName().equalsIgnoreCase(name)) {
+                return (IIOMetadataNode) parent.item(i);
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        parent.appendChild(node);
+        return node;
+    }
+}
@@ -0,0 +1,409 @@
+package utilities;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.json.Json;
+
+/**
+ * =============================================================================
+ * SERVER ACTION PROFILER - HOW LONG DID createLesson TAKE?
+ * =============================================================================
+ *
+ * WHAT IS A SERVER ACTION?
+ * ------------------------
+ * Every change in the app (createLesson, sendMessage, submitAssignment, ...)
+ * is a Next.js server action: a function in an actions.ts file marked
+ * 'use server'. The browser calls it with a POST to the current page that
+ * carries a "Next-Action: <id>" header - the id is a hash, not the name.
+ *
+ * WHAT THIS CLASS DOES:
+ * ---------------------
+ * It watches the network of Chrome/Edge (CDP Network domain), picks out the
+ * Next-Action POSTs and splits their time:
+ *
+ *     |-- send --|------ server ------|-- download --|
+ *     request    request     first byte of            last byte
+ *     created    sent        the response
+ *
+ *     server   = waiting for the first byte (the action runs + Supabase calls)
+ *     transfer = send + download (queueing, upload, streaming the result)
+ *
+ * The id is turned into a name with the action manifest of the Next.js build
+ * (.next/server/server-reference-manifest.json):
+ *
+ *     7f3a9c...  ->  dashboard/schedule/actions.ts#createLesson
+ *
+ * Without a build (or with an old Next.js) the page and the id are shown.
+ *
+ * Every test gets a table of its actions in the report, and every <test>
+ * of the suite a summary with percentiles (see ExtentReportManager).
+ *
+ * Switch it off with serverActionProfiler=false in config.properties or
+ * -DserverActionProfiler=false. Firefox has no CDP: start() returns null.
+ *
+ * =============================================================================
+ */
+public class ServerActionProfiler {
+
+    /**
+     * One finished server action call
+     *
+     * @param action Resolved name (or page + id)
+     * @param status HTTP status (0 if the request failed)
+     * @param totalMs Request created -> last byte
+     * @param serverMs Request sent -> first byte of the response
+     * @param transferMs totalMs - serverMs
+     * @param bytes Response size on the wire
+     */
+    public record Call(String action, int status, double totalMs, double serverMs, double transferMs, long bytes) {
+    }
+
+    /**
+     * Finished call before its name is looked up (done on the test thread)
+     */
+    private record Finished(String actionId, String url, int status, double totalMs, double serverMs, long bytes) {
+    }
+
+    /**
+     * Request seen, response not finished yet
+     */
+    private static final class Pending {
+        final String actionId;
+        final String url;
+        final double startSeconds;
+        int status;
+        double serverMs = -1;
+
+        Pending(String actionId, String url, double startSeconds) {
+            this.actionId = actionId;
+            this.url = url;
+            this.startSeconds = startSeconds;
+        }
+    }
+
+    /** Calls of all tests since the last summary table */
+    private static final Queue<Call> RUN = new ConcurrentLinkedQueue<>();
+
+    /** Action id -> name, read from the build manifest */
+    private static final Map<String, String> NAMES = new ConcurrentHashMap<>();
+    private static volatile long manifestModified = -1;
+
+    private final DevTools devTools;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Queue<Finished> calls = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+
+    private ServerActionProfiler(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * Start watching the network of a browser
+     *
+     * @param driver Chrome or Edge driver
+     * @return The running profiler, or null if the browser has no CDP
+     */
+    public static ServerActionProfiler start(WebDriver driver) {
+        DevTools devTools = DevToolsSupport.open(driver);
+        if (devTools == null) {
+            return null;
+        }
+        ServerActionProfiler profiler = new ServerActionProfiler(devTools);
+        DevToolsSupport.on(devTools, "Network.requestWillBeSent", profiler::onRequest);
+        DevToolsSupport.on(devTools, "Network.responseReceived", profiler::onResponse);
+        DevToolsSupport.on(devTools, "Network.loadingFinished", profiler::onFinished);
+        DevToolsSupport.on(devTools, "Network.loadingFailed", profiler::onFailed);
+        DevToolsSupport.send(devTools, "Network.enable", Map.of());
+        return profiler;
+    }
+
+    // =========================================================================
+    // CDP EVENT HANDLERS - called on the websocket thread, must stay short
+    // =========================================================================
+
+    private void onRequest(Map<String, Object> event) {
+        if (!running || !(event.get("request") instanceof Map<?, ?> request)) {
+            return;
+        }
+        String actionId = header(request.get("headers"), "next-action");
+        if (actionId != null && "POST".equals(request.get("method"))) {
+            pending.put((String) event.get("requestId"),
+                new Pending(actionId, String.valueOf(request.get("url")), number(event.get("timestamp"))));
+        }
+    }
+
+    private void onResponse(Map<String, Object> event) {
+        Pending call = pending.get(event.get("requestId"));
+        if (call == null || !(event.get("response") instanceof Map<?, ?> response)) {
+            return;
+        }
+        call.status = (int) number(response.get("status"));
+        if (response.get("timing") instanceof Map<?, ?> timing) {
+            // requestTime is in seconds, the other values are ms after requestTime
+            double sendEnd = number(timing.get("sendEnd"));
+            double headersEnd = number(timing.get("receiveHeadersEnd"));
+            call.serverMs = Math.max(0, headersEnd - sendEnd);
+        }
+    }
+
+    private void onFinished(Map<String, Object> event) {
+        Pending call = pending.remove(event.get("requestId"));
+        if (call != null) {
+            finish(call, number(event.get("timestamp")), (long) number(event.get("encodedDataLength")));
+        }
+    }
+
+    private void onFailed(Map<String, Object> event) {
+        Pending call = pending.remove(event.get("requestId"));
+        if (call != null) {
+            call.status = 0;
+            finish(call, number(event.get("timestamp")), 0);
+        }
+    }
+
+    private void finish(Pending call, double endSeconds, long bytes) {
+        double totalMs = Math.max(0, (endSeconds - call.startSeconds) * 1000);
+        // No response timing (e.g. failed request): count everything as server time
+        double serverMs = call.serverMs < 0 ? totalMs : Math.min(call.serverMs, totalMs);
+        calls.add(new Finished(call.actionId, call.url, call.status, totalMs, serverMs, bytes));
+    }
+
+    private static String header(Object headers, String name) {
+        if (headers instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (name.equalsIgnoreCase(String.valueOf(entry.getKey()))) {
+                    return String.valueOf(entry.getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    // =========================================================================
+    // ACTION NAMES (from the Next.js build)
+    // =========================================================================
+
+    /**
+     * Name of an action id, e.g. "dashboard/schedule/actions.ts#createLesson"
+     *
+     * The manifest is read again when an unknown id shows up and the file has
+     * changed (next dev compiles actions on first use).
+     */
+    static String actionName(String actionId, String url) {
+        String name = NAMES.get(actionId);
+        if (name == null) {
+            loadManifest();
+            name = NAMES.get(actionId);
+        }
+        if (name != null) {
+            return name;
+        }
+        String page = url == null ? "?" : URI.create(url).getPath();
+        return page + " [" + actionId.substring(0, Math.min(8, actionId.length())) + "]";
+    }
+
+    private static synchronized void loadManifest() {
+        Path manifest = manifestPath();
+        if (manifest == null) {
+            return;
+        }
+        try {
+            long modified = Files.getLastModifiedTime(manifest).toMillis();
+            if (modified == manifestModified) {
+                return;
+            }
+            manifestModified = modified;
+            Map<String, Object> root = new Json().toType(
+                Files.readString(manifest, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            for (String runtime : List.of("node", "edge")) {
+                if (root.get(runtime) instanceof Map<?, ?> actions) {
+                    actions.forEach((id, entry) -> {
+                        String name = nameOf(entry);
+                        if (name != null) {
+                            NAMES.put(String.valueOf(id), name);
+                        }
+                    });
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not read server action manifest " + manifest + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * "filename" + "exportedName" of a manifest entry (Next.js 15+), shortened:
+     * src/app/(dashboard)/dashboard/schedule/actions.ts -> dashboard/schedule/actions.ts
+     */
+    private static String nameOf(Object entry) {
+        if (!(entry instanceof Map<?, ?> map) || !(map.get("exportedName") instanceof String exported)) {
+            return null;
+        }
+        String file = map.get("filename") instanceof String filename ? filename : "";
+        file = file.replace('\\', '/').replaceFirst("^(\\./)?(src/)?app/", "").replaceAll("\\([^/)]*\\)/", "");
+        return file.isEmpty() ? exported : file + "#" + exported;
+    }
+
+    /**
+     * -DserverActionManifest, else the production or dev build of the app
+     * next to this project
+     */
+    private static Path manifestPath() {
+        String configured = System.getProperty("serverActionManifest");
+        List<Path> candidates = configured != null ? List.of(Paths.get(configured)) : List.of(
+            Paths.get("../.next/server/server-reference-manifest.json"),
+            Paths.get("../.next/dev/server/server-reference-manifest.json"));
+        for (Path candidate : candidates) {
+            if (Files.isRegularFile(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // =========================================================================
+    // RESULTS
+    // =========================================================================
+
+    /**
+     * Calls finished since the last drain() (called when a test ends)
+     *
+     * @return Calls in the order they finished
+     */
+    public List<Call> drain() {
+        List<Call> drained = new ArrayList<>();
+        Finished call;
+        while ((call = calls.poll()) != null) {
+            drained.add(new Call(actionName(call.actionId(), call.url()), call.status(),
+                call.totalMs(), call.serverMs(), call.totalMs() - call.serverMs(), call.bytes()));
+        }
+        RUN.addAll(drained);
+        return drained;
+    }
+
+    /**
+     * Stop collecting (call before the browser is closed)
+     */
+    public void stop() {
+        running = false;
+        pending.clear();
+        calls.clear();
+        try {
+            DevToolsSupport.send(devTools, "Network.disable", Map.of());
+        } catch (RuntimeException e) {
+            // Browser already gone
+        }
+    }
+
+    /**
+     * Latency per action of one test, for MarkupHelper.createTable()
+     *
+     * @param calls Calls of the test
+     * @return Header row + one row per action, slowest total first
+     */
+    public static String[][] table(List<Call> calls) {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] {"Server action", "Calls", "Total avg (ms)", "Total max (ms)",
+            "Server avg (ms)", "Transfer avg (ms)", "Status"});
+        for (List<Call> group : byAction(calls)) {
+            rows.add(new String[] {
+                group.get(0).action(),
+                String.valueOf(group.size()),
+                ms(group.stream().mapToDouble(Call::totalMs).average().orElse(0)),
+                ms(group.stream().mapToDouble(Call::totalMs).max().orElse(0)),
+                ms(group.stream().mapToDouble(Call::serverMs).average().orElse(0)),
+                ms(group.stream().mapToDouble(Call::transferMs).average().orElse(0)),
+                statuses(group)});
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    /**
+     * Latency per action over ALL tests since the last runTable() call
+     * (ExtentReportManager calls it once per &lt;test&gt; of the suite)
+     *
+     * @return Header row + one row per action (percentiles), or null if no calls
+     */
+    public static String[][] runTable() {
+        List<Call> all = new ArrayList<>();
+        Call call;
+        while ((call = RUN.poll()) != null) {
+            all.add(call);
+        }
+        if (all.isEmpty()) {
+            return null;
+        }
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] {"Server action", "Calls", "Total p50 (ms)", "Total p95 (ms)", "Total max (ms)",
+            "Server p50 (ms)", "Transfer p50 (ms)"});
+        for (List<Call> group : byAction(all)) {
+            double[] total = group.stream().mapToDouble(Call::totalMs).sorted().toArray();
+            double[] server = group.stream().mapToDouble(Call::serverMs).sorted().toArray();
+            double[] transfer = group.stream().mapToDouble(Call::transferMs).sorted().toArray();
+            rows.add(new String[] {
+                group.get(0).action(),
+                String.valueOf(group.size()),
+                ms(percentile(total, 50)),
+                ms(percentile(total, 95)),
+                ms(total[total.length - 1]),
+                ms(percentile(server, 50)),
+                ms(percentile(transfer, 50))});
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    /**
+     * Calls grouped by action, the group with the slowest average first
+     */
+    private static List<List<Call>> byAction(List<Call> calls) {
+        Map<String, List<Call>> groups = new LinkedHashMap<>();
+        for (Call call : calls) {
+            groups.computeIfAbsent(call.action(), key -> new ArrayList<>()).add(call);
+        }
+        List<List<Call>> sorted = new ArrayList<>(groups.values());
+        sorted.sort(Comparator.comparingDouble(
+            (List<Call> group) -> group.stream().mapToDouble(Call::totalMs).average().orElse(0)).reversed());
+        return sorted;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values
+     */
+    private static double percentile(double[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static String statuses(List<Call> group) {
+        Map<Integer, Integer> counts = new TreeMap<>();
+        group.forEach(call -> counts.merge(call.status(), 1, Integer::sum));
+        StringBuilder text = new StringBuilder();
+        counts.forEach((status, count) -> text.append(text.length() == 0 ? "" : ", ")
+            .append(status == 0 ? "failed" : status).append(" x").append(count));
+        return text.toString();
+    }
+
+    private static String ms(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}
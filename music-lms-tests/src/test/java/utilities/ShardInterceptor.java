@@ -0,0 +1,215 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+/**
+ * =============================================================================
+ * SHARD INTERCEPTOR - LONGEST TESTS FIRST, BALANCED CI SHARDS
+ * =============================================================================
+ *
+ * TestNG calls a method interceptor with the list of test methods it is about
+ * to run. We can reorder or remove methods before anything executes.
+ *
+ * WHAT DOES THIS INTERCEPTOR DO?
+ * ------------------------------
+ * 1. Looks up each method's duration in the history written by DurationListener
+ * 2. Sorts methods so the LONGEST tests run FIRST
+ * 3. If -Dshard=i/N is given, keeps only the methods that belong to shard i
+ *
+ * WHY LONGEST FIRST?
+ * ------------------
+ * If a 60 second test starts last, the whole run waits for it at the end.
+ * Starting it first lets shorter tests fill in around it.
+ *
+ * HOW ARE SHARDS BALANCED?
+ * ------------------------
+ * We use the "longest processing time" rule:
+ *
+ *     Sorted durations: 40s, 30s, 20s, 10s, 10s     Shards: 2
+ *
+ *     40s -> shard 1  (1: 40s, 2:  0s)
+ *     30s -> shard 2  (1: 40s, 2: 30s)
+ *     20s -> shard 2  (1: 40s, 2: 50s)
+ *     10s -> shard 1  (1: 50s, 2: 50s)
+ *     10s -> shard 1 or 2, picked by name  (tie: 1: 50s, 2: 50s)
+ *
+ * Each method goes to the shard with the smallest total so far. When several
+ * shards are equally light, the method's name picks one of them (a stable
+ * hash), so ties do not all land on shard 1. Every CI job computes the same
+ * assignment from the same history file, so each method runs in exactly one
+ * shard.
+ *
+ * USAGE:
+ * ------
+ *     mvn test -Dshard=1/3      // first of three parallel CI jobs
+ *     mvn test -Dshard=2/3
+ *     mvn test -Dshard=3/3
+ *
+ * Methods without history are estimated with the average known duration.
+ *
+ * ONE SNAPSHOT PER RUN:
+ * ---------------------
+ * The interceptor runs once per <test> block, and DurationListener (or
+ * another worker) may rewrite the history file in between. The history is
+ * therefore read ONCE per JVM, on first use, and every <test> block is split
+ * from that same snapshot.
+ *
+ * The shard totals are kept for the whole SUITE, not per <test> block: the
+ * second block continues from the loads the first one left, so a shard that
+ * got the heavier half of block 1 gets less of block 2.
+ *
+ * =============================================================================
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+
+    /**
+     * Estimate used when there is no history at all (milliseconds)
+     */
+    private static final long DEFAULT_DURATION = 5000;
+
+    /**
+     * Durations as they were when the run started (see ONE SNAPSHOT PER RUN)
+     */
+    private static Properties snapshot;
+
+    /**
+     * Running shard totals per suite, carried from one <test> block to the next
+     */
+    private static final Map<String, long[]> LOADS = new HashMap<>();
+
+    private static final Logger LOGGER = LogManager.getLogger(ShardInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Properties history = history();
+        long fallback = averageDuration(history);
+
+        // Sort longest first; ties are broken by name so every job agrees
+        List<IMethodInstance> sorted = new ArrayList<>(methods);
+        sorted.sort(Comparator
+            .comparingLong((IMethodInstance m) -> estimate(m, history, fallback)).reversed()
+            .thenComparing(m -> DurationListener.keyOf(m.getMethod())));
+
+        String shardSpec = System.getProperty("shard");
+        if (shardSpec == null || shardSpec.isBlank()) {
+            return sorted;
+        }
+
+        int[] shard = parseShard(shardSpec);
+        int index = shard[0] - 1;
+        int count = shard[1];
+
+        // Assign every method to the currently lightest shard
+        List<IMethodInstance> selected = new ArrayList<>();
+        long total;
+        synchronized (LOADS) {
+            long[] load = LOADS.computeIfAbsent(context.getSuite().getName(), k -> new long[count]);
+            for (IMethodInstance method : sorted) {
+                int lightest = lightest(load, DurationListener.keyOf(method.getMethod()));
+                load[lightest] += estimate(method, history, fallback);
+                if (lightest == index) {
+                    selected.add(method);
+                }
+            }
+            total = load[index];
+        }
+
+        LOGGER.info("Shard {} of '{}': running {} of {} methods (~{} ms in the suite so far)",
+            shardSpec, context.getName(), selected.size(), methods.size(), total);
+        return selected;
+    }
+
+    /**
+     * The shard with the smallest total; among equally light shards the one
+     * picked by a stable hash of the method key
+     */
+    private static int lightest(long[] load, String key) {
+        long min = Long.MAX_VALUE;
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < load.length; i++) {
+            if (load[i] < min) {
+                min = load[i];
+                candidates.clear();
+            }
+            if (load[i] == min) {
+                candidates.add(i);
+            }
+        }
+        return candidates.get(Math.floorMod(key.hashCode(), candidates.size()));
+    }
+
+    /**
+     * Load the duration history on first use and keep it for the whole run
+     */
+    private static synchronized Properties history() {
+        if (snapshot == null) {
+            snapshot = HistoryFile.load(DurationListener.HISTORY_FILE);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Parse "i/N" into {i, N}
+     *
+     * @param spec Shard specification, e.g. "2/4"
+     * @return Array with the 1-based shard index and the shard count
+     */
+    private static int[] parseShard(String spec) {
+        String[] parts = spec.trim().split("/");
+        try {
+            if (parts.length == 2) {
+                int index = Integer.parseInt(parts[0].trim());
+                int count = Integer.parseInt(parts[1].trim());
+                if (count >= 1 && index >= 1 && index <= count) {
+                    return new int[] {index, count};
+                }
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the error below
+        }
+        throw new IllegalArgumentException("Invalid -Dshard value '" + spec + "', expected i/N such as 1/4");
+    }
+
+    /**
+     * Look up the expected duration of a method
+     */
+    private static long estimate(IMethodInstance method, Properties history, long fallback) {
+        String value = history.getProperty(DurationListener.keyOf(method.getMethod()));
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Average of all known durations, used for methods we have never seen
+     */
+    private static long averageDuration(Properties history) {
+        long total = 0;
+        int count = 0;
+        for (String key : history.stringPropertyNames()) {
+            try {
+                total += Long.parseLong(history.getProperty(key));
+                count++;
+            } catch (NumberFormatException e) {
+                // Ignore corrupt entries
+            }
+        }
+        return count == 0 ? DEFAULT_DURATION : total / count;
+    }
+}
@@ -0,0 +1,171 @@
+package utilities;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * =============================================================================
+ * SNAPSHOT DATA SOURCE - COMPACT BINARY COPY OF A WORKBOOK (.tdb)
+ * =============================================================================
+ *
+ * TestDataConverter writes ALL sheets of an .xlsx into one .tdb file. The
+ * file is not meant to be edited - change the .xlsx and convert again.
+ *
+ * FILE LAYOUT:
+ * ------------
+ *     "MLTD"  version(1 byte)  sheetCount(int)
+ *     for every sheet:
+ *         name(string)  byteLength(int)     <- lets the reader skip the sheet
+ *         rows(int)  cols(int)              <- rows include the header
+ *         valueCount(int)  value(string) ...  <- every DIFFERENT value once
+ *         cell(int) ...                     <- rows x cols numbers into the value list
+ *
+ *     string = length(int) + UTF-8 bytes
+ *
+ * WHY IS IT SMALL AND FAST?
+ * -------------------------
+ * Test data repeats a lot ("true", "false", "Beginner", ...). Every value
+ * is stored ONCE and the cells only point to it, so reading a sheet creates
+ * one String per DIFFERENT value. The file is memory-mapped and the reader
+ * jumps straight to the requested sheet.
+ *
+ * =============================================================================
+ */
+public class SnapshotDataSource implements DataSource {
+
+    /**
+     * File extension (without dot)
+     */
+    public static final String EXTENSION = "tdb";
+
+    private static final byte[] MAGIC = {'M', 'L', 'T', 'D'};
+    private static final byte VERSION = 1;
+
+    @Override
+    public String[][] read(Path file, String sheetName) throws IOException {
+        ByteBuffer buf = DataSources.map(file);
+        for (byte b : MAGIC) {
+            if (buf.get() != b) {
+                throw new IOException("Not a test data snapshot: " + file);
+            }
+        }
+        if (buf.get() != VERSION) {
+            throw new IOException("Unsupported snapshot version in " + file + " - convert the .xlsx again");
+        }
+
+        int sheetCount = buf.getInt();
+        for (int s = 0; s < sheetCount; s++) {
+            String name = readString(buf);
+            int byteLength = buf.getInt();
+            if (!name.equals(sheetName)) {
+                buf.position(buf.position() + byteLength);
+                continue;
+            }
+
+            int totalRows = buf.getInt();
+            int totalCols = buf.getInt();
+            String[] values = new String[buf.getInt()];
+            for (int v = 0; v < values.length; v++) {
+                values[v] = readString(buf);
+            }
+
+            // Skip the header row (like ExcelDataSource)
+            buf.position(buf.position() + totalCols * Integer.BYTES);
+            String[][] data = new String[Math.max(0, totalRows - 1)][totalCols];
+            for (String[] row : data) {
+                for (int j = 0; j < totalCols; j++) {
+                    row[j] = values[buf.getInt()];
+                }
+            }
+            return data;
+        }
+        throw new IllegalArgumentException("Sheet '" + sheetName + "' not found in " + file);
+    }
+
+    /**
+     * Write all sheets of a workbook as one snapshot (used by TestDataConverter)
+     *
+     * @param file Target file
+     * @param sheets Sheet name -> all rows, header first (insertion order is kept)
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path file, Map<String, List<String[]>> sheets) throws IOException {
+        try (OutputStream os = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(sheets.size());
+            for (Map.Entry<String, List<String[]>> sheet : sheets.entrySet()) {
+                byte[] body = sheetBody(sheet.getValue());
+                writeString(out, sheet.getKey());
+                out.writeInt(body.length);
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Encode one sheet: size, value list, cell references
+     */
+    private static byte[] sheetBody(List<String[]> rows) throws IOException {
+        int totalCols = 0;
+        for (String[] row : rows) {
+            totalCols = Math.max(totalCols, row.length);
+        }
+
+        // Give every different value a number, in order of appearance
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> values = new ArrayList<>();
+        int[] cells = new int[rows.size() * totalCols];
+        int c = 0;
+        for (String[] row : rows) {
+            for (int j = 0; j < totalCols; j++) {
+                String value = j < row.length && row[j] != null ? row[j] : "";
+                Integer id = ids.get(value);
+                if (id == null) {
+                    id = values.size();
+                    ids.put(value, id);
+                    values.add(value);
+                }
+                cells[c++] = id;
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(rows.size());
+        out.writeInt(totalCols);
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+        for (int cell : cells) {
+            out.writeInt(cell);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        byte[] utf8 = new byte[buf.getInt()];
+        buf.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,150 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * =============================================================================
+ * SUPABASE PROXY - SEE THE QUERIES THE NEXT.JS SERVER SENDS
+ * =============================================================================
+ *
+ * Server components and server actions query Supabase from Node.js; those
+ * requests never reach the browser, so CDP cannot count them. This proxy sits
+ * between the app and Supabase:
+ *
+ *     browser ──► Next.js server ──► SupabaseProxy (localhost:54329) ──► supabaseUrl
+ *                                         │
+ *                                         └─► SupabaseQueryMonitor (source = server)
+ *
+ * Start the app with the proxy as its Supabase URL:
+ *
+ *     NEXT_PUBLIC_SUPABASE_URL=http://localhost:54329 npm run dev
+ *
+ * and set supabaseProxyPort=54329 (plus supabaseUrl = the real project) in
+ * config.properties. The browser then also talks to the proxy; its requests
+ * carry an Origin header and are forwarded without counting, because CDP
+ * already counts them.
+ *
+ * LIMITS:
+ * - Realtime (websockets) is not proxied - chat and notification updates
+ *   arrive only after a reload while the proxy is in use
+ * - Queries are counted for the navigation the browser made last, so run
+ *   one browser at a time
+ *
+ * =============================================================================
+ */
+public class SupabaseProxy {
+
+    /**
+     * Headers the JDK HttpClient sets itself (setting them throws)
+     */
+    private static final Set<String> RESTRICTED = Set.of(
+        "connection", "content-length", "expect", "host", "upgrade", "keep-alive", "transfer-encoding");
+
+    private static SupabaseProxy running;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private final URI upstream;
+
+    private SupabaseProxy(int port, URI upstream) throws IOException {
+        this.upstream = upstream;
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 128);
+        server.setExecutor(executor);
+        server.createContext("/", this::forward);
+        server.start();
+    }
+
+    /**
+     * Start the proxy once per test run (later calls do nothing)
+     *
+     * @param port Port the app's NEXT_PUBLIC_SUPABASE_URL points to
+     * @param supabaseUrl The real Supabase project
+     */
+    public static synchronized void startOnce(int port, String supabaseUrl) {
+        if (running != null) {
+            return;
+        }
+        try {
+            running = new SupabaseProxy(port, URI.create(supabaseUrl.replaceAll("/+$", "")));
+            Runtime.getRuntime().addShutdownHook(new Thread(running::close));
+            System.out.println("Supabase proxy listening on http://localhost:" + port + " -> " + supabaseUrl);
+        } catch (IOException e) {
+            System.err.println("Could not start Supabase proxy on port " + port + ": " + e.getMessage());
+        }
+    }
+
+    private void forward(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            URI requested = exchange.getRequestURI();
+            String prefer = exchange.getRequestHeaders().getFirst("Prefer");
+            if (exchange.getRequestHeaders().getFirst("Origin") == null) {
+                SupabaseQueryMonitor.serverRequest(method, requested, prefer);
+            }
+
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            HttpRequest.Builder request = HttpRequest.newBuilder(upstream.resolve(requested.getRawPath()
+                    + (requested.getRawQuery() == null ? "" : "?" + requested.getRawQuery())))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body.length == 0
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(body));
+            for (Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet()) {
+                if (!RESTRICTED.contains(header.getKey().toLowerCase())) {
+                    header.getValue().forEach(value -> request.header(header.getKey(), value));
+                }
+            }
+
+            HttpResponse<byte[]> response;
+            try {
+                response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                System.err.println("Supabase proxy: " + method + " " + requested + " failed: " + e.getMessage());
+                exchange.sendResponseHeaders(502, -1);
+                return;
+            }
+            response.headers().map().forEach((name, values) -> {
+                if (!name.startsWith(":") && !RESTRICTED.contains(name.toLowerCase())) {
+                    exchange.getResponseHeaders().put(name, values);
+                }
+            });
+            byte[] answer = response.body();
+            boolean noBody = "HEAD".equals(method) || response.statusCode() == 204 || response.statusCode() == 304;
+            exchange.sendResponseHeaders(response.statusCode(), noBody || answer.length == 0 ? -1 : answer.length);
+            if (!noBody && answer.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(answer);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,332 @@
+package utilities;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+/**
+ * =============================================================================
+ * SUPABASE QUERY MONITOR - HOW MANY QUERIES DOES ONE PAGE LOAD COST?
+ * =============================================================================
+ *
+ * THE PROBLEM (N+1 QUERIES):
+ * --------------------------
+ * The students page loads the list of students (1 query), then TWO more
+ * queries PER student (assignments, practice logs). With 3 students that is
+ * 7 queries, with 50 students 101 - the page gets slower with every student,
+ * and nobody notices on a test database with 2 students.
+ *
+ * WHAT THIS CLASS DOES:
+ * ---------------------
+ * It counts every Supabase request and assigns it to the page navigation
+ * that caused it:
+ *
+ *     navigation /dashboard/students (document)
+ *         server  GET  users              select
+ *         server  GET  student_profiles   select
+ *         server  GET  assignment_students select   x3   <- repeated: N+1?
+ *         server  GET  practice_logs       select   x3
+ *         browser GET  notifications       select
+ *
+ * Two feeds:
+ * - BROWSER: Chrome/Edge report every request of the page over CDP
+ * - SERVER: server components and server actions call Supabase from Node.js,
+ *   which the browser never sees. Start the app with NEXT_PUBLIC_SUPABASE_URL
+ *   pointing at SupabaseProxy (supabaseProxyPort in config.properties); the
+ *   proxy forwards to the real project and reports each request here.
+ *
+ * Navigations are recognised from the browser's requests: a page load
+ * (document), a client-side navigation (RSC request) or a server action
+ * (Next-Action POST). Queries are counted for the navigation that came last,
+ * so server-side counting assumes one browser at a time (parallel="none").
+ *
+ * QueryBudgetListener compares the counts with query-budget.properties and
+ * fails a test whose navigations issued more queries than allowed.
+ *
+ * =============================================================================
+ */
+public class SupabaseQueryMonitor {
+
+    /**
+     * Where the request came from
+     */
+    public enum Source { BROWSER, SERVER }
+
+    /**
+     * One Supabase request
+     *
+     * @param source Browser (client component) or server (Node.js)
+     * @param kind "rest", "rpc", "auth" or "storage"
+     * @param target Table, function, auth endpoint or storage bucket
+     * @param operation select, insert, update, upsert, delete, count, call, ...
+     */
+    public record Query(Source source, String kind, String target, String operation) {
+
+        /**
+         * @return true for database queries (PostgREST tables and functions)
+         */
+        public boolean isDatabase() {
+            return "rest".equals(kind) || "rpc".equals(kind);
+        }
+
+        @Override
+        public String toString() {
+            return source.name().toLowerCase(Locale.ROOT) + " " + kind + " " + target + " " + operation;
+        }
+    }
+
+    /**
+     * The queries caused by one navigation
+     *
+     * @param route Path of the page, e.g. /dashboard/students
+     * @param trigger "document" (page load), "client" (client-side navigation),
+     *                "action" (server action) or "start" (before the first navigation)
+     * @param queries Queries in the order they were sent
+     */
+    public record Navigation(String route, String trigger, List<Query> queries) {
+
+        /**
+         * @return Number of database queries (rest + rpc)
+         */
+        public int databaseQueries() {
+            return (int) queries.stream().filter(Query::isDatabase).count();
+        }
+
+        /**
+         * Identical requests counted together, most frequent first
+         *
+         * @return e.g. {"server rest assignment_students select" = 3, ...}
+         */
+        public Map<String, Integer> grouped() {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            queries.forEach(query -> counts.merge(query.toString(), 1, Integer::sum));
+            List<Map.Entry<String, Integer>> entries = new ArrayList<>(counts.entrySet());
+            entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+            Map<String, Integer> sorted = new LinkedHashMap<>();
+            entries.forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+            return sorted;
+        }
+    }
+
+    /**
+     * Monitor that receives the queries of SupabaseProxy (last one attached)
+     */
+    private static volatile SupabaseQueryMonitor active;
+
+    private final List<Navigation> navigations = new ArrayList<>();
+    private Navigation current = new Navigation("(before navigation)", "start", new ArrayList<>());
+    private volatile boolean running = true;
+
+    private SupabaseQueryMonitor() {
+    }
+
+    /**
+     * Start counting the Supabase requests of a browser
+     *
+     * @param driver Chrome or Edge driver
+     * @return The monitor, or null if the browser has no CDP (Firefox)
+     */
+    public static SupabaseQueryMonitor attach(WebDriver driver) {
+        DevTools devTools = DevToolsSupport.open(driver);
+        if (devTools == null) {
+            return null;
+        }
+        SupabaseQueryMonitor monitor = new SupabaseQueryMonitor();
+        DevToolsSupport.on(devTools, "Network.requestWillBeSent", monitor::onRequest);
+        DevToolsSupport.send(devTools, "Network.enable", Map.of());
+        active = monitor;
+        return monitor;
+    }
+
+    /**
+     * Count a request the SERVER sent (called by SupabaseProxy)
+     *
+     * @param method HTTP method
+     * @param uri Request path and query below the Supabase URL
+     * @param prefer Value of the "Prefer" header (tells insert from upsert), may be null
+     */
+    static void serverRequest(String method, URI uri, String prefer) {
+        SupabaseQueryMonitor monitor = active;
+        Query query = classify(Source.SERVER, method, uri.getPath(), prefer);
+        if (monitor != null && query != null) {
+            monitor.add(query);
+        }
+    }
+
+    // =========================================================================
+    // CDP EVENT HANDLER - called on the websocket thread, must stay short
+    // =========================================================================
+
+    private void onRequest(Map<String, Object> event) {
+        if (!running || !(event.get("request") instanceof Map<?, ?> request)) {
+            return;
+        }
+        String method = String.valueOf(request.get("method"));
+        String url = String.valueOf(request.get("url"));
+        if (!url.startsWith("http://") && !url.startsWith("https://")) {
+            // data:, blob:, chrome-extension: ... - neither a page load nor a query
+            return;
+        }
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            // Characters URI rejects (e.g. an unescaped space) - not a Supabase call
+            return;
+        }
+        Object headers = request.get("headers");
+
+        if ("Document".equals(event.get("type"))) {
+            startNavigation(uri.getPath(), "document");
+        } else if ("1".equals(header(headers, "rsc")) && header(headers, "next-router-prefetch") == null
+                && header(headers, "next-action") == null) {
+            startNavigation(uri.getPath(), "client");
+        } else if ("POST".equals(method) && header(headers, "next-action") != null) {
+            startNavigation(uri.getPath(), "action");
+        } else if (!"Preflight".equals(event.get("type"))) {
+            Query query = classify(Source.BROWSER, method, uri.getPath(), header(headers, "prefer"));
+            if (query != null) {
+                add(query);
+            }
+        }
+    }
+
+    private synchronized void startNavigation(String route, String trigger) {
+        navigations.add(current);
+        current = new Navigation(route, trigger, new ArrayList<>());
+        active = this;
+    }
+
+    private synchronized void add(Query query) {
+        if (running) {
+            current.queries().add(query);
+        }
+    }
+
+    private static String header(Object headers, String name) {
+        if (headers instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (name.equalsIgnoreCase(String.valueOf(entry.getKey()))) {
+                    return String.valueOf(entry.getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Classify a request to Supabase, or null if it is not one
+     *
+     *     GET    /rest/v1/users?id=eq.1          rest  users        select
+     *     POST   /rest/v1/rpc/get_stats          rpc   get_stats    call
+     *     PATCH  /rest/v1/lessons?id=eq.1        rest  lessons      update
+     *     GET    /auth/v1/user                   auth  user         get
+     *     POST   /storage/v1/object/avatars/x    storage avatars    post
+     */
+    static Query classify(Source source, String method, String path, String prefer) {
+        if (path == null || "OPTIONS".equals(method)) {
+            return null;
+        }
+        String op = method.toLowerCase(Locale.ROOT);
+        int rest = path.indexOf("/rest/v1/");
+        if (rest >= 0) {
+            String target = path.substring(rest + "/rest/v1/".length());
+            if (target.startsWith("rpc/")) {
+                return new Query(source, "rpc", target.substring(4), "call");
+            }
+            String operation = switch (method) {
+                case "GET" -> "select";
+                case "HEAD" -> "count";
+                case "POST" -> prefer != null && prefer.contains("resolution=") ? "upsert" : "insert";
+                case "PATCH" -> "update";
+                case "DELETE" -> "delete";
+                default -> op;
+            };
+            return new Query(source, "rest", target, operation);
+        }
+        int auth = path.indexOf("/auth/v1/");
+        if (auth >= 0) {
+            return new Query(source, "auth", path.substring(auth + "/auth/v1/".length()), op);
+        }
+        int storage = path.indexOf("/storage/v1/");
+        if (storage >= 0) {
+            // /storage/v1/object/<bucket>/<path> or /storage/v1/object/public|sign/<bucket>/<path> -> bucket
+            String[] parts = path.substring(storage + "/storage/v1/".length()).split("/");
+            int bucket = parts.length > 2 && parts[1].matches("public|sign|authenticated") ? 2 : 1;
+            String target = parts[0].equals("object") && parts.length > bucket ? parts[bucket] : parts[0];
+            return new Query(source, "storage", target, op);
+        }
+        return null;
+    }
+
+    // =========================================================================
+    // RESULTS
+    // =========================================================================
+
+    /**
+     * Navigations since the last drain() (called when a test ends)
+     *
+     * Navigations without any Supabase request are left out.
+     *
+     * @return Navigations in the order they happened
+     */
+    public synchronized List<Navigation> drain() {
+        navigations.add(current);
+        List<Navigation> drained = new ArrayList<>();
+        for (Navigation navigation : navigations) {
+            if (!navigation.queries().isEmpty()) {
+                drained.add(new Navigation(navigation.route(), navigation.trigger(),
+                    Collections.unmodifiableList(new ArrayList<>(navigation.queries()))));
+            }
+        }
+        navigations.clear();
+        current = new Navigation(current.route(), "start", new ArrayList<>());
+        return drained;
+    }
+
+    /**
+     * Stop counting (call before the browser is closed)
+     */
+    public synchronized void stop() {
+        running = false;
+        navigations.clear();
+        if (active == this) {
+            active = null;
+        }
+    }
+
+    /**
+     * Queries per navigation of one test, for MarkupHelper.createTable()
+     *
+     * @param navigations Navigations of the test
+     * @param budget Budget to show next to the counts (may be null)
+     * @return Header row + one row per navigation
+     */
+    public static String[][] table(List<Navigation> navigations, QueryBudget budget) {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] {"Navigation", "Trigger", "DB queries", "Budget", "All requests", "Most frequent"});
+        for (Navigation navigation : navigations) {
+            Integer limit = budget == null || "action".equals(navigation.trigger())
+                ? null : budget.limitFor(navigation.route());
+            StringBuilder frequent = new StringBuilder();
+            navigation.grouped().entrySet().stream().limit(3).forEach(entry -> frequent
+                .append(frequent.length() == 0 ? "" : "; ").append(entry.getKey())
+                .append(entry.getValue() > 1 ? " x" + entry.getValue() : ""));
+            rows.add(new String[] {
+                navigation.route(),
+                navigation.trigger(),
+                String.valueOf(navigation.databaseQueries()),
+                limit == null ? "-" : String.valueOf(limit),
+                String.valueOf(navigation.queries().size()),
+                frequent.toString()});
+        }
+        return rows.toArray(new String[0][]);
+    }
+}
@@ -0,0 +1,149 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * =============================================================================
+ * TEST DATA CONVERTER - XLSX TO CSV / JSON LINES / SNAPSHOT
+ * =============================================================================
+ *
+ * Keep editing the test data in Excel, and convert it for fast test runs:
+ *
+ *     mvn test-compile exec:java -Dexec.mainClass=utilities.TestDataConverter \
+ *         -Dexec.classpathScope=test
+ *
+ * For ./testData/LoginTestData.xlsx with the sheet LoginData this writes:
+ *
+ *     ./testData/LoginTestData.LoginData.csv     (one file per sheet)
+ *     ./testData/LoginTestData.LoginData.jsonl   (one file per sheet)
+ *     ./testData/LoginTestData.tdb               (all sheets)
+ *
+ * OPTIONS:
+ * --------
+ *     -Dexec.args="./testData/LoginTestData.xlsx"   Only these files
+ *                                                   (default: every .xlsx in ./testData)
+ *     -Dformats=csv,tdb                             Only these formats
+ *                                                   (default: csv,jsonl,tdb)
+ *
+ * Then run the tests with -DtestDataFormat=csv (or jsonl, tdb) - see DataSources.
+ *
+ * Values are converted exactly as ExcelUtility.getCellData() shows them
+ * (DataFormatter), so every format gives the tests the same Strings.
+ *
+ * =============================================================================
+ */
+public class TestDataConverter {
+
+    private static final String DEFAULT_FOLDER = "./testData";
+
+    /**
+     * Entry point for the command line
+     *
+     * @param args .xlsx files to convert (none = every .xlsx in ./testData)
+     * @throws IOException If a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> formats = List.of(System.getProperty("formats", "csv,jsonl," + SnapshotDataSource.EXTENSION)
+            .toLowerCase(Locale.ROOT).split("\\s*,\\s*"));
+
+        List<Path> files = new ArrayList<>();
+        if (args.length > 0) {
+            for (String arg : args) {
+                files.add(Paths.get(arg));
+            }
+        } else {
+            try (DirectoryStream<Path> dir = Files.newDirectoryStream(Paths.get(DEFAULT_FOLDER), "*.xlsx")) {
+                dir.forEach(files::add);
+            }
+        }
+
+        System.out.println("========================================");
+        System.out.println("TEST DATA CONVERSION (" + String.join(", ", formats) + ")");
+        for (Path file : files) {
+            for (Path written : convert(file, formats)) {
+                System.out.println("  " + written + " (" + Files.size(written) + " bytes)");
+            }
+        }
+        System.out.println("========================================");
+    }
+
+    /**
+     * Convert every sheet of one workbook
+     *
+     * @param xlsx Workbook to convert
+     * @param formats Target formats: "csv", "jsonl" and/or "tdb"
+     * @return Files that were written
+     * @throws IOException If a file cannot be read or written
+     */
+    public static List<Path> convert(Path xlsx, List<String> formats) throws IOException {
+        Map<String, List<String[]>> sheets = readWorkbook(xlsx);
+        List<Path> written = new ArrayList<>();
+
+        for (Map.Entry<String, List<String[]>> sheet : sheets.entrySet()) {
+            if (formats.contains("csv")) {
+                Path target = DataSources.convertedFile(xlsx, sheet.getKey(), "csv");
+                CsvDataSource.write(target, sheet.getValue());
+                written.add(target);
+            }
+            if (formats.contains("jsonl")) {
+                Path target = DataSources.convertedFile(xlsx, sheet.getKey(), "jsonl");
+                JsonLinesDataSource.write(target, sheet.getValue());
+                written.add(target);
+            }
+        }
+        if (formats.contains(SnapshotDataSource.EXTENSION)) {
+            Path target = DataSources.convertedFile(xlsx, null, SnapshotDataSource.EXTENSION);
+            SnapshotDataSource.write(target, sheets);
+            written.add(target);
+        }
+        return written;
+    }
+
+    /**
+     * Read all sheets as text (every row as wide as the header row)
+     *
+     * @param xlsx Workbook to read
+     * @return Sheet name -> rows (header first), in workbook order
+     * @throws IOException If the file cannot be read
+     */
+    static Map<String, List<String[]>> readWorkbook(Path xlsx) throws IOException {
+        DataFormatter formatter = new DataFormatter();
+        Map<String, List<String[]>> sheets = new LinkedHashMap<>();
+
+        try (InputStream in = Files.newInputStream(xlsx);
+             XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            for (int s = 0; s < workbook.getNumberOfSheets(); s++) {
+                XSSFSheet sheet = workbook.getSheetAt(s);
+                List<String[]> rows = new ArrayList<>();
+                XSSFRow header = sheet.getRow(0);
+                int totalCols = header == null ? 0 : Math.max(0, header.getLastCellNum());
+
+                for (int i = 0; i <= sheet.getLastRowNum(); i++) {
+                    XSSFRow row = sheet.getRow(i);
+                    String[] values = new String[totalCols];
+                    for (int j = 0; j < totalCols; j++) {
+                        values[j] = row == null ? "" : formatter.formatCellValue(row.getCell(j));
+                    }
+                    rows.add(values);
+                }
+                sheets.put(sheet.getSheetName(), rows);
+            }
+        }
+        return sheets;
+    }
+}
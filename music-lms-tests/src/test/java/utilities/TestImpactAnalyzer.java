@@ -0,0 +1,337 @@
+package utilities;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.testng.xml.SuiteXmlParser;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+/**
+ * =============================================================================
+ * TEST IMPACT ANALYZER - RUN ONLY THE TESTS A CHANGE CAN BREAK
+ * =============================================================================
+ *
+ * A pull request that only touches src/app/(dashboard)/dashboard/schedule/
+ * cannot break the login page tests. This tool reads the changed files from
+ * git and writes a smaller testng.xml with only the affected test classes.
+ *
+ * HOW DOES IT KNOW WHICH TESTS ARE AFFECTED?
+ * ------------------------------------------
+ * RouteCoverage records, during normal runs, which URLs and page objects
+ * every test class used (./history/route-coverage.properties).
+ *
+ * Each changed file is then mapped to a route:
+ *
+ *     src/app/(auth)/login/page.tsx                  -> /login
+ *     src/app/(auth)/invite/[token]/actions.ts       -> /invite/[token]
+ *     src/app/(dashboard)/dashboard/schedule/...     -> /dashboard/schedule
+ *
+ * Folders in (brackets) are Next.js "route groups" and are not part of the
+ * URL. [token] and [id] match any value (e.g. /invite/abc123).
+ *
+ *     page.tsx          -> only that exact route
+ *     any other file    -> that route AND every route below it
+ *                          (layouts, components and actions can be shared)
+ *
+ * WHEN IS THE FULL SUITE KEPT?
+ * ----------------------------
+ * To stay on the safe side, the full suite runs when:
+ * - there is no coverage history yet
+ * - shared app code changed (src/lib, src/components, middleware, package.json)
+ * - framework code changed (testBase, utilities, pom.xml, resources)
+ *
+ * Documentation (*.md) and the separate e2e-tests module are ignored.
+ * Test classes without recorded coverage (e.g. brand new ones) always run.
+ *
+ * USAGE:
+ * ------
+ *     mvn test-compile exec:java -Dexec.mainClass=utilities.TestImpactAnalyzer \
+ *         -Dexec.classpathScope=test -Dexec.args="origin/main"
+ *
+ *     mvn test -DsuiteXmlFile=target/testng-impacted.xml
+ *
+ * Arguments: [gitBaseRef] (default: origin/main)
+ * Options:   -DchangedFiles=a,b,c   use this list instead of asking git
+ *            -Doutput=path          output file (default: target/testng-impacted.xml)
+ *
+ * =============================================================================
+ */
+public class TestImpactAnalyzer {
+
+    /**
+     * App folder that contains the Next.js routes (relative to repo root)
+     */
+    private static final String APP_DIR = "src/app/";
+
+    /**
+     * Test framework folder (relative to repo root)
+     */
+    private static final String TEST_MODULE = "music-lms-tests/";
+
+    private final Properties coverage;
+    private final Set<String> allClasses;
+
+    /**
+     * Create an analyzer
+     *
+     * @param coverage Recorded route coverage (see RouteCoverage)
+     * @param allClasses Every test class listed in the suite
+     */
+    public TestImpactAnalyzer(Properties coverage, Set<String> allClasses) {
+        this.coverage = coverage;
+        this.allClasses = allClasses;
+    }
+
+    /**
+     * Entry point for the command line
+     *
+     * @param args Optional git base reference
+     * @throws IOException If git or the suite file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        String baseRef = args.length > 0 ? args[0] : "origin/main";
+        Path suitePath = Paths.get(System.getProperty("suiteXmlFile", "src/test/resources/testng.xml"));
+        Path output = Paths.get(System.getProperty("output", "target/testng-impacted.xml"));
+
+        List<String> changed = changedFiles(baseRef);
+        XmlSuite suite;
+        try (InputStream in = Files.newInputStream(suitePath)) {
+            suite = new SuiteXmlParser().parse(suitePath.toString(), in, false);
+        }
+
+        Set<String> allClasses = new TreeSet<>();
+        for (XmlTest test : suite.getTests()) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                allClasses.add(xmlClass.getName());
+            }
+        }
+
+        TestImpactAnalyzer analyzer = new TestImpactAnalyzer(
+            HistoryFile.load(RouteCoverage.HISTORY_FILE), allClasses);
+        Set<String> selected = analyzer.select(changed);
+
+        // Remove classes that are not selected; drop <test> blocks that become empty
+        List<XmlTest> keep = new ArrayList<>();
+        for (XmlTest test : suite.getTests()) {
+            test.getXmlClasses().removeIf(c -> !selected.contains(c.getName()));
+            if (!test.getXmlClasses().isEmpty()) {
+                keep.add(test);
+            }
+        }
+        suite.setTests(keep);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, suite.toXml(), StandardCharsets.UTF_8);
+
+        System.out.println("========================================");
+        System.out.println("TEST IMPACT ANALYSIS (base: " + baseRef + ")");
+        System.out.println("Changed files: " + changed.size());
+        System.out.println("Selected " + selected.size() + " of " + allClasses.size() + " test classes");
+        selected.forEach(c -> System.out.println("  " + c));
+        System.out.println("Suite written to: " + output);
+        System.out.println("========================================");
+    }
+
+    /**
+     * Decide which test classes must run for a set of changed files
+     *
+     * @param changedFiles Paths relative to the repository root
+     * @return Selected test class names (all classes if the change is not mappable)
+     */
+    public Set<String> select(List<String> changedFiles) {
+        if (coverage.isEmpty()) {
+            System.out.println("No route coverage recorded yet - selecting the full suite");
+            return allClasses;
+        }
+
+        Set<String> selected = new TreeSet<>();
+        for (String file : changedFiles) {
+            String path = file.replace('\\', '/');
+
+            if (path.endsWith(".md") || path.startsWith("e2e-tests/") || path.startsWith("docs/")) {
+                continue;
+            }
+
+            if (path.startsWith(APP_DIR)) {
+                selected.addAll(classesForAppFile(path.substring(APP_DIR.length())));
+            } else if (path.startsWith(TEST_MODULE + "src/test/java/testCases/")) {
+                selected.add("testCases." + baseName(path));
+            } else if (path.startsWith(TEST_MODULE + "src/test/java/pageObjects/")
+                    && !path.endsWith("/BasePage.java")) {
+                selected.addAll(classesUsingPage(baseName(path)));
+            } else if (path.startsWith(TEST_MODULE + "reports/") || path.startsWith(TEST_MODULE + "logs/")
+                    || path.startsWith(TEST_MODULE + "screenshots/")) {
+                continue;
+            } else {
+                System.out.println("Shared file changed (" + path + ") - selecting the full suite");
+                return allClasses;
+            }
+        }
+
+        // Classes that never recorded coverage (e.g. new tests) always run
+        for (String testClass : allClasses) {
+            if (coverage.getProperty(testClass + ".routes") == null) {
+                selected.add(testClass);
+            }
+        }
+
+        // Never select a class that is not part of the suite
+        selected.retainAll(allClasses);
+        return selected;
+    }
+
+    /**
+     * Map a file below src/app/ to the test classes that visited its route
+     *
+     * @param appPath Path relative to src/app, e.g. "(auth)/login/page.tsx"
+     */
+    private Set<String> classesForAppFile(String appPath) {
+        List<String> segments = new ArrayList<>(Arrays.asList(appPath.split("/")));
+        String fileName = segments.remove(segments.size() - 1);
+
+        // Route groups like "(auth)" are not part of the URL
+        segments.removeIf(s -> s.startsWith("(") && s.endsWith(")"));
+
+        boolean exact = fileName.startsWith("page.") || fileName.startsWith("route.");
+
+        Set<String> classes = new TreeSet<>();
+        for (String key : coverage.stringPropertyNames()) {
+            if (!key.endsWith(".routes")) {
+                continue;
+            }
+            for (String visited : RouteCoverage.split(coverage.getProperty(key))) {
+                if (matches(segments, visited, exact)) {
+                    classes.add(key.substring(0, key.length() - ".routes".length()));
+                    break;
+                }
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Test classes that used a given page object
+     *
+     * @param pageName Simple class name, e.g. "LoginPage"
+     */
+    private Set<String> classesUsingPage(String pageName) {
+        Set<String> classes = new TreeSet<>();
+        for (String key : coverage.stringPropertyNames()) {
+            if (key.endsWith(".pages") && RouteCoverage.split(coverage.getProperty(key)).contains(pageName)) {
+                classes.add(key.substring(0, key.length() - ".pages".length()));
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Check a visited URL path against a route pattern
+     *
+     * @param route Route segments, e.g. ["invite", "[token]"]
+     * @param visitedPath Visited path, e.g. "/invite/abc123"
+     * @param exact true = same length required, false = visited may be below the route
+     */
+    static boolean matches(List<String> route, String visitedPath, boolean exact) {
+        List<String> visited = new ArrayList<>();
+        for (String s : visitedPath.split("/")) {
+            if (!s.isEmpty()) {
+                visited.add(s);
+            }
+        }
+
+        if (visited.size() < route.size() || (exact && visited.size() != route.size())) {
+            return false;
+        }
+        for (int i = 0; i < route.size(); i++) {
+            String pattern = route.get(i);
+            boolean dynamic = pattern.startsWith("[") && pattern.endsWith("]");
+            if (!dynamic && !pattern.equals(visited.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * File name without folders and extension: "a/b/LoginPage.java" -> "LoginPage"
+     */
+    private static String baseName(String path) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    /**
+     * Read the changed files from -DchangedFiles or from git
+     *
+     * We diff against the MERGE BASE of base and HEAD (what "base...HEAD"
+     * means), not against base itself: commits that landed on main after
+     * this branch was created are not our changes. Diffing the merge base
+     * against the working tree includes committed and uncommitted changes.
+     *
+     * @param baseRef Git reference to compare against
+     * @return Changed paths relative to the repository root
+     * @throws IOException If git cannot be executed
+     */
+    private static List<String> changedFiles(String baseRef) throws IOException {
+        String explicit = System.getProperty("changedFiles");
+        if (explicit != null) {
+            return new ArrayList<>(RouteCoverage.split(explicit));
+        }
+
+        List<String> mergeBase = git("merge-base", baseRef, "HEAD");
+        if (mergeBase.isEmpty()) {
+            throw new IOException("git merge-base found no common commit of '" + baseRef + "' and HEAD");
+        }
+        return git("diff", "--name-only", mergeBase.get(0));
+    }
+
+    /**
+     * Run git and return the non-blank lines of its output
+     *
+     * @param args Arguments after "git"
+     * @return Output lines, trimmed, without duplicates
+     * @throws IOException If git fails or cannot be executed
+     */
+    private static List<String> git(String... args) throws IOException {
+        List<String> command = new ArrayList<>(List.of("git"));
+        command.addAll(List.of(args));
+        Process git = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .start();
+        Set<String> lines = new LinkedHashSet<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(git.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    lines.add(line.trim());
+                }
+            }
+        }
+        try {
+            if (git.waitFor() != 0) {
+                throw new IOException("git " + String.join(" ", args) + " failed: " + lines);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git", e);
+        }
+        return new ArrayList<>(lines);
+    }
+}
@@ -0,0 +1,252 @@
+package utilities;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.testng.ITestResult;
+
+/**
+ * =============================================================================
+ * TEST LOG CAPTURE - THE LOG OF ONE TEST, KEPT ONLY WHEN IT FAILS
+ * =============================================================================
+ *
+ * THE PROBLEM:
+ * ------------
+ * In a parallel run the console mixes the lines of many tests, and the DEBUG
+ * details needed to understand a failure are too noisy to print for the
+ * hundreds of tests that pass.
+ *
+ * THE IDEA:
+ * ---------
+ *     onTestStart   -> ThreadContext "test" = "TC_Auth_001_LoginTest.TC_Auth_005_..."
+ *                      every log line of this thread now carries that tag
+ *     (test runs)   -> lines with the tag go to a small in-memory ring buffer
+ *                      (the last -DtestLogLines=500 lines, DEBUG included)
+ *     onTestSuccess -> buffer thrown away, nothing formatted
+ *     onTestFailure -> buffer formatted and added to the Extent report
+ *
+ * WHY A "BARRIER" ON FAILURE?
+ * ---------------------------
+ * Loggers are asynchronous: when the test fails, its last lines may still be
+ * waiting in Log4j's ring buffer. collect() logs one marker event and waits
+ * until the background thread has delivered it - every earlier line of the
+ * same thread has been delivered by then.
+ *
+ * USED BY:
+ * --------
+ * ExtentReportManager (begin / collect / discard). The appender is added to
+ * every logger of the running configuration the first time begin() is called,
+ * so log4j2.xml does not need to know about it.
+ *
+ * =============================================================================
+ */
+public final class TestLogCapture {
+
+    /**
+     * ThreadContext key with the human readable test name (%X{test} in log4j2.xml)
+     */
+    public static final String TEST_KEY = "test";
+
+    /**
+     * ThreadContext key with a unique id per test run (data provider rows share a name)
+     */
+    private static final String RUN_KEY = "testRun";
+
+    private static final Marker BARRIER = MarkerManager.getMarker("TEST_LOG_BARRIER");
+    private static final Logger BARRIER_LOGGER = LogManager.getLogger(TestLogCapture.class);
+    private static final AtomicLong RUN_IDS = new AtomicLong();
+    private static final long BARRIER_TIMEOUT_MS = 2000;
+
+    private static volatile BufferAppender appender;
+
+    private TestLogCapture() {
+        // Utility class - no instances
+    }
+
+    /**
+     * Tag the current thread with the test and start a buffer for it
+     *
+     * @param result The test that is starting (called from onTestStart)
+     */
+    public static void begin(ITestResult result) {
+        BufferAppender buffer = install();
+        String runId = String.valueOf(RUN_IDS.incrementAndGet());
+        buffer.open(runId);
+        ThreadContext.put(TEST_KEY, result.getTestClass().getRealClass().getSimpleName()
+            + "." + result.getMethod().getMethodName());
+        ThreadContext.put(RUN_KEY, runId);
+    }
+
+    /**
+     * Drop the buffer of the current test (it passed or was skipped)
+     */
+    public static void discard() {
+        String runId = ThreadContext.get(RUN_KEY);
+        if (runId != null && appender != null) {
+            appender.close(runId);
+        }
+        ThreadContext.remove(TEST_KEY);
+        ThreadContext.remove(RUN_KEY);
+    }
+
+    /**
+     * Formatted log lines of the current test, then drop the buffer
+     *
+     * @return The last lines logged during the test (oldest first), empty if none
+     */
+    public static List<String> collect() {
+        String runId = ThreadContext.get(RUN_KEY);
+        if (runId == null || appender == null) {
+            return List.of();
+        }
+        CountDownLatch delivered = appender.expectBarrier(runId);
+        BARRIER_LOGGER.info(BARRIER, "end of test");
+        try {
+            if (!delivered.await(BARRIER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                System.err.println("TestLogCapture: log lines still queued after "
+                    + BARRIER_TIMEOUT_MS + " ms, report may miss the last ones");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<String> lines = appender.format(runId);
+        discard();
+        return lines;
+    }
+
+    /**
+     * Add the buffer appender to the running Log4j configuration (once)
+     */
+    private static BufferAppender install() {
+        BufferAppender current = appender;
+        if (current != null) {
+            return current;
+        }
+        synchronized (TestLogCapture.class) {
+            if (appender == null) {
+                LoggerContext context = (LoggerContext) LogManager.getContext(false);
+                Configuration config = context.getConfiguration();
+
+                BufferAppender buffer = new BufferAppender(
+                    Integer.getInteger("testLogLines", 500),
+                    PatternLayout.newBuilder()
+                        .withConfiguration(config)
+                        .withPattern("%d{HH:mm:ss.SSS} %-5level %c{1} - %m%n%ex")
+                        .build());
+                buffer.start();
+                config.addAppender(buffer);
+
+                // Every configured logger (root included) also feeds the buffer
+                for (LoggerConfig logger : config.getLoggers().values()) {
+                    logger.addAppender(buffer, null, null);
+                }
+                config.getRootLogger().addAppender(buffer, null, null);
+
+                // Barrier events go ONLY to the buffer, never to the console
+                LoggerConfig barrier = LoggerConfig.newBuilder()
+                    .withLoggerName(TestLogCapture.class.getName())
+                    .withLevel(Level.ALL)
+                    .withAdditivity(false)
+                    .withConfig(config)
+                    .build();
+                barrier.addAppender(buffer, null, null);
+                config.addLogger(barrier.getName(), barrier);
+
+                context.updateLoggers();
+                appender = buffer;
+            }
+            return appender;
+        }
+    }
+
+    /**
+     * Keeps the last N events per running test; formats them only on demand
+     */
+    private static final class BufferAppender extends AbstractAppender {
+
+        private final int capacity;
+        private final Map<String, Deque<LogEvent>> buffers = new ConcurrentHashMap<>();
+        private final Map<String, CountDownLatch> barriers = new ConcurrentHashMap<>();
+
+        BufferAppender(int capacity, PatternLayout layout) {
+            super("TestLogCapture", null, layout, true, Property.EMPTY_ARRAY);
+            this.capacity = Math.max(1, capacity);
+        }
+
+        void open(String runId) {
+            buffers.put(runId, new ArrayDeque<>(Math.min(capacity, 64)));
+        }
+
+        void close(String runId) {
+            buffers.remove(runId);
+            barriers.remove(runId);
+        }
+
+        CountDownLatch expectBarrier(String runId) {
+            CountDownLatch latch = new CountDownLatch(1);
+            barriers.put(runId, latch);
+            return latch;
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            String runId = event.getContextData().getValue(RUN_KEY);
+            if (runId == null) {
+                return;
+            }
+            if (BARRIER.equals(event.getMarker())) {
+                CountDownLatch latch = barriers.get(runId);
+                if (latch != null) {
+                    latch.countDown();
+                }
+                return;
+            }
+            Deque<LogEvent> buffer = buffers.get(runId);
+            if (buffer == null) {
+                return;
+            }
+            // Events from the ring buffer are reused - keep a copy
+            LogEvent copy = event.toImmutable();
+            synchronized (buffer) {
+                if (buffer.size() == capacity) {
+                    buffer.removeFirst();
+                }
+                buffer.addLast(copy);
+            }
+        }
+
+        List<String> format(String runId) {
+            Deque<LogEvent> buffer = buffers.get(runId);
+            List<String> lines = new ArrayList<>();
+            if (buffer == null) {
+                return lines;
+            }
+            synchronized (buffer) {
+                for (LogEvent event : buffer) {
+                    lines.add(((PatternLayout) getLayout()).toSerializable(event).stripTrailing());
+                }
+            }
+            return lines;
+        }
+    }
+}
@@ -178,7 +178,7 @@ export default function InvitePage({ params }: { params: Promise<{ token: string
               <Music className="h-8 w-8 text-primary" />
               <span className="text-xl font-bold">MusicLMS</span>
             </Link>
-            <CardTitle className="text-2xl">Already Logged In</CardTitle>
+            <CardTitle className="text-2xl" data-testid="already-logged-in-title">Already Logged In</CardTitle>
             <CardDescription>
               You are currently logged in as <span className="font-medium text-foreground">{currentUser.email}</span>
               {currentUser.role && <span className="capitalize"> ({currentUser.role})</span>}.
@@ -189,10 +189,10 @@ export default function InvitePage({ params }: { params: Promise<{ token: string
               To accept this student invite, you must create a new student account. Please log out first.
             </p>
             <div className="grid gap-2">
-              <Button variant="destructive" onClick={handleLogout} className="w-full">
+              <Button variant="destructive" onClick={handleLogout} className="w-full" data-testid="logout-accept-button">
                 Log Out & Accept Invite
               </Button>
-              <Link href="/dashboard">
+              <Link href="/dashboard" data-testid="go-to-dashboard-link">
                 <Button variant="outline" className="w-full">
                   Go to Dashboard
                 </Button>
@@ -221,14 +221,14 @@ export default function InvitePage({ params }: { params: Promise<{ token: string
               <Music className="h-8 w-8 text-primary" />
               <span className="text-xl font-bold">MusicLMS</span>
             </Link>
-            <CardTitle className="text-2xl">Invalid Invite</CardTitle>
-            <CardDescription>{error}</CardDescription>
+            <CardTitle className="text-2xl" data-testid="invalid-invite-title">Invalid Invite</CardTitle>
+            <CardDescription data-testid="invalid-invite-message">{error}</CardDescription>
           </CardHeader>
           <CardContent className="text-center">
             <p className="text-muted-foreground mb-4">
               Please ask your teacher for a new invite link.
             </p>
-            <Link href="/">
+            <Link href="/" data-testid="homepage-link">
               <Button variant="outline">Go to Homepage</Button>
             </Link>
           </CardContent>
@@ -245,7 +245,7 @@ export default function InvitePage({ params }: { params: Promise<{ token: string
             <Music className="h-8 w-8 text-primary" />
             <span className="text-xl font-bold">MusicLMS</span>
           </Link>
-          <CardTitle className="text-2xl">Join as a Student</CardTitle>
+          <CardTitle className="text-2xl" data-testid="invite-title">Join as a Student</CardTitle>
           <CardDescription>
             {invite?.teacher?.full_name
               ? `${invite.teacher.full_name} has invited you to join their studio`
@@ -292,12 +292,12 @@ export default function InvitePage({ params }: { params: Promise<{ token: string
             <div className="space-y-2">
               <Label htmlFor="instrument">Primary Instrument</Label>
               <Select value={instrument} onValueChange={setInstrument} required>
-                <SelectTrigger>
+                <SelectTrigger data-testid="instrument-select">
                   <SelectValue placeholder="Select your instrument" />
                 </SelectTrigger>
                 <SelectContent>
                   {instruments.map((inst) => (
-                    <SelectItem key={inst} value={inst.toLowerCase()}>
+                    <SelectItem key={inst} value={inst.toLowerCase()} data-testid={`instrument-option-${inst.toLowerCase()}`}>
                       {inst}
                     </SelectItem>
                   ))}
@@ -307,19 +307,19 @@ export default function InvitePage({ params }: { params: Promise<{ token: string
             <div className="space-y-2">
               <Label htmlFor="skillLevel">Skill Level</Label>
               <Select value={skillLevel} onValueChange={setSkillLevel} required>
-                <SelectTrigger>
+                <SelectTrigger data-testid="skill-level-select">
                   <SelectValue placeholder="Select your level" />
                 </SelectTrigger>
                 <SelectContent>
                   {skillLevels.map((level) => (
-                    <SelectItem key={level.value} value={level.value}>
+                    <SelectItem key={level.value} value={level.value} data-testid={`skill-level-option-${level.value}`}>
                       {level.label}
                     </SelectItem>
                   ))}
                 </SelectContent>
               </Select>
             </div>
-            <Button type="submit" className="w-full" disabled={isLoading}>
+            <Button type="submit" className="w-full" disabled={isLoading} data-testid="create-student-account-button">
               {isLoading && <Loader2 className="mr-2 h-4 w-4 animate-spin" />}
               Create Student Account
             </Button>
@@ -328,7 +328,7 @@ export default function InvitePage({ params }: { params: Promise<{ token: string
         <CardFooter className="flex justify-center">
           <p className="text-sm text-muted-foreground">
             Already have an account?{" "}
-            <Link href="/login" className="text-primary hover:underline">
+            <Link href="/login" className="text-primary hover:underline" data-testid="login-link">
               Log in
             </Link>
           </p>
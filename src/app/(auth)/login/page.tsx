@@ -106,10 +106,10 @@ function LoginForm() {
           <Music className="h-8 w-8 text-primary" />
           <span className="text-xl font-bold">MusicLMS</span>
         </Link>
-        <CardTitle className="text-2xl">Welcome back</CardTitle>
+        <CardTitle className="text-2xl" data-testid="login-title">Welcome back</CardTitle>
         <CardDescription>Log in to your account to continue</CardDescription>
         {error && (
-          <p className="text-sm text-destructive mt-2">
+          <p className="text-sm text-destructive mt-2" data-testid="login-error">
             Authentication failed. Please try again.
           </p>
         )}
@@ -119,6 +119,7 @@ function LoginForm() {
           variant="outline"
           className="w-full"
           onClick={handleGoogleLogin}
+          data-testid="google-login-button"
           disabled={isGoogleLoading}
         >
           {isGoogleLoading ? (
@@ -180,7 +181,7 @@ function LoginForm() {
               required
             />
           </div>
-          <Button type="submit" className="w-full" disabled={isLoading}>
+          <Button type="submit" className="w-full" disabled={isLoading} data-testid="login-submit">
             {isLoading && <Loader2 className="mr-2 h-4 w-4 animate-spin" />}
             Log in
           </Button>
@@ -190,6 +191,7 @@ function LoginForm() {
           variant="ghost"
           className="w-full text-sm"
           onClick={handleMagicLink}
+          data-testid="magic-link-button"
           disabled={isLoading}
         >
           Send me a magic link instead
@@ -198,7 +200,7 @@ function LoginForm() {
       <CardFooter className="flex justify-center">
         <p className="text-sm text-muted-foreground">
           Don&apos;t have an account?{" "}
-          <Link href="/signup" className="text-primary hover:underline">
+          <Link href="/signup" className="text-primary hover:underline" data-testid="signup-link">
             Sign up
           </Link>
         </p>
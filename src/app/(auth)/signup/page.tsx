@@ -86,7 +86,7 @@ export default function SignupPage() {
             <Music className="h-8 w-8 text-primary" />
             <span className="text-xl font-bold">MusicLMS</span>
           </Link>
-          <CardTitle className="text-2xl">Create your account</CardTitle>
+          <CardTitle className="text-2xl" data-testid="signup-title">Create your account</CardTitle>
           <CardDescription>Start managing your music studio today</CardDescription>
         </CardHeader>
         <CardContent className="space-y-4">
@@ -94,6 +94,7 @@ export default function SignupPage() {
             variant="outline"
             className="w-full"
             onClick={handleGoogleSignup}
+            data-testid="google-signup-button"
             disabled={isGoogleLoading}
           >
             {isGoogleLoading ? (
@@ -167,20 +168,20 @@ export default function SignupPage() {
                 required
               />
             </div>
-            <Button type="submit" className="w-full" disabled={isLoading}>
+            <Button type="submit" className="w-full" disabled={isLoading} data-testid="signup-submit">
               {isLoading && <Loader2 className="mr-2 h-4 w-4 animate-spin" />}
               Create Account
             </Button>
           </form>
 
-          <p className="text-xs text-center text-muted-foreground">
+          <p className="text-xs text-center text-muted-foreground" data-testid="terms-text">
             By signing up, you agree to our Terms of Service and Privacy Policy.
           </p>
         </CardContent>
         <CardFooter className="flex justify-center">
           <p className="text-sm text-muted-foreground">
             Already have an account?{" "}
-            <Link href="/login" className="text-primary hover:underline">
+            <Link href="/login" className="text-primary hover:underline" data-testid="login-link">
               Log in
             </Link>
           </p>
@@ -81,7 +81,7 @@ export default async function DashboardPage() {
       <div className="space-y-6">
         <div className="flex items-center justify-between">
           <div>
-            <h1 className="text-3xl font-bold">
+            <h1 className="text-3xl font-bold" data-testid="dashboard-title">
               Welcome back{user.full_name ? `, ${user.full_name.split(" ")[0]}` : ""}!
             </h1>
             <p className="text-muted-foreground">Here&apos;s what&apos;s happening in your studio.</p>
@@ -230,7 +230,7 @@ export default async function DashboardPage() {
   return (
     <div className="space-y-6">
       <div>
-        <h1 className="text-3xl font-bold">
+        <h1 className="text-3xl font-bold" data-testid="dashboard-title">
           Welcome back{user.full_name ? `, ${user.full_name.split(" ")[0]}` : ""}!
         </h1>
         <p className="text-muted-foreground">Track your progress and complete your assignments.</p>
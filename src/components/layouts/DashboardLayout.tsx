@@ -75,6 +75,7 @@ function NavLink({
   return (
     <Link
       href={href}
+      data-testid={`nav-${href.split("/").pop()}`}
       className={cn(
         "flex items-center gap-3 rounded-lg px-3 py-2 text-sm transition-colors",
         isActive
@@ -96,7 +97,7 @@ function Sidebar({ role, pathname }: { role: UserRole; pathname: string }) {
       <div className="flex h-14 items-center border-b px-4">
         <Link href="/dashboard" className="flex items-center gap-2">
           <Music className="h-6 w-6 text-primary" />
-          <span className="font-bold">MusicLMS</span>
+          <span className="font-bold" data-testid="brand-logo">MusicLMS</span>
         </Link>
       </div>
       <div className="flex-1 px-3 py-2">
@@ -169,7 +170,7 @@ export default function DashboardLayout({ children, user, initialNotifications }
           <NotificationBell userId={user.id} initialNotifications={initialNotifications} />
           <DropdownMenu>
             <DropdownMenuTrigger asChild>
-              <Button variant="ghost" className="relative h-9 w-9 rounded-full">
+              <Button variant="ghost" className="relative h-9 w-9 rounded-full" data-testid="user-nav">
                 <Avatar className="h-9 w-9">
                   <AvatarImage src={user.avatar_url || undefined} alt={user.full_name || ""} />
                   <AvatarFallback>{initials}</AvatarFallback>
@@ -192,7 +193,7 @@ export default function DashboardLayout({ children, user, initialNotifications }
                 </Link>
               </DropdownMenuItem>
               <DropdownMenuSeparator />
-              <DropdownMenuItem onClick={handleLogout} className="text-destructive">
+              <DropdownMenuItem onClick={handleLogout} className="text-destructive" data-testid="logout-button">
                 <LogOut className="mr-2 h-4 w-4" />
                 Log out
               </DropdownMenuItem>